@@ -42,9 +42,11 @@ import org.apache.camel.spi.DataFormatResolver;
 import org.apache.camel.spi.Debugger;
 import org.apache.camel.spi.EndpointRegistry;
 import org.apache.camel.spi.EndpointStrategy;
+import org.apache.camel.spi.ExchangeFactory;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.FactoryFinder;
 import org.apache.camel.spi.FactoryFinderResolver;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.spi.Injector;
 import org.apache.camel.spi.InterceptStrategy;
@@ -70,6 +72,7 @@ import org.apache.camel.spi.TypeConverterRegistry;
 import org.apache.camel.spi.UnitOfWorkFactory;
 import org.apache.camel.spi.UuidGenerator;
 import org.apache.camel.util.LoadPropertiesException;
+import org.apache.camel.util.Sampler;
 
 /**
  * Interface used to represent the context used to configure routes and the
@@ -1406,6 +1409,42 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     void setUuidGenerator(UuidGenerator uuidGenerator);
 
+    /**
+     * Gets the {@link HeadersMapFactory} to use for creating the {@link java.util.Map} storing the message headers.
+     *
+     * @return the factory
+     */
+    HeadersMapFactory getHeadersMapFactory();
+
+    /**
+     * Sets a custom {@link HeadersMapFactory} to use for creating the {@link java.util.Map} storing the message headers
+     * (should only be set once, before any messages is created).
+     * <p/>
+     * The default uses {@link org.apache.camel.impl.DefaultHeadersMapFactory}, and the
+     * {@link org.apache.camel.impl.FastHeadersMapFactory} can be used for faster header lookup, and sharing headers
+     * between copied messages using copy-on-write.
+     *
+     * @param headersMapFactory the factory
+     */
+    void setHeadersMapFactory(HeadersMapFactory headersMapFactory);
+
+    /**
+     * Gets the {@link ExchangeFactory} used by consumers to create the exchanges for the incoming messages.
+     *
+     * @return the factory
+     */
+    ExchangeFactory getExchangeFactory();
+
+    /**
+     * Sets a custom {@link ExchangeFactory} (should only be set once, before the context is started).
+     * <p/>
+     * The {@link org.apache.camel.impl.PooledExchangeFactory} can be used to reuse the exchanges when their
+     * unit of work is done, instead of creating new exchanges for every incoming message.
+     *
+     * @param exchangeFactory the factory
+     */
+    void setExchangeFactory(ExchangeFactory exchangeFactory);
+
     /**
      * Whether or not type converters should be loaded lazy
      *
@@ -1471,6 +1510,11 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
 
     /**
      * Set whether breadcrumb is enabled.
+     * <p/>
+     * When enabled, the breadcrumb id is set as a header on every exchange routed, and if the message has
+     * no breadcrumb already, then the message id is used as the breadcrumb id, which means a new id is generated
+     * for every exchange. Disable breadcrumb if not needed to avoid generating ids for exchanges, which otherwise
+     * only have their ids created when in use.
      *
      * @param useBreadcrumb <tt>true</tt> to enable breadcrumb, <tt>false</tt> to disable
      */
@@ -1594,6 +1638,21 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     void setStreamCachingStrategy(StreamCachingStrategy streamCachingStrategy);
 
+    /**
+     * Gets the {@link Sampler} which decides which exchanges to record {@link MessageHistory} for.
+     *
+     * @return the sampler, or <tt>null</tt> if message history is recorded for every exchange
+     */
+    Sampler getMessageHistorySampler();
+
+    /**
+     * Sets a {@link Sampler} to only record {@link MessageHistory} for a sample of the exchanges,
+     * such as every 100th exchange, which allows to keep message history enabled with a low overhead.
+     * <p/>
+     * By default the message history is recorded for every exchange, when message history is enabled.
+     */
+    void setMessageHistorySampler(Sampler messageHistorySampler);
+
     /**
      * Gets the {@link UnitOfWorkFactory} to use.
      */
@@ -84,9 +84,11 @@ public interface Exchange {
     String AGGREGATION_COMPLETE_ALL_GROUPS_INCLUSIVE  = "CamelAggregationCompleteAllGroupsInclusive";
     String ASYNC_WAIT                       = "CamelAsyncWait";
 
+    String BACKLOG_TRACER_SAMPLED     = "CamelBacklogTracerSampled";
     String BATCH_INDEX                = "CamelBatchIndex";
     String BATCH_SIZE                 = "CamelBatchSize";
     String BATCH_COMPLETE             = "CamelBatchComplete";
+    String BEAN_INFO_CACHE_FREQUENCY_ADMISSION = "CamelBeanInfoCacheFrequencyAdmission";
     String BEAN_METHOD_NAME           = "CamelBeanMethodName";
     String BEAN_MULTI_PARAMETER_ARRAY = "CamelBeanMultiParameterArray";
     String BINDING                    = "CamelBinding";
@@ -94,6 +96,7 @@ public interface Exchange {
     // used across other Apache products such as AMQ, SMX etc.
     String BREADCRUMB_ID              = "breadcrumbId";
 
+    String CACHE_POOL_FREQUENCY_ADMISSION = "CamelCachePoolFrequencyAdmission";
     String CHARSET_NAME      = "CamelCharsetName";
     String CREATED_TIMESTAMP = "CamelCreatedTimestamp";
     String CONTENT_ENCODING  = "Content-Encoding";
@@ -109,6 +112,7 @@ public interface Exchange {
     
     String DOCUMENT_BUILDER_FACTORY = "CamelDocumentBuilderFactory";
 
+    String ENDPOINT_CACHE_FREQUENCY_ADMISSION = "CamelEndpointCacheFrequencyAdmission";
     String EXCEPTION_CAUGHT           = "CamelExceptionCaught";
     String EXCEPTION_HANDLED          = "CamelExceptionHandled";
     String EVALUATE_EXPRESSION_RESULT = "CamelEvaluateExpressionResult";
@@ -54,6 +54,9 @@ public interface ManagedAggregateProcessorMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Optimistic locking")
     boolean isOptimisticLocking();
 
+    @ManagedAttribute(description = "Number of lock stripes")
+    int getLockStripes();
+
     @ManagedAttribute(description = "Whether or not to eager check for completion when a new incoming Exchange has been received")
     boolean isEagerCheckCompletion();
 
@@ -63,6 +66,9 @@ public interface ManagedAggregateProcessorMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Whether or not exchanges which complete due to a timeout should be discarded")
     boolean isDiscardOnCompletionTimeout();
 
+    @ManagedAttribute(description = "Whether or not a timing wheel is used to keep track of the completion timeouts")
+    boolean isCompletionTimeoutTimingWheel();
+
     @ManagedAttribute(description = "Indicates to complete all current aggregated exchanges when the context is stopped")
     boolean isForceCompletionOnStop();
 
@@ -59,6 +59,18 @@ public interface ManagedBacklogTracerMBean {
     @ManagedAttribute(description = "To filter tracing by predicate (uses simple language by default)")
     String getTraceFilter();
 
+    @ManagedAttribute(description = "To only trace every Nth exchange, or 0 to trace every exchange")
+    void setSampleFrequency(long frequency);
+
+    @ManagedAttribute(description = "To only trace every Nth exchange, or 0 to trace every exchange")
+    long getSampleFrequency();
+
+    @ManagedAttribute(description = "To only trace at most this number of exchanges per second, or 0 to trace every exchange")
+    void setSampleMaxPerSecond(int maxPerSecond);
+
+    @ManagedAttribute(description = "To only trace at most this number of exchanges per second, or 0 to trace every exchange")
+    int getSampleMaxPerSecond();
+
     @ManagedAttribute(description = "Number of total traced messages")
     long getTraceCounter();
 
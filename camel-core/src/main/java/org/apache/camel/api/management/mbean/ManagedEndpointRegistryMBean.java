@@ -38,6 +38,24 @@ public interface ManagedEndpointRegistryMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Maximum cache size (capacity)")
     Integer getMaximumCacheSize();
 
+    @ManagedAttribute(description = "Cache hits")
+    Long getHits();
+
+    @ManagedAttribute(description = "Cache misses")
+    Long getMisses();
+
+    @ManagedAttribute(description = "Cache evicted")
+    Long getEvicted();
+
+    @ManagedAttribute(description = "Cache rejected by the frequency admission policy")
+    Long getRejected();
+
+    @ManagedAttribute(description = "Whether the cache uses a frequency admission policy")
+    Boolean isFrequencyAdmission();
+
+    @ManagedOperation(description = "Reset cache statistics")
+    void resetStatistics();
+
     @ManagedOperation(description = "Purges the cache")
     void purge();
 
@@ -44,6 +44,12 @@ public interface ManagedIdempotentConsumerMBean extends ManagedProcessorMBean {
 
     @ManagedOperation(description = "Reset the current count of duplicate Messages")
     void resetDuplicateMessageCount();
+
+    @ManagedAttribute(description = "Number of calls to the idempotent repository, if the repository keeps track of round trips")
+    long getRoundTripCount();
+
+    @ManagedAttribute(description = "Number of calls answered without calling the idempotent repository, if the repository keeps track of round trips")
+    long getAvoidedRoundTripCount();
     
     @ManagedOperation(description = "Clear the repository containing Messages")
     void clear();
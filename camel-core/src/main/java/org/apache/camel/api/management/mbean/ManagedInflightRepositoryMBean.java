@@ -26,6 +26,12 @@ public interface ManagedInflightRepositoryMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Current size of inflight exchanges.")
     int getSize();
 
+    @ManagedAttribute(description = "Duration in millis of the oldest inflight exchange, or -1 if none inflight")
+    long getOldestInflightDuration();
+
+    @ManagedAttribute(description = "The id of the oldest inflight exchange, or null if none inflight")
+    String getOldestInflightExchangeId();
+
     @ManagedOperation(description = "Current size of inflight exchanges which are from the given route.")
     int size(String routeId);
 
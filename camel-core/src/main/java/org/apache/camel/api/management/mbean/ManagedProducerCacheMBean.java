@@ -39,6 +39,12 @@ public interface ManagedProducerCacheMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Cache evicted")
     Long getEvicted();
 
+    @ManagedAttribute(description = "Cache rejected by the frequency admission policy")
+    Long getRejected();
+
+    @ManagedAttribute(description = "Whether the cache uses a frequency admission policy")
+    Boolean isFrequencyAdmission();
+
     @ManagedOperation(description = "Reset cache statistics")
     void resetStatistics();
 
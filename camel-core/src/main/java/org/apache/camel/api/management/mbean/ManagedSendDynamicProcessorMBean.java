@@ -32,4 +32,19 @@ public interface ManagedSendDynamicProcessorMBean extends ManagedProcessorMBean
     @ManagedAttribute(description = "Ignore the invalidate endpoint exception when try to create a producer with that endpoint")
     Boolean isIgnoreInvalidEndpoint();
 
+    @ManagedAttribute(description = "Whether to allow components to optimise toD if they support send dynamic aware")
+    Boolean isAllowOptimisedComponents();
+
+    @ManagedAttribute(description = "Number of producers in the ProducerCache")
+    Integer getCacheCurrentSize();
+
+    @ManagedAttribute(description = "Number of cache hits in the ProducerCache")
+    Long getCacheHits();
+
+    @ManagedAttribute(description = "Number of cache misses in the ProducerCache")
+    Long getCacheMisses();
+
+    @ManagedAttribute(description = "Number of producers evicted (and stopped) from the ProducerCache")
+    Long getCacheEvicted();
+
 }
\ No newline at end of file
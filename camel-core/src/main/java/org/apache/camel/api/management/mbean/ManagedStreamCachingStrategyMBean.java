@@ -55,6 +55,9 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Buffer size in bytes to use when coping between buffers")
     int getBufferSize();
 
+    @ManagedAttribute(description = "Whether to keep stream caches off-heap in direct buffers and memory mapped files")
+    boolean isOffHeap();
+
     @ManagedAttribute(description = "Whether to remove spool directory when stopping")
     void setRemoveSpoolDirectoryWhenStopping(boolean remove);
 
@@ -85,6 +88,12 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Average number of bytes per cached stream for spooled (not in-memory) stream caches.")
     long getCacheSpoolAverageSize();
 
+    @ManagedAttribute(description = "Number of bytes of off-heap memory currently in use by off-heap StreamCache")
+    long getCacheOffHeapUsedSize();
+
+    @ManagedAttribute(description = "Number of bytes of off-heap memory held by idle buffers in the pool")
+    long getCacheOffHeapPooledSize();
+
     @ManagedAttribute(description = "Whether utilization statistics is enabled")
     boolean isStatisticsEnabled();
 
@@ -43,6 +43,7 @@ import org.apache.camel.Producer;
 import org.apache.camel.component.bean.BeanInvocation;
 import org.apache.camel.component.properties.PropertiesComponent;
 import org.apache.camel.language.bean.BeanLanguage;
+import org.apache.camel.language.bean.CompiledOgnlInvoker;
 import org.apache.camel.model.language.MethodCallExpression;
 import org.apache.camel.spi.Language;
 import org.apache.camel.spi.RouteContext;
@@ -209,6 +210,22 @@ public final class ExpressionBuilder {
             });
     }
 
+    /**
+     * Returns the expression for the exchanges inbound message header invoking methods defined
+     * in a simple OGNL notation, where the methods are invoked directly when possible.
+     *
+     * @param ognl  methods to invoke on the header in a simple OGNL syntax
+     * @see CompiledOgnlInvoker
+     */
+    public static Expression compiledHeadersOgnlExpression(final String ognl) {
+        return new KeyedOgnlExpressionAdapter(ognl, "headerOgnl(" + ognl + ")", true,
+            new KeyedOgnlExpressionAdapter.KeyedEntityRetrievalStrategy() {
+                public Object getKeyedEntity(Exchange exchange, String key) {
+                    return exchange.getIn().getHeader(key);
+                }
+            });
+    }
+
     /**
      * Returns an expression for the inbound message headers
      *
@@ -576,6 +593,22 @@ public final class ExpressionBuilder {
             });
     }
 
+    /**
+     * Returns an expression for the property value of exchange with the given name invoking methods defined
+     * in a simple OGNL notation, where the methods are invoked directly when possible.
+     *
+     * @param ognl  methods to invoke on the property in a simple OGNL syntax
+     * @see CompiledOgnlInvoker
+     */
+    public static Expression compiledPropertyOgnlExpression(final String ognl) {
+        return new KeyedOgnlExpressionAdapter(ognl, "propertyOgnl(" + ognl + ")", true,
+            new KeyedOgnlExpressionAdapter.KeyedEntityRetrievalStrategy() {
+                public Object getKeyedEntity(Exchange exchange, String key) {
+                    return exchange.getProperty(key);
+                }
+            });
+    }
+
     /**
      * Returns an expression for the properties of exchange
      *
@@ -851,6 +884,35 @@ public final class ExpressionBuilder {
         };
     }
 
+    /**
+     * Returns the expression for the exchanges inbound message body invoking methods defined
+     * in a simple OGNL notation, where the methods are invoked directly when possible.
+     *
+     * @param ognl  methods to invoke on the body in a simple OGNL syntax
+     * @see CompiledOgnlInvoker
+     */
+    public static Expression compiledBodyOgnlExpression(final String ognl) {
+        final CompiledOgnlInvoker invoker = CompiledOgnlInvoker.compile(ognl);
+        if (invoker == null) {
+            // not supported so use the regular ognl expression
+            return bodyOgnlExpression(ognl);
+        }
+        return new ExpressionAdapter() {
+            public Object evaluate(Exchange exchange) {
+                Object body = exchange.getIn().getBody();
+                if (body == null) {
+                    return null;
+                }
+                return invoker.invoke(exchange, body);
+            }
+
+            @Override
+            public String toString() {
+                return "bodyOgnl(" + ognl + ")";
+            }
+        };
+    }
+
     /**
      * Returns the expression for invoking a method (support OGNL syntax) on the given expression
      *
@@ -1914,12 +1976,29 @@ public final class ExpressionBuilder {
         private final String ognl;
         private final String toStringValue;
         private final KeyedEntityRetrievalStrategy keyedEntityRetrievalStrategy;
+        private final String key;
+        private final CompiledOgnlInvoker invoker;
 
         public KeyedOgnlExpressionAdapter(String ognl, String toStringValue, 
                                           KeyedEntityRetrievalStrategy keyedEntityRetrievalStrategy) {
+            this(ognl, toStringValue, false, keyedEntityRetrievalStrategy);
+        }
+
+        public KeyedOgnlExpressionAdapter(String ognl, String toStringValue, boolean compiled,
+                                          KeyedEntityRetrievalStrategy keyedEntityRetrievalStrategy) {
             this.ognl = ognl;
             this.toStringValue = toStringValue;
             this.keyedEntityRetrievalStrategy = keyedEntityRetrievalStrategy;
+            if (compiled) {
+                // split the key and the methods to invoke upfront
+                String name = OgnlHelper.removeOperators(OgnlHelper.splitOgnl(ognl).get(0));
+                CompiledOgnlInvoker compiledInvoker = CompiledOgnlInvoker.compile(ObjectHelper.after(ognl, name));
+                this.key = compiledInvoker != null ? name : null;
+                this.invoker = compiledInvoker;
+            } else {
+                this.key = null;
+                this.invoker = null;
+            }
         }
 
         public Object evaluate(Exchange exchange) {
@@ -1929,6 +2008,14 @@ public final class ExpressionBuilder {
                 return property;
             }
 
+            if (invoker != null) {
+                property = keyedEntityRetrievalStrategy.getKeyedEntity(exchange, key);
+                if (property == null) {
+                    return null;
+                }
+                return invoker.invoke(exchange, property);
+            }
+
             // Split ognl except when this is not a Map, Array
             // and we would like to keep the dots within the key name
             List<String> methods = OgnlHelper.splitOgnl(ognl);
@@ -82,6 +82,16 @@ public class ThreadPoolProfileBuilder {
         return this;
     }
 
+    public ThreadPoolProfileBuilder threadPerTask(Boolean threadPerTask) {
+        profile.setThreadPerTask(threadPerTask);
+        return this;
+    }
+
+    public ThreadPoolProfileBuilder workStealing(Boolean workStealing) {
+        profile.setWorkStealing(workStealing);
+        return this;
+    }
+
     /**
      * Builds the thread pool profile
      * 
@@ -19,7 +19,10 @@ package org.apache.camel.component.bean;
 import java.util.Map;
 
 import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
 import org.apache.camel.impl.UriEndpointComponent;
+import org.apache.camel.util.CamelContextHelper;
+import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.LRUSoftCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,7 +37,8 @@ public class BeanComponent extends UriEndpointComponent {
     private static final Logger LOG = LoggerFactory.getLogger(BeanComponent.class);
     // use an internal soft cache for BeanInfo as they are costly to introspect
     // for example the bean language using OGNL expression runs much faster reusing the BeanInfo from this cache
-    private final LRUSoftCache<BeanInfoCacheKey, BeanInfo> cache = new LRUSoftCache<BeanInfoCacheKey, BeanInfo>(1000);
+    // the cache is created on first use, as it depends on the properties of the CamelContext
+    private volatile LRUCache<BeanInfoCacheKey, BeanInfo> cache;
 
     public BeanComponent() {
         super(BeanEndpoint.class);
@@ -56,18 +60,41 @@ public class BeanComponent extends UriEndpointComponent {
     }
     
     BeanInfo getBeanInfoFromCache(BeanInfoCacheKey key) {
-        return cache.get(key);
+        return getCache().get(key);
     }
 
     void addBeanInfoToCache(BeanInfoCacheKey key, BeanInfo beanInfo) {
-        cache.put(key, beanInfo);
+        getCache().put(key, beanInfo);
+    }
+
+    private LRUCache<BeanInfoCacheKey, BeanInfo> getCache() {
+        LRUCache<BeanInfoCacheKey, BeanInfo> answer = cache;
+        if (answer == null) {
+            synchronized (this) {
+                answer = cache;
+                if (answer == null) {
+                    if (CamelContextHelper.isCacheFrequencyAdmission(getCamelContext(), Exchange.BEAN_INFO_CACHE_FREQUENCY_ADMISSION)) {
+                        // keep the BeanInfo which are frequently used, instead of those the garbage collector did not clear
+                        answer = new LRUCache<BeanInfoCacheKey, BeanInfo>(16, 1000, false, true);
+                    } else {
+                        answer = new LRUSoftCache<BeanInfoCacheKey, BeanInfo>(1000);
+                    }
+                    cache = answer;
+                }
+            }
+        }
+        return answer;
     }
 
     @Override
     protected void doShutdown() throws Exception {
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Clearing BeanInfo cache[size={}, hits={}, misses={}, evicted={}]", new Object[]{cache.size(), cache.getHits(), cache.getMisses(), cache.getEvicted()});
+        LRUCache<BeanInfoCacheKey, BeanInfo> current = cache;
+        if (current != null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Clearing BeanInfo cache[size={}, hits={}, misses={}, evicted={}, rejected={}]",
+                        new Object[]{current.size(), current.getHits(), current.getMisses(), current.getEvicted(), current.getRejected()});
+            }
+            current.clear();
         }
-        cache.clear();
     }
 }
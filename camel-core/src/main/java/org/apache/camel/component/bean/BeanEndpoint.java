@@ -50,6 +50,9 @@ public class BeanEndpoint extends DefaultEndpoint {
     private String method;
     @UriParam(description = "Used for configuring additional properties on the bean")
     private Map<String, Object> parameters;
+    @UriParam(description = "Whether to choose the method to invoke only once per message body type,"
+            + " and invoke the method using method handles instead of reflection.")
+    private boolean precompiled;
 
     public BeanEndpoint() {
         setExchangePattern(ExchangePattern.InOut);
@@ -104,6 +107,7 @@ public class BeanEndpoint extends DefaultEndpoint {
                 processor.setMethod(method);
             }
             processor.setMultiParameterArray(isMultiParameterArray());
+            processor.setPrecompiled(isPrecompiled());
             if (parameters != null) {
                 setProperties(processor, parameters);
             }
@@ -189,6 +193,21 @@ public class BeanEndpoint extends DefaultEndpoint {
         this.parameters = parameters;
     }
 
+    public boolean isPrecompiled() {
+        return precompiled;
+    }
+
+    /**
+     * Whether to choose the method to invoke only once per message body type, and invoke the
+     * method using method handles instead of reflection.
+     * <p/>
+     * This speeds up invoking beans which has many methods to choose among, but requires the method to invoke
+     * depends only on the type of the message body, and not on its content.
+     */
+    public void setPrecompiled(boolean precompiled) {
+        this.precompiled = precompiled;
+    }
+
     // Implementation methods
     //-------------------------------------------------------------------------
 
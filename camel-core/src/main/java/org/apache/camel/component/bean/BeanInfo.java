@@ -17,6 +17,7 @@
 package org.apache.camel.component.bean;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
@@ -31,6 +32,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.camel.Attachments;
 import org.apache.camel.Body;
@@ -64,6 +67,8 @@ public class BeanInfo {
     private static final Logger LOG = LoggerFactory.getLogger(BeanInfo.class);
     private static final String CGLIB_CLASS_SEPARATOR = "$$";
     private static final List<Method> EXCLUDED_METHODS = new ArrayList<Method>();
+    // the maximum number of message body types to lock a method for when using precompiled invocations
+    private static final int MAX_LOCKED_METHODS = 100;
     private final CamelContext camelContext;
     private final BeanComponent component;
     private final Class<?> type;
@@ -76,6 +81,10 @@ public class BeanInfo {
     private List<MethodInfo> operationsWithCustomAnnotation = new ArrayList<MethodInfo>();
     private List<MethodInfo> operationsWithHandlerAnnotation = new ArrayList<MethodInfo>();
     private Map<Method, MethodInfo> methodMap = new HashMap<Method, MethodInfo>();
+    // the methods chosen per message body type when using precompiled invocations, which is shared via the cache,
+    // keyed by the name of the body type and only weakly referencing the body type, so the body types can be un-deployed
+    private ConcurrentMap<String, LockedMethod> lockedMethodsInOnly = new ConcurrentHashMap<String, LockedMethod>();
+    private ConcurrentMap<String, LockedMethod> lockedMethodsInOut = new ConcurrentHashMap<String, LockedMethod>();
 
     static {
         // exclude all java.lang.Object methods as we dont want to invoke them
@@ -122,6 +131,8 @@ public class BeanInfo {
             operationsWithCustomAnnotation = beanInfo.operationsWithCustomAnnotation;
             operationsWithHandlerAnnotation = beanInfo.operationsWithHandlerAnnotation;
             methodMap = beanInfo.methodMap;
+            lockedMethodsInOnly = beanInfo.lockedMethodsInOnly;
+            lockedMethodsInOut = beanInfo.lockedMethodsInOut;
             return;
         }
 
@@ -180,12 +191,63 @@ public class BeanInfo {
 
     public MethodInvocation createInvocation(Object pojo, Exchange exchange)
         throws AmbiguousMethodCallException, MethodNotFoundException {
-        return createInvocation(pojo, exchange, null);
+        return createInvocation(pojo, exchange, null, false);
     }
 
-    private MethodInvocation createInvocation(Object pojo, Exchange exchange, Method explicitMethod)
+    /**
+     * Creates a precompiled invocation, where the method to invoke is chosen once per message body type
+     * and then locked, so the following messages with the same body type do not have to choose the method again.
+     * <p/>
+     * The method is only locked when it was chosen without any method name and without an exception
+     * on the exchange, otherwise the invocation is created as usual. The chosen method is invoked
+     * using a {@link java.lang.invoke.MethodHandle}.
+     *
+     * @param pojo     the bean
+     * @param exchange the exchange
+     * @return the invocation, or <tt>null</tt> if no method could be chosen
+     */
+    public MethodInvocation createPrecompiledInvocation(Object pojo, Exchange exchange)
+        throws AmbiguousMethodCallException, MethodNotFoundException {
+        Message in = exchange.getIn();
+        if (in.getHeader(Exchange.BEAN_METHOD_NAME) != null || exchange.getException() != null) {
+            // the method name or exception is used when choosing the method, so it cannot be locked
+            return createInvocation(pojo, exchange, null, true);
+        }
+
+        Object body = in.getBody();
+        // use void as the type of null bodies as the map do not support null keys
+        Class<?> bodyType = body != null ? body.getClass() : Void.TYPE;
+        ConcurrentMap<String, LockedMethod> lockedMethods = exchange.getPattern().isOutCapable() ? lockedMethodsInOut : lockedMethodsInOnly;
+
+        LockedMethod locked = lockedMethods.get(bodyType.getName());
+        // the body type may be another class with the same name, such as from a re-deployed application
+        MethodInfo methodInfo = locked != null && locked.type.get() == bodyType ? locked.methodInfo : null;
+        if (methodInfo == null) {
+            methodInfo = chooseMethod(pojo, exchange, null);
+            if (methodInfo == null) {
+                methodInfo = defaultMethod;
+            }
+            if (methodInfo == null) {
+                LOG.debug("Cannot find suitable method to invoke on bean: {}", pojo);
+                return null;
+            }
+            // only lock the method if the message body was not converted while choosing the method,
+            // and only for a limited number of body types
+            if (body == in.getBody() && (lockedMethods.size() < MAX_LOCKED_METHODS || locked != null)) {
+                LOG.debug("Locking method to invoke: {} on bean: {} for body type: {}", new Object[]{methodInfo, pojo, bodyType});
+                lockedMethods.put(bodyType.getName(), new LockedMethod(bodyType, methodInfo));
+            }
+        }
+
+        LOG.trace("Chosen method to invoke: {} on bean: {}", methodInfo, pojo);
+        return methodInfo.createMethodInvocation(pojo, exchange, true);
+    }
+
+    private MethodInvocation createInvocation(Object pojo, Exchange exchange, Method explicitMethod, boolean precompiled)
         throws AmbiguousMethodCallException, MethodNotFoundException {
         MethodInfo methodInfo = null;
+        // whether the method info is created on the fly for this invocation only
+        boolean adhoc = false;
         
         // find the explicit method to invoke
         if (explicitMethod != null) {
@@ -194,7 +256,7 @@ public class BeanInfo {
                 List<MethodInfo> infos = it.next();
                 for (MethodInfo info : infos) {
                     if (explicitMethod.equals(info.getMethod())) {
-                        return info.createMethodInvocation(pojo, exchange);
+                        return info.createMethodInvocation(pojo, exchange, precompiled);
                     }
                 }
             }
@@ -217,6 +279,7 @@ public class BeanInfo {
                 try {
                     Method method = pojo.getClass().getMethod("getClass");
                     methodInfo = new MethodInfo(exchange.getContext(), pojo.getClass(), method, Collections.<ParameterInfo>emptyList(), Collections.<ParameterInfo>emptyList(), false, false);
+                    adhoc = true;
                 } catch (NoSuchMethodException e) {
                     throw new MethodNotFoundException(exchange, pojo, "getClass");
                 }
@@ -231,6 +294,7 @@ public class BeanInfo {
                     List<ParameterInfo> lpi = new ArrayList<ParameterInfo>(1);
                     lpi.add(pi);
                     methodInfo = new MethodInfo(exchange.getContext(), pojo.getClass(), method, lpi, lpi, false, false);
+                    adhoc = true;
                     // Need to update the message body to be pojo for the invocation
                     exchange.getIn().setBody(pojo);
                 } catch (NoSuchMethodException e) {
@@ -280,7 +344,8 @@ public class BeanInfo {
         }
         if (methodInfo != null) {
             LOG.trace("Chosen method to invoke: {} on bean: {}", methodInfo, pojo);
-            return methodInfo.createMethodInvocation(pojo, exchange);
+            // do not precompile method infos created on the fly as they are not reused
+            return methodInfo.createMethodInvocation(pojo, exchange, precompiled && !adhoc);
         }
 
         LOG.debug("Cannot find suitable method to invoke on bean: {}", pojo);
@@ -1158,4 +1223,17 @@ public class BeanInfo {
         return null;
     }
 
+    /**
+     * The method locked for a message body type, which only weakly references the body type.
+     */
+    private static final class LockedMethod {
+        private final WeakReference<Class<?>> type;
+        private final MethodInfo methodInfo;
+
+        private LockedMethod(Class<?> type, MethodInfo methodInfo) {
+            this.type = new WeakReference<Class<?>>(type);
+            this.methodInfo = methodInfo;
+        }
+    }
+
 }
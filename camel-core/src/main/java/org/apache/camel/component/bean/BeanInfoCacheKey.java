@@ -25,10 +25,14 @@ public final class BeanInfoCacheKey {
 
     private final Class<?> type;
     private final Method explicitMethod;
+    // the key is looked up whenever a bean info is created, so compute the hash code only once
+    private final int hashCode;
 
     public BeanInfoCacheKey(Class<?> type, Method explicitMethod) {
         this.type = type;
         this.explicitMethod = explicitMethod;
+        int result = type.hashCode();
+        this.hashCode = 31 * result + (explicitMethod != null ? explicitMethod.hashCode() : 0);
     }
 
     @Override
@@ -54,8 +58,6 @@ public final class BeanInfoCacheKey {
 
     @Override
     public int hashCode() {
-        int result = type.hashCode();
-        result = 31 * result + (explicitMethod != null ? explicitMethod.hashCode() : 0);
-        return result;
+        return hashCode;
     }
 }
@@ -42,6 +42,7 @@ public class BeanProcessor extends ServiceSupport implements AsyncProcessor {
     private boolean multiParameterArray;
     private String method;
     private boolean shorthandMethod;
+    private boolean precompiled;
 
     public BeanProcessor(Object pojo, BeanInfo beanInfo) {
         this(new ConstantBeanHolder(pojo, beanInfo));
@@ -156,7 +157,11 @@ public class BeanProcessor extends ServiceSupport implements AsyncProcessor {
             in.setHeader(Exchange.BEAN_METHOD_NAME, explicitMethodName);
         }
         try {
-            invocation = beanInfo.createInvocation(bean, exchange);
+            if (precompiled) {
+                invocation = beanInfo.createPrecompiledInvocation(bean, exchange);
+            } else {
+                invocation = beanInfo.createInvocation(bean, exchange);
+            }
         } catch (Throwable e) {
             exchange.setException(e);
             callback.done(true);
@@ -221,6 +226,23 @@ public class BeanProcessor extends ServiceSupport implements AsyncProcessor {
         this.shorthandMethod = shorthandMethod;
     }
 
+    public boolean isPrecompiled() {
+        return precompiled;
+    }
+
+    /**
+     * Sets whether to choose the method to invoke only once per message body type, and then
+     * invoke the chosen method using method handles instead of reflection.
+     * <p/>
+     * This speeds up invoking beans which has many methods to choose among, but requires the method to invoke
+     * depends only on the type of the message body, and not on its content.
+     * <p/>
+     * Is by default turned off.
+     */
+    public void setPrecompiled(boolean precompiled) {
+        this.precompiled = precompiled;
+    }
+
     // Implementation methods
     //-------------------------------------------------------------------------
     protected void doStart() throws Exception {
@@ -17,6 +17,9 @@
 package org.apache.camel.component.bean;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.InvocationTargetException;
@@ -40,6 +43,9 @@ import org.apache.camel.NoTypeConversionAvailableException;
 import org.apache.camel.Pattern;
 import org.apache.camel.Processor;
 import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.converter.BaseTypeConverterRegistry;
+import org.apache.camel.impl.converter.TypeConverterInlineCache;
 import org.apache.camel.processor.DynamicRouter;
 import org.apache.camel.processor.RecipientList;
 import org.apache.camel.processor.RoutingSlip;
@@ -75,6 +81,9 @@ public class MethodInfo {
     private RecipientList recipientList;
     private RoutingSlip routingSlip;
     private DynamicRouter dynamicRouter;
+    // method handle used by precompiled invocations, which is created on first use
+    private volatile MethodHandle methodHandle;
+    private volatile boolean methodHandleUnavailable;
 
     /**
      * Adapter to invoke the method which has been annotated with the @DynamicRouter
@@ -237,6 +246,18 @@ public class MethodInfo {
     }
 
     public MethodInvocation createMethodInvocation(final Object pojo, final Exchange exchange) {
+        return createMethodInvocation(pojo, exchange, false);
+    }
+
+    /**
+     * Creates the method invocation.
+     *
+     * @param pojo        the bean
+     * @param exchange    the exchange
+     * @param precompiled whether to invoke the method using a {@link MethodHandle} instead of reflection
+     * @return the invocation
+     */
+    public MethodInvocation createMethodInvocation(final Object pojo, final Exchange exchange, final boolean precompiled) {
         final Object[] arguments = parametersExpression.evaluate(exchange, Object[].class);
         return new MethodInvocation() {
             public Method getMethod() {
@@ -276,7 +297,7 @@ public class MethodInfo {
                 if (LOG.isTraceEnabled()) {
                     LOG.trace(">>>> invoking: {} on bean: {} with arguments: {} for exchange: {}", new Object[]{method, pojo, asString(arguments), exchange});
                 }
-                Object result = invoke(method, pojo, arguments, exchange);
+                Object result = precompiled ? invokeMethodHandle(pojo, arguments, exchange) : invoke(method, pojo, arguments, exchange);
 
                 if (recipientList != null) {
                     // ensure its started
@@ -413,12 +434,73 @@ public class MethodInfo {
         }
     }
 
+    /**
+     * Invokes the method using a {@link MethodHandle}, which avoids the overhead of reflection when the
+     * same method is invoked over and over again.
+     * <p/>
+     * Falls back to invoke the method using reflection, if the method handle could not be created or the
+     * arguments does not match the parameter types, so the outcome is the same as {@link #invoke(Method, Object, Object[], Exchange)}.
+     */
+    protected Object invokeMethodHandle(Object pojo, Object[] arguments, Exchange exchange) throws InvocationTargetException {
+        MethodHandle handle = getMethodHandle();
+        if (handle == null || !isInvokable(pojo, arguments)) {
+            return invoke(method, pojo, arguments, exchange);
+        }
+        try {
+            return (Object) handle.invokeExact(pojo, arguments);
+        } catch (Throwable e) {
+            // the arguments has been validated so its thrown by the method itself
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private MethodHandle getMethodHandle() {
+        MethodHandle answer = methodHandle;
+        if (answer == null && !methodHandleUnavailable) {
+            try {
+                MethodHandle handle = MethodHandles.lookup().unreflect(method);
+                if (isStaticMethod()) {
+                    // static methods has no pojo, so drop it
+                    handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                }
+                // adapt the handle to be invoked as (pojo, arguments)
+                answer = handle.asSpreader(Object[].class, method.getParameterTypes().length)
+                        .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+                methodHandle = answer;
+            } catch (IllegalAccessException e) {
+                LOG.debug("Cannot create method handle for method: {} due to {}. Will invoke the method using reflection.", method, e.getMessage());
+                methodHandleUnavailable = true;
+            }
+        }
+        return answer;
+    }
+
+    private boolean isInvokable(Object pojo, Object[] arguments) {
+        if (!isStaticMethod() && !method.getDeclaringClass().isInstance(pojo)) {
+            return false;
+        }
+        Class<?>[] types = method.getParameterTypes();
+        if (arguments == null || arguments.length != types.length) {
+            return false;
+        }
+        for (int i = 0; i < types.length; i++) {
+            Object argument = arguments[i];
+            if (argument == null ? types[i].isPrimitive() : !ObjectHelper.convertPrimitiveTypeToWrapperType(types[i]).isInstance(argument)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected Expression createParametersExpression() {
         final int size = parameters.size();
         LOG.trace("Creating parameters expression for {} parameters", size);
 
         final Expression[] expressions = new Expression[size];
+        // remembers the type converter used for each parameter, as it's usually the same type over and over again
+        final TypeConverterInlineCache[] inlineCaches = new TypeConverterInlineCache[size];
         for (int i = 0; i < size; i++) {
+            inlineCaches[i] = new TypeConverterInlineCache();
             Expression parameterExpression = parameters.get(i).getExpression();
             expressions[i] = parameterExpression;
             LOG.trace("Parameter #{} has expression: {}", i, parameterExpression);
@@ -597,7 +679,12 @@ public class MethodInfo {
                             answer = result;
                         } else {
                             // we got a value now try to convert it to the expected type
-                            answer = exchange.getContext().getTypeConverter().mandatoryConvertTo(parameterType, result);
+                            TypeConverter converter = exchange.getContext().getTypeConverter();
+                            if (converter instanceof BaseTypeConverterRegistry) {
+                                answer = ((BaseTypeConverterRegistry) converter).mandatoryConvertTo(parameterType, null, result, inlineCaches[index]);
+                            } else {
+                                answer = converter.mandatoryConvertTo(parameterType, result);
+                            }
                         }
                         if (LOG.isTraceEnabled()) {
                             LOG.trace("Parameter #{} evaluated as: {} type: ", new Object[]{index, answer, ObjectHelper.type(answer)});
@@ -17,11 +17,36 @@
 package org.apache.camel.component.file;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.camel.Processor;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 
 /**
@@ -29,15 +54,55 @@ import org.apache.camel.util.ObjectHelper;
  */
 public class FileConsumer extends GenericFileConsumer<File> {
 
+    // directories with a coarse timestamp resolution may not change timestamp if changed shortly after being scanned
+    private static final long TIMESTAMP_RESOLUTION = 2000;
+
+    private final Map<String, ScannedDirectory> scannedDirectories = new ConcurrentHashMap<String, ScannedDirectory>();
+    private final Map<WatchKey, Integer> watchedDirectories = new ConcurrentHashMap<WatchKey, Integer>();
+    private final Lock pollLock = new ReentrantLock();
     private String endpointPath;
+    private ExecutorService scanExecutor;
+    private ForkJoinPool scanPool;
+    private Path watchRoot;
+    private WatchService watchService;
+    private ExecutorService watchExecutor;
+    private volatile Collection<ChangedDirectory> pendingChanges;
+    private volatile boolean pollingChanges;
+    private volatile boolean scanSubDirectories = true;
 
     public FileConsumer(GenericFileEndpoint<File> endpoint, Processor processor, GenericFileOperations<File> operations) {
         super(endpoint, processor, operations);
         this.endpointPath = endpoint.getConfiguration().getDirectory();
     }
 
+    @Override
+    public void run() {
+        // polls can be triggered by both the scheduler and the watch service so they must not run concurrently
+        pollLock.lock();
+        try {
+            super.run();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    @Override
+    protected boolean isPolling() {
+        return super.isPolling() || pollingChanges;
+    }
+
     @Override
     protected boolean pollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
+        Collection<ChangedDirectory> changes = pendingChanges;
+        if (changes != null && depth == 0) {
+            pendingChanges = null;
+            return pollChangedDirectories(changes, fileList);
+        }
+
+        if (getEndpoint().isParallelScan() || getEndpoint().isIncrementalScan()) {
+            return scanDirectory(fileName, fileList, depth);
+        }
+
         log.trace("pollDirectory from fileName: {}", fileName);
 
         depth++;
@@ -83,7 +148,7 @@ public class FileConsumer extends GenericFileConsumer<File> {
             GenericFile<File> gf = asGenericFile(endpointPath, file, getEndpoint().getCharset());
 
             if (file.isDirectory()) {
-                if (endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files)) {
+                if (isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files)) {
                     // recursive scan and add the sub files and folders
                     String subDirectory = fileName + File.separator + file.getName();
                     boolean canPollMore = pollDirectory(subDirectory, fileList, depth);
@@ -105,6 +170,173 @@ public class FileConsumer extends GenericFileConsumer<File> {
         return true;
     }
 
+    /**
+     * Scans the given directory for files to process using NIO directory streams, which reads the attributes
+     * of each file only once. The sub directories are scanned in parallel if parallelScan is enabled, and
+     * directories which are unchanged since the last poll are not listed if incrementalScan is enabled.
+     *
+     * @param fileName current directory
+     * @param fileList current list of files gathered
+     * @param depth the current depth of the directory (will start from 0)
+     * @return whether or not to continue polling, <tt>false</tt> means the maxMessagesPerPoll limit has been hit
+     */
+    protected boolean scanDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
+        File directory = new File(fileName);
+        if (!directory.isDirectory()) {
+            log.debug("Cannot poll as directory does not exists or its not a directory: {}", directory);
+            if (getEndpoint().isDirectoryMustExist()) {
+                throw new GenericFileOperationFailedException("Directory does not exist: " + directory);
+            }
+            return true;
+        }
+
+        // the files can be added concurrently when scanning in parallel
+        List<GenericFile<File>> files = Collections.synchronizedList(fileList);
+        if (scanPool != null) {
+            return scanPool.invoke(new ScanTask(fileName, files, depth));
+        } else {
+            return doScanDirectory(fileName, files, depth);
+        }
+    }
+
+    private boolean doScanDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
+        log.trace("scanDirectory from fileName: {}", fileName);
+
+        depth++;
+
+        File directory = new File(fileName);
+        List<String> subDirectories;
+        ScannedDirectory scanned = scannedDirectories.get(fileName);
+        if (scanned != null && scanned.isUnchanged(directory.lastModified())) {
+            log.trace("Skipping unchanged directory: {}", directory);
+            subDirectories = scanned.subDirectories;
+        } else {
+            // the timestamp must be taken before listing so changes while listing is detected on next poll
+            long lastModified = directory.lastModified();
+            long scanTime = System.currentTimeMillis();
+
+            // the names of the files in the directory are only needed to match done files,
+            // otherwise the files are checked one by one as they are listed
+            List<File> files = Collections.emptyList();
+            if (endpoint.getDoneFileName() != null) {
+                File[] dirFiles = directory.listFiles();
+                if (dirFiles != null) {
+                    files = Arrays.asList(dirFiles);
+                }
+            }
+
+            subDirectories = new ArrayList<String>();
+            // whether there are no files to pick up now or later in this directory
+            boolean unchanged = true;
+            DirectoryStream<Path> stream = null;
+            try {
+                stream = Files.newDirectoryStream(directory.toPath());
+                for (Path path : stream) {
+                    // check if we can continue polling in files
+                    if (!canPollMoreFiles(fileList)) {
+                        return false;
+                    }
+
+                    BasicFileAttributes attrs;
+                    try {
+                        attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                    } catch (IOException e) {
+                        // the file may have been deleted in the meantime
+                        log.trace("Cannot read attributes of file: {} due {}", path, e.getMessage());
+                        continue;
+                    }
+
+                    File file = path.toFile();
+                    GenericFile<File> gf = asGenericFile(endpointPath, file, getEndpoint().getCharset(),
+                            attrs.isDirectory(), attrs.size(), attrs.lastModifiedTime().toMillis());
+
+                    if (attrs.isDirectory()) {
+                        if (isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files)) {
+                            subDirectories.add(fileName + File.separator + file.getName());
+                        }
+                    } else if (depth >= endpoint.minDepth) {
+                        if (isValidFile(gf, false, files)) {
+                            log.trace("Adding valid file: {}", file);
+                            fileList.add(gf);
+                            unchanged = false;
+                        } else if (endpoint.getInProgressRepository().contains(gf.getAbsoluteFilePath())) {
+                            // the file may be rolled back and should then be picked up again
+                            unchanged = false;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // the directory may have been deleted in the meantime
+                log.debug("Cannot list directory: {} due {}", directory, e.getMessage());
+                scannedDirectories.remove(fileName);
+                return true;
+            } finally {
+                IOHelper.close(stream);
+            }
+
+            // the sub directories are not known if they were not scanned
+            if (getEndpoint().isIncrementalScan() && unchanged && scanSubDirectories) {
+                scannedDirectories.put(fileName, new ScannedDirectory(lastModified, scanTime, subDirectories));
+            } else {
+                scannedDirectories.remove(fileName);
+            }
+        }
+
+        if (ForkJoinTask.inForkJoinPool() && subDirectories.size() > 1) {
+            // scan the sub directories in parallel
+            List<ScanTask> tasks = new ArrayList<ScanTask>(subDirectories.size());
+            for (String subDirectory : subDirectories) {
+                ScanTask task = new ScanTask(subDirectory, fileList, depth);
+                task.fork();
+                tasks.add(task);
+            }
+            boolean answer = true;
+            for (ScanTask task : tasks) {
+                if (!task.join()) {
+                    answer = false;
+                }
+            }
+            return answer;
+        } else {
+            for (String subDirectory : subDirectories) {
+                if (!doScanDirectory(subDirectory, fileList, depth)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Polls only the directories which the watch service reported changes for. The sub directories are only
+     * scanned for new directories, as the files may have been created before the directory was watched.
+     */
+    private boolean pollChangedDirectories(Collection<ChangedDirectory> changes, List<GenericFile<File>> fileList) {
+        try {
+            for (ChangedDirectory changed : changes) {
+                if (!Files.isDirectory(changed.path)) {
+                    // the directory has been deleted in the meantime
+                    continue;
+                }
+                String relative = watchRoot.relativize(changed.path).toString();
+                String fileName = relative.isEmpty() ? endpointPath : endpointPath + File.separator + relative;
+                log.trace("Polling changed directory: {}", fileName);
+
+                scanSubDirectories = changed.recursive;
+                if (!pollDirectory(fileName, fileList, changed.depth - 1)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            scanSubDirectories = true;
+        }
+    }
+
+    private boolean isRecursive() {
+        return endpoint.isRecursive() && scanSubDirectories;
+    }
+
     @Override
     protected boolean isMatched(GenericFile<File> file, String doneFileName, List<File> files) {
         String onlyName = FileUtil.stripPath(doneFileName);
@@ -126,6 +358,21 @@ public class FileConsumer extends GenericFileConsumer<File> {
      * @return wrapped as a GenericFile
      */
     public static GenericFile<File> asGenericFile(String endpointPath, File file, String charset) {
+        return asGenericFile(endpointPath, file, charset, file.isDirectory(), file.length(), file.lastModified());
+    }
+
+    /**
+     * Creates a new GenericFile<File> based on the given file and its already known attributes.
+     *
+     * @param endpointPath the starting directory the endpoint was configured with
+     * @param file the source file
+     * @param directory whether the file is a directory
+     * @param length the length of the file
+     * @param lastModified the last modified timestamp of the file
+     * @return wrapped as a GenericFile
+     */
+    public static GenericFile<File> asGenericFile(String endpointPath, File file, String charset,
+                                                  boolean directory, long length, long lastModified) {
         GenericFile<File> answer = new GenericFile<File>();
         // use file specific binding
         answer.setBinding(new FileBinding());
@@ -134,8 +381,8 @@ public class FileConsumer extends GenericFileConsumer<File> {
         answer.setEndpointPath(endpointPath);
         answer.setFile(file);
         answer.setFileNameOnly(file.getName());
-        answer.setFileLength(file.length());
-        answer.setDirectory(file.isDirectory());
+        answer.setFileLength(length);
+        answer.setDirectory(directory);
         // must use FileUtil.isAbsolute to have consistent check for whether the file is
         // absolute or not. As windows do not consider \ paths as absolute where as all
         // other OS platforms will consider \ as absolute. The logic in Camel mandates
@@ -143,7 +390,7 @@ public class FileConsumer extends GenericFileConsumer<File> {
         // to return a consistent answer for all OS platforms.
         answer.setAbsolute(FileUtil.isAbsolute(file));
         answer.setAbsoluteFilePath(file.getAbsolutePath());
-        answer.setLastModified(file.lastModified());
+        answer.setLastModified(lastModified);
 
         // compute the file path as relative to the starting directory
         File path;
@@ -173,4 +420,285 @@ public class FileConsumer extends GenericFileConsumer<File> {
     public FileEndpoint getEndpoint() {
         return (FileEndpoint) super.getEndpoint();
     }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (getEndpoint().isParallelScan() && getEndpoint().isRecursive()) {
+            // only sub directories are scanned in parallel
+            int parallelism = getEndpoint().getScanParallelism();
+            ThreadPoolProfile profile = new ThreadPoolProfileBuilder("FileScanner")
+                    .maxPoolSize(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors())
+                    .workStealing(true).build();
+            scanExecutor = getEndpoint().getCamelContext().getExecutorServiceManager().newThreadPool(this, "FileScanner", profile);
+            if (scanExecutor instanceof ForkJoinPool) {
+                scanPool = (ForkJoinPool) scanExecutor;
+            } else {
+                log.warn("Thread pool for parallel scan is not a ForkJoinPool: {}, the directories will be scanned sequentially", scanExecutor);
+            }
+        }
+        if (getEndpoint().isWatch()) {
+            try {
+                startWatching();
+            } catch (IOException e) {
+                // such as when the limit of watches of the operating system has been reached
+                log.warn("Cannot watch directory: " + getEndpoint().getFile() + " due " + e.getMessage()
+                        + ". Only the scheduled polls will be done.", e);
+                stopWatching();
+            }
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        stopWatching();
+        if (scanExecutor != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdown(scanExecutor);
+            scanExecutor = null;
+            scanPool = null;
+        }
+        scannedDirectories.clear();
+        super.doStop();
+    }
+
+    private void startWatching() throws IOException {
+        File directory = getEndpoint().getFile();
+        if (!directory.isDirectory()) {
+            log.warn("Cannot watch directory: {} as it does not exist, only the scheduled polls will be done", directory);
+            return;
+        }
+
+        watchRoot = directory.toPath();
+        watchService = watchRoot.getFileSystem().newWatchService();
+        watchDirectory(watchRoot, 1);
+        log.debug("Watching {} directories for changes", watchedDirectories.size());
+
+        watchExecutor = getEndpoint().getCamelContext().getExecutorServiceManager().newSingleThreadExecutor(this, "FileWatcher");
+        watchExecutor.submit(new WatchTask(watchService));
+    }
+
+    private void stopWatching() {
+        if (watchService != null) {
+            // closing the watch service will stop the watch task
+            IOHelper.close(watchService, "watch service", log);
+            watchService = null;
+        }
+        if (watchExecutor != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(watchExecutor);
+            watchExecutor = null;
+        }
+        watchedDirectories.clear();
+    }
+
+    private void watchDirectory(Path directory, int depth) throws IOException {
+        log.trace("Watching directory: {}", directory);
+        WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watchedDirectories.put(key, depth);
+
+        if (endpoint.isRecursive() && depth < endpoint.getMaxDepth()) {
+            DirectoryStream<Path> stream = Files.newDirectoryStream(directory);
+            try {
+                for (Path path : stream) {
+                    if (isWatchable(path) && Files.isDirectory(path)) {
+                        watchDirectory(path, depth + 1);
+                    }
+                }
+            } finally {
+                IOHelper.close(stream);
+            }
+        }
+    }
+
+    private static boolean isWatchable(Path path) {
+        // skip the same files as the consumer always skips, such as the marker files from the read lock
+        String name = path.getFileName().toString();
+        return !name.startsWith(".") && !name.endsWith(FileComponent.DEFAULT_LOCK_FILE_POSTFIX);
+    }
+
+    /**
+     * Handles the events of the watch key, by adding the directories to poll to the given changes
+     */
+    private void handleEvents(WatchKey key, Map<Path, ChangedDirectory> changes) {
+        Path directory = (Path) key.watchable();
+        Integer depth = watchedDirectories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || depth == null) {
+                // events was lost so we should poll all the directories
+                addChange(changes, watchRoot, 1, true);
+                continue;
+            }
+
+            Path path = directory.resolve((Path) event.context());
+            if (!isWatchable(path)) {
+                continue;
+            }
+            log.trace("Event {} for file: {}", event.kind(), path);
+            addChange(changes, directory, depth, false);
+
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && endpoint.isRecursive()
+                    && depth < endpoint.getMaxDepth() && Files.isDirectory(path)) {
+                // files may be created in the new directory before it is watched, so it must be polled fully
+                addChange(changes, path, depth + 1, true);
+                try {
+                    watchDirectory(path, depth + 1);
+                } catch (IOException e) {
+                    log.debug("Cannot watch directory: {} due {}", path, e.getMessage());
+                }
+            }
+        }
+
+        if (!key.reset()) {
+            // the directory is no longer accessible
+            watchedDirectories.remove(key);
+        }
+    }
+
+    private static void addChange(Map<Path, ChangedDirectory> changes, Path directory, int depth, boolean recursive) {
+        ChangedDirectory changed = changes.get(directory);
+        if (changed == null) {
+            changes.put(directory, new ChangedDirectory(directory, depth, recursive));
+        } else if (recursive) {
+            changed.recursive = true;
+        }
+    }
+
+    /**
+     * Polls the directories which the watch service reported changes for. The poll is not a scheduled poll,
+     * so it does not count towards the backoff options, and does not send an empty message when idle.
+     */
+    private void pollChanges(Collection<ChangedDirectory> changes) {
+        pollLock.lock();
+        try {
+            if (!isPollAllowed()) {
+                return;
+            }
+            pendingChanges = changes;
+            pollingChanges = true;
+            try {
+                if (getPollStrategy().begin(this, getEndpoint())) {
+                    int polledMessages = poll();
+                    log.trace("Polled {} messages due to file events", polledMessages);
+                    getPollStrategy().commit(this, getEndpoint(), polledMessages);
+                }
+            } catch (Exception e) {
+                Throwable cause = e;
+                try {
+                    // the files are picked up by the next scheduled poll instead of retrying
+                    getPollStrategy().rollback(this, getEndpoint(), 0, e);
+                } catch (Throwable t) {
+                    cause = t;
+                }
+                if (isRunAllowed()) {
+                    getExceptionHandler().handleException("Consumer " + this + " failed polling changed directories of endpoint: "
+                            + getEndpoint() + ". Will try again at next poll", cause);
+                }
+            } finally {
+                pollingChanges = false;
+                pendingChanges = null;
+            }
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    /**
+     * Task which polls when the watch service reports changes
+     */
+    private final class WatchTask implements Runnable {
+        private final WatchService watchService;
+
+        private WatchTask(WatchService watchService) {
+            this.watchService = watchService;
+        }
+
+        public void run() {
+            while (isRunAllowed()) {
+                WatchKey key;
+                try {
+                    key = watchService.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ClosedWatchServiceException e) {
+                    return;
+                }
+
+                // drain all the pending events so a burst of events only triggers one poll
+                Map<Path, ChangedDirectory> changes = new LinkedHashMap<Path, ChangedDirectory>();
+                try {
+                    while (key != null) {
+                        handleEvents(key, changes);
+                        key = watchService.poll();
+                    }
+                } catch (ClosedWatchServiceException e) {
+                    return;
+                }
+
+                if (!changes.isEmpty()) {
+                    log.trace("Polling {} directories due to file events", changes.size());
+                    pollChanges(changes.values());
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "WatchTask[" + getEndpoint() + "]";
+        }
+    }
+
+    /**
+     * Task to scan a directory in the fork-join pool
+     */
+    private final class ScanTask extends RecursiveTask<Boolean> {
+        private static final long serialVersionUID = 1L;
+        private final String fileName;
+        private final List<GenericFile<File>> fileList;
+        private final int depth;
+
+        private ScanTask(String fileName, List<GenericFile<File>> fileList, int depth) {
+            this.fileName = fileName;
+            this.fileList = fileList;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Boolean compute() {
+            return doScanDirectory(fileName, fileList, depth);
+        }
+    }
+
+    /**
+     * A directory which the watch service reported changes for
+     */
+    private static final class ChangedDirectory {
+        private final Path path;
+        private final int depth;
+        private boolean recursive;
+
+        private ChangedDirectory(Path path, int depth, boolean recursive) {
+            this.path = path;
+            this.depth = depth;
+            this.recursive = recursive;
+        }
+    }
+
+    /**
+     * A directory which had no files to pick up when it was scanned
+     */
+    private static final class ScannedDirectory {
+        private final long lastModified;
+        private final long scanTime;
+        private final List<String> subDirectories;
+
+        private ScannedDirectory(long lastModified, long scanTime, List<String> subDirectories) {
+            this.lastModified = lastModified;
+            this.scanTime = scanTime;
+            this.subDirectories = subDirectories;
+        }
+
+        boolean isUnchanged(long timestamp) {
+            return timestamp == lastModified && lastModified < scanTime - TIMESTAMP_RESOLUTION;
+        }
+    }
 }
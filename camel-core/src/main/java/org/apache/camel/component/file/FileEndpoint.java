@@ -46,6 +46,14 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private boolean renameUsingCopy;
     @UriParam(label = "producer", defaultValue = "true")
     private boolean forceWrites = true;
+    @UriParam(label = "consumer")
+    private boolean parallelScan;
+    @UriParam(label = "consumer")
+    private int scanParallelism;
+    @UriParam(label = "consumer")
+    private boolean incrementalScan;
+    @UriParam(label = "consumer")
+    private boolean watch;
 
     public FileEndpoint() {
         // use marker file as default exclusive read locks
@@ -94,6 +102,10 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
             idempotentRepository = MemoryIdempotentRepository.memoryIdempotentRepository(DEFAULT_IDEMPOTENT_CACHE_SIZE);
         }
 
+        if (isIncrementalScan() && getFileName() != null) {
+            throw new IllegalArgumentException("You cannot set both incrementalScan=true and fileName options");
+        }
+
         // set max messages per poll
         result.setMaxMessagesPerPoll(getMaxMessagesPerPoll());
         result.setEagerLimitMaxMessagesPerPoll(isEagerMaxMessagesPerPoll());
@@ -209,4 +221,69 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     public void setForceWrites(boolean forceWrites) {
         this.forceWrites = forceWrites;
     }
+
+    public boolean isParallelScan() {
+        return parallelScan;
+    }
+
+    /**
+     * Whether to scan sub directories in parallel using a fork-join pool, when recursive is enabled.
+     * The files are scanned using NIO directory streams which reads the attributes of each file only once.
+     * <p/>
+     * Notice the order the files are found in is not predictable when scanning in parallel, so use the sorting
+     * options if the files must be processed in a specific order. Any filter in use must be thread safe.
+     */
+    public void setParallelScan(boolean parallelScan) {
+        this.parallelScan = parallelScan;
+    }
+
+    public int getScanParallelism() {
+        return scanParallelism;
+    }
+
+    /**
+     * The number of threads to use for scanning sub directories in parallel, when parallelScan is enabled.
+     * Is by default the number of processors available.
+     */
+    public void setScanParallelism(int scanParallelism) {
+        this.scanParallelism = scanParallelism;
+    }
+
+    public boolean isIncrementalScan() {
+        return incrementalScan;
+    }
+
+    /**
+     * Whether to skip listing the files of directories which are unchanged since the last poll.
+     * A directory is regarded as unchanged if its last modified timestamp is the same and no files
+     * in the directory was picked up or in progress in the previous poll. The sub directories of an unchanged
+     * directory are still scanned, as they have their own timestamp.
+     * <p/>
+     * This is intended for directories with many files which are kept after being consumed, such as when using
+     * noop=true, as changes to files which do not add, remove or rename files in a directory are not detected.
+     * This option cannot be used together with the fileName option.
+     */
+    public void setIncrementalScan(boolean incrementalScan) {
+        this.incrementalScan = incrementalScan;
+    }
+
+    public boolean isWatch() {
+        return watch;
+    }
+
+    /**
+     * Whether to use a {@link java.nio.file.WatchService} to poll immediately when files are created or modified in
+     * the directory (and its sub directories if recursive is enabled), instead of waiting for the next scheduled poll.
+     * <p/>
+     * The scheduled polls are still done as a safety net for changes which the file system does not report,
+     * so the delay option can be set to a higher value when using this option. The files picked up are processed
+     * the same way as by the scheduled polls, including the exclusive read lock strategies. Only the directories
+     * with changes are polled, and these polls does not count towards the backoff options of the scheduled polls.
+     * If the directory cannot be watched, such as when the limit of watches of the operating system has been reached,
+     * only the scheduled polls are done.
+     * Notice that some platforms implement the watch service by polling the file system.
+     */
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
 }
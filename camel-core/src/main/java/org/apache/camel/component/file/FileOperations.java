@@ -27,6 +27,7 @@ import java.io.Reader;
 import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
@@ -218,9 +219,9 @@ public class FileOperations implements GenericFileOperations<File> {
             // we can optimize and use file based if no charset must be used, and the input body is a file
             File source = null;
             boolean fileBased = false;
-            if (charset == null) {
-                // if no charset, then we can try using file directly (optimized)
-                Object body = exchange.getIn().getBody();
+            Object body = exchange.getIn().getBody();
+            if (charset == null || isFileWithCharset(exchange, body, charset)) {
+                // if no charset, or the file is already in the charset, then we can try using file directly (optimized)
                 if (body instanceof WrappedFile) {
                     body = ((WrappedFile<?>) body).getFile();
                 }
@@ -367,17 +368,39 @@ public class FileOperations implements GenericFileOperations<File> {
         return FileUtil.renameFile(source, file, endpoint.isCopyAndDeleteOnRenameFail());
     }
 
+    /**
+     * Whether the body is the file consumed from a file endpoint using the same charset, which means the
+     * file can be written as-is without decoding and encoding the content.
+     */
+    private static boolean isFileWithCharset(Exchange exchange, Object body, String charset) {
+        if (!(exchange.getIn() instanceof GenericFileMessage)) {
+            return false;
+        }
+        GenericFile<?> file = ((GenericFileMessage<?>) exchange.getIn()).getGenericFile();
+        Object target = body instanceof WrappedFile ? ((WrappedFile<?>) body).getFile() : body;
+        if (file == null || file.getCharset() == null || target == null || target != file.getFile()) {
+            return false;
+        }
+        try {
+            return Charset.forName(file.getCharset()).equals(Charset.forName(charset));
+        } catch (IllegalArgumentException e) {
+            // invalid charset so we cannot optimize
+            return false;
+        }
+    }
+
     private void writeFileByFile(File source, File target) throws IOException {
+        if (!Files.isRegularFile(source.toPath())) {
+            // pipes and special files cannot be transferred as they have no size, so they must be read
+            writeFileByStream(new FileInputStream(source), target);
+            return;
+        }
         FileChannel in = new FileInputStream(source).getChannel();
         FileChannel out = null;
         try {
             out = prepareOutputFileChannel(target);
             LOG.debug("Using FileChannel to write file: {}", target);
-            long size = in.size();
-            long position = 0;
-            while (position < size) {
-                position += in.transferTo(position, endpoint.getBufferSize(), out);
-            }
+            IOHelper.transferTo(in, out);
         } finally {
             IOHelper.close(in, source.getName(), LOG);
             IOHelper.close(out, target.getName(), LOG, endpoint.isForceWrites());
@@ -388,6 +411,13 @@ public class FileOperations implements GenericFileOperations<File> {
         FileChannel out = null;
         try {
             out = prepareOutputFileChannel(target);
+            // the stream is from a file so we can transfer the remainder of the file directly, but only if the file
+            // has a size, as pipes and special files report a size of 0 and must be read as a stream
+            if (in instanceof FileInputStream && ((FileInputStream) in).getChannel().size() > 0) {
+                LOG.debug("Using FileChannel of InputStream to write file: {}", target);
+                IOHelper.transferTo(((FileInputStream) in).getChannel(), out);
+                return;
+            }
             LOG.debug("Using InputStream to write file: {}", target);
             int size = endpoint.getBufferSize();
             byte[] buffer = new byte[size];
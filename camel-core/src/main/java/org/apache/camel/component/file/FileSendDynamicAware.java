@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.spi.SendDynamicAware;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.URISupport;
+
+/**
+ * {@link SendDynamicAware} for the file component, which sends to the static uri without the <tt>fileName</tt> option,
+ * and instead sets the file name using the {@link Exchange#FILE_NAME} header.
+ * <p/>
+ * Uris where the file name is an expression to be evaluated by the file producer (such as using the file language)
+ * are not optimised.
+ */
+public class FileSendDynamicAware implements SendDynamicAware {
+
+    private static final String FILE_NAME = "fileName";
+
+    private String scheme;
+
+    public void setScheme(String scheme) {
+        this.scheme = scheme;
+    }
+
+    public String getScheme() {
+        return scheme;
+    }
+
+    public String resolveStaticUri(Exchange exchange, String uri) throws Exception {
+        String query = ObjectHelper.after(uri, "?");
+        if (query == null) {
+            return null;
+        }
+        String fileName = getFileName(query);
+        if (fileName == null || fileName.contains("${") || fileName.contains("$simple{")) {
+            return null;
+        }
+
+        // remove the file name option from the uri, and keep the other options as-is
+        StringBuilder sb = new StringBuilder(ObjectHelper.before(uri, "?"));
+        char separator = '?';
+        for (String option : query.split("&")) {
+            if (!option.isEmpty() && !option.startsWith(FILE_NAME + "=")) {
+                sb.append(separator).append(option);
+                separator = '&';
+            }
+        }
+        return sb.toString();
+    }
+
+    public Processor createPreProcessor(Exchange exchange, String uri) throws Exception {
+        final String fileName = getFileName(ObjectHelper.after(uri, "?"));
+        return new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setHeader(Exchange.FILE_NAME, fileName);
+            }
+        };
+    }
+
+    public Processor createPostProcessor(Exchange exchange, String uri) throws Exception {
+        // the processors are created before sending, so we can remember any existing file name to restore
+        final Object existing = exchange.getIn().getHeader(Exchange.FILE_NAME);
+        return new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                if (existing != null) {
+                    exchange.getIn().setHeader(Exchange.FILE_NAME, existing);
+                } else {
+                    exchange.getIn().removeHeader(Exchange.FILE_NAME);
+                }
+            }
+        };
+    }
+
+    private static String getFileName(String query) throws Exception {
+        Map<String, Object> parameters = URISupport.parseQuery(query, false, true);
+        Object value = parameters.get(FILE_NAME);
+        return value != null ? value.toString() : null;
+    }
+}
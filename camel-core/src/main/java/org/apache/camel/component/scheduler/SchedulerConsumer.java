@@ -40,7 +40,8 @@ public class SchedulerConsumer extends ScheduledPollConsumer {
     }
 
     protected int sendTimerExchange() {
-        final Exchange exchange = getEndpoint().createExchange();
+        // use the exchange factory which allows to reuse exchanges
+        final Exchange exchange = getEndpoint().getCamelContext().getExchangeFactory().create(getEndpoint(), getEndpoint().getExchangePattern());
         exchange.setProperty(Exchange.TIMER_NAME, getEndpoint().getName());
 
         Date now = new Date();
@@ -16,7 +16,10 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -25,18 +28,20 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
-import org.apache.camel.Consumer;
+import org.apache.camel.BatchConsumer;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.ShutdownRunningTask;
 import org.apache.camel.SuspendableService;
+import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.processor.MulticastProcessor;
 import org.apache.camel.spi.ExceptionHandler;
 import org.apache.camel.spi.ShutdownAware;
 import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.util.AsyncProcessorConverterHelper;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -49,13 +54,18 @@ import org.slf4j.LoggerFactory;
  * <p/>
  * In this implementation there is a little <i>slack period</i> when you suspend/stop the consumer, by which
  * the consumer may pickup a newly arrived messages and process it. That period is up till 1 second.
+ * <p/>
+ * When a batch size has been configured the consumer drains up to that number of messages from the queue
+ * at each poll and processes them as a batch, either one by one or as a single grouped exchange.
  *
  * @version 
  */
-public class SedaConsumer extends ServiceSupport implements Consumer, Runnable, ShutdownAware, SuspendableService {
+public class SedaConsumer extends ServiceSupport implements BatchConsumer, Runnable, ShutdownAware, SuspendableService {
     private static final Logger LOG = LoggerFactory.getLogger(SedaConsumer.class);
 
     private final AtomicInteger taskCount = new AtomicInteger();
+    // the number of exchanges which has been drained from the queue in batches but not yet processed
+    private final AtomicInteger pendingBatchSize = new AtomicInteger();
     private volatile CountDownLatch latch;
     private volatile boolean shutdownPending;
     private volatile boolean forceShutdown;
@@ -64,11 +74,13 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
     private ExecutorService executor;
     private ExceptionHandler exceptionHandler;
     private final int pollTimeout;
+    private volatile int maxMessagesPerPoll;
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         this.endpoint = endpoint;
         this.processor = AsyncProcessorConverterHelper.convert(processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        this.maxMessagesPerPoll = endpoint.getBatchSize();
         this.exceptionHandler = new LoggingExceptionHandler(endpoint.getCamelContext(), getClass());
     }
 
@@ -101,11 +113,11 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
 
     public int getPendingExchangesSize() {
         // the route is shutting down, so either we should purge the queue,
-        // or return how many exchanges are still on the queue
+        // or return how many exchanges are still on the queue, and in the batches being processed
         if (endpoint.isPurgeWhenStopping()) {
             endpoint.purgeQueue();
         }
-        return endpoint.getQueue().size();
+        return endpoint.getQueue().size() + pendingBatchSize.get();
     }
 
     @Override
@@ -150,8 +162,126 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         }
     }
 
+    public void setMaxMessagesPerPoll(int maxMessagesPerPoll) {
+        this.maxMessagesPerPoll = maxMessagesPerPoll;
+    }
+
+    public boolean isBatchAllowed() {
+        // the exchanges in a batch have already been taken from the queue, and cannot be put back without
+        // losing or reordering them, so the batch is always completed, also when we are forced to shutdown
+        return true;
+    }
+
+    public int processBatch(Queue<Object> exchanges) throws Exception {
+        int total = exchanges.size();
+        if (total == 0) {
+            return 0;
+        }
+
+        if (endpoint.isGroupedBatch()) {
+            processGroupedBatch(exchanges, total);
+            return total;
+        }
+
+        int index = 0;
+        while (!exchanges.isEmpty()) {
+            Exchange exchange = (Exchange) exchanges.poll();
+            try {
+                Exchange newExchange = prepareExchange(exchange);
+                setBatchProperties(newExchange, index, total);
+                processExchange(exchange, newExchange);
+            } catch (Exception e) {
+                // continue with the remainder of the batch
+                getExceptionHandler().handleException("Error processing exchange", exchange, e);
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Processes the batch as a single grouped exchange which has the prepared exchanges as the message body.
+     */
+    protected void processGroupedBatch(Queue<Object> exchanges, int total) {
+        final List<Exchange> originals = new ArrayList<Exchange>(total);
+        final List<Exchange> copies = new ArrayList<Exchange>(total);
+        while (!exchanges.isEmpty()) {
+            Exchange exchange = (Exchange) exchanges.poll();
+            try {
+                copies.add(prepareExchange(exchange));
+                originals.add(exchange);
+            } catch (Exception e) {
+                // continue with the remainder of the batch
+                getExceptionHandler().handleException("Error processing exchange", exchange, e);
+            }
+        }
+        if (copies.isEmpty()) {
+            return;
+        }
+        int size = copies.size();
+        for (int i = 0; i < size; i++) {
+            setBatchProperties(copies.get(i), i, size);
+        }
+
+        final Exchange grouped = new DefaultExchange(endpoint.getCamelContext());
+        grouped.setFromEndpoint(endpoint);
+        grouped.setProperty(Exchange.GROUPED_EXCHANGE, copies);
+        grouped.setProperty(Exchange.BATCH_SIZE, size);
+        grouped.getIn().setBody(copies);
+        // when the grouped exchange is done then report back the outcome of each exchange in the batch
+        grouped.addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange exchange) {
+                doneGroupedBatch(grouped, originals, copies);
+            }
+
+            @Override
+            public String toString() {
+                return "onDone grouped batch at endpoint: " + endpoint;
+            }
+        });
+
+        try {
+            sendToConsumers(grouped);
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing grouped exchange", grouped, e);
+        }
+        if (grouped.getException() != null) {
+            getExceptionHandler().handleException("Error processing grouped exchange", grouped, grouped.getException());
+        }
+    }
+
+    private void doneGroupedBatch(Exchange grouped, List<Exchange> originals, List<Exchange> copies) {
+        for (int i = 0; i < copies.size(); i++) {
+            Exchange exchange = originals.get(i);
+            Exchange newExchange = copies.get(i);
+            // if the grouped exchange failed then so did the exchanges in the batch
+            if (grouped.getException() != null && newExchange.getException() == null) {
+                newExchange.setException(grouped.getException());
+            }
+            // copy the message back
+            if (newExchange.hasOut()) {
+                exchange.setOut(newExchange.getOut().copy());
+            } else {
+                exchange.setIn(newExchange.getIn());
+            }
+            exchange.setException(newExchange.getException());
+            // the exchanges in the batch were not routed on their own, so we need to done their on completions,
+            // which lets a waiting producer continue
+            UnitOfWorkHelper.doneSynchronizations(newExchange, newExchange.handoverCompletions(), LOG);
+        }
+    }
+
+    private static void setBatchProperties(Exchange exchange, int index, int total) {
+        exchange.setProperty(Exchange.BATCH_INDEX, index);
+        exchange.setProperty(Exchange.BATCH_SIZE, total);
+        exchange.setProperty(Exchange.BATCH_COMPLETE, index == total - 1);
+    }
+
     protected void doRun() {
         BlockingQueue<Exchange> queue = endpoint.getQueue();
+        // the batch is only used by this consumer thread, so we can reuse it
+        Queue<Object> batch = new ArrayDeque<Object>();
         // loop while we are allowed, or if we are stopping loop until the queue is empty
         while (queue != null && (isRunAllowed())) {
 
@@ -192,26 +322,26 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
                 if (LOG.isTraceEnabled()) {
                     LOG.trace("Polled queue {} with timeout {} ms. -> {}", new Object[]{ObjectHelper.getIdentityHashCode(queue), pollTimeout, exchange});
                 }
-                if (exchange != null) {
+                int max = maxMessagesPerPoll;
+                if (exchange != null && max > 0) {
+                    // we only wait for the first exchange, and then drain what is ready on the queue
+                    batch.add(exchange);
+                    if (max > 1) {
+                        queue.drainTo(batch, max - 1);
+                    }
+                    exchange = null;
+                    // the batch is pending until processed, so graceful shutdown waits for it
+                    int size = batch.size();
+                    pendingBatchSize.addAndGet(size);
                     try {
-                        // send a new copied exchange with new camel context
-                        Exchange newExchange = prepareExchange(exchange);
-                        // process the exchange
-                        sendToConsumers(newExchange);
-                        // copy the message back
-                        if (newExchange.hasOut()) {
-                            exchange.setOut(newExchange.getOut().copy());
-                        } else {
-                            exchange.setIn(newExchange.getIn());
-                        }
-                        // log exception if an exception occurred and was not handled
-                        if (newExchange.getException() != null) {
-                            exchange.setException(newExchange.getException());
-                            getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
-                        }
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
+                        // processing the batch takes all the exchanges from it
+                        processBatch(batch);
+                    } finally {
+                        pendingBatchSize.addAndGet(-size);
                     }
+                } else if (exchange != null) {
+                    // send a new copied exchange with new camel context
+                    processExchange(exchange, prepareExchange(exchange));
                 } else if (shutdownPending && queue.isEmpty()) {
                     LOG.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
                     // we want to shutdown so break out if there queue is empty
@@ -233,6 +363,32 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         LOG.debug("Ending this polling consumer thread, there are still {} consumer threads left.", latch.getCount());
     }
 
+    /**
+     * Processes the prepared exchange and copies the result back to the exchange which was polled from the queue.
+     *
+     * @param exchange    the exchange polled from the queue
+     * @param newExchange the prepared exchange to process
+     */
+    protected void processExchange(Exchange exchange, Exchange newExchange) {
+        try {
+            // process the exchange
+            sendToConsumers(newExchange);
+            // copy the message back
+            if (newExchange.hasOut()) {
+                exchange.setOut(newExchange.getOut().copy());
+            } else {
+                exchange.setIn(newExchange.getIn());
+            }
+            // log exception if an exception occurred and was not handled
+            if (newExchange.getException() != null) {
+                exchange.setException(newExchange.getException());
+                getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
     /**
      * Strategy to prepare exchange for being processed by this consumer
      *
@@ -81,6 +81,10 @@ public class SedaEndpoint extends DefaultEndpoint implements BrowsableEndpoint,
     private boolean purgeWhenStopping;
     @UriParam(label = "consumer", defaultValue = "1000")
     private int pollTimeout = 1000;
+    @UriParam(label = "consumer")
+    private int batchSize;
+    @UriParam(label = "consumer")
+    private boolean groupedBatch;
 
     @UriParam(label = "producer", defaultValue = "IfReplyExpected")
     private WaitForTaskToComplete waitForTaskToComplete = WaitForTaskToComplete.IfReplyExpected;
@@ -392,6 +396,36 @@ public class SedaEndpoint extends DefaultEndpoint implements BrowsableEndpoint,
         this.pollTimeout = pollTimeout;
     }
 
+    @ManagedAttribute
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * To let the consumer drain up to the given number of messages from the queue at each poll, and process them as a batch.
+     * The consumer waits (using the poll timeout) for the first message only, and takes the remaining messages which are
+     * already on the queue without waiting. Each message is enriched with the batch properties such as
+     * <tt>CamelBatchIndex</tt>, <tt>CamelBatchSize</tt> and <tt>CamelBatchComplete</tt>.
+     * Is default 0 which means no batching, where the messages are polled one by one.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @ManagedAttribute
+    public boolean isGroupedBatch() {
+        return groupedBatch;
+    }
+
+    /**
+     * When using <tt>batchSize</tt> whether to route the batch as a single grouped exchange, instead of routing the messages
+     * in the batch one by one. The grouped exchange has the list of exchanges as message body and in the
+     * <tt>CamelGroupedExchange</tt> property. The result of each exchange in the list is reported back to its producer.
+     */
+    public void setGroupedBatch(boolean groupedBatch) {
+        this.groupedBatch = groupedBatch;
+    }
+
     @ManagedAttribute
     public boolean isPurgeWhenStopping() {
         return purgeWhenStopping;
@@ -146,7 +146,8 @@ public class TimerConsumer extends DefaultConsumer implements StartupListener {
     }
 
     protected void sendTimerExchange(long counter) {
-        final Exchange exchange = endpoint.createExchange();
+        // use the exchange factory which allows to reuse exchanges
+        final Exchange exchange = endpoint.getCamelContext().getExchangeFactory().create(endpoint, endpoint.getExchangePattern());
         exchange.setProperty(Exchange.TIMER_COUNTER, counter);
         exchange.setProperty(Exchange.TIMER_NAME, endpoint.getTimerName());
         exchange.setProperty(Exchange.TIMER_TIME, endpoint.getTime());
@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * A {@link StreamCache} which reads from off-heap {@link ByteBuffer}s, such as pooled direct buffers
+ * or a memory mapped spool file.
+ * <p/>
+ * Copies share the underlying buffers without copying the data. Pooled buffers are only given back to the pool
+ * when all the stream caches sharing them have been garbage collected, so a stream cache can be read safely
+ * after the exchange(s) using it are done, such as when it has been aggregated.
+ */
+public final class ByteBufferInputStreamCache extends InputStream implements StreamCache {
+
+    private final ByteBuffer[] buffers;
+    private final long length;
+    // keeps the pooled buffers from being given back to the pool while this stream cache is in use
+    private final Object owner;
+    private final FileInputStreamCache.TempFileManager tempFileManager;
+    private int index;
+
+    ByteBufferInputStreamCache(ByteBuffer[] buffers, long length, Object owner, FileInputStreamCache.TempFileManager tempFileManager) {
+        this.buffers = new ByteBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            // each stream cache has its own position in the shared buffers
+            ByteBuffer view = buffers[i].duplicate();
+            view.rewind();
+            this.buffers[i] = view;
+        }
+        this.length = length;
+        this.owner = owner;
+        this.tempFileManager = tempFileManager;
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (index < buffers.length) {
+            ByteBuffer buffer = buffers[index];
+            if (buffer.hasRemaining()) {
+                return buffer.get() & 0xff;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int total = 0;
+        while (len > 0 && index < buffers.length) {
+            ByteBuffer buffer = buffers[index];
+            if (!buffer.hasRemaining()) {
+                index++;
+                continue;
+            }
+            int size = Math.min(len, buffer.remaining());
+            buffer.get(b, off, size);
+            off += size;
+            len -= size;
+            total += size;
+        }
+        return total == 0 ? -1 : total;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long total = 0;
+        while (n > 0 && index < buffers.length) {
+            ByteBuffer buffer = buffers[index];
+            if (!buffer.hasRemaining()) {
+                index++;
+                continue;
+            }
+            int size = (int) Math.min(n, buffer.remaining());
+            buffer.position(buffer.position() + size);
+            n -= size;
+            total += size;
+        }
+        return total;
+    }
+
+    @Override
+    public int available() throws IOException {
+        long answer = 0;
+        for (int i = index; i < buffers.length; i++) {
+            answer += buffers[i].remaining();
+        }
+        return (int) Math.min(answer, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void reset() {
+        for (ByteBuffer buffer : buffers) {
+            buffer.rewind();
+        }
+        index = 0;
+    }
+
+    @Override
+    public void close() {
+        // noop as the buffers are given back to the pool when the stream caches sharing them are garbage collected
+    }
+
+    public void writeTo(OutputStream os) throws IOException {
+        byte[] data = null;
+        for (int i = index; i < buffers.length; i++) {
+            // use a duplicate so the position of this stream cache is not changed
+            ByteBuffer buffer = buffers[i].duplicate();
+            if (os instanceof WritableByteChannel) {
+                WritableByteChannel channel = (WritableByteChannel) os;
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } else {
+                if (data == null) {
+                    data = new byte[(int) Math.min(length, IOHelper.DEFAULT_BUFFER_SIZE)];
+                }
+                while (buffer.hasRemaining()) {
+                    int size = Math.min(data.length, buffer.remaining());
+                    buffer.get(data, 0, size);
+                    os.write(data, 0, size);
+                }
+            }
+        }
+    }
+
+    public StreamCache copy(Exchange exchange) throws IOException {
+        tempFileManager.addExchange(exchange);
+        return new ByteBufferInputStreamCache(buffers, length, owner, tempFileManager);
+    }
+
+    public boolean inMemory() {
+        return true;
+    }
+
+    public long length() {
+        return length;
+    }
+}
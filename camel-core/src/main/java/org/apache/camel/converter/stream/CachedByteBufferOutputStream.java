@@ -0,0 +1,202 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.spi.StreamCachingStrategy;
+
+/**
+ * An {@link OutputStream} which stores the data off-heap in direct {@link ByteBuffer}s
+ * acquired from the pool of the {@link StreamCachingStrategy}.
+ * <p/>
+ * The buffers are given back to the pool using {@link #release()}. If the buffers are shared with stream caches,
+ * then they are given back to the pool when all the stream caches sharing them have been garbage collected,
+ * as a stream cache can outlive the exchange it was created for, such as when it is aggregated.
+ */
+public final class CachedByteBufferOutputStream extends OutputStream {
+
+    // the shared buffers which are waiting for the stream caches sharing them to be garbage collected
+    private static final ReferenceQueue<Object> SHARED_QUEUE = new ReferenceQueue<Object>();
+    private static final Set<SharedBuffers> SHARED = Collections.newSetFromMap(new ConcurrentHashMap<SharedBuffers, Boolean>());
+
+    private final StreamCachingStrategy strategy;
+    private final List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+    private ByteBuffer current;
+    private long count;
+    // referenced by all the stream caches sharing the buffers, so we know when none of them are in use anymore
+    private Object owner;
+
+    public CachedByteBufferOutputStream(StreamCachingStrategy strategy) {
+        this.strategy = strategy;
+        // give back the shared buffers which are no longer in use before acquiring new buffers
+        releaseUnreachableBuffers();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        nextBuffer().put((byte) b);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ByteBuffer buffer = nextBuffer();
+            int size = Math.min(len, buffer.remaining());
+            buffer.put(b, off, size);
+            off += size;
+            len -= size;
+            count += size;
+        }
+    }
+
+    /**
+     * The number of bytes written
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Writes the content to the given stream, such as when spooling to disk
+     */
+    public void writeTo(OutputStream os) throws IOException {
+        byte[] data = null;
+        for (ByteBuffer buffer : getBuffers()) {
+            if (os instanceof WritableByteChannel) {
+                WritableByteChannel channel = (WritableByteChannel) os;
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } else {
+                if (data == null) {
+                    data = new byte[buffer.capacity()];
+                }
+                while (buffer.hasRemaining()) {
+                    int size = Math.min(data.length, buffer.remaining());
+                    buffer.get(data, 0, size);
+                    os.write(data, 0, size);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a new {@link ByteBufferInputStreamCache} view of the buffers
+     */
+    ByteBufferInputStreamCache newInputStreamCache(FileInputStreamCache.TempFileManager tempFileManager) {
+        if (owner == null) {
+            owner = new Object();
+        }
+        return new ByteBufferInputStreamCache(getBuffers(), count, owner, tempFileManager);
+    }
+
+    /**
+     * Whether any stream caches are sharing the buffers
+     */
+    boolean isShared() {
+        return owner != null;
+    }
+
+    /**
+     * Gives the buffers back to the pool, or if the buffers are shared with stream caches,
+     * then when the stream caches have been garbage collected.
+     */
+    public void release() {
+        if (owner != null) {
+            SHARED.add(new SharedBuffers(owner, strategy, new ArrayList<ByteBuffer>(buffers)));
+            owner = null;
+        } else {
+            for (ByteBuffer buffer : buffers) {
+                strategy.releaseBuffer(buffer);
+            }
+        }
+        buffers.clear();
+        current = null;
+    }
+
+    /**
+     * Gives the shared buffers back to the pool, for the stream caches which have been garbage collected.
+     */
+    static void releaseUnreachableBuffers() {
+        Reference<?> ref = SHARED_QUEUE.poll();
+        while (ref != null) {
+            SharedBuffers shared = (SharedBuffers) ref;
+            SHARED.remove(shared);
+            shared.release();
+            ref = SHARED_QUEUE.poll();
+        }
+    }
+
+    private ByteBuffer[] getBuffers() {
+        ByteBuffer[] answer = new ByteBuffer[buffers.size()];
+        for (int i = 0; i < answer.length; i++) {
+            // read-only views of the written data, so the buffers can be shared without copying
+            ByteBuffer view = buffers.get(i).asReadOnlyBuffer();
+            view.flip();
+            answer[i] = view;
+        }
+        return answer;
+    }
+
+    private ByteBuffer nextBuffer() {
+        if (current == null || !current.hasRemaining()) {
+            current = strategy.acquireBuffer();
+            buffers.add(current);
+        }
+        return current;
+    }
+
+    /**
+     * The buffers shared with stream caches, which is enqueued when the owner referenced by the stream caches
+     * has been garbage collected.
+     */
+    private static final class SharedBuffers extends PhantomReference<Object> {
+        // do not keep the strategy (and thereby the camel context) alive
+        private final WeakReference<StreamCachingStrategy> strategy;
+        private final List<ByteBuffer> buffers;
+
+        private SharedBuffers(Object owner, StreamCachingStrategy strategy, List<ByteBuffer> buffers) {
+            super(owner, SHARED_QUEUE);
+            this.strategy = new WeakReference<StreamCachingStrategy>(strategy);
+            this.buffers = buffers;
+        }
+
+        void release() {
+            StreamCachingStrategy answer = strategy.get();
+            if (answer != null) {
+                for (ByteBuffer buffer : buffers) {
+                    answer.releaseBuffer(buffer);
+                }
+            }
+        }
+    }
+
+}
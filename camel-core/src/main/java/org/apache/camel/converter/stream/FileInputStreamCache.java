@@ -25,6 +25,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
@@ -147,6 +148,12 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
     }
 
     private InputStream createInputStream(File file) throws IOException {
+        if (ciphers == null && tempFileManager.isMemoryMapped() && length <= Integer.MAX_VALUE) {
+            // read from the shared memory mapped file which avoids copying the data through heap buffers
+            ByteBuffer mapped = tempFileManager.getMappedBuffer();
+            // the mapping is kept alive by the buffer, so no owner is needed
+            return new ByteBufferInputStreamCache(new ByteBuffer[]{mapped}, length, null, tempFileManager);
+        }
         InputStream in = new BufferedInputStream(new FileInputStream(file));
         if (ciphers != null) {
             in = new CipherInputStream(in, ciphers.getDecryptor()) {
@@ -180,6 +187,10 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         private File tempFile;
         private OutputStream outputStream; // file output stream
         private CipherPair ciphers;
+        private boolean memoryMapped;
+        private ByteBuffer mappedBuffer;
+        // off-heap stream which buffers are given back to the pool
+        private CachedByteBufferOutputStream offHeapStream;
         
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
         private List<FileInputStreamCache> fileInputStreamCaches;
@@ -220,6 +231,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
                                 if (outputStream != null) {
                                     outputStream.close();
                                 }
+                                releaseBuffers();
                                 try {
                                     cleanUpTempFile();
                                 } catch (Exception e) {
@@ -277,9 +289,47 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
                     }
                 };
             }
+            // the spool file can be memory mapped when reading if not encrypted
+            memoryMapped = strategy.isOffHeap() && ciphers == null;
             outputStream = out;
             return out;
         }
+
+        void setOffHeapStream(CachedByteBufferOutputStream offHeapStream) {
+            this.offHeapStream = offHeapStream;
+        }
+
+        boolean isMemoryMapped() {
+            return memoryMapped;
+        }
+
+        /**
+         * Gets a view of the memory mapped temporary file, which is mapped once and shared by all the file input stream caches.
+         */
+        synchronized ByteBuffer getMappedBuffer() throws IOException {
+            if (mappedBuffer == null) {
+                FileInputStream fis = new FileInputStream(tempFile);
+                try {
+                    FileChannel fc = fis.getChannel();
+                    mappedBuffer = fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size());
+                } finally {
+                    IOHelper.close(fis);
+                }
+            }
+            return mappedBuffer.duplicate();
+        }
+
+        /**
+         * Gives the off-heap buffers back to the pool, when the stream caches using them are no longer in use.
+         */
+        void releaseBuffers() {
+            if (offHeapStream != null) {
+                offHeapStream.release();
+                offHeapStream = null;
+            }
+            // the mapping is unmapped when the buffer and the stream caches using it are garbage collected
+            mappedBuffer = null;
+        }
         
         FileInputStreamCache newStreamCache() throws IOException {
             try {
@@ -167,6 +167,15 @@ public class ActiveMQUuidGenerator implements UuidGenerator {
         }
     }
 
+    /**
+     * Gets the seed which is unique per generator instance, and which is used as prefix for the generated ids
+     *
+     * @return the seed
+     */
+    protected String getSeed() {
+        return seed;
+    }
+
     public String generateUuid() {
         StringBuilder sb = new StringBuilder(length);
         sb.append(seed);
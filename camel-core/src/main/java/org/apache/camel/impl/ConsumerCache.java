@@ -16,7 +16,10 @@
  */
 package org.apache.camel.impl;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
@@ -45,13 +48,16 @@ public class ConsumerCache extends ServiceSupport {
     private final ServicePool<Endpoint, PollingConsumer> pool;
     private final Map<String, PollingConsumer> consumers;
     private final Object source;
+    // singleton consumers which the cache rejected to add, and therefore must be stopped after usage
+    private final Set<PollingConsumer> rejectedConsumers = Collections.newSetFromMap(new ConcurrentHashMap<PollingConsumer, Boolean>());
 
     public ConsumerCache(Object source, CamelContext camelContext) {
         this(source, camelContext, CamelContextHelper.getMaximumCachePoolSize(camelContext));
     }
 
     public ConsumerCache(Object source, CamelContext camelContext, int cacheSize) {
-        this(source, camelContext, createLRUCache(cacheSize));
+        this(source, camelContext,
+                createLRUCache(cacheSize, CamelContextHelper.isCacheFrequencyAdmission(camelContext, Exchange.CACHE_POOL_FREQUENCY_ADMISSION)));
     }
     
     public ConsumerCache(Object source, CamelContext camelContext, Map<String, PollingConsumer> cache) {
@@ -74,11 +80,24 @@ public class ConsumerCache extends ServiceSupport {
      * @return the cache
      */
     protected static LRUCache<String, PollingConsumer> createLRUCache(int cacheSize) {
+        return createLRUCache(cacheSize, false);
+    }
+
+    /**
+     * Creates the {@link LRUCache} to be used.
+     * <p/>
+     * This implementation returns a {@link LRUCache} instance.
+
+     * @param cacheSize the cache size
+     * @param frequencyAdmission whether to use a frequency admission policy
+     * @return the cache
+     */
+    protected static LRUCache<String, PollingConsumer> createLRUCache(int cacheSize, boolean frequencyAdmission) {
         // Use a regular cache as we want to ensure that the lifecycle of the consumers
         // being cache is properly handled, such as they are stopped when being evicted
         // or when this cache is stopped. This is needed as some consumers requires to
         // be stopped so they can shutdown internal resources that otherwise may cause leaks
-        return new LRUCache<String, PollingConsumer>(cacheSize);
+        return new LRUCache<String, PollingConsumer>(16, cacheSize, true, frequencyAdmission);
     }
     
     /**
@@ -107,7 +126,8 @@ public class ConsumerCache extends ServiceSupport {
             if (pollingConsumer instanceof IsSingleton) {
                 singleton = ((IsSingleton) pollingConsumer).isSingleton();
             }
-            if (!singleton) {
+            // consumers which was not added to the cache must be stopped as well
+            if (!singleton || (!rejectedConsumers.isEmpty() && rejectedConsumers.remove(pollingConsumer))) {
                 try {
                     // stop and shutdown non-singleton producers as we should not leak resources
                     ServiceHelper.stopAndShutdownService(pollingConsumer);
@@ -151,6 +171,11 @@ public class ConsumerCache extends ServiceSupport {
                 if (singleton) {
                     LOG.debug("Adding to consumer cache with key: {} for consumer: {}", endpoint, answer);
                     consumers.put(key, answer);
+                    if (!consumers.containsKey(key)) {
+                        // the cache did not accept the consumer, so it must be stopped after usage as if not a singleton
+                        LOG.debug("Consumer cache rejected consumer with key: {} for consumer: {}", endpoint, answer);
+                        rejectedConsumers.add(answer);
+                    }
                 } else {
                     LOG.debug("Consumer for endpoint: {} is not singleton and thus not added to consumer cache", key);
                 }
@@ -287,6 +312,36 @@ public class ConsumerCache extends ServiceSupport {
         return evicted;
     }
 
+    /**
+     * Gets the cache rejected statistic, which is the number of consumers not added to the cache
+     * due to its admission policy
+     * <p/>
+     * Will return <tt>-1</tt> if it cannot determine this if a custom cache was used.
+     *
+     * @return the rejected
+     */
+    public long getRejected() {
+        long rejected = -1;
+        if (consumers instanceof LRUCache) {
+            LRUCache<String, PollingConsumer> cache = (LRUCache<String, PollingConsumer>)consumers;
+            rejected = cache.getRejected();
+        }
+        return rejected;
+    }
+
+    /**
+     * Whether the cache uses a frequency admission policy
+     *
+     * @return <tt>true</tt> if frequency admission is in use
+     */
+    public boolean isFrequencyAdmission() {
+        if (consumers instanceof LRUCache) {
+            LRUCache<String, PollingConsumer> cache = (LRUCache<String, PollingConsumer>)consumers;
+            return cache.isFrequencyAdmission();
+        }
+        return false;
+    }
+
     /**
      * Resets the cache statistics
      */
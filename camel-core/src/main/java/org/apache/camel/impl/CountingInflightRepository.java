@@ -0,0 +1,240 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.OldestInflightRepository;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.StripedCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link org.apache.camel.spi.InflightRepository} which counts the inflight exchanges, and is optimized
+ * for high concurrent systems.
+ * <p/>
+ * Instead of keeping every inflight exchange in a single map keyed by the exchange id, the total and per route
+ * counts are kept in {@link StripedCounter}s, so threads seldom contend when adding and removing exchanges.
+ * <p/>
+ * By default only the counters are kept, and browsing or finding the oldest inflight exchange returns nothing.
+ * A bounded sample of the inflight exchanges can be kept by setting the {@link #setSampleSize(int) sample size}.
+ * The sample is kept in a number of stripes selected by the identity of the exchange, and an exchange is only
+ * sampled if its stripe is not full when it is added. This means the results of {@link #browse()} and
+ * {@link #oldest(String)} are approximate, as the oldest inflight exchange may not have been sampled.
+ */
+public class CountingInflightRepository extends ServiceSupport implements OldestInflightRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CountingInflightRepository.class);
+    private final StripedCounter total = new StripedCounter();
+    private final ConcurrentMap<String, StripedCounter> routeCount = new ConcurrentHashMap<String, StripedCounter>();
+    private final Stripe[] stripes;
+    private final int mask;
+    private int sampleSize;
+    private int stripeCapacity;
+
+    public CountingInflightRepository() {
+        // use the same number of stripes as the counters
+        int size = total.getStripes();
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * Sets the approximate number of inflight exchanges to keep as a sample, which is needed to browse and
+     * find the oldest inflight exchange. The sample is divided among the stripes, and each stripe keeps at least
+     * one exchange.
+     * <p/>
+     * This option is default <tt>0</tt> which means only the exchanges are counted.
+     */
+    public void setSampleSize(int sampleSize) {
+        this.sampleSize = sampleSize;
+        this.stripeCapacity = sampleSize > 0 ? Math.max(1, sampleSize / stripes.length) : 0;
+    }
+
+    public void add(Exchange exchange) {
+        total.increment();
+        int capacity = stripeCapacity;
+        if (capacity > 0) {
+            Stripe stripe = stripe(exchange);
+            synchronized (stripe) {
+                // only sample the exchange if there is room in the stripe
+                if (stripe.exchanges.size() < capacity) {
+                    stripe.exchanges.put(exchange, System.currentTimeMillis());
+                }
+            }
+        }
+    }
+
+    public void remove(Exchange exchange) {
+        total.decrement();
+        if (stripeCapacity > 0) {
+            Stripe stripe = stripe(exchange);
+            synchronized (stripe) {
+                stripe.exchanges.remove(exchange);
+            }
+        }
+    }
+
+    public void add(Exchange exchange, String routeId) {
+        StripedCounter counter = routeCount.get(routeId);
+        if (counter == null) {
+            counter = new StripedCounter();
+            StripedCounter existing = routeCount.putIfAbsent(routeId, counter);
+            if (existing != null) {
+                counter = existing;
+            }
+        }
+        counter.increment();
+    }
+
+    public void remove(Exchange exchange, String routeId) {
+        StripedCounter counter = routeCount.get(routeId);
+        if (counter != null) {
+            counter.decrement();
+        }
+    }
+
+    public int size() {
+        return (int) total.sum();
+    }
+
+    @Deprecated
+    public int size(Endpoint endpoint) {
+        return 0;
+    }
+
+    @Override
+    public void removeRoute(String routeId) {
+        routeCount.remove(routeId);
+    }
+
+    @Override
+    public int size(String routeId) {
+        StripedCounter counter = routeCount.get(routeId);
+        return counter != null ? (int) counter.sum() : 0;
+    }
+
+    @Override
+    public Collection<InflightExchange> browse() {
+        return browse(-1, false);
+    }
+
+    @Override
+    public Collection<InflightExchange> browse(int limit, boolean sortByLongestDuration) {
+        List<Map.Entry<Exchange, Long>> values = new ArrayList<Map.Entry<Exchange, Long>>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (Map.Entry<Exchange, Long> entry : stripe.exchanges.entrySet()) {
+                    values.add(new AbstractMap.SimpleImmutableEntry<Exchange, Long>(entry));
+                }
+            }
+        }
+        if (sortByLongestDuration) {
+            Collections.sort(values, new Comparator<Map.Entry<Exchange, Long>>() {
+                @Override
+                public int compare(Map.Entry<Exchange, Long> e1, Map.Entry<Exchange, Long> e2) {
+                    // the earliest added has the longest duration
+                    return e1.getValue().compareTo(e2.getValue());
+                }
+            });
+        } else {
+            // else sort by exchange id
+            Collections.sort(values, new Comparator<Map.Entry<Exchange, Long>>() {
+                @Override
+                public int compare(Map.Entry<Exchange, Long> e1, Map.Entry<Exchange, Long> e2) {
+                    return e1.getKey().getExchangeId().compareTo(e2.getKey().getExchangeId());
+                }
+            });
+        }
+
+        List<InflightExchange> answer = new ArrayList<InflightExchange>();
+        for (Map.Entry<Exchange, Long> entry : values) {
+            answer.add(new DefaultInflightRepository.InflightExchangeEntry(entry.getKey(), entry.getValue()));
+            if (limit > 0 && answer.size() >= limit) {
+                break;
+            }
+        }
+        return Collections.unmodifiableCollection(answer);
+    }
+
+    @Override
+    public InflightExchange oldest(String routeId) {
+        Exchange oldest = null;
+        long oldestAdded = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                // the exchanges are in the order they were added, so the first matching is the oldest in the stripe
+                for (Map.Entry<Exchange, Long> entry : stripe.exchanges.entrySet()) {
+                    if (routeId == null || routeId.equals(entry.getKey().getFromRouteId())) {
+                        if (oldest == null || entry.getValue() < oldestAdded) {
+                            oldest = entry.getKey();
+                            oldestAdded = entry.getValue();
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        return oldest != null ? new DefaultInflightRepository.InflightExchangeEntry(oldest, oldestAdded) : null;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        int count = size();
+        if (count > 0) {
+            LOG.warn("Shutting down while there are still " + count + " inflight exchanges.");
+        } else {
+            LOG.debug("Shutting down with no inflight exchanges.");
+        }
+        routeCount.clear();
+    }
+
+    private Stripe stripe(Exchange exchange) {
+        int hash = System.identityHashCode(exchange);
+        // spread the higher bits as the identity hash code may not be well distributed in the lower bits
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static final class Stripe {
+        // the sampled exchanges with the time they were added, in the order they were added
+        private final Map<Exchange, Long> exchanges = new LinkedHashMap<Exchange, Long>();
+    }
+
+}
@@ -116,9 +116,11 @@ import org.apache.camel.spi.Debugger;
 import org.apache.camel.spi.EndpointRegistry;
 import org.apache.camel.spi.EndpointStrategy;
 import org.apache.camel.spi.EventNotifier;
+import org.apache.camel.spi.ExchangeFactory;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.FactoryFinder;
 import org.apache.camel.spi.FactoryFinderResolver;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.spi.Injector;
 import org.apache.camel.spi.InterceptStrategy;
@@ -155,6 +157,7 @@ import org.apache.camel.util.IntrospectionSupport;
 import org.apache.camel.util.JsonSchemaHelper;
 import org.apache.camel.util.LoadPropertiesException;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.Sampler;
 import org.apache.camel.util.ServiceHelper;
 import org.apache.camel.util.StopWatch;
 import org.apache.camel.util.StringHelper;
@@ -211,6 +214,7 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
     private Boolean autoStartup = Boolean.TRUE;
     private Boolean trace = Boolean.FALSE;
     private Boolean messageHistory = Boolean.TRUE;
+    private Sampler messageHistorySampler;
     private Boolean streamCache = Boolean.FALSE;
     private Boolean handleFault = Boolean.FALSE;
     private Boolean disableJMX = Boolean.FALSE;
@@ -256,6 +260,8 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
     private ExecutorServiceManager executorServiceManager;
     private Debugger debugger;
     private UuidGenerator uuidGenerator = createDefaultUuidGenerator();
+    private HeadersMapFactory headersMapFactory = new DefaultHeadersMapFactory();
+    private ExchangeFactory exchangeFactory = new DefaultExchangeFactory();
     private UnitOfWorkFactory unitOfWorkFactory = new DefaultUnitOfWorkFactory();
     private final StopWatch stopWatch = new StopWatch(false);
     private Date startDate;
@@ -2761,6 +2767,10 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         addService(pollingConsumerServicePool);
         addService(inflightRepository);
         addService(asyncProcessorAwaitManager);
+        // the default exchange factory has no state, so only custom factories are added as a service
+        if (exchangeFactory.getClass() != DefaultExchangeFactory.class) {
+            addService(exchangeFactory);
+        }
         addService(shutdownStrategy);
         addService(packageScanClassResolver);
         addService(restRegistry);
@@ -3839,6 +3849,22 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         this.uuidGenerator = uuidGenerator;
     }
 
+    public HeadersMapFactory getHeadersMapFactory() {
+        return headersMapFactory;
+    }
+
+    public void setHeadersMapFactory(HeadersMapFactory headersMapFactory) {
+        this.headersMapFactory = headersMapFactory;
+    }
+
+    public ExchangeFactory getExchangeFactory() {
+        return exchangeFactory;
+    }
+
+    public void setExchangeFactory(ExchangeFactory exchangeFactory) {
+        this.exchangeFactory = exchangeFactory;
+    }
+
     public StreamCachingStrategy getStreamCachingStrategy() {
         if (streamCachingStrategy == null) {
             streamCachingStrategy = new DefaultStreamCachingStrategy();
@@ -3850,6 +3876,14 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         this.streamCachingStrategy = streamCachingStrategy;
     }
 
+    public Sampler getMessageHistorySampler() {
+        return messageHistorySampler;
+    }
+
+    public void setMessageHistorySampler(Sampler messageHistorySampler) {
+        this.messageHistorySampler = messageHistorySampler;
+    }
+
     public RestRegistry getRestRegistry() {
         return restRegistry;
     }
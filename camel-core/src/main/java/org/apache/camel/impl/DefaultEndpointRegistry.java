@@ -26,6 +26,7 @@ import java.util.concurrent.ConcurrentMap;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
 import org.apache.camel.spi.EndpointRegistry;
 import org.apache.camel.util.CamelContextHelper;
 import org.apache.camel.util.LRUCache;
@@ -41,7 +42,8 @@ public class DefaultEndpointRegistry extends LRUCache<EndpointKey, Endpoint> imp
 
     public DefaultEndpointRegistry(CamelContext context) {
         // do not stop on eviction, as the endpoint may still be in use
-        super(CamelContextHelper.getMaximumEndpointCacheSize(context), CamelContextHelper.getMaximumEndpointCacheSize(context), false);
+        super(CamelContextHelper.getMaximumEndpointCacheSize(context), CamelContextHelper.getMaximumEndpointCacheSize(context), false,
+                CamelContextHelper.isCacheFrequencyAdmission(context, Exchange.ENDPOINT_CACHE_FREQUENCY_ADMISSION));
         // static map to hold endpoints we do not want to be evicted
         this.staticMap = new ConcurrentHashMap<EndpointKey, Endpoint>();
         this.context = context;
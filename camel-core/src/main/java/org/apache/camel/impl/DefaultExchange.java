@@ -19,7 +19,6 @@ package org.apache.camel.impl;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
@@ -30,8 +29,10 @@ import org.apache.camel.MessageHistory;
 import org.apache.camel.spi.Synchronization;
 import org.apache.camel.spi.UnitOfWork;
 import org.apache.camel.util.CaseInsensitiveMap;
+import org.apache.camel.util.CopyOnWriteConcurrentMap;
 import org.apache.camel.util.EndpointHelper;
 import org.apache.camel.util.ExchangeHelper;
+import org.apache.camel.util.MessageHelper;
 import org.apache.camel.util.ObjectHelper;
 
 /**
@@ -52,6 +53,9 @@ public final class DefaultExchange implements Exchange {
     private Endpoint fromEndpoint;
     private String fromRouteId;
     private List<Synchronization> onCompletions;
+    // the pool this exchange belongs to, if created by the PooledExchangeFactory
+    private PooledExchangeFactory.Pool pool;
+    private boolean pooled;
 
     public DefaultExchange(CamelContext context) {
         this(context, ExchangePattern.InOnly);
@@ -122,12 +126,15 @@ public final class DefaultExchange implements Exchange {
         return exchange;
     }
 
-    @SuppressWarnings("unchecked")
-    private static Map<String, Object> safeCopyHeaders(Map<String, Object> headers) {
+    private Map<String, Object> safeCopyHeaders(Map<String, Object> headers) {
         if (headers == null) {
             return null;
         }
 
+        if (context != null) {
+            return context.getHeadersMapFactory().newMap(headers);
+        }
+
         Map<String, Object> answer = new CaseInsensitiveMap();
         answer.putAll(headers);
         return answer;
@@ -140,11 +147,12 @@ public final class DefaultExchange implements Exchange {
         }
 
         // TODO: properties should use same map kind as headers
-        Map<String, Object> answer = new ConcurrentHashMap<String, Object>(properties);
+        // the copy shares the properties with the original exchange until either of them is changed
+        Map<String, Object> answer = new CopyOnWriteConcurrentMap<String, Object>(properties);
 
-        // safe copy message history using a defensive copy
-        List<MessageHistory> history = (List<MessageHistory>) answer.remove(Exchange.MESSAGE_HISTORY);
-        if (history != null) {
+        // safe copy message history using a defensive copy (the immutable not sampled marker can be shared)
+        List<MessageHistory> history = (List<MessageHistory>) answer.get(Exchange.MESSAGE_HISTORY);
+        if (history != null && history != MessageHelper.MESSAGE_HISTORY_NOT_SAMPLED) {
             answer.put(Exchange.MESSAGE_HISTORY, new ArrayList<MessageHistory>(history));
         }
 
@@ -155,6 +163,39 @@ public final class DefaultExchange implements Exchange {
         return context;
     }
 
+    PooledExchangeFactory.Pool getPool() {
+        return pool;
+    }
+
+    void setPool(PooledExchangeFactory.Pool pool) {
+        this.pool = pool;
+    }
+
+    boolean isPooled() {
+        return pooled;
+    }
+
+    void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * Resets this exchange so it can be reused by the {@link PooledExchangeFactory}
+     */
+    void reset(Endpoint fromEndpoint, ExchangePattern pattern) {
+        this.properties = null;
+        this.in = null;
+        this.out = null;
+        this.exception = null;
+        this.exchangeId = null;
+        this.unitOfWork = null;
+        this.pattern = pattern;
+        this.fromEndpoint = fromEndpoint;
+        this.fromRouteId = null;
+        this.onCompletions = null;
+        this.pooled = false;
+    }
+
     public Object getProperty(String name) {
         if (properties != null) {
             return properties.get(name);
@@ -213,8 +254,9 @@ public final class DefaultExchange implements Exchange {
             getProperties().put(name, value);
         } else {
             // if the value is null, we just remove the key from the map
-            if (name != null) {
-                getProperties().remove(name);
+            // (and avoid creating the map if there is no properties)
+            if (name != null && properties != null) {
+                properties.remove(name);
             }
         }
     }
@@ -252,7 +294,7 @@ public final class DefaultExchange implements Exchange {
 
     public Map<String, Object> getProperties() {
         if (properties == null) {
-            properties = new ConcurrentHashMap<String, Object>();
+            properties = new CopyOnWriteConcurrentMap<String, Object>();
         }
         return properties;
     }
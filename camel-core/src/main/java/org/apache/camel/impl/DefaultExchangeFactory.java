@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.spi.ExchangeFactory;
+import org.apache.camel.support.ServiceSupport;
+
+/**
+ * Default {@link ExchangeFactory} which creates a new {@link Exchange} for every message, using
+ * {@link Endpoint#createExchange(org.apache.camel.ExchangePattern)}, and does not pool the exchanges.
+ */
+public class DefaultExchangeFactory extends ServiceSupport implements ExchangeFactory {
+
+    protected final AtomicLong createdCounter = new AtomicLong();
+    protected final AtomicLong acquiredCounter = new AtomicLong();
+    protected final AtomicLong releasedCounter = new AtomicLong();
+    protected final AtomicLong discardedCounter = new AtomicLong();
+    private final ExchangeFactory.Statistics statistics = new UtilizationStatistics();
+
+    @Override
+    public Exchange create(Endpoint fromEndpoint, ExchangePattern pattern) {
+        if (statistics.isStatisticsEnabled()) {
+            createdCounter.incrementAndGet();
+        }
+        return fromEndpoint.createExchange(pattern);
+    }
+
+    @Override
+    public void release(Exchange exchange) {
+        // noop
+    }
+
+    @Override
+    public boolean isPooled() {
+        return false;
+    }
+
+    @Override
+    public int getCapacity() {
+        return 0;
+    }
+
+    @Override
+    public int getLeakCount() {
+        return -1;
+    }
+
+    @Override
+    public ExchangeFactory.Statistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // noop
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // noop
+    }
+
+    private final class UtilizationStatistics implements ExchangeFactory.Statistics {
+
+        private boolean statisticsEnabled;
+
+        @Override
+        public long getCreatedCounter() {
+            return createdCounter.get();
+        }
+
+        @Override
+        public long getAcquiredCounter() {
+            return acquiredCounter.get();
+        }
+
+        @Override
+        public long getReleasedCounter() {
+            return releasedCounter.get();
+        }
+
+        @Override
+        public long getDiscardedCounter() {
+            return discardedCounter.get();
+        }
+
+        @Override
+        public void reset() {
+            createdCounter.set(0);
+            acquiredCounter.set(0);
+            releasedCounter.set(0);
+            discardedCounter.set(0);
+        }
+
+        @Override
+        public boolean isStatisticsEnabled() {
+            return statisticsEnabled;
+        }
+
+        @Override
+        public void setStatisticsEnabled(boolean statisticsEnabled) {
+            this.statisticsEnabled = statisticsEnabled;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[created=%s, acquired=%s, released=%s, discarded=%s]",
+                    createdCounter.get(), acquiredCounter.get(), releasedCounter.get(), discardedCounter.get());
+        }
+    }
+
+}
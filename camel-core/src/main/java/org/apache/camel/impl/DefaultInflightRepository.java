@@ -29,7 +29,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.MessageHistory;
-import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.spi.OldestInflightRepository;
 import org.apache.camel.support.ServiceSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,18 +39,19 @@ import org.slf4j.LoggerFactory;
  *
  * @version 
  */
-public class DefaultInflightRepository extends ServiceSupport implements InflightRepository {
+public class DefaultInflightRepository extends ServiceSupport implements OldestInflightRepository {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultInflightRepository.class);
-    private final ConcurrentMap<String, Exchange> inflight = new ConcurrentHashMap<String, Exchange>();
+    // keyed by the exchange itself so we do not force creating the exchange id
+    private final ConcurrentMap<Exchange, Exchange> inflight = new ConcurrentHashMap<Exchange, Exchange>();
     private final ConcurrentMap<String, AtomicInteger> routeCount = new ConcurrentHashMap<String, AtomicInteger>();
 
     public void add(Exchange exchange) {
-        inflight.put(exchange.getExchangeId(), exchange);
+        inflight.put(exchange, exchange);
     }
 
     public void remove(Exchange exchange) {
-        inflight.remove(exchange.getExchangeId());
+        inflight.remove(exchange);
     }
 
     public void add(Exchange exchange, String routeId) {
@@ -125,6 +126,22 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         return Collections.unmodifiableCollection(answer);
     }
 
+    @Override
+    public InflightExchange oldest(String routeId) {
+        Exchange oldest = null;
+        long oldestDuration = -1;
+        for (Exchange exchange : inflight.values()) {
+            if (routeId == null || routeId.equals(exchange.getFromRouteId())) {
+                long duration = getExchangeDuration(exchange);
+                if (duration > oldestDuration) {
+                    oldest = exchange;
+                    oldestDuration = duration;
+                }
+            }
+        }
+        return oldest != null ? new InflightExchangeEntry(oldest) : null;
+    }
+
     @Override
     protected void doStart() throws Exception {
     }
@@ -149,12 +166,21 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         return duration;
     }
 
-    private static final class InflightExchangeEntry implements InflightExchange {
+    static final class InflightExchangeEntry implements InflightExchange {
 
         private final Exchange exchange;
+        private final long created;
+
+        InflightExchangeEntry(Exchange exchange) {
+            this(exchange, 0);
+        }
 
-        private InflightExchangeEntry(Exchange exchange) {
+        /**
+         * @param created when the exchange was added to the repository, or <tt>0</tt> to use the created timestamp of the exchange
+         */
+        InflightExchangeEntry(Exchange exchange, long created) {
             this.exchange = exchange;
+            this.created = created;
         }
 
         @Override
@@ -164,6 +190,9 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
 
         @Override
         public long getDuration() {
+            if (created > 0) {
+                return System.currentTimeMillis() - created;
+            }
             return DefaultInflightRepository.getExchangeDuration(exchange);
         }
 
@@ -23,6 +23,8 @@ import java.util.Set;
 import javax.activation.DataHandler;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.util.CaseInsensitiveMap;
 import org.apache.camel.util.EndpointHelper;
 import org.apache.camel.util.MessageHelper;
@@ -34,6 +36,9 @@ import org.apache.camel.util.MessageHelper;
  * This allows us to be able to lookup headers using case insensitive keys, making it easier for end users
  * as they do not have to be worried about using exact keys.
  * See more details at {@link org.apache.camel.util.CaseInsensitiveMap}.
+ * <p/>
+ * The map implementation can be customized by configuring a {@link org.apache.camel.spi.HeadersMapFactory}
+ * on the {@link org.apache.camel.CamelContext}.
  *
  * @version 
  */
@@ -170,7 +175,15 @@ public class DefaultMessage extends MessageSupport {
     }
 
     public void setHeaders(Map<String, Object> headers) {
-        if (headers instanceof CaseInsensitiveMap) {
+        HeadersMapFactory factory = getHeadersMapFactory();
+        if (factory != null) {
+            if (factory.isInstanceOf(headers)) {
+                this.headers = headers;
+            } else {
+                // wrap it in a case insensitive map
+                this.headers = factory.newMap(headers);
+            }
+        } else if (headers instanceof CaseInsensitiveMap) {
             this.headers = headers;
         } else {
             // wrap it in a case insensitive map
@@ -190,6 +203,21 @@ public class DefaultMessage extends MessageSupport {
         return new DefaultMessage();
     }
 
+    @Override
+    public void copyFrom(Message that) {
+        if (that != this && !hasPopulatedHeaders() && that instanceof DefaultMessage) {
+            // a copied message is not yet associated with an exchange, so use the same kind of headers
+            // map as the message we copy from, which allows the map to share the headers (copy-on-write)
+            HeadersMapFactory factory = ((DefaultMessage) that).getHeadersMapFactory();
+            if (factory != null) {
+                Map<String, Object> map = factory.newMap();
+                populateInitialHeaders(map);
+                headers = map;
+            }
+        }
+        super.copyFrom(that);
+    }
+
     /**
      * A factory method to lazily create the headers to make it easy to create
      * efficient Message implementations which only construct and populate the
@@ -199,11 +227,25 @@ public class DefaultMessage extends MessageSupport {
      *         the underlying inbound transport
      */
     protected Map<String, Object> createHeaders() {
-        Map<String, Object> map = new CaseInsensitiveMap();
+        HeadersMapFactory factory = getHeadersMapFactory();
+        Map<String, Object> map = factory != null ? factory.newMap() : new CaseInsensitiveMap();
         populateInitialHeaders(map);
         return map;
     }
 
+    /**
+     * Gets the {@link HeadersMapFactory} configured on the {@link org.apache.camel.CamelContext}
+     *
+     * @return the factory, or <tt>null</tt> if this message is not yet associated with an exchange
+     */
+    protected HeadersMapFactory getHeadersMapFactory() {
+        Exchange exchange = getExchange();
+        if (exchange != null && exchange.getContext() != null) {
+            return exchange.getContext().getHeadersMapFactory();
+        }
+        return null;
+    }
+
     /**
      * A factory method to lazily create the attachments to make it easy to
      * create efficient Message implementations which only construct and
@@ -19,9 +19,14 @@ package org.apache.camel.impl;
 import java.io.File;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
+import java.nio.ByteBuffer;
 import java.util.LinkedHashSet;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
@@ -60,9 +65,13 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
     private String spoolChiper;
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
     private boolean removeSpoolDirectoryWhenStopping = true;
+    private boolean offHeap;
+    private int offHeapPoolSize = 1024;
     private final UtilizationStatistics statistics = new UtilizationStatistics();
     private final Set<SpoolRule> spoolRules = new LinkedHashSet<SpoolRule>();
     private boolean anySpoolRules;
+    private final Queue<ByteBuffer> bufferPool = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicInteger bufferPoolCounter = new AtomicInteger();
 
     public CamelContext getCamelContext() {
         return camelContext;
@@ -132,6 +141,61 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         this.bufferSize = bufferSize;
     }
 
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public void setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    public int getOffHeapPoolSize() {
+        return offHeapPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of idle direct buffers to keep in the pool when using off-heap stream caching.
+     * <p/>
+     * The default size is <tt>1024</tt> buffers.
+     */
+    public void setOffHeapPoolSize(int offHeapPoolSize) {
+        this.offHeapPoolSize = offHeapPoolSize;
+    }
+
+    public ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = bufferPool.poll();
+        while (buffer != null) {
+            bufferPoolCounter.decrementAndGet();
+            statistics.updateOffHeapPooled(-buffer.capacity());
+            // the buffer size may have been changed at runtime so skip buffers of a different size
+            if (buffer.capacity() == bufferSize) {
+                break;
+            }
+            buffer = bufferPool.poll();
+        }
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+        } else {
+            buffer.clear();
+        }
+        statistics.updateOffHeapUsed(buffer.capacity());
+        return buffer;
+    }
+
+    public void releaseBuffer(ByteBuffer buffer) {
+        statistics.updateOffHeapUsed(-buffer.capacity());
+        if (buffer.capacity() == bufferSize) {
+            if (bufferPoolCounter.incrementAndGet() <= offHeapPoolSize) {
+                buffer.clear();
+                statistics.updateOffHeapPooled(buffer.capacity());
+                bufferPool.offer(buffer);
+                return;
+            }
+            bufferPoolCounter.decrementAndGet();
+        }
+        // the pool is full or the buffer is of a different size, so let it be garbage collected
+    }
+
     public boolean isRemoveSpoolDirectoryWhenStopping() {
         return removeSpoolDirectoryWhenStopping;
     }
@@ -329,6 +393,14 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         }
 
         statistics.reset();
+
+        // drain the pool and let the direct buffers be garbage collected
+        ByteBuffer buffer = bufferPool.poll();
+        while (buffer != null) {
+            bufferPoolCounter.decrementAndGet();
+            statistics.updateOffHeapPooled(-buffer.capacity());
+            buffer = bufferPool.poll();
+        }
     }
 
     @Override
@@ -339,6 +411,7 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             + ", spoolThreshold=" + spoolThreshold
             + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
             + ", bufferSize=" + bufferSize
+            + ", offHeap=" + offHeap
             + ", anySpoolRules=" + anySpoolRules + "]";
     }
 
@@ -412,6 +485,8 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         private volatile long spoolCounter;
         private volatile long spoolSize;
         private volatile long spoolAverageSize;
+        private final AtomicLong offHeapUsedSize = new AtomicLong();
+        private final AtomicLong offHeapPooledSize = new AtomicLong();
 
         synchronized void updateMemory(long size) {
             memoryCounter++;
@@ -425,6 +500,14 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             spoolAverageSize = spoolSize / spoolCounter;
         }
 
+        void updateOffHeapUsed(long delta) {
+            offHeapUsedSize.addAndGet(delta);
+        }
+
+        void updateOffHeapPooled(long delta) {
+            offHeapPooledSize.addAndGet(delta);
+        }
+
         public long getCacheMemoryCounter() {
             return memoryCounter;
         }
@@ -449,6 +532,14 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             return spoolAverageSize;
         }
 
+        public long getCacheOffHeapUsedSize() {
+            return offHeapUsedSize.get();
+        }
+
+        public long getCacheOffHeapPooledSize() {
+            return offHeapPooledSize.get();
+        }
+
         public synchronized void reset() {
             memoryCounter = 0;
             memorySize = 0;
@@ -467,8 +558,10 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         }
 
         public String toString() {
-            return String.format("[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s]",
-                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize);
+            return String.format("[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s,"
+                    + " offHeapUsedSize=%s, offHeapPooledSize=%s]",
+                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize,
+                    offHeapUsedSize.get(), offHeapPooledSize.get());
         }
     }
 
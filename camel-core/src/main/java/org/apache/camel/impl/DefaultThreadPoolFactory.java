@@ -19,6 +19,7 @@ package org.apache.camel.impl;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
@@ -30,9 +31,11 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.spi.ThreadPoolFactory;
 import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.util.concurrent.CamelForkJoinWorkerThreadFactory;
 import org.apache.camel.util.concurrent.RejectableScheduledThreadPoolExecutor;
 import org.apache.camel.util.concurrent.RejectableThreadPoolExecutor;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
+import org.apache.camel.util.concurrent.ThreadPerTaskExecutorService;
 
 /**
  * Factory for thread pools that uses the JDK {@link Executors} for creating the thread pools.
@@ -45,6 +48,18 @@ public class DefaultThreadPoolFactory implements ThreadPoolFactory {
     
     @Override
     public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory factory) {
+        boolean threadPerTask = profile.getThreadPerTask() != null && profile.getThreadPerTask();
+        boolean workStealing = profile.getWorkStealing() != null && profile.getWorkStealing();
+        if (threadPerTask && workStealing) {
+            throw new IllegalArgumentException("ThreadPerTask and workStealing cannot be used together on thread pool profile: " + profile.getId());
+        }
+        if (threadPerTask) {
+            return newThreadPerTaskPool(profile, factory);
+        }
+        if (workStealing) {
+            return newWorkStealingPool(profile, factory);
+        }
+
         // allow core thread timeout is default false if not configured
         boolean allow = profile.getAllowCoreThreadTimeOut() != null ? profile.getAllowCoreThreadTimeOut() : false;
         return newThreadPool(profile.getPoolSize(), 
@@ -57,6 +72,35 @@ public class DefaultThreadPoolFactory implements ThreadPoolFactory {
                              factory);
     }
 
+    /**
+     * Creates a thread pool which executes each task in a new thread, where the max queue size
+     * from the profile is used as the limit of the number of tasks which can execute concurrently.
+     * The caller blocks when the limit is reached, so the rejected policy from the profile is not in use.
+     *
+     * @param profile parameters of the thread pool
+     * @param threadFactory factory for creating threads
+     * @return the created thread pool
+     */
+    protected ExecutorService newThreadPerTaskPool(ThreadPoolProfile profile, ThreadFactory threadFactory) {
+        int max = profile.getMaxQueueSize() != null ? profile.getMaxQueueSize() : -1;
+        return new ThreadPerTaskExecutorService(threadFactory, max);
+    }
+
+    /**
+     * Creates a work stealing thread pool, where the max pool size from the profile is used as
+     * the parallelism of the pool.
+     *
+     * @param profile parameters of the thread pool
+     * @param threadFactory factory for creating threads
+     * @return the created thread pool
+     */
+    protected ExecutorService newWorkStealingPool(ThreadPoolProfile profile, ThreadFactory threadFactory) {
+        int parallelism = profile.getMaxPoolSize() != null && profile.getMaxPoolSize() > 0
+                ? profile.getMaxPoolSize() : Runtime.getRuntime().availableProcessors();
+        // use async mode as tasks submitted to the pool are never joined
+        return new ForkJoinPool(parallelism, new CamelForkJoinWorkerThreadFactory(threadFactory), null, true);
+    }
+
     public ExecutorService newThreadPool(int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit timeUnit, int maxQueueSize, boolean allowCoreThreadTimeOut,
                                          RejectedExecutionHandler rejectedExecutionHandler, ThreadFactory threadFactory) throws IllegalArgumentException {
 
@@ -255,6 +255,11 @@ public class DefaultUnitOfWork implements UnitOfWork, Service {
             // must catch exceptions to ensure synchronizations is also invoked
             log.warn("Exception occurred during event notification. This exception will be ignored.", e);
         }
+
+        // and at last release the exchange which allows a pooled exchange to be reused
+        if (exchange.getContext() != null) {
+            exchange.getContext().getExchangeFactory().release(exchange);
+        }
     }
 
     @Override
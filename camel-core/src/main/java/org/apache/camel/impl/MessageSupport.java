@@ -20,6 +20,8 @@ import org.apache.camel.Exchange;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.Message;
 import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.converter.BaseTypeConverterRegistry;
+import org.apache.camel.impl.converter.TypeConverterInlineCache;
 
 /**
  * A base class for implementation inheritance providing the core
@@ -86,6 +88,20 @@ public abstract class MessageSupport implements Message {
     }
 
     public <T> T getMandatoryBody(Class<T> type) throws InvalidPayloadException {
+        return getMandatoryBody(type, null);
+    }
+
+    /**
+     * Returns the mandatory body as the specified type, using the given inline cache of the call site
+     * to remember the type converter used.
+     *
+     * @param type        the type to convert the body to
+     * @param inlineCache the inline cache of the call site, is optional
+     * @return the body, is never <tt>null</tt>
+     * @throws InvalidPayloadException is thrown if the body is <tt>null</tt> or could not be converted
+     * @see TypeConverterInlineCache
+     */
+    public <T> T getMandatoryBody(Class<T> type, TypeConverterInlineCache inlineCache) throws InvalidPayloadException {
         // eager same instance type test to avoid the overhead of invoking the type converter
         // if already same type
         if (type.isInstance(body)) {
@@ -96,6 +112,9 @@ public abstract class MessageSupport implements Message {
         if (e != null) {
             TypeConverter converter = e.getContext().getTypeConverter();
             try {
+                if (inlineCache != null && converter instanceof BaseTypeConverterRegistry) {
+                    return ((BaseTypeConverterRegistry) converter).mandatoryConvertTo(type, e, getBody(), inlineCache);
+                }
                 return converter.mandatoryConvertTo(type, e, getBody());
             } catch (Exception cause) {
                 throw new InvalidPayloadException(e, type, this, cause);
@@ -0,0 +1,212 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pooled {@link org.apache.camel.spi.ExchangeFactory} which recycles the {@link Exchange}s created by consumers.
+ * <p/>
+ * The exchanges are pooled per thread. When the {@link org.apache.camel.spi.UnitOfWork} of an exchange is done,
+ * then the exchange is released back to the pool of the thread which created the exchange. An exchange is only
+ * released if its unit of work is done by the same thread which created the exchange, which means the exchange
+ * was routed synchronously, and the consumer is therefore not creating the next exchange before it has completed
+ * the current exchange, including any callbacks. If the exchange is done by another thread (asynchronous routing)
+ * then the exchange may still be in use by callbacks in flight, and the exchange is discarded instead of pooled.
+ * <p/>
+ * A released exchange is first cleared when it is reused, so the consumer can still access the exchange after
+ * its unit of work is done (for example to handle any exception, or to send back a reply).
+ * <p/>
+ * New exchanges are created using {@link Endpoint#createExchange(ExchangePattern)}. Only endpoints which do not
+ * override how the exchange is created (such as endpoints extending {@link DefaultEndpoint}) can reuse exchanges,
+ * as resetting a reused exchange would otherwise lose what the endpoint sets up when it creates an exchange.
+ * Exchanges for other endpoints are created by the endpoint for every message, and are not pooled.
+ * <p/>
+ * <b>Important:</b> the consumer must not keep references to the exchange, after it has created the next exchange.
+ * <p/>
+ * When leak detection is enabled, then the factory keeps track of the exchanges which has been created but not
+ * yet released, and log a WARN when the factory is stopped, if there are any exchanges which has not been released.
+ */
+public class PooledExchangeFactory extends DefaultExchangeFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PooledExchangeFactory.class);
+
+    private final ThreadLocal<Pool> pools = new ThreadLocal<Pool>() {
+        @Override
+        protected Pool initialValue() {
+            return new Pool(Thread.currentThread());
+        }
+    };
+    private final Map<Exchange, Exchange> inUse = new ConcurrentHashMap<Exchange, Exchange>();
+    private final ConcurrentMap<Class<?>, Boolean> reusable = new ConcurrentHashMap<Class<?>, Boolean>();
+    private int capacity = 100;
+    private boolean leakDetection;
+
+    @Override
+    public Exchange create(Endpoint fromEndpoint, ExchangePattern pattern) {
+        if (!isReusable(fromEndpoint)) {
+            if (getStatistics().isStatisticsEnabled()) {
+                createdCounter.incrementAndGet();
+            }
+            return fromEndpoint.createExchange(pattern);
+        }
+
+        Pool pool = pools.get();
+        DefaultExchange answer = pool.exchanges.poll();
+        if (answer != null) {
+            answer.reset(fromEndpoint, pattern);
+            if (getStatistics().isStatisticsEnabled()) {
+                acquiredCounter.incrementAndGet();
+            }
+        } else {
+            Exchange created = fromEndpoint.createExchange(pattern);
+            if (getStatistics().isStatisticsEnabled()) {
+                createdCounter.incrementAndGet();
+            }
+            if (!(created instanceof DefaultExchange)) {
+                return created;
+            }
+            answer = (DefaultExchange) created;
+            answer.setPool(pool);
+        }
+        if (leakDetection) {
+            inUse.put(answer, answer);
+        }
+        return answer;
+    }
+
+    @Override
+    public void release(Exchange exchange) {
+        if (!(exchange instanceof DefaultExchange)) {
+            return;
+        }
+        DefaultExchange target = (DefaultExchange) exchange;
+        Pool pool = target.getPool();
+        if (pool == null) {
+            // not created by this factory
+            return;
+        }
+        if (leakDetection) {
+            inUse.remove(target);
+        }
+
+        // only the thread which created the exchange can release it back to its pool,
+        // as otherwise the exchange may still be in use by callbacks in flight
+        boolean released = pool.owner == Thread.currentThread() && !target.isPooled() && pool.exchanges.size() < capacity;
+        if (released) {
+            target.setPooled(true);
+            pool.exchanges.push(target);
+        }
+        if (getStatistics().isStatisticsEnabled()) {
+            if (released) {
+                releasedCounter.incrementAndGet();
+            } else {
+                discardedCounter.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public boolean isPooled() {
+        return true;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * The maximum number of exchanges to keep in the pool (per thread).
+     * <p/>
+     * The default is 100.
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public boolean isLeakDetection() {
+        return leakDetection;
+    }
+
+    /**
+     * Whether to keep track of the exchanges which has been created but not released, and log a WARN
+     * when stopping if any exchanges has not been released.
+     */
+    public void setLeakDetection(boolean leakDetection) {
+        this.leakDetection = leakDetection;
+    }
+
+    @Override
+    public int getLeakCount() {
+        return leakDetection ? inUse.size() : -1;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (leakDetection && !inUse.isEmpty()) {
+            LOG.warn("There are {} exchanges which has not been released back to the pool", inUse.size());
+            for (Exchange exchange : inUse.keySet()) {
+                LOG.warn("Exchange not released: {}", exchange);
+            }
+        }
+        inUse.clear();
+        if (getStatistics().isStatisticsEnabled()) {
+            LOG.info("PooledExchangeFactory usage {}", getStatistics());
+        }
+    }
+
+    /**
+     * Whether exchanges created by the given endpoint can be reused, which is only the case if the endpoint
+     * creates a plain {@link DefaultExchange} as done by {@link DefaultEndpoint#createExchange(ExchangePattern)}.
+     */
+    private boolean isReusable(Endpoint endpoint) {
+        Class<?> type = endpoint.getClass();
+        Boolean answer = reusable.get(type);
+        if (answer == null) {
+            try {
+                answer = type.getMethod("createExchange", ExchangePattern.class).getDeclaringClass() == DefaultEndpoint.class;
+            } catch (NoSuchMethodException e) {
+                answer = Boolean.FALSE;
+            }
+            reusable.put(type, answer);
+        }
+        return answer;
+    }
+
+    /**
+     * The pool of exchanges for a given thread.
+     */
+    static final class Pool {
+        private final Thread owner;
+        private final ArrayDeque<DefaultExchange> exchanges = new ArrayDeque<DefaultExchange>();
+
+        Pool(Thread owner) {
+            this.owner = owner;
+        }
+    }
+
+}
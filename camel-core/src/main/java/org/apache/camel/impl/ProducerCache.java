@@ -16,7 +16,11 @@
  */
 package org.apache.camel.impl;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -54,6 +58,8 @@ public class ProducerCache extends ServiceSupport {
     private final ServicePool<Endpoint, Producer> pool;
     private final Map<String, Producer> producers;
     private final Object source;
+    // singleton producers which the cache rejected to add, and therefore must be stopped after usage
+    private final Set<Producer> rejectedProducers = Collections.newSetFromMap(new ConcurrentHashMap<Producer, Boolean>());
     private boolean eventNotifierEnabled = true;
 
     public ProducerCache(Object source, CamelContext camelContext) {
@@ -61,7 +67,8 @@ public class ProducerCache extends ServiceSupport {
     }
 
     public ProducerCache(Object source, CamelContext camelContext, int cacheSize) {
-        this(source, camelContext, camelContext.getProducerServicePool(), createLRUCache(cacheSize));
+        this(source, camelContext, camelContext.getProducerServicePool(),
+                createLRUCache(cacheSize, CamelContextHelper.isCacheFrequencyAdmission(camelContext, Exchange.CACHE_POOL_FREQUENCY_ADMISSION)));
     }
 
     public ProducerCache(Object source, CamelContext camelContext, Map<String, Producer> cache) {
@@ -92,11 +99,24 @@ public class ProducerCache extends ServiceSupport {
      * @return the cache
      */
     protected static LRUCache<String, Producer> createLRUCache(int cacheSize) {
+        return createLRUCache(cacheSize, false);
+    }
+
+    /**
+     * Creates the {@link LRUCache} to be used.
+     * <p/>
+     * This implementation returns a {@link LRUCache} instance.
+
+     * @param cacheSize the cache size
+     * @param frequencyAdmission whether to use a frequency admission policy
+     * @return the cache
+     */
+    protected static LRUCache<String, Producer> createLRUCache(int cacheSize, boolean frequencyAdmission) {
         // Use a regular cache as we want to ensure that the lifecycle of the producers
         // being cache is properly handled, such as they are stopped when being evicted
         // or when this cache is stopped. This is needed as some producers requires to
         // be stopped so they can shutdown internal resources that otherwise may cause leaks
-        return new LRUCache<String, Producer>(cacheSize);
+        return new LRUCache<String, Producer>(16, cacheSize, true, frequencyAdmission);
     }
 
     public CamelContext getCamelContext() {
@@ -134,7 +154,7 @@ public class ProducerCache extends ServiceSupport {
         if (producer instanceof ServicePoolAware) {
             // release back to the pool
             pool.release(endpoint, producer);
-        } else if (!producer.isSingleton()) {
+        } else if (isStopAfterUsage(producer)) {
             // stop and shutdown non-singleton producers as we should not leak resources
             ServiceHelper.stopAndShutdownService(producer);
         }
@@ -155,6 +175,23 @@ public class ProducerCache extends ServiceSupport {
         releaseProducer(endpoint, producer);
     }
 
+    /**
+     * Warms up the cache by creating and starting the {@link Producer}s to be used for sending to the given endpoints.
+     * <p/>
+     * This can be used when the endpoints are known up front, such as when a route is started, so the first messages
+     * sent to these endpoints do not have to wait for the producers to be created and started.
+     * Producers which are not singletons, or which the cache does not admit, are stopped again after being started.
+     *
+     * @param uris the uris of the endpoints
+     * @throws Exception is thrown if failed to create or start a {@link Producer}
+     */
+    public void warmUp(Collection<String> uris) throws Exception {
+        for (String uri : uris) {
+            Endpoint endpoint = CamelContextHelper.getMandatoryEndpoint(camelContext, uri);
+            startProducer(endpoint);
+        }
+    }
+
     /**
      * Sends the exchange to the given endpoint.
      * <p>
@@ -239,7 +276,7 @@ public class ProducerCache extends ServiceSupport {
             if (producer instanceof ServicePoolAware) {
                 // release back to the pool
                 pool.release(endpoint, producer);
-            } else if (!producer.isSingleton()) {
+            } else if (isStopAfterUsage(producer)) {
                 // stop and shutdown non-singleton producers as we should not leak resources
                 try {
                     ServiceHelper.stopAndShutdownService(producer);
@@ -314,7 +351,7 @@ public class ProducerCache extends ServiceSupport {
                         if (producer instanceof ServicePoolAware) {
                             // release back to the pool
                             pool.release(endpoint, producer);
-                        } else if (!producer.isSingleton()) {
+                        } else if (isStopAfterUsage(producer)) {
                             // stop and shutdown non-singleton producers as we should not leak resources
                             try {
                                 ServiceHelper.stopAndShutdownService(producer);
@@ -414,12 +451,25 @@ public class ProducerCache extends ServiceSupport {
             } else if (answer.isSingleton()) {
                 LOG.debug("Adding to producer cache with key: {} for producer: {}", endpoint, answer);
                 producers.put(key, answer);
+                if (!producers.containsKey(key)) {
+                    // the cache did not accept the producer, so it must be stopped after usage as if not a singleton
+                    LOG.debug("Producer cache rejected producer with key: {} for producer: {}", endpoint, answer);
+                    rejectedProducers.add(answer);
+                }
             }
         }
 
         return answer;
     }
 
+    /**
+     * Whether the producer should be stopped after usage, which is the case for non singleton producers
+     * and producers which was not added to the cache
+     */
+    private boolean isStopAfterUsage(Producer producer) {
+        return !producer.isSingleton() || (!rejectedProducers.isEmpty() && rejectedProducers.remove(producer));
+    }
+
     protected void doStart() throws Exception {
         ServiceHelper.startServices(producers.values());
         ServiceHelper.startServices(pool);
@@ -516,6 +566,36 @@ public class ProducerCache extends ServiceSupport {
         return evicted;
     }
 
+    /**
+     * Gets the cache rejected statistic, which is the number of producers not added to the cache
+     * due to its admission policy
+     * <p/>
+     * Will return <tt>-1</tt> if it cannot determine this if a custom cache was used.
+     *
+     * @return the rejected
+     */
+    public long getRejected() {
+        long rejected = -1;
+        if (producers instanceof LRUCache) {
+            LRUCache<String, Producer> cache = (LRUCache<String, Producer>)producers;
+            rejected = cache.getRejected();
+        }
+        return rejected;
+    }
+
+    /**
+     * Whether the cache uses a frequency admission policy
+     *
+     * @return <tt>true</tt> if frequency admission is in use
+     */
+    public boolean isFrequencyAdmission() {
+        if (producers instanceof LRUCache) {
+            LRUCache<String, Producer> cache = (LRUCache<String, Producer>)producers;
+            return cache.isFrequencyAdmission();
+        }
+        return false;
+    }
+
     /**
      * Resets the cache statistics
      */
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link org.apache.camel.spi.UuidGenerator} which is optimized for high concurrent systems.
+ * <p/>
+ * The ids are generated in the same format as {@link ActiveMQUuidGenerator}, but instead of
+ * a single shared counter the counter is split into a number of stripes, where each thread
+ * is assigned to a stripe based on its thread id. The stripe number is part of the generated
+ * id which ensures the ids are unique, and as the stripes are padded to avoid false sharing,
+ * threads do not contend on the same counter when generating ids concurrently.
+ */
+public class StripedUuidGenerator extends ActiveMQUuidGenerator {
+
+    // the number of longs between two stripes to keep them on separate cache lines
+    private static final int PADDING = 16;
+
+    private final AtomicLongArray sequences;
+    private final String[] prefixes;
+    private final int mask;
+
+    public StripedUuidGenerator() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public StripedUuidGenerator(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes must be a positive number, was: " + stripes);
+        }
+        // round up to power of two so we can use a mask to select the stripe
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size * PADDING);
+        this.prefixes = new String[size];
+        for (int i = 0; i < size; i++) {
+            prefixes[i] = getSeed() + i + "-";
+            sequences.set(i * PADDING, 1);
+        }
+    }
+
+    /**
+     * Gets the number of stripes in use
+     */
+    public int getStripes() {
+        return prefixes.length;
+    }
+
+    @Override
+    public String generateUuid() {
+        int stripe = (int) Thread.currentThread().getId() & mask;
+        long sequence = sequences.getAndIncrement(stripe * PADDING);
+        String prefix = prefixes[stripe];
+        return new StringBuilder(prefix.length() + 20).append(prefix).append(sequence).toString();
+    }
+
+}
@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.camel.spi.ThreadPoolProfile;
+
+/**
+ * Factory for thread pools which executes each task in a new thread, instead of using a pool of threads.
+ * <p/>
+ * The max queue size from the {@link ThreadPoolProfile} is used as the limit of the number of tasks
+ * which can execute concurrently. This allows a large number of concurrent tasks that are blocking on
+ * remote I/O, for example with the <tt>threads</tt> DSL, <tt>parallelProcessing</tt> in the
+ * multicast, splitter and recipient list EIPs, and the <tt>concurrentConsumers</tt> on the seda component.
+ * <p/>
+ * Instead of using this factory for all thread pools, the <tt>threadPerTask</tt> option can be enabled
+ * on individual thread pool profiles.
+ * <p/>
+ * Scheduled thread pools are created by the {@link DefaultThreadPoolFactory}.
+ */
+public class ThreadPerTaskThreadPoolFactory extends DefaultThreadPoolFactory {
+
+    @Override
+    public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory factory) {
+        return newThreadPerTaskPool(profile, factory);
+    }
+
+}
@@ -44,7 +44,6 @@ import org.apache.camel.spi.TypeConverterAware;
 import org.apache.camel.spi.TypeConverterLoader;
 import org.apache.camel.spi.TypeConverterRegistry;
 import org.apache.camel.support.ServiceSupport;
-import org.apache.camel.util.LRUSoftCache;
 import org.apache.camel.util.MessageHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
@@ -58,9 +57,18 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class BaseTypeConverterRegistry extends ServiceSupport implements TypeConverter, TypeConverterRegistry {
     protected final Logger log = LoggerFactory.getLogger(getClass());
+    // marker for a conversion which we have tried before but cannot convert
+    private static final Object MISS = new Object();
+    // marker for a conversion which has no type converter so only the fallback type converters can be used
+    private static final Object NO_CONVERTER = new Object();
+    // the maximum number of lookups per from type which is kept for misses and lookups without a type converter
+    private static final int MAX_NEGATIVE_LOOKUPS = 100;
     protected final ConcurrentMap<TypeMapping, TypeConverter> typeMappings = new ConcurrentHashMap<TypeMapping, TypeConverter>();
-    // for misses use a soft reference cache map, as the classes may be un-deployed at runtime
-    protected final LRUSoftCache<TypeMapping, TypeMapping> misses = new LRUSoftCache<TypeMapping, TypeMapping>(1000);
+    // the type converters found by the lookups indexed by from and to type, which avoids creating a TypeMapping
+    // key and walking the class hierarchy for each conversion, and the table is replaced when the type converters
+    // are changed, as that may change the outcome of the lookups. The table also remembers the misses, which are
+    // bounded per from type, and as the table is a ClassValue the lookups go away with un-deployed classes
+    private volatile LookupTable lookupTable = new LookupTable();
     protected final List<TypeConverterLoader> typeConverterLoaders = new ArrayList<TypeConverterLoader>();
     protected final List<FallbackTypeConverter> fallbackConverters = new CopyOnWriteArrayList<FallbackTypeConverter>();
     protected final PackageScanClassResolver resolver;
@@ -150,16 +158,36 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         return mandatoryConvertTo(type, null, value);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public <T> T mandatoryConvertTo(Class<T> type, Exchange exchange, Object value) throws NoTypeConversionAvailableException {
+        return mandatoryConvertTo(type, exchange, value, null);
+    }
+
+    /**
+     * Converts the value to the specified type in the context of an exchange, using the inline cache
+     * of the call site, which remembers the type converter used last time.
+     * <p/>
+     * This is intended for call sites which converts to the same type over and over again, such as
+     * {@link org.apache.camel.processor.ConvertBodyProcessor}.
+     *
+     * @param type        the requested type
+     * @param exchange    the current exchange
+     * @param value       the value to be converted
+     * @param inlineCache the inline cache of the call site, is optional
+     * @return the converted value, is never <tt>null</tt>
+     * @throws TypeConversionException is thrown if error during type conversion
+     * @throws NoTypeConversionAvailableException if no type converters exists to convert to the given type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T mandatoryConvertTo(Class<T> type, Exchange exchange, Object value, TypeConverterInlineCache inlineCache)
+        throws NoTypeConversionAvailableException {
         if (!isRunAllowed()) {
             throw new IllegalStateException(this + " is not started");
         }
 
         Object answer;
         try {
-            answer = doConvertTo(type, exchange, value, false);
+            answer = doConvertTo(type, exchange, value, false, inlineCache);
         } catch (Exception e) {
             if (statistics.isStatisticsEnabled()) {
                 failedCounter.incrementAndGet();
@@ -221,6 +249,11 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     }
 
     protected Object doConvertTo(final Class<?> type, final Exchange exchange, final Object value, final boolean tryConvert) {
+        return doConvertTo(type, exchange, value, tryConvert, null);
+    }
+
+    protected Object doConvertTo(final Class<?> type, final Exchange exchange, final Object value, final boolean tryConvert,
+                                 final TypeConverterInlineCache inlineCache) {
         if (log.isTraceEnabled()) {
             log.trace("Converting {} -> {} with value: {}",
                     new Object[]{value == null ? "null" : value.getClass().getCanonicalName(), 
@@ -270,16 +303,38 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
 
         // check if we have tried it before and if its a miss
-        TypeMapping key = new TypeMapping(type, value.getClass());
-        if (misses.containsKey(key)) {
+        LookupTable table = lookupTable;
+        Object lookup = inlineCache != null ? inlineCache.get(table, type, value.getClass()) : null;
+        if (lookup == null) {
+            ConcurrentMap<Class<?>, Object> lookups = table.get(value.getClass());
+            lookup = lookups.get(type);
+            if (lookup == null) {
+                // try to find a suitable type converter
+                TypeConverter found = getOrFindTypeConverter(new TypeMapping(type, value.getClass()));
+                if (found != null) {
+                    lookup = found;
+                    lookups.putIfAbsent(type, found);
+                } else {
+                    lookup = NO_CONVERTER;
+                    if (lookups.size() < MAX_NEGATIVE_LOOKUPS) {
+                        lookups.putIfAbsent(type, NO_CONVERTER);
+                    }
+                }
+            }
+            if (inlineCache != null) {
+                inlineCache.set(table, type, value.getClass(), lookup);
+            }
+        }
+        if (lookup == MISS) {
             // we have tried before but we cannot convert this one
             return Void.TYPE;
         }
-        
-        // try to find a suitable type converter
-        TypeConverter converter = getOrFindTypeConverter(key);
+
+        TypeConverter converter = lookup != NO_CONVERTER ? (TypeConverter) lookup : null;
         if (converter != null) {
-            log.trace("Using converter: {} to convert {}", converter, key);
+            if (log.isTraceEnabled()) {
+                log.trace("Using converter: {} to convert [{}=>{}]", new Object[]{converter, value.getClass(), type});
+            }
             Object rc;
             if (tryConvert) {
                 rc = converter.tryConvertTo(type, exchange, value);
@@ -357,10 +412,17 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             }
         }
 
-        if (!tryConvert) {
+        if (!tryConvert && lookup == NO_CONVERTER) {
             // Could not find suitable conversion, so remember it
-            // do not register misses for try conversions
-            misses.put(key, key);
+            // do not register misses for try conversions, or when a type converter was found as it may
+            // be able to convert other values of the same type
+            ConcurrentMap<Class<?>, Object> lookups = table.get(value.getClass());
+            if (!lookups.replace(type, NO_CONVERTER, MISS) && lookups.size() < MAX_NEGATIVE_LOOKUPS) {
+                lookups.putIfAbsent(type, MISS);
+            }
+            if (inlineCache != null) {
+                inlineCache.set(table, type, value.getClass(), MISS);
+            }
         }
 
         // Could not find suitable conversion, so return Void to indicate not found
@@ -379,8 +441,8 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
                 log.warn("Overriding type converter from: " + converter + " to: " + typeConverter);
             }
             typeMappings.put(key, typeConverter);
-            // remove any previous misses, as we added the new type converter
-            misses.remove(key);
+            // remove any previous misses and lookups, as we added the new type converter
+            lookupTable = new LookupTable();
         }
     }
 
@@ -403,7 +465,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         TypeConverter converter = typeMappings.remove(key);
         if (converter != null) {
             typeMappings.remove(key);
-            misses.remove(key);
+            lookupTable = new LookupTable();
         }
         return converter != null;
     }
@@ -415,6 +477,8 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         // add in top of fallback as the toString() fallback will nearly always be able to convert
         // the last one which is add to the FallbackTypeConverter will be called at the first place
         fallbackConverters.add(0, new FallbackTypeConverter(typeConverter, canPromote));
+        // remove any previous misses, as the new fallback converter may be able to convert
+        lookupTable = new LookupTable();
         if (typeConverter instanceof TypeConverterAware) {
             TypeConverterAware typeConverterAware = (TypeConverterAware) typeConverter;
             typeConverterAware.setTypeConverter(this);
@@ -605,12 +669,12 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         // log utilization statistics when stopping, including mappings
         if (statistics.isStatisticsEnabled()) {
             String info = statistics.toString();
-            info += String.format(" mappings[total=%s, misses=%s]", typeMappings.size(), misses.size());
+            info += String.format(" mappings[total=%s]", typeMappings.size());
             log.info(info);
         }
 
         typeMappings.clear();
-        misses.clear();
+        lookupTable = new LookupTable();
         statistics.reset();
     }
 
@@ -672,6 +736,17 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
     }
 
+    /**
+     * The type converters found by the lookups indexed by from type, and then by to type.
+     */
+    static final class LookupTable extends ClassValue<ConcurrentMap<Class<?>, Object>> {
+        @Override
+        protected ConcurrentMap<Class<?>, Object> computeValue(Class<?> fromType) {
+            // most from types are only converted to a few types
+            return new ConcurrentHashMap<Class<?>, Object>(8, 0.75f, 1);
+        }
+    }
+
     /**
      * Represents a mapping from one type (which can be null) to another
      */
@@ -50,12 +50,13 @@ public class LazyLoadingTypeConverter extends BaseTypeConverterRegistry {
     }
 
     @Override
-    protected Object doConvertTo(final Class<?> type, final Exchange exchange, final Object value, boolean tryConvert) {
-        Object answer = super.doConvertTo(type, exchange, value, tryConvert);
+    protected Object doConvertTo(final Class<?> type, final Exchange exchange, final Object value, boolean tryConvert,
+                                 final TypeConverterInlineCache inlineCache) {
+        Object answer = super.doConvertTo(type, exchange, value, tryConvert, inlineCache);
         if (answer == null && !loaded.get()) {
             // okay we could not convert, so try again, but load the converters up front
             ensureLoaded();
-            answer = super.doConvertTo(type, exchange, value, tryConvert);
+            answer = super.doConvertTo(type, exchange, value, tryConvert, inlineCache);
         }
         return answer;
     }
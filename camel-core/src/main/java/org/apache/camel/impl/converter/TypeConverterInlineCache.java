@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+/**
+ * An inline cache for a call site which converts values to the same type over and over again,
+ * such as <tt>convertBodyTo</tt> in a route.
+ * <p/>
+ * The cache remembers the outcome of the last type converter lookup, so converting a value of the
+ * same type again does not need to look up the type converter in the {@link BaseTypeConverterRegistry}.
+ * The cache is only used with the registry it was last used with, and is automatically refreshed if
+ * the type converters in the registry are changed.
+ *
+ * @see BaseTypeConverterRegistry#mandatoryConvertTo(Class, org.apache.camel.Exchange, Object, TypeConverterInlineCache)
+ */
+public final class TypeConverterInlineCache {
+
+    private volatile Entry entry;
+
+    Object get(Object table, Class<?> toType, Class<?> fromType) {
+        Entry last = entry;
+        if (last != null && last.table == table && last.toType == toType && last.fromType == fromType) {
+            return last.lookup;
+        }
+        return null;
+    }
+
+    void set(Object table, Class<?> toType, Class<?> fromType, Object lookup) {
+        entry = new Entry(table, toType, fromType, lookup);
+    }
+
+    private static final class Entry {
+        private final Object table;
+        private final Class<?> toType;
+        private final Class<?> fromType;
+        private final Object lookup;
+
+        private Entry(Object table, Class<?> toType, Class<?> fromType, Object lookup) {
+            this.table = table;
+            this.toType = toType;
+            this.fromType = fromType;
+            this.lookup = lookup;
+        }
+    }
+}
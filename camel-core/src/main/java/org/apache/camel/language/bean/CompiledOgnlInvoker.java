@@ -0,0 +1,227 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.bean;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.model.language.MethodCallExpression;
+import org.apache.camel.util.IntrospectionSupport;
+import org.apache.camel.util.OgnlHelper;
+
+/**
+ * Invokes a simple OGNL method chain, such as <tt>.address.city</tt>, directly on the given bean
+ * without going through the bean component for each method in the chain.
+ * <p/>
+ * The chain is split once when compiled, and each method in the chain is resolved using reflection
+ * the first time it is invoked on a given type, and then kept in a single entry inline cache.
+ * Only chains of parameterless methods (or shorthand getters) without any index lookups can be
+ * compiled. If a method cannot be resolved to exactly one public parameterless method at runtime,
+ * then the rest of the chain is invoked using the regular {@link BeanExpression} OGNL support.
+ */
+public final class CompiledOgnlInvoker {
+
+    private final String ognl;
+    private final Step[] steps;
+
+    private CompiledOgnlInvoker(String ognl, Step[] steps) {
+        this.ognl = ognl;
+        this.steps = steps;
+    }
+
+    /**
+     * Compiles the given OGNL method chain.
+     *
+     * @param ognl the OGNL method chain, eg <tt>.address?.city</tt>
+     * @return the compiled invoker, or <tt>null</tt> if the chain is not supported and the regular
+     *         {@link BeanExpression} OGNL support should be used instead
+     */
+    public static CompiledOgnlInvoker compile(String ognl) {
+        if (!OgnlHelper.isValidOgnlExpression(ognl)) {
+            return null;
+        }
+
+        List<String> methods = OgnlHelper.splitOgnl(ognl);
+        if (methods.isEmpty()) {
+            return null;
+        }
+
+        Step[] steps = new Step[methods.size()];
+        for (int i = 0; i < steps.length; i++) {
+            String text = methods.get(i);
+            boolean nullSafe = OgnlHelper.isNullSafeOperator(text);
+            String name = OgnlHelper.removeLeadingOperators(text);
+            if (name.endsWith("()")) {
+                name = name.substring(0, name.length() - 2);
+            }
+            // index lookups and methods with parameters are not supported
+            if (!isJavaIdentifier(name)) {
+                return null;
+            }
+            steps[i] = new Step(text, name, nullSafe);
+        }
+        return new CompiledOgnlInvoker(ognl, steps);
+    }
+
+    /**
+     * Invokes the method chain on the given bean.
+     *
+     * @param exchange the current exchange
+     * @param bean     the bean to invoke the first method on, must not be <tt>null</tt>
+     * @return the result of the last method invoked
+     * @throws RuntimeBeanExpressionException is thrown if any of the methods failed
+     */
+    public Object invoke(Exchange exchange, Object bean) {
+        Object result = bean;
+        for (int i = 0; i < steps.length; i++) {
+            Step step = steps[i];
+
+            if (result == null) {
+                // a method in the middle of the chain returned null and the null safe operator was not used
+                throw new RuntimeBeanExpressionException(exchange, null, ognl, new NullPointerException());
+            }
+
+            Method method = step.resolve(result.getClass());
+            if (method == null) {
+                // cannot invoke the method directly so let the bean component do the rest of the chain
+                return new MethodCallExpression(result, remainder(i)).evaluate(exchange);
+            }
+
+            try {
+                result = method.invoke(result);
+            } catch (InvocationTargetException e) {
+                Throwable cause = new RuntimeBeanExpressionException(exchange, null, step.name, e.getCause());
+                throw new RuntimeBeanExpressionException(exchange, null, ognl, cause);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeBeanExpressionException(exchange, null, ognl, e);
+            }
+
+            // check null safe for null results
+            if (result == null && step.nullSafe) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledOgnlInvoker[" + ognl + "]";
+    }
+
+    private String remainder(int index) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = index; i < steps.length; i++) {
+            sb.append(steps[i].text);
+        }
+        String answer = sb.toString();
+        // a single method must start with a dot to be valid OGNL
+        if (!answer.startsWith(".") && !answer.startsWith("?")) {
+            answer = "." + answer;
+        }
+        return answer;
+    }
+
+    private static boolean isJavaIdentifier(String name) {
+        if (name.length() == 0 || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the method to invoke directly using the same rules as the bean component, which is a
+     * method with the given name, or otherwise a getter with the given shorthand name.
+     *
+     * @return the method, or <tt>null</tt> if there is no single public parameterless method to use
+     */
+    static Method findMethod(Class<?> type, String name) {
+        Method answer = null;
+        Method[] methods = type.getMethods();
+        for (Method method : methods) {
+            if (method.isBridge() || !name.equals(method.getName())) {
+                continue;
+            }
+            if (answer != null || method.getParameterTypes().length > 0) {
+                // overloaded or requires parameters, which requires parameter binding
+                return null;
+            }
+            answer = method;
+        }
+
+        if (answer == null) {
+            // try using shorthand getter names
+            for (Method method : methods) {
+                if (!method.isBridge() && IntrospectionSupport.isGetter(method)
+                        && name.equals(IntrospectionSupport.getGetterShorthandName(method))) {
+                    if (answer != null) {
+                        return null;
+                    }
+                    answer = method;
+                }
+            }
+        }
+
+        if (answer == null || answer.getDeclaringClass() == Object.class
+                || !Modifier.isPublic(answer.getDeclaringClass().getModifiers())
+                || answer.getReturnType() == Void.TYPE
+                || Exchange.class.isAssignableFrom(answer.getReturnType())) {
+            return null;
+        }
+        return answer;
+    }
+
+    private static final class Step {
+        private final String text;
+        private final String name;
+        private final boolean nullSafe;
+        private volatile ResolvedMethod cache;
+
+        private Step(String text, String name, boolean nullSafe) {
+            this.text = text;
+            this.name = name;
+            this.nullSafe = nullSafe;
+        }
+
+        Method resolve(Class<?> type) {
+            ResolvedMethod resolved = cache;
+            if (resolved == null || resolved.type != type) {
+                resolved = new ResolvedMethod(type, findMethod(type, name));
+                cache = resolved;
+            }
+            return resolved.method;
+        }
+    }
+
+    private static final class ResolvedMethod {
+        private final Class<?> type;
+        private final Method method;
+
+        private ResolvedMethod(Class<?> type, Method method) {
+            this.type = type;
+            this.method = method;
+        }
+    }
+}
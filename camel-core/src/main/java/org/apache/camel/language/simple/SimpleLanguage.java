@@ -16,10 +16,13 @@
  */
 package org.apache.camel.language.simple;
 
+import java.util.Map;
+
 import org.apache.camel.Expression;
 import org.apache.camel.Predicate;
 import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.support.LanguageSupport;
+import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.PredicateToExpressionAdapter;
 
@@ -94,6 +97,12 @@ public class SimpleLanguage extends LanguageSupport {
     private static final SimpleLanguage SIMPLE = new SimpleLanguage();
 
     protected boolean allowEscape = true;
+    protected boolean compiled;
+    protected int cacheSize = 1000;
+
+    // caches the parsed expressions and predicates by their text when in compiled mode
+    private volatile Map<String, Expression> cacheExpression;
+    private volatile Map<String, Predicate> cachePredicate;
 
     /**
      * Default constructor.
@@ -106,14 +115,24 @@ public class SimpleLanguage extends LanguageSupport {
 
         expression = loadResource(expression);
 
+        Map<String, Predicate> cache = cachePredicate;
+        Predicate cached = cache != null ? cache.get(expression) : null;
+        if (cached != null) {
+            return cached;
+        }
+
         // support old simple language syntax
         @SuppressWarnings("deprecation")
         Predicate answer = SimpleBackwardsCompatibleParser.parsePredicate(expression, allowEscape);
         if (answer == null) {
             // use the new parser
-            SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape);
+            SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape, compiled);
             answer = parser.parsePredicate();
         }
+
+        if (cache != null) {
+            cache.put(expression, answer);
+        }
         return answer;
     }
 
@@ -122,17 +141,79 @@ public class SimpleLanguage extends LanguageSupport {
 
         expression = loadResource(expression);
 
+        Map<String, Expression> cache = cacheExpression;
+        Expression cached = cache != null ? cache.get(expression) : null;
+        if (cached != null) {
+            return cached;
+        }
+
         // support old simple language syntax
         @SuppressWarnings("deprecation")
         Expression answer = SimpleBackwardsCompatibleParser.parseExpression(expression, allowEscape);
         if (answer == null) {
             // use the new parser
-            SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape);
+            SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape, compiled);
             answer = parser.parseExpression();
         }
+
+        if (cache != null) {
+            cache.put(expression, answer);
+        }
         return answer;
     }
 
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Whether to use compiled mode, which is optimized for evaluating the same expressions and predicates
+     * over and over again, such as when used in content based routers and filters.
+     * <p/>
+     * In compiled mode then:
+     * <ul>
+     *   <li>the parsed expressions and predicates are cached by their text, so parsing the same text again
+     *   returns the same instance. As each {@link org.apache.camel.CamelContext} has its own simple language
+     *   then the cache is shared by all the routes in the same context.</li>
+     *   <li>OGNL method calls on the message body, headers and exchange properties, such as
+     *   <tt>${body.address.city}</tt>, invoke the methods directly instead of using the bean component
+     *   for each method in the chain. Methods which require parameter binding, and index lookups, such as
+     *   <tt>${body.lines[0]}</tt>, still use the bean component.</li>
+     *   <li>binary operators in predicates where both sides are literals, such as when using property placeholders
+     *   eg <tt>{{myFlag}} == 'true'</tt>, are only evaluated once, and logical operators with a literal on the
+     *   left hand side are short circuited when parsing.</li>
+     * </ul>
+     * This is disabled by default.
+     */
+    public void setCompiled(boolean compiled) {
+        this.compiled = compiled;
+        resetCache();
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Sets the maximum number of parsed expressions and predicates (each) to cache when in compiled mode.
+     * <p/>
+     * The default is 1000.
+     */
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+        resetCache();
+    }
+
+    private synchronized void resetCache() {
+        if (compiled && cacheSize > 0) {
+            cacheExpression = new LRUCache<String, Expression>(cacheSize);
+            cachePredicate = new LRUCache<String, Predicate>(cacheSize);
+        } else {
+            cacheExpression = null;
+            cachePredicate = null;
+        }
+    }
+
     /**
      * Creates a new {@link Expression}.
      * <p/>
@@ -222,6 +303,8 @@ public class SimpleLanguage extends LanguageSupport {
      */
     public void setFunctionStartToken(String startToken) {
         changeFunctionStartToken(startToken);
+        // the cached expressions were parsed using the old tokens
+        resetCache();
     }
 
     /**
@@ -236,5 +319,7 @@ public class SimpleLanguage extends LanguageSupport {
      */
     public void setFunctionEndToken(String endToken) {
         changeFunctionEndToken(endToken);
+        // the cached expressions were parsed using the old tokens
+        resetCache();
     }
 }
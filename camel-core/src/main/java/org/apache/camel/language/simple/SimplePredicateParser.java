@@ -26,8 +26,10 @@ import org.apache.camel.Expression;
 import org.apache.camel.Predicate;
 import org.apache.camel.builder.PredicateBuilder;
 import org.apache.camel.language.simple.ast.BinaryExpression;
+import org.apache.camel.language.simple.ast.CompositeNodes;
 import org.apache.camel.language.simple.ast.DoubleQuoteEnd;
 import org.apache.camel.language.simple.ast.DoubleQuoteStart;
+import org.apache.camel.language.simple.ast.FoldedExpression;
 import org.apache.camel.language.simple.ast.LiteralExpression;
 import org.apache.camel.language.simple.ast.LiteralNode;
 import org.apache.camel.language.simple.ast.LogicalExpression;
@@ -45,6 +47,7 @@ import org.apache.camel.language.simple.types.SimpleParserException;
 import org.apache.camel.language.simple.types.SimpleToken;
 import org.apache.camel.language.simple.types.TokenType;
 import org.apache.camel.util.ExpressionToPredicateAdapter;
+import org.apache.camel.util.ObjectHelper;
 
 /**
  * A parser to parse simple language as a Camel {@link Predicate}
@@ -60,6 +63,15 @@ public class SimplePredicateParser extends BaseSimpleParser {
         super(expression, allowEscape);
     }
 
+    /**
+     * @param expression  the predicate to parse
+     * @param allowEscape whether to allow escaping characters
+     * @param compiled    whether to use compiled mode, see {@link SimpleLanguage#setCompiled(boolean)}
+     */
+    public SimplePredicateParser(String expression, boolean allowEscape, boolean compiled) {
+        super(expression, allowEscape, compiled);
+    }
+
     public Predicate parsePredicate() {
         clear();
         try {
@@ -114,6 +126,10 @@ public class SimplePredicateParser extends BaseSimpleParser {
         prepareBinaryExpressions();
         // compact and stack logical expressions
         prepareLogicalExpressions();
+        // fold constant expressions (only in compiled mode)
+        if (compiled) {
+            foldConstantExpressions();
+        }
 
         // create and return as a Camel predicate
         List<Predicate> predicates = createPredicates();
@@ -221,7 +237,7 @@ public class SimplePredicateParser extends BaseSimpleParser {
                                   AtomicBoolean startFunction) {
         if (token.getType().isFunctionStart()) {
             startFunction.set(true);
-            return new SimpleFunctionStart(token);
+            return new SimpleFunctionStart(token, compiled);
         } else if (token.getType().isFunctionEnd()) {
             startFunction.set(false);
             return new SimpleFunctionEnd(token);
@@ -427,6 +443,96 @@ public class SimplePredicateParser extends BaseSimpleParser {
         nodes.addAll(stack);
     }
 
+    /**
+     * Folds the expressions which only contain literals, so they do not have to be evaluated again and again.
+     * <p/>
+     * A binary expression with literals on both sides is only evaluated once (except for the <tt>is</tt>
+     * operator which uses the class resolver), and a logical expression is simplified if its left hand side
+     * is a literal, such as <tt>true || ${header.foo} == 'bar'</tt>. The latter is common when using
+     * property placeholders to turn parts of a predicate on or off.
+     */
+    private void foldConstantExpressions() {
+        for (int i = 0; i < nodes.size(); i++) {
+            nodes.set(i, foldConstantExpression(nodes.get(i)));
+        }
+    }
+
+    private SimpleNode foldConstantExpression(SimpleNode node) {
+        if (node instanceof BinaryExpression) {
+            BinaryExpression binary = (BinaryExpression) node;
+            BinaryOperatorType operator = binary.getOperator();
+            if (operator != BinaryOperatorType.IS && operator != BinaryOperatorType.NOT_IS
+                    && isLiteral(binary.getLeft()) && isLiteral(binary.getRight())) {
+                return new FoldedExpression(binary);
+            }
+        } else if (node instanceof LogicalExpression) {
+            LogicalExpression logical = (LogicalExpression) node;
+            SimpleNode left = foldConstantExpression(logical.getLeft());
+            SimpleNode right = foldConstantExpression(logical.getRight());
+            logical.acceptLeftNode(left);
+            logical.acceptRightNode(right);
+
+            if (isLiteral(left)) {
+                // the left hand side is always evaluated first, so we can short circuit
+                boolean value = ObjectHelper.evaluateValuePredicate(getLiteralText(left));
+                if (logical.getOperator() == LogicalOperatorType.AND) {
+                    return value ? right : createLiteral(logical, "false");
+                } else if (logical.getOperator() == LogicalOperatorType.OR) {
+                    return value ? createLiteral(logical, "true") : right;
+                }
+            }
+        }
+        return node;
+    }
+
+    private static boolean isLiteral(SimpleNode node) {
+        if (node instanceof NullExpression) {
+            return true;
+        }
+        if (node != null && node.getClass() == LiteralExpression.class) {
+            return true;
+        }
+        CompositeNodes block = null;
+        if (node instanceof SingleQuoteStart) {
+            block = ((SingleQuoteStart) node).getBlock();
+        } else if (node instanceof DoubleQuoteStart) {
+            block = ((DoubleQuoteStart) node).getBlock();
+        }
+        if (block == null) {
+            return false;
+        }
+        // quoted text is only a literal if it has no embedded functions
+        for (SimpleNode child : block.getChildren()) {
+            if (child.getClass() != LiteralExpression.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String getLiteralText(SimpleNode node) {
+        if (node instanceof NullExpression) {
+            return null;
+        }
+        if (node instanceof LiteralExpression) {
+            return ((LiteralExpression) node).getText();
+        }
+        // the quoted text is the literal text
+        CompositeNodes block = node instanceof SingleQuoteStart
+                ? ((SingleQuoteStart) node).getBlock() : ((DoubleQuoteStart) node).getBlock();
+        StringBuilder sb = new StringBuilder();
+        for (SimpleNode child : block.getChildren()) {
+            sb.append(((LiteralExpression) child).getText());
+        }
+        return sb.toString();
+    }
+
+    private static SimpleNode createLiteral(SimpleNode node, String text) {
+        LiteralExpression literal = new LiteralExpression(node.getToken());
+        literal.addText(text);
+        return literal;
+    }
+
     /**
      * Creates the {@link Predicate}s from the AST nodes.
      *
@@ -0,0 +1,66 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple.ast;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.language.simple.types.SimpleParserException;
+
+/**
+ * Represents a constant folded {@link BinaryExpression} in the AST, which is a binary expression
+ * where both the left and right hand side are literals, such as <tt>'true' == 'true'</tt>.
+ * <p/>
+ * As the outcome does not depend on the exchange, then the binary expression is only evaluated once,
+ * and the result is reused for further evaluations.
+ */
+public class FoldedExpression extends BaseSimpleNode {
+
+    private final BinaryExpression binary;
+
+    public FoldedExpression(BinaryExpression binary) {
+        super(binary.getToken());
+        this.binary = binary;
+    }
+
+    @Override
+    public String toString() {
+        return binary.toString();
+    }
+
+    @Override
+    public Expression createExpression(String expression) throws SimpleParserException {
+        final Expression delegate = binary.createExpression(expression);
+        return new Expression() {
+            private volatile Boolean result;
+
+            @Override
+            public <T> T evaluate(Exchange exchange, Class<T> type) {
+                Boolean answer = result;
+                if (answer == null) {
+                    answer = delegate.evaluate(exchange, Boolean.class);
+                    result = answer;
+                }
+                return exchange.getContext().getTypeConverter().convertTo(type, answer);
+            }
+
+            @Override
+            public String toString() {
+                return delegate.toString();
+            }
+        };
+    }
+}
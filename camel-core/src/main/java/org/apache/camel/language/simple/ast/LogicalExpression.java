@@ -55,6 +55,14 @@ public class LogicalExpression extends BaseSimpleNode {
         return true;
     }
 
+    public SimpleNode getLeft() {
+        return left;
+    }
+
+    public SimpleNode getRight() {
+        return right;
+    }
+
     public LogicalOperatorType getOperator() {
         return operator;
     }
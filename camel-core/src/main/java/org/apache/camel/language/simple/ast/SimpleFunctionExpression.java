@@ -30,8 +30,20 @@ import org.apache.camel.util.StringHelper;
  */
 public class SimpleFunctionExpression extends LiteralExpression {
 
+    private final boolean compiled;
+
     public SimpleFunctionExpression(SimpleToken token) {
+        this(token, false);
+    }
+
+    /**
+     * @param token    the token
+     * @param compiled whether OGNL method calls on the body, headers and exchange properties
+     *                 should be invoked directly when possible
+     */
+    public SimpleFunctionExpression(SimpleToken token, boolean compiled) {
         super(token);
+        this.compiled = compiled;
     }
 
     @Override
@@ -111,6 +123,9 @@ public class SimpleFunctionExpression extends LiteralExpression {
 
             if (OgnlHelper.isValidOgnlExpression(remainder)) {
                 // ognl based property
+                if (compiled) {
+                    return ExpressionBuilder.compiledPropertyOgnlExpression(remainder);
+                }
                 return ExpressionBuilder.propertyOgnlExpression(remainder);
             } else {
                 // regular property
@@ -248,6 +263,9 @@ public class SimpleFunctionExpression extends LiteralExpression {
             if (invalid) {
                 throw new SimpleParserException("Valid syntax: ${body.OGNL} was: " + function, token.getIndex());
             }
+            if (compiled) {
+                return ExpressionBuilder.compiledBodyOgnlExpression(remainder);
+            }
             return ExpressionBuilder.bodyOgnlExpression(remainder);
         }
 
@@ -306,6 +324,9 @@ public class SimpleFunctionExpression extends LiteralExpression {
 
             if (OgnlHelper.isValidOgnlExpression(key)) {
                 // ognl based header
+                if (compiled) {
+                    return ExpressionBuilder.compiledHeadersOgnlExpression(key);
+                }
                 return ExpressionBuilder.headersOgnlExpression(key);
             } else {
                 // regular header
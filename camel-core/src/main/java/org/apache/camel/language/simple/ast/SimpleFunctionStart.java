@@ -29,10 +29,16 @@ import org.apache.camel.util.StringHelper;
 public class SimpleFunctionStart extends BaseSimpleNode implements BlockStart {
 
     private CompositeNodes block;
+    private final boolean compiled;
 
     public SimpleFunctionStart(SimpleToken token) {
+        this(token, false);
+    }
+
+    public SimpleFunctionStart(SimpleToken token, boolean compiled) {
         super(token);
         this.block = new CompositeNodes(token);
+        this.compiled = compiled;
     }
 
     @Override
@@ -52,7 +58,7 @@ public class SimpleFunctionStart extends BaseSimpleNode implements BlockStart {
     }
 
     private Expression doCreateLiteralExpression(final String expression) {
-        SimpleFunctionExpression function = new SimpleFunctionExpression(this.getToken());
+        SimpleFunctionExpression function = new SimpleFunctionExpression(this.getToken(), compiled);
         LiteralNode literal = (LiteralNode) block.getChildren().get(0);
         function.addText(literal.getText());
         return function.createExpression(expression);
@@ -95,7 +101,7 @@ public class SimpleFunctionStart extends BaseSimpleNode implements BlockStart {
                 // we have now concat the block as a String which contains the function expression
                 // which we then need to evaluate as a function
                 String exp = sb.toString();
-                SimpleFunctionExpression function = new SimpleFunctionExpression(token);
+                SimpleFunctionExpression function = new SimpleFunctionExpression(token, compiled);
                 function.addText(exp);
                 try {
                     return function.createExpression(exp).evaluate(exchange, type);
@@ -101,6 +101,10 @@ public class ManagedAggregateProcessor extends ManagedProcessor implements Manag
         return processor.isOptimisticLocking();
     }
 
+    public int getLockStripes() {
+        return processor.getLockStripes();
+    }
+
     public boolean isEagerCheckCompletion() {
         return processor.isEagerCheckCompletion();
     }
@@ -117,6 +121,10 @@ public class ManagedAggregateProcessor extends ManagedProcessor implements Manag
         return processor.isDiscardOnCompletionTimeout();
     }
 
+    public boolean isCompletionTimeoutTimingWheel() {
+        return processor.isCompletionTimeoutTimingWheel();
+    }
+
     public boolean isForceCompletionOnStop() {
         return processor.isCompletionFromBatchConsumer();
     }
@@ -24,6 +24,7 @@ import org.apache.camel.api.management.mbean.BacklogTracerEventMessage;
 import org.apache.camel.api.management.mbean.ManagedBacklogTracerMBean;
 import org.apache.camel.processor.interceptor.BacklogTracer;
 import org.apache.camel.spi.ManagementStrategy;
+import org.apache.camel.util.Sampler;
 
 /**
  * @version 
@@ -102,6 +103,24 @@ public class ManagedBacklogTracer implements ManagedBacklogTracerMBean {
         return backlogTracer.getTraceFilter();
     }
 
+    public void setSampleFrequency(long frequency) {
+        backlogTracer.setSampler(frequency > 0 ? Sampler.everyNth(frequency) : null);
+    }
+
+    public long getSampleFrequency() {
+        Sampler sampler = backlogTracer.getSampler();
+        return sampler != null ? sampler.getFrequency() : 0;
+    }
+
+    public void setSampleMaxPerSecond(int maxPerSecond) {
+        backlogTracer.setSampler(maxPerSecond > 0 ? Sampler.perSecond(maxPerSecond) : null);
+    }
+
+    public int getSampleMaxPerSecond() {
+        Sampler sampler = backlogTracer.getSampler();
+        return sampler != null ? sampler.getMaxPerSecond() : 0;
+    }
+
     public long getTraceCounter() {
         return backlogTracer.getTraceCounter();
     }
@@ -64,6 +64,14 @@ public class ManagedConsumerCache extends ManagedService implements ManagedConsu
         return consumerCache.getEvicted();
     }
 
+    public Long getRejected() {
+        return consumerCache.getRejected();
+    }
+
+    public Boolean isFrequencyAdmission() {
+        return consumerCache.isFrequencyAdmission();
+    }
+
     public void resetStatistics() {
         consumerCache.resetCacheStatistics();
     }
@@ -29,6 +29,7 @@ import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.api.management.mbean.CamelOpenMBeanTypes;
 import org.apache.camel.api.management.mbean.ManagedEndpointRegistryMBean;
 import org.apache.camel.spi.EndpointRegistry;
+import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
 
 /**
@@ -67,6 +68,32 @@ public class ManagedEndpointRegistry extends ManagedService implements ManagedEn
         return endpointRegistry.getMaximumCacheSize();
     }
 
+    public Long getHits() {
+        return endpointRegistry instanceof LRUCache ? ((LRUCache<?, ?>) endpointRegistry).getHits() : -1;
+    }
+
+    public Long getMisses() {
+        return endpointRegistry instanceof LRUCache ? ((LRUCache<?, ?>) endpointRegistry).getMisses() : -1;
+    }
+
+    public Long getEvicted() {
+        return endpointRegistry instanceof LRUCache ? ((LRUCache<?, ?>) endpointRegistry).getEvicted() : -1;
+    }
+
+    public Long getRejected() {
+        return endpointRegistry instanceof LRUCache ? ((LRUCache<?, ?>) endpointRegistry).getRejected() : -1;
+    }
+
+    public Boolean isFrequencyAdmission() {
+        return endpointRegistry instanceof LRUCache && ((LRUCache<?, ?>) endpointRegistry).isFrequencyAdmission();
+    }
+
+    public void resetStatistics() {
+        if (endpointRegistry instanceof LRUCache) {
+            ((LRUCache<?, ?>) endpointRegistry).resetStatistics();
+        }
+    }
+
     public void purge() {
         endpointRegistry.purge();
     }
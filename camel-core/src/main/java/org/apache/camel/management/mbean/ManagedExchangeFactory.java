@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedExchangeFactoryMBean;
+import org.apache.camel.spi.ExchangeFactory;
+
+/**
+ *
+ */
+@ManagedResource(description = "Managed ExchangeFactory")
+public class ManagedExchangeFactory extends ManagedService implements ManagedExchangeFactoryMBean {
+
+    private final ExchangeFactory factory;
+
+    public ManagedExchangeFactory(CamelContext context, ExchangeFactory factory) {
+        super(context, factory);
+        this.factory = factory;
+    }
+
+    public ExchangeFactory getExchangeFactory() {
+        return factory;
+    }
+
+    @Override
+    public boolean isPooled() {
+        return factory.isPooled();
+    }
+
+    @Override
+    public int getCapacity() {
+        return factory.getCapacity();
+    }
+
+    @Override
+    public int getLeakCount() {
+        return factory.getLeakCount();
+    }
+
+    @Override
+    public long getCreatedCounter() {
+        return factory.getStatistics().getCreatedCounter();
+    }
+
+    @Override
+    public long getAcquiredCounter() {
+        return factory.getStatistics().getAcquiredCounter();
+    }
+
+    @Override
+    public long getReleasedCounter() {
+        return factory.getStatistics().getReleasedCounter();
+    }
+
+    @Override
+    public long getDiscardedCounter() {
+        return factory.getStatistics().getDiscardedCounter();
+    }
+
+    @Override
+    public void resetStatistics() {
+        factory.getStatistics().reset();
+    }
+
+    @Override
+    public boolean isStatisticsEnabled() {
+        return factory.getStatistics().isStatisticsEnabled();
+    }
+
+    @Override
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        factory.getStatistics().setStatisticsEnabled(statisticsEnabled);
+    }
+
+}
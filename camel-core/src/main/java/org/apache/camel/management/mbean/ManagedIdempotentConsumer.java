@@ -20,6 +20,7 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.api.management.mbean.ManagedIdempotentConsumerMBean;
 import org.apache.camel.model.IdempotentConsumerDefinition;
+import org.apache.camel.processor.idempotent.BloomFilterIdempotentRepository;
 import org.apache.camel.processor.idempotent.IdempotentConsumer;
 
 @ManagedResource(description = "Managed Idempotent Consumer")
@@ -79,6 +80,22 @@ public class ManagedIdempotentConsumer extends ManagedProcessor implements Manag
         getProcessor().resetDuplicateMessageCount();
     }
 
+    @Override
+    public long getRoundTripCount() {
+        if (getProcessor().getIdempotentRepository() instanceof BloomFilterIdempotentRepository) {
+            return ((BloomFilterIdempotentRepository) getProcessor().getIdempotentRepository()).getRoundTrips();
+        }
+        return 0;
+    }
+
+    @Override
+    public long getAvoidedRoundTripCount() {
+        if (getProcessor().getIdempotentRepository() instanceof BloomFilterIdempotentRepository) {
+            return ((BloomFilterIdempotentRepository) getProcessor().getIdempotentRepository()).getAvoidedRoundTrips();
+        }
+        return 0;
+    }
+
     @Override
     public void clear() {
         getProcessor().clear();
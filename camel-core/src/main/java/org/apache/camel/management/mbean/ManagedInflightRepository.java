@@ -28,6 +28,7 @@ import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.api.management.mbean.CamelOpenMBeanTypes;
 import org.apache.camel.api.management.mbean.ManagedInflightRepositoryMBean;
 import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.spi.OldestInflightRepository;
 import org.apache.camel.util.ObjectHelper;
 
 /**
@@ -52,11 +53,32 @@ public class ManagedInflightRepository extends ManagedService implements Managed
         return inflightRepository.size();
     }
 
+    @Override
+    public long getOldestInflightDuration() {
+        InflightRepository.InflightExchange oldest = oldest();
+        return oldest != null ? oldest.getDuration() : -1;
+    }
+
+    @Override
+    public String getOldestInflightExchangeId() {
+        InflightRepository.InflightExchange oldest = oldest();
+        return oldest != null ? oldest.getExchange().getExchangeId() : null;
+    }
+
     @Override
     public int size(String routeId) {
         return inflightRepository.size(routeId);
     }
 
+    private InflightRepository.InflightExchange oldest() {
+        if (inflightRepository instanceof OldestInflightRepository) {
+            return ((OldestInflightRepository) inflightRepository).oldest(null);
+        }
+        // fallback to browse which sorts all the inflight exchanges
+        Collection<InflightRepository.InflightExchange> list = inflightRepository.browse(1, true);
+        return list.isEmpty() ? null : list.iterator().next();
+    }
+
     @Override
     public TabularData browse() {
         return browse(-1, false);
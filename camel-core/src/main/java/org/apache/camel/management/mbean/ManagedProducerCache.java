@@ -64,6 +64,14 @@ public class ManagedProducerCache extends ManagedService implements ManagedProdu
         return producerCache.getEvicted();
     }
 
+    public Long getRejected() {
+        return producerCache.getRejected();
+    }
+
+    public Boolean isFrequencyAdmission() {
+        return producerCache.isFrequencyAdmission();
+    }
+
     public void resetStatistics() {
         producerCache.resetCacheStatistics();
     }
@@ -71,4 +71,24 @@ public class ManagedSendDynamicProcessor extends ManagedProcessor implements Man
         return processor.isIgnoreInvalidEndpoint();
     }
 
+    public Boolean isAllowOptimisedComponents() {
+        return processor.isAllowOptimisedComponents();
+    }
+
+    public Integer getCacheCurrentSize() {
+        return processor.getProducerCache() != null ? processor.getProducerCache().size() : 0;
+    }
+
+    public Long getCacheHits() {
+        return processor.getProducerCache() != null ? processor.getProducerCache().getHits() : 0;
+    }
+
+    public Long getCacheMisses() {
+        return processor.getProducerCache() != null ? processor.getProducerCache().getMisses() : 0;
+    }
+
+    public Long getCacheEvicted() {
+        return processor.getProducerCache() != null ? processor.getProducerCache().getEvicted() : 0;
+    }
+
 }
@@ -90,6 +90,10 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getBufferSize();
     }
 
+    public boolean isOffHeap() {
+        return streamCachingStrategy.isOffHeap();
+    }
+
     public void setRemoveSpoolDirectoryWhenStopping(boolean remove) {
         streamCachingStrategy.setRemoveSpoolDirectoryWhenStopping(remove);
     }
@@ -130,6 +134,14 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getStatistics().getCacheSpoolAverageSize();
     }
 
+    public long getCacheOffHeapUsedSize() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapUsedSize();
+    }
+
+    public long getCacheOffHeapPooledSize() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapPooledSize();
+    }
+
     public boolean isStatisticsEnabled() {
         return streamCachingStrategy.getStatistics().isStatisticsEnabled();
     }
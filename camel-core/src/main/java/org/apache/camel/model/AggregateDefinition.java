@@ -82,6 +82,8 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
     @XmlAttribute
     private Boolean optimisticLocking;
     @XmlAttribute
+    private Integer lockStripes;
+    @XmlAttribute
     private String executorServiceRef;
     @XmlAttribute
     private String timeoutCheckerExecutorServiceRef;
@@ -113,6 +115,8 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
     @XmlAttribute
     private Boolean discardOnCompletionTimeout;
     @XmlAttribute
+    private Boolean completionTimeoutTimingWheel;
+    @XmlAttribute
     private Boolean forceCompletionOnStop;
     @XmlTransient
     private AggregateController aggregateController;
@@ -220,6 +224,9 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         if (getOptimisticLocking() != null) {
             answer.setOptimisticLocking(getOptimisticLocking());
         }
+        if (getLockStripes() != null) {
+            answer.setLockStripes(getLockStripes());
+        }
         if (getCompletionPredicate() != null) {
             Predicate predicate = getCompletionPredicate().createPredicate(routeContext);
             answer.setCompletionPredicate(predicate);
@@ -260,6 +267,9 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         if (getDiscardOnCompletionTimeout() != null) {
             answer.setDiscardOnCompletionTimeout(getDiscardOnCompletionTimeout());
         }
+        if (getCompletionTimeoutTimingWheel() != null) {
+            answer.setCompletionTimeoutTimingWheel(getCompletionTimeoutTimingWheel());
+        }
         if (getForceCompletionOnStop() != null) {
             answer.setForceCompletionOnStop(getForceCompletionOnStop());
         }
@@ -534,6 +544,14 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         this.optimisticLocking = optimisticLocking;
     }
 
+    public Integer getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(Integer lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public Boolean getParallelProcessing() {
         return parallelProcessing;
     }
@@ -597,6 +615,14 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
     public void setDiscardOnCompletionTimeout(Boolean discardOnCompletionTimeout) {
         this.discardOnCompletionTimeout = discardOnCompletionTimeout;
     }
+
+    public Boolean getCompletionTimeoutTimingWheel() {
+        return completionTimeoutTimingWheel;
+    }
+
+    public void setCompletionTimeoutTimingWheel(Boolean completionTimeoutTimingWheel) {
+        this.completionTimeoutTimingWheel = completionTimeoutTimingWheel;
+    }
     
     public void setTimeoutCheckerExecutorService(ScheduledExecutorService timeoutCheckerExecutorService) {
         this.timeoutCheckerExecutorService = timeoutCheckerExecutorService;
@@ -693,6 +719,19 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         return this;
     }
 
+    /**
+     * Uses a timing wheel to keep track of the completion timeouts, instead of scanning all the correlation keys
+     * every time the timeout checker runs.
+     * <p/>
+     * This is recommended when using completion timeout with a large number of correlation keys in progress.
+     *
+     * @return builder
+     */
+    public AggregateDefinition completionTimeoutTimingWheel() {
+        setCompletionTimeoutTimingWheel(true);
+        return this;
+    }
+
     /**
      * Enables the batch completion mode where we aggregate from a {@link org.apache.camel.BatchConsumer}
      * and aggregate the total number of exchanges the {@link org.apache.camel.BatchConsumer} has reported
@@ -884,6 +923,21 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         return this;
     }
 
+    /**
+     * Turns on using lock striping, where the correlation keys are spread over the given number of locks,
+     * so only exchanges with correlation keys which map to the same lock contend with each other.
+     * This allows exchanges with different correlation keys to be aggregated concurrently,
+     * which requires the aggregationRepository being used to be thread safe.
+     * <p/>
+     * Lock striping cannot be used together with completionFromBatchConsumer.
+     *
+     * @param lockStripes the number of locks, which is rounded up to a power of two
+     */
+    public AggregateDefinition lockStripes(int lockStripes) {
+        setLockStripes(lockStripes);
+        return this;
+    }
+
     /**
      * Allows to configure retry settings when using optimistic locking.
      */
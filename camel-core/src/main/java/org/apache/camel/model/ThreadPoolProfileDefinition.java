@@ -54,6 +54,10 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
     private String allowCoreThreadTimeOut;
     @XmlAttribute
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    @XmlAttribute
+    private String threadPerTask;
+    @XmlAttribute
+    private String workStealing;
 
     public ThreadPoolProfileDefinition() {
     }
@@ -114,6 +118,16 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
         return this;
     }
 
+    public ThreadPoolProfileDefinition threadPerTask(boolean threadPerTask) {
+        setThreadPerTask("" + threadPerTask);
+        return this;
+    }
+
+    public ThreadPoolProfileDefinition workStealing(boolean workStealing) {
+        setWorkStealing("" + workStealing);
+        return this;
+    }
+
     public Boolean getDefaultProfile() {
         return defaultProfile;
     }
@@ -218,4 +232,36 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    public String getThreadPerTask() {
+        return threadPerTask;
+    }
+
+    /**
+     * Whether to execute each task in a new thread instead of using a pool of threads.
+     * <p/>
+     * The max queue size is then used as the limit of the number of tasks which can execute concurrently,
+     * and the caller blocks when the limit is reached. Each task starts a new thread, which is only
+     * worthwhile for long running tasks such as blocking on remote I/O.
+     * <p/>
+     * Is by default <tt>false</tt>
+     */
+    public void setThreadPerTask(String threadPerTask) {
+        this.threadPerTask = threadPerTask;
+    }
+
+    public String getWorkStealing() {
+        return workStealing;
+    }
+
+    /**
+     * Whether to use a work stealing fork join pool instead of a pool of threads with a shared work queue.
+     * <p/>
+     * The max pool size is then used as the parallelism of the pool.
+     * <p/>
+     * Is by default <tt>false</tt>
+     */
+    public void setWorkStealing(String workStealing) {
+        this.workStealing = workStealing;
+    }
+
 }
@@ -73,6 +73,8 @@ public class ThreadsDefinition extends OutputDefinition<ThreadsDefinition> imple
     private ThreadPoolRejectedPolicy rejectedPolicy;
     @XmlAttribute @Metadata(defaultValue = "true")
     private Boolean callerRunsWhenRejected;
+    @XmlAttribute
+    private Boolean threadPerTask;
     
     public ThreadsDefinition() {
         this.threadName =  "Threads";
@@ -96,6 +98,7 @@ public class ThreadsDefinition extends OutputDefinition<ThreadsDefinition> imple
                     .maxQueueSize(getMaxQueueSize())
                     .rejectedPolicy(getRejectedPolicy())
                     .allowCoreThreadTimeOut(getAllowCoreThreadTimeOut())
+                    .threadPerTask(getThreadPerTask())
                     .build();
             threadPool = manager.newThreadPool(this, name, profile);
             shutdownThreadPool = true;
@@ -121,6 +124,9 @@ public class ThreadsDefinition extends OutputDefinition<ThreadsDefinition> imple
             if (getAllowCoreThreadTimeOut() != null) {
                 throw new IllegalArgumentException("AllowCoreThreadTimeOut and executorServiceRef options cannot be used together.");
             }
+            if (getThreadPerTask() != null) {
+                throw new IllegalArgumentException("ThreadPerTask and executorServiceRef options cannot be used together.");
+            }
         }
 
         ThreadsProcessor thread = new ThreadsProcessor(routeContext.getCamelContext(), threadPool, shutdownThreadPool);
@@ -287,6 +293,24 @@ public class ThreadsDefinition extends OutputDefinition<ThreadsDefinition> imple
         return this;
     }
 
+    /**
+     * Whether to execute each task in a new thread instead of using a pool of threads.
+     * <p/>
+     * The max queue size is then used as the limit of the number of tasks which can execute concurrently,
+     * which is useful when the tasks block on remote I/O and a large number of concurrent tasks is needed.
+     * The caller blocks when the limit is reached. Each task starts a new thread, which costs far more than
+     * using a pooled thread, so this is only worthwhile for long running tasks.
+     * <p/>
+     * Is by default <tt>false</tt>
+     *
+     * @param threadPerTask <tt>true</tt> to use a thread per task
+     * @return the builder
+     */
+    public ThreadsDefinition threadPerTask(boolean threadPerTask) {
+        setThreadPerTask(threadPerTask);
+        return this;
+    }
+
     public ExecutorService getExecutorService() {
         return executorService;
     }
@@ -374,4 +398,12 @@ public class ThreadsDefinition extends OutputDefinition<ThreadsDefinition> imple
     public void setAllowCoreThreadTimeOut(Boolean allowCoreThreadTimeOut) {
         this.allowCoreThreadTimeOut = allowCoreThreadTimeOut;
     }
+
+    public Boolean getThreadPerTask() {
+        return threadPerTask;
+    }
+
+    public void setThreadPerTask(Boolean threadPerTask) {
+        this.threadPerTask = threadPerTask;
+    }
 }
@@ -55,6 +55,10 @@ public class ToDynamicDefinition extends NoOutputDefinition<ToDynamicDefinition>
     private Integer cacheSize;
     @XmlAttribute
     private Boolean ignoreInvalidEndpoint;
+    @XmlAttribute @Metadata(defaultValue = "true")
+    private Boolean allowOptimisedComponents;
+    @XmlAttribute
+    private String warmUpUris;
 
     public ToDynamicDefinition() {
     }
@@ -78,6 +82,18 @@ public class ToDynamicDefinition extends NoOutputDefinition<ToDynamicDefinition>
         if (ignoreInvalidEndpoint != null) {
             processor.setIgnoreInvalidEndpoint(ignoreInvalidEndpoint);
         }
+        if (allowOptimisedComponents != null) {
+            processor.setAllowOptimisedComponents(allowOptimisedComponents);
+        }
+        if (warmUpUris != null) {
+            List<String> list = new ArrayList<String>();
+            for (String part : warmUpUris.split(",")) {
+                if (ObjectHelper.isNotEmpty(part.trim())) {
+                    list.add(part.trim());
+                }
+            }
+            processor.setWarmUpUris(list);
+        }
         return processor;
     }
 
@@ -152,6 +168,36 @@ public class ToDynamicDefinition extends NoOutputDefinition<ToDynamicDefinition>
         return this;
     }
 
+    /**
+     * Whether to allow components to optimise toD if they support {@link org.apache.camel.spi.SendDynamicAware},
+     * so dynamic uris of that component share the same endpoint and producer.
+     *
+     * @return the builder
+     */
+    public ToDynamicDefinition allowOptimisedComponents(boolean allowOptimisedComponents) {
+        setAllowOptimisedComponents(allowOptimisedComponents);
+        return this;
+    }
+
+    /**
+     * Uris of endpoints which producers should be created and started when the route is started,
+     * so the first messages sent to these endpoints do not have to wait for the producers to be started.
+     *
+     * @param uris the uris
+     * @return the builder
+     */
+    public ToDynamicDefinition warmUpUris(String... uris) {
+        StringBuilder sb = new StringBuilder();
+        for (String uri : uris) {
+            if (sb.length() > 0) {
+                sb.append(",");
+            }
+            sb.append(uri);
+        }
+        setWarmUpUris(sb.toString());
+        return this;
+    }
+
     // Properties
     // -------------------------------------------------------------------------
 
@@ -190,5 +236,24 @@ public class ToDynamicDefinition extends NoOutputDefinition<ToDynamicDefinition>
         this.ignoreInvalidEndpoint = ignoreInvalidEndpoint;
     }
 
+    public Boolean getAllowOptimisedComponents() {
+        return allowOptimisedComponents;
+    }
+
+    public void setAllowOptimisedComponents(Boolean allowOptimisedComponents) {
+        this.allowOptimisedComponents = allowOptimisedComponents;
+    }
+
+    public String getWarmUpUris() {
+        return warmUpUris;
+    }
+
+    /**
+     * Comma separated uris of endpoints which producers should be created and started when the route is started.
+     */
+    public void setWarmUpUris(String warmUpUris) {
+        this.warmUpUris = warmUpUris;
+    }
+
 
 }
@@ -44,6 +44,7 @@ import org.apache.camel.spi.RoutePolicy;
 import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.spi.UnitOfWork;
 import org.apache.camel.util.MessageHelper;
+import org.apache.camel.util.Sampler;
 import org.apache.camel.util.StopWatch;
 import org.apache.camel.util.UnitOfWorkHelper;
 import org.slf4j.Logger;
@@ -76,7 +77,12 @@ import org.slf4j.LoggerFactory;
 public class CamelInternalProcessor extends DelegateAsyncProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(CamelInternalProcessor.class);
+    private static final CamelInternalProcessorAdvice[] NO_ADVICES = new CamelInternalProcessorAdvice[0];
     private final List<CamelInternalProcessorAdvice> advices = new ArrayList<CamelInternalProcessorAdvice>();
+    // the advices compiled into an array which is what is used during routing
+    private volatile CamelInternalProcessorAdvice[] compiled = NO_ADVICES;
+    // whether any of the advices must have its after callback invoked even if it has no state
+    private volatile boolean afterRequired;
 
     public CamelInternalProcessor() {
     }
@@ -92,6 +98,24 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
      */
     public void addAdvice(CamelInternalProcessorAdvice advice) {
         advices.add(advice);
+        // advices are added while the route is being created, so compile the advices eager
+        boolean required = false;
+        for (CamelInternalProcessorAdvice task : advices) {
+            required |= !isAfterOnlyWithState(task);
+        }
+        afterRequired = required;
+        compiled = advices.toArray(new CamelInternalProcessorAdvice[advices.size()]);
+    }
+
+    /**
+     * Whether the given advice only do work in its after callback when it returned a state from its before callback.
+     * <p/>
+     * For example the backlog tracer and debugger, which are only active when enabled at runtime.
+     */
+    private static boolean isAfterOnlyWithState(CamelInternalProcessorAdvice advice) {
+        Class<?> type = advice.getClass();
+        return type == BacklogTracerAdvice.class || type == BacklogDebuggerAdvice.class || type == MessageHistoryAdvice.class
+                || type == InstrumentationAdvice.class || type == DelayerAdvice.class;
     }
 
     /**
@@ -132,20 +156,32 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
             return true;
         }
 
-        final List<Object> states = new ArrayList<Object>(advices.size());
-        for (CamelInternalProcessorAdvice task : advices) {
-            try {
-                Object state = task.before(exchange);
-                states.add(state);
-            } catch (Throwable e) {
-                exchange.setException(e);
-                callback.done(true);
-                return true;
+        final CamelInternalProcessorAdvice[] tasks = compiled;
+        if (tasks.length > 0) {
+            // the states array is only created if an advice has any state to keep
+            Object[] states = null;
+            for (int i = 0; i < tasks.length; i++) {
+                try {
+                    Object state = tasks[i].before(exchange);
+                    if (state != null) {
+                        if (states == null) {
+                            states = new Object[tasks.length];
+                        }
+                        states[i] = state;
+                    }
+                } catch (Throwable e) {
+                    exchange.setException(e);
+                    callback.done(true);
+                    return true;
+                }
             }
-        }
 
-        // create internal callback which will execute the advices in reverse order when done
-        callback = new InternalCallback(states, exchange, callback);
+            // create internal callback which will execute the advices in reverse order when done
+            // (but only if there is any after work to do, as otherwise we can call the processor directly)
+            if (states != null || afterRequired) {
+                callback = new InternalCallback(tasks, states, exchange, callback);
+            }
+        }
 
         // UNIT_OF_WORK_PROCESS_SYNC is @deprecated and we should remove it from Camel 3.0
         Object synchronous = exchange.removeProperty(Exchange.UNIT_OF_WORK_PROCESS_SYNC);
@@ -215,11 +251,13 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
      */
     private final class InternalCallback implements AsyncCallback {
 
-        private final List<Object> states;
+        private final CamelInternalProcessorAdvice[] tasks;
+        private final Object[] states;
         private final Exchange exchange;
         private final AsyncCallback callback;
 
-        private InternalCallback(List<Object> states, Exchange exchange, AsyncCallback callback) {
+        private InternalCallback(CamelInternalProcessorAdvice[] tasks, Object[] states, Exchange exchange, AsyncCallback callback) {
+            this.tasks = tasks;
             this.states = states;
             this.exchange = exchange;
             this.callback = callback;
@@ -232,9 +270,9 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
 
             // we should call after in reverse order
             try {
-                for (int i = advices.size() - 1; i >= 0; i--) {
-                    CamelInternalProcessorAdvice task = advices.get(i);
-                    Object state = states.get(i);
+                for (int i = tasks.length - 1; i >= 0; i--) {
+                    CamelInternalProcessorAdvice task = tasks[i];
+                    Object state = states != null ? states[i] : null;
                     try {
                         task.after(exchange, state);
                     } catch (Exception e) {
@@ -706,22 +744,38 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
 
     /**
      * Advice when Message History has been enabled.
+     * <p/>
+     * If a {@link Sampler} is in use, then the sampling is decided at the first node, and exchanges which
+     * are not sampled are marked with {@link MessageHelper#MESSAGE_HISTORY_NOT_SAMPLED} so the following nodes skip them.
      */
     @SuppressWarnings("unchecked")
     public static class MessageHistoryAdvice implements CamelInternalProcessorAdvice<MessageHistory> {
 
         private final ProcessorDefinition<?> definition;
         private final String routeId;
+        private final Sampler sampler;
 
         public MessageHistoryAdvice(ProcessorDefinition<?> definition) {
+            this(definition, null);
+        }
+
+        public MessageHistoryAdvice(ProcessorDefinition<?> definition, Sampler sampler) {
             this.definition = definition;
             this.routeId = ProcessorDefinitionHelper.getRouteId(definition);
+            this.sampler = sampler;
         }
 
         @Override
         public MessageHistory before(Exchange exchange) throws Exception {
             List<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, List.class);
+            if (list == MessageHelper.MESSAGE_HISTORY_NOT_SAMPLED) {
+                return null;
+            }
             if (list == null) {
+                if (sampler != null && !sampler.sample()) {
+                    exchange.setProperty(Exchange.MESSAGE_HISTORY, MessageHelper.MESSAGE_HISTORY_NOT_SAMPLED);
+                    return null;
+                }
                 list = new ArrayList<MessageHistory>();
                 exchange.setProperty(Exchange.MESSAGE_HISTORY, list);
             }
@@ -21,6 +21,8 @@ import org.apache.camel.AsyncProcessor;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.impl.DefaultMessage;
+import org.apache.camel.impl.MessageSupport;
+import org.apache.camel.impl.converter.TypeConverterInlineCache;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.util.AsyncProcessorHelper;
@@ -39,6 +41,8 @@ public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcess
     private String id;
     private final Class<?> type;
     private final String charset;
+    // remembers the type converter used by this processor so repeated conversions skip the registry lookup
+    private final TypeConverterInlineCache inlineCache = new TypeConverterInlineCache();
 
     public ConvertBodyProcessor(Class<?> type) {
         ObjectHelper.notNull(type, "type", this);
@@ -88,7 +92,11 @@ public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcess
         // use mandatory conversion
         Object value;
         try {
-            value = old.getMandatoryBody(type);
+            if (old instanceof MessageSupport) {
+                value = ((MessageSupport) old).getMandatoryBody(type, inlineCache);
+            } else {
+                value = old.getMandatoryBody(type);
+            }
         } catch (Throwable e) {
             exchange.setException(e);
             callback.done(true);
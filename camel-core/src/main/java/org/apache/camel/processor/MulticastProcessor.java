@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
@@ -31,6 +32,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -48,6 +50,7 @@ import org.apache.camel.Producer;
 import org.apache.camel.StreamCache;
 import org.apache.camel.Traceable;
 import org.apache.camel.processor.aggregate.AggregationStrategy;
+import org.apache.camel.processor.aggregate.AssociativeAggregationStrategy;
 import org.apache.camel.processor.aggregate.CompletionAwareAggregationStrategy;
 import org.apache.camel.processor.aggregate.TimeoutAwareAggregationStrategy;
 import org.apache.camel.spi.IdAware;
@@ -158,6 +161,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
     private final long timeout;
     private final ConcurrentMap<PreparedErrorHandler, Processor> errorHandlers = new ConcurrentHashMap<PreparedErrorHandler, Processor>();
     private final boolean shareUnitOfWork;
+    private int maxInFlight;
 
     public MulticastProcessor(CamelContext camelContext, Collection<Processor> processors) {
         this(camelContext, processors, null);
@@ -281,17 +285,29 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             final AtomicBoolean allTasksSubmitted = new AtomicBoolean();
             final CountDownLatch aggregationOnTheFlyDone = new CountDownLatch(1);
             final AtomicException executionException = new AtomicException();
+            // the in flight window which limits how many tasks can be submitted but not yet aggregated
+            final Semaphore window = maxInFlight > 0 ? new Semaphore(maxInFlight) : null;
+            // an associative strategy allows us to aggregate in parallel into partial results
+            final PartialResults partials = getAggregationStrategy(original) instanceof AssociativeAggregationStrategy
+                    ? new PartialResults() : null;
 
             // issue task to execute in separate thread so it can aggregate on-the-fly
             // while we submit new tasks, and those tasks complete concurrently
             // this allows us to optimize work and reduce memory consumption
             final AggregateOnTheFlyTask aggregateOnTheFlyTask = new AggregateOnTheFlyTask(result, original, total, completion, running,
-                    aggregationOnTheFlyDone, allTasksSubmitted, executionException);
+                    aggregationOnTheFlyDone, allTasksSubmitted, executionException, window, partials);
             final AtomicBoolean aggregationTaskSubmitted = new AtomicBoolean();
 
             LOG.trace("Starting to submit parallel tasks");
 
             while (it.hasNext()) {
+                // acquire a slot in the window before we grab the next pair, so we do not read ahead
+                // from the (streaming) iterator faster than the tasks are completed and aggregated
+                if (window != null && !acquireWindow(window, running, aggregationOnTheFlyDone)) {
+                    LOG.debug("Stopped submitting parallel tasks after {} tasks as we are no longer running", total.get());
+                    break;
+                }
+
                 final ProcessorExchangePair pair = it.next();
                 final Exchange subExchange = pair.getExchange();
                 updateNewExchange(subExchange, total.intValue(), pairs, it);
@@ -361,6 +377,20 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         LOG.debug("Done parallel processing {} exchanges", total);
     }
 
+    /**
+     * Acquires a slot in the in flight window, waiting until a previous task has been aggregated.
+     *
+     * @return <tt>true</tt> if a slot was acquired, <tt>false</tt> if we are no longer running
+     */
+    private static boolean acquireWindow(Semaphore window, AtomicBoolean running, CountDownLatch aggregationOnTheFlyDone) throws InterruptedException {
+        while (running.get() && aggregationOnTheFlyDone.getCount() > 0) {
+            if (window.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Boss worker to control aggregate on-the-fly for completed tasks when using parallel processing.
      * <p/>
@@ -382,11 +412,13 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         private final CountDownLatch aggregationOnTheFlyDone;
         private final AtomicBoolean allTasksSubmitted;
         private final AtomicException executionException;
+        private final Semaphore window;
+        private final PartialResults partials;
 
         private AggregateOnTheFlyTask(AtomicExchange result, Exchange original, AtomicInteger total,
                                       CompletionService<Exchange> completion, AtomicBoolean running,
                                       CountDownLatch aggregationOnTheFlyDone, AtomicBoolean allTasksSubmitted,
-                                      AtomicException executionException) {
+                                      AtomicException executionException, Semaphore window, PartialResults partials) {
             this.result = result;
             this.original = original;
             this.total = total;
@@ -395,6 +427,8 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             this.aggregationOnTheFlyDone = aggregationOnTheFlyDone;
             this.allTasksSubmitted = allTasksSubmitted;
             this.executionException = executionException;
+            this.window = window;
+            this.partials = partials;
         }
 
         public void run() {
@@ -454,7 +488,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                 }
 
                 if (future == null) {
-                    ParallelAggregateTimeoutTask task = new ParallelAggregateTimeoutTask(original, result, completion, aggregated, total, timedOut);
+                    ParallelAggregateTimeoutTask task = new ParallelAggregateTimeoutTask(original, result, completion, aggregated, total, timedOut, window, partials);
                     if (parallelAggregate) {
                         aggregateExecutorService.submit(task);
                     } else {
@@ -478,8 +512,8 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                     }
 
                     // we got a result so aggregate it
-                    ParallelAggregateTask task = new ParallelAggregateTask(result, subExchange, aggregated);
-                    if (parallelAggregate) {
+                    ParallelAggregateTask task = new ParallelAggregateTask(result, subExchange, aggregated, window, partials);
+                    if (parallelAggregate || partials != null) {
                         aggregateExecutorService.submit(task);
                     } else {
                         // in non parallel mode then just run the task
@@ -498,6 +532,11 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                 // cancel tasks as we timed out (its safe to cancel done tasks)
                 running.set(false);
             }
+
+            if (partials != null && !stoppedOnException) {
+                // combine the partial results which have been aggregated in parallel
+                partials.combine(getAggregationStrategy(original), result, original, total.intValue());
+            }
         }
     }
 
@@ -509,21 +548,135 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         private final AtomicExchange result;
         private final Exchange subExchange;
         private final AtomicInteger aggregated;
+        private final Semaphore window;
+        private final PartialResults partials;
 
-        private ParallelAggregateTask(AtomicExchange result, Exchange subExchange, AtomicInteger aggregated) {
+        private ParallelAggregateTask(AtomicExchange result, Exchange subExchange, AtomicInteger aggregated,
+                                      Semaphore window, PartialResults partials) {
             this.result = result;
             this.subExchange = subExchange;
             this.aggregated = aggregated;
+            this.window = window;
+            this.partials = partials;
         }
 
         @Override
         public void run() {
-            if (parallelAggregate) {
-                doAggregateInternal(getAggregationStrategy(subExchange), result, subExchange);
-            } else {
-                doAggregate(getAggregationStrategy(subExchange), result, subExchange);
+            try {
+                if (partials != null) {
+                    partials.aggregate(getAggregationStrategy(subExchange), subExchange);
+                } else if (parallelAggregate) {
+                    doAggregateInternal(getAggregationStrategy(subExchange), result, subExchange);
+                } else {
+                    doAggregate(getAggregationStrategy(subExchange), result, subExchange);
+                }
+            } finally {
+                aggregated.incrementAndGet();
+                if (window != null) {
+                    window.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * The partial results when aggregating in parallel using an {@link AssociativeAggregationStrategy}.
+     * <p/>
+     * Each partial result holds the aggregated exchanges of a range of consecutive indexes. When an exchange is
+     * aggregated then the partial results of the adjacent ranges are combined with it, in index order. This allows
+     * the exchanges to be aggregated concurrently, while the result is the same as if the exchanges was aggregated
+     * one by one in index order.
+     */
+    private final class PartialResults {
+
+        // the partial results not currently being combined, keyed by the first index of their range
+        private final TreeMap<Integer, PartialResult> ranges = new TreeMap<Integer, PartialResult>();
+        // the indexes which timed out, which the strategy is notified about when the partial results are combined
+        private final List<Integer> timeouts = new ArrayList<Integer>();
+
+        void aggregate(AggregationStrategy strategy, Exchange subExchange) {
+            int index = getExchangeIndex(subExchange);
+            AtomicExchange exchange = new AtomicExchange();
+            doAggregateInternal(strategy, exchange, subExchange);
+            PartialResult partial = new PartialResult(index, index, exchange.get());
+
+            while (true) {
+                PartialResult left = null;
+                PartialResult right;
+                synchronized (ranges) {
+                    Map.Entry<Integer, PartialResult> lower = ranges.lowerEntry(partial.first);
+                    if (lower != null && lower.getValue().last == partial.first - 1) {
+                        left = ranges.remove(lower.getKey());
+                    }
+                    right = ranges.remove(partial.last + 1);
+                    if (left == null && right == null) {
+                        ranges.put(partial.first, partial);
+                        return;
+                    }
+                }
+                // combine with the adjacent ranges outside the lock, so other tasks can aggregate concurrently
+                if (left != null) {
+                    partial = combine(strategy, left, partial);
+                }
+                if (right != null) {
+                    partial = combine(strategy, partial, right);
+                }
             }
-            aggregated.incrementAndGet();
+        }
+
+        void timeout(int index) {
+            synchronized (ranges) {
+                timeouts.add(index);
+            }
+        }
+
+        void combine(AggregationStrategy strategy, AtomicExchange result, Exchange original, int total) {
+            List<Integer> timedOut;
+            synchronized (ranges) {
+                // there can be gaps between the ranges if some exchanges was not aggregated, such as due timeout
+                LOG.trace("Combining {} partial aggregated results", ranges.size());
+                for (PartialResult partial : ranges.values()) {
+                    if (partial.exchange != null) {
+                        doAggregateInternal(strategy, result, partial.exchange);
+                    }
+                }
+                ranges.clear();
+                timedOut = new ArrayList<Integer>(timeouts);
+                timeouts.clear();
+            }
+
+            // notify the strategy about the timeouts now the partial results has been combined into the result
+            if (!timedOut.isEmpty() && strategy instanceof TimeoutAwareAggregationStrategy) {
+                for (Integer index : timedOut) {
+                    Exchange oldExchange = result.get();
+                    if (oldExchange == null) {
+                        // if they all timed out the result may not have been set yet, so use the original exchange
+                        oldExchange = original;
+                    }
+                    ((TimeoutAwareAggregationStrategy) strategy).timeout(oldExchange, index, total, timeout);
+                }
+            }
+        }
+
+        private PartialResult combine(AggregationStrategy strategy, PartialResult left, PartialResult right) {
+            AtomicExchange exchange = new AtomicExchange();
+            exchange.set(left.exchange);
+            if (right.exchange != null) {
+                doAggregateInternal(strategy, exchange, right.exchange);
+            }
+            return new PartialResult(left.first, right.last, exchange.get());
+        }
+    }
+
+    private static final class PartialResult {
+        private final int first;
+        private final int last;
+        private final Exchange exchange;
+
+        private PartialResult(int first, int last, Exchange exchange) {
+            this.first = first;
+            this.last = last;
+            this.exchange = exchange;
         }
     }
 
@@ -538,21 +691,29 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         private final AtomicInteger aggregated;
         private final AtomicInteger total;
         private final AtomicBoolean timedOut;
+        private final Semaphore window;
+        private final PartialResults partials;
 
         private ParallelAggregateTimeoutTask(Exchange original, AtomicExchange result, CompletionService<Exchange> completion,
-                                             AtomicInteger aggregated, AtomicInteger total, AtomicBoolean timedOut) {
+                                             AtomicInteger aggregated, AtomicInteger total, AtomicBoolean timedOut, Semaphore window,
+                                             PartialResults partials) {
             this.original = original;
             this.result = result;
             this.completion = completion;
             this.aggregated = aggregated;
             this.total = total;
             this.timedOut = timedOut;
+            this.window = window;
+            this.partials = partials;
         }
 
         @Override
         public void run() {
             AggregationStrategy strategy = getAggregationStrategy(null);
-            if (strategy instanceof TimeoutAwareAggregationStrategy) {
+            if (strategy instanceof TimeoutAwareAggregationStrategy && partials != null) {
+                // the result does not yet include the partial results, so notify the strategy when they are combined
+                partials.timeout(aggregated.intValue());
+            } else if (strategy instanceof TimeoutAwareAggregationStrategy) {
                 // notify the strategy we timed out
                 Exchange oldExchange = result.get();
                 if (oldExchange == null) {
@@ -575,6 +736,9 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
 
             // we timed out so increment the counter
             aggregated.incrementAndGet();
+            if (window != null) {
+                window.release();
+            }
         }
     }
 
@@ -1275,6 +1439,21 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         return shareUnitOfWork;
     }
 
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets the maximum number of tasks which can be in flight (submitted but not yet aggregated) when using
+     * parallel processing. When the limit is reached the caller thread waits before it reads the next
+     * pair from the iterator, which provides backpressure on (streaming) splits.
+     * <p/>
+     * The default value is <tt>0</tt> which means unbounded.
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
     public List<Processor> next() {
         if (!hasNext()) {
             return null;
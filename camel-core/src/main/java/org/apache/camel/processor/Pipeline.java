@@ -16,16 +16,25 @@
  */
 package org.apache.camel.processor;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.CamelContext;
+import org.apache.camel.Channel;
+import org.apache.camel.DelegateProcessor;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
+import org.apache.camel.management.InstrumentationProcessor;
+import org.apache.camel.processor.interceptor.HandleFaultInterceptor;
+import org.apache.camel.processor.interceptor.StreamCachingInterceptor;
+import org.apache.camel.processor.interceptor.TraceInterceptor;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.util.AsyncProcessorConverterHelper;
 import org.apache.camel.util.AsyncProcessorHelper;
@@ -44,10 +53,26 @@ import static org.apache.camel.processor.PipelineHelper.continueProcessing;
 public class Pipeline extends MulticastProcessor implements AsyncProcessor, Traceable, IdAware {
     private static final Logger LOG = LoggerFactory.getLogger(Pipeline.class);
 
+    // the asynchronous processors which always complete synchronously
+    private static final Set<Class<?>> SYNCHRONOUS_PROCESSORS = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            ConvertBodyProcessor.class, EvaluateExpressionProcessor.class, ExchangePatternProcessor.class,
+            LogProcessor.class, CamelLogProcessor.class, MarshalProcessor.class, UnmarshalProcessor.class,
+            RemoveHeaderProcessor.class, RemoveHeadersProcessor.class, RemovePropertyProcessor.class,
+            RemovePropertiesProcessor.class, RollbackProcessor.class, ScriptProcessor.class, SetBodyProcessor.class,
+            SetHeaderProcessor.class, SetPropertyProcessor.class, SortProcessor.class, StopProcessor.class,
+            ThrowExceptionProcessor.class, TransformProcessor.class));
+
+    // the processors which wraps another processor, and completes synchronously if the wrapped processor does
+    private static final Set<Class<?>> SYNCHRONOUS_WRAPPERS = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            FatalFallbackErrorHandler.class, FilterProcessor.class, HandleFaultInterceptor.class,
+            InstrumentationProcessor.class, StreamCachingInterceptor.class, TraceInterceptor.class));
+
     private String id;
+    private final boolean synchronous;
 
     public Pipeline(CamelContext camelContext, Collection<Processor> processors) {
         super(camelContext, processors);
+        this.synchronous = isSynchronous(processors);
     }
 
     public static Processor newInstance(CamelContext camelContext, List<Processor> processors) {
@@ -59,11 +84,59 @@ public class Pipeline extends MulticastProcessor implements AsyncProcessor, Trac
         return new Pipeline(camelContext, processors);
     }
 
+    /**
+     * Whether all the processors complete synchronously, which allows the pipeline to route
+     * the exchange in a simple loop without creating a callback for each processor.
+     */
+    private static boolean isSynchronous(Collection<Processor> processors) {
+        for (Processor processor : processors) {
+            if (!isSynchronous(processor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the processor completes synchronously.
+     * <p/>
+     * The processors in a route are wrapped in channels, so this looks through the channel, its error handler
+     * and the interceptors which are known to be synchronous, to the processor which is wrapped. An error handler
+     * which may schedule redeliveries asynchronously is not synchronous, and neither are other wrappers such as
+     * the delayer and throttler, which may continue routing asynchronously.
+     */
+    static boolean isSynchronous(Processor processor) {
+        Processor target = processor;
+        while (true) {
+            if (target == null || !(target instanceof AsyncProcessor) || target instanceof DelegateSyncProcessor) {
+                return true;
+            } else if (target instanceof Channel) {
+                target = ((Channel) target).getOutput();
+            } else if (target instanceof RedeliveryErrorHandler) {
+                RedeliveryErrorHandler errorHandler = (RedeliveryErrorHandler) target;
+                if (errorHandler.isAsyncDelayedRedeliveryPossible()) {
+                    return false;
+                }
+                target = errorHandler.getOutput();
+            } else if (target instanceof DelegateProcessor && SYNCHRONOUS_WRAPPERS.contains(target.getClass())) {
+                target = ((DelegateProcessor) target).getProcessor();
+            } else if (target instanceof Pipeline) {
+                return ((Pipeline) target).synchronous;
+            } else {
+                return SYNCHRONOUS_PROCESSORS.contains(target.getClass());
+            }
+        }
+    }
+
     public void process(Exchange exchange) throws Exception {
         AsyncProcessorHelper.process(this, exchange);
     }
 
     public boolean process(Exchange exchange, AsyncCallback callback) {
+        if (synchronous) {
+            return processSynchronously(exchange, callback);
+        }
+
         Iterator<Processor> processors = getProcessors().iterator();
         Exchange nextExchange = exchange;
         boolean first = true;
@@ -84,13 +157,17 @@ public class Pipeline extends MulticastProcessor implements AsyncProcessor, Trac
 
             // continue as long its being processed synchronously
             if (!sync) {
-                LOG.trace("Processing exchangeId: {} is continued being processed asynchronously", exchange.getExchangeId());
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Processing exchangeId: {} is continued being processed asynchronously", exchange.getExchangeId());
+                }
                 // the remainder of the pipeline will be completed async
                 // so we break out now, then the callback will be invoked which then continue routing from where we left here
                 return false;
             }
 
-            LOG.trace("Processing exchangeId: {} is continued being processed synchronously", exchange.getExchangeId());
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Processing exchangeId: {} is continued being processed synchronously", exchange.getExchangeId());
+            }
 
             // check for error if so we should break out
             if (!continueProcessing(nextExchange, "so breaking out of pipeline", LOG)) {
@@ -101,7 +178,74 @@ public class Pipeline extends MulticastProcessor implements AsyncProcessor, Trac
         // logging nextExchange as it contains the exchange that might have altered the payload and since
         // we are logging the completion if will be confusing if we log the original instead
         // we could also consider logging the original and the nextExchange then we have *before* and *after* snapshots
-        LOG.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), nextExchange);
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), nextExchange);
+        }
+
+        // copy results back to the original exchange
+        ExchangeHelper.copyResults(exchange, nextExchange);
+
+        callback.done(true);
+        return true;
+    }
+
+    /**
+     * Routes the exchange through the pipeline when all the processors are synchronous, which
+     * does not need a callback for each processor to continue routing as the asynchronous routing engine does.
+     * <p/>
+     * The plain processors are invoked directly. The asynchronous processors share a single callback, which
+     * continues routing asynchronously, in case a processor does not complete synchronously after all.
+     */
+    private boolean processSynchronously(Exchange exchange, AsyncCallback callback) {
+        Iterator<Processor> processors = getProcessors().iterator();
+        Exchange nextExchange = exchange;
+        Continuation continuation = null;
+        boolean first = true;
+
+        while (continueRouting(processors, nextExchange)) {
+            if (first) {
+                first = false;
+            } else {
+                // prepare for next run, which reuses the same exchange
+                nextExchange = createNextExchange(nextExchange);
+            }
+
+            Processor processor = processors.next();
+            if (processor != null) {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Processing exchangeId: {} >>> {}", nextExchange.getExchangeId(), nextExchange);
+                }
+                if (processor instanceof AsyncProcessor) {
+                    if (continuation == null) {
+                        continuation = new Continuation(exchange, callback, processors);
+                    }
+                    continuation.exchange = nextExchange;
+                    if (!((AsyncProcessor) processor).process(nextExchange, continuation)) {
+                        if (LOG.isTraceEnabled()) {
+                            LOG.trace("Processing exchangeId: {} is continued being processed asynchronously", exchange.getExchangeId());
+                        }
+                        // the continuation continues routing when the processor is done
+                        return false;
+                    }
+                } else {
+                    try {
+                        processor.process(nextExchange);
+                    } catch (Throwable e) {
+                        // must catch throwable so we catch all
+                        nextExchange.setException(e);
+                    }
+                }
+            }
+
+            // check for error if so we should break out
+            if (!continueProcessing(nextExchange, "so breaking out of pipeline", LOG)) {
+                break;
+            }
+        }
+
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), nextExchange);
+        }
 
         // copy results back to the original exchange
         ExchangeHelper.copyResults(exchange, nextExchange);
@@ -113,7 +257,9 @@ public class Pipeline extends MulticastProcessor implements AsyncProcessor, Trac
     private boolean process(final Exchange original, final Exchange exchange, final AsyncCallback callback,
                             final Iterator<Processor> processors, final AsyncProcessor asyncProcessor) {
         // this does the actual processing so log at trace level
-        LOG.trace("Processing exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Processing exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+        }
 
         // implement asynchronous routing logic in callback so we can have the callback being
         // triggered and then continue routing where we left
@@ -124,32 +270,41 @@ public class Pipeline extends MulticastProcessor implements AsyncProcessor, Trac
                 if (doneSync) {
                     return;
                 }
+                continueAsynchronously(original, exchange, callback, processors);
+            }
+        });
 
-                // continue processing the pipeline asynchronously
-                Exchange nextExchange = exchange;
-                while (continueRouting(processors, nextExchange)) {
-                    AsyncProcessor processor = AsyncProcessorConverterHelper.convert(processors.next());
+        return sync;
+    }
 
-                    // check for error if so we should break out
-                    if (!continueProcessing(nextExchange, "so breaking out of pipeline", LOG)) {
-                        break;
-                    }
+    /**
+     * Continues processing the pipeline asynchronously, after a processor completed asynchronously
+     */
+    private void continueAsynchronously(Exchange original, Exchange exchange, AsyncCallback callback, Iterator<Processor> processors) {
+        Exchange nextExchange = exchange;
+        while (continueRouting(processors, nextExchange)) {
+            AsyncProcessor processor = AsyncProcessorConverterHelper.convert(processors.next());
 
-                    nextExchange = createNextExchange(nextExchange);
-                    doneSync = process(original, nextExchange, callback, processors, processor);
-                    if (!doneSync) {
-                        LOG.trace("Processing exchangeId: {} is continued being processed asynchronously", exchange.getExchangeId());
-                        return;
-                    }
-                }
+            // check for error if so we should break out
+            if (!continueProcessing(nextExchange, "so breaking out of pipeline", LOG)) {
+                break;
+            }
 
-                ExchangeHelper.copyResults(original, nextExchange);
-                LOG.trace("Processing complete for exchangeId: {} >>> {}", original.getExchangeId(), original);
-                callback.done(false);
+            nextExchange = createNextExchange(nextExchange);
+            boolean doneSync = process(original, nextExchange, callback, processors, processor);
+            if (!doneSync) {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Processing exchangeId: {} is continued being processed asynchronously", exchange.getExchangeId());
+                }
+                return;
             }
-        });
+        }
 
-        return sync;
+        ExchangeHelper.copyResults(original, nextExchange);
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Processing complete for exchangeId: {} >>> {}", original.getExchangeId(), original);
+        }
+        callback.done(false);
     }
 
     /**
@@ -171,7 +326,9 @@ public class Pipeline extends MulticastProcessor implements AsyncProcessor, Trac
         if (stop != null) {
             boolean doStop = exchange.getContext().getTypeConverter().convertTo(Boolean.class, stop);
             if (doStop) {
-                LOG.debug("ExchangeId: {} is marked to stop routing: {}", exchange.getExchangeId(), exchange);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("ExchangeId: {} is marked to stop routing: {}", exchange.getExchangeId(), exchange);
+                }
                 answer = false;
             }
         } else {
@@ -179,7 +336,9 @@ public class Pipeline extends MulticastProcessor implements AsyncProcessor, Trac
             answer = it.hasNext();
         }
 
-        LOG.trace("ExchangeId: {} should continue routing: {}", exchange.getExchangeId(), answer);
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("ExchangeId: {} should continue routing: {}", exchange.getExchangeId(), answer);
+        }
         return answer;
     }
 
@@ -200,4 +359,29 @@ public class Pipeline extends MulticastProcessor implements AsyncProcessor, Trac
     public void setId(String id) {
         this.id = id;
     }
+
+    /**
+     * Callback used when routing synchronously, which is reused for all the processors, and continues routing
+     * asynchronously if a processor unexpectedly completes asynchronously.
+     */
+    private final class Continuation implements AsyncCallback {
+        private final Exchange original;
+        private final AsyncCallback callback;
+        private final Iterator<Processor> processors;
+        private Exchange exchange;
+
+        private Continuation(Exchange original, AsyncCallback callback, Iterator<Processor> processors) {
+            this.original = original;
+            this.callback = callback;
+            this.processors = processors;
+        }
+
+        public void done(boolean doneSync) {
+            // the synchronous routing continues by itself
+            if (doneSync) {
+                return;
+            }
+            continueAsynchronously(original, exchange, callback, processors);
+        }
+    }
 }
@@ -686,6 +686,14 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
         return redeliveryPolicy;
     }
 
+    /**
+     * Whether this error handler may schedule redeliveries asynchronously, which is the case if asynchronous
+     * delayed redelivery is enabled, or if any onException is configured, as they can have their own redelivery policy.
+     */
+    boolean isAsyncDelayedRedeliveryPossible() {
+        return (redeliveryPolicy != null && redeliveryPolicy.isAsyncDelayedRedelivery()) || !exceptionPolicies.isEmpty();
+    }
+
     public CamelLogger getLogger() {
         return logger;
     }
@@ -16,6 +16,12 @@
  */
 package org.apache.camel.processor;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.AsyncProducerCallback;
@@ -25,26 +31,35 @@ import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
 import org.apache.camel.Expression;
+import org.apache.camel.NoFactoryAvailableException;
 import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.Processor;
 import org.apache.camel.Producer;
 import org.apache.camel.impl.EmptyProducerCache;
 import org.apache.camel.impl.ProducerCache;
+import org.apache.camel.spi.FactoryFinder;
 import org.apache.camel.spi.IdAware;
+import org.apache.camel.spi.SendDynamicAware;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.util.AsyncProcessorHelper;
 import org.apache.camel.util.EndpointHelper;
 import org.apache.camel.util.ExchangeHelper;
+import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.ServiceHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Processor for forwarding exchanges to a dynamic endpoint destination.
+ * <p/>
+ * If the component of the uri has a {@link SendDynamicAware} then the processor sends to the static uri
+ * it resolves, so dynamic uris with high cardinality share the same endpoint and producer.
  *
  * @see org.apache.camel.processor.SendProcessor
  */
 public class SendDynamicProcessor extends ServiceSupport implements AsyncProcessor, IdAware, CamelContextAware {
     protected static final Logger LOG = LoggerFactory.getLogger(SendDynamicProcessor.class);
+    protected static final String DYNAMIC_AWARE_RESOURCE_PATH = "META-INF/services/org/apache/camel/send-dynamic/";
     protected CamelContext camelContext;
     protected final String uri;
     protected final Expression expression;
@@ -53,6 +68,11 @@ public class SendDynamicProcessor extends ServiceSupport implements AsyncProcess
     protected String id;
     protected boolean ignoreInvalidEndpoint;
     protected int cacheSize;
+    protected boolean allowOptimisedComponents = true;
+    protected List<String> warmUpUris;
+    // the send dynamic aware per scheme, and the schemes which cannot be optimised
+    protected final ConcurrentMap<String, SendDynamicAware> dynamicAwares = new ConcurrentHashMap<String, SendDynamicAware>();
+    protected final Set<String> notOptimisedSchemes = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
     public SendDynamicProcessor(Expression expression) {
         this.uri = null;
@@ -96,10 +116,28 @@ public class SendDynamicProcessor extends ServiceSupport implements AsyncProcess
         final Endpoint endpoint;
         final ExchangePattern destinationExchangePattern;
 
+        // optional processors to prepare and restore the exchange when sending to an optimised static uri
+        Processor preProcessor = null;
+        Processor postProcessor = null;
+
         // use dynamic endpoint so calculate the endpoint to use
         Object recipient = null;
         try {
             recipient = expression.evaluate(exchange, Object.class);
+            SendDynamicAware dynamicAware = null;
+            if (allowOptimisedComponents && recipient instanceof String) {
+                dynamicAware = resolveSendDynamicAware(((String) recipient).trim());
+            }
+            if (dynamicAware != null) {
+                String dynamicUri = ((String) recipient).trim();
+                String staticUri = dynamicAware.resolveStaticUri(exchange, dynamicUri);
+                if (staticUri != null) {
+                    LOG.trace("Optimising toD via SendDynamicAware component: {} to use static uri: {}", dynamicAware.getScheme(), staticUri);
+                    preProcessor = dynamicAware.createPreProcessor(exchange, dynamicUri);
+                    postProcessor = dynamicAware.createPostProcessor(exchange, dynamicUri);
+                    recipient = staticUri;
+                }
+            }
             endpoint = resolveEndpoint(exchange, recipient);
             destinationExchangePattern = EndpointHelper.resolveExchangePatternFromUrl(endpoint.getEndpointUri());
         } catch (Throwable e) {
@@ -114,14 +152,33 @@ public class SendDynamicProcessor extends ServiceSupport implements AsyncProcess
             return true;
         }
 
+        final Processor before = preProcessor;
+        final Processor after = postProcessor;
+
         // send the exchange to the destination using the producer cache
         return producerCache.doInAsyncProducer(endpoint, exchange, pattern, callback, new AsyncProducerCallback() {
             public boolean doInAsyncProducer(Producer producer, AsyncProcessor asyncProducer, final Exchange exchange,
                                              ExchangePattern pattern, final AsyncCallback callback) {
                 final Exchange target = configureExchange(exchange, pattern, destinationExchangePattern, endpoint);
+                if (before != null) {
+                    try {
+                        before.process(target);
+                    } catch (Throwable e) {
+                        target.setException(e);
+                        callback.done(true);
+                        return true;
+                    }
+                }
                 LOG.debug(">>>> {} {}", endpoint, exchange);
                 return asyncProducer.process(target, new AsyncCallback() {
                     public void done(boolean doneSync) {
+                        if (after != null) {
+                            try {
+                                after.process(target);
+                            } catch (Throwable e) {
+                                target.setException(e);
+                            }
+                        }
                         // restore previous MEP
                         target.setPattern(existingPattern);
                         // signal we are done
@@ -171,6 +228,42 @@ public class SendDynamicProcessor extends ServiceSupport implements AsyncProcess
                 LOG.debug("DynamicSendTo {} using ProducerCache with cacheSize={}", this, cacheSize);
             }
         }
+
+        if (warmUpUris != null && !warmUpUris.isEmpty()) {
+            LOG.debug("DynamicSendTo {} warming up producers for uris: {}", this, warmUpUris);
+            producerCache.warmUp(warmUpUris);
+        }
+    }
+
+    /**
+     * Resolves the optional {@link SendDynamicAware} for the component of the uri.
+     *
+     * @param uri the uri to send to
+     * @return the resolved {@link SendDynamicAware}, or <tt>null</tt> if the uri cannot be optimised
+     */
+    protected SendDynamicAware resolveSendDynamicAware(String uri) throws Exception {
+        String scheme = ObjectHelper.before(uri, ":");
+        if (scheme == null || notOptimisedSchemes.contains(scheme)) {
+            return null;
+        }
+        SendDynamicAware answer = dynamicAwares.get(scheme);
+        if (answer != null) {
+            return answer;
+        }
+
+        try {
+            FactoryFinder finder = camelContext.getFactoryFinder(DYNAMIC_AWARE_RESOURCE_PATH);
+            Class<?> type = finder.findClass(scheme);
+            answer = (SendDynamicAware) camelContext.getInjector().newInstance(type);
+            answer.setScheme(scheme);
+            LOG.debug("DynamicSendTo {} is optimised for component: {} using SendDynamicAware: {}", new Object[]{this, scheme, answer});
+            SendDynamicAware existing = dynamicAwares.putIfAbsent(scheme, answer);
+            return existing != null ? existing : answer;
+        } catch (NoFactoryAvailableException e) {
+            // the component does not support being optimised
+            notOptimisedSchemes.add(scheme);
+            return null;
+        }
     }
 
     protected void doStop() throws Exception {
@@ -216,4 +309,28 @@ public class SendDynamicProcessor extends ServiceSupport implements AsyncProcess
     public void setCacheSize(int cacheSize) {
         this.cacheSize = cacheSize;
     }
+
+    public boolean isAllowOptimisedComponents() {
+        return allowOptimisedComponents;
+    }
+
+    public void setAllowOptimisedComponents(boolean allowOptimisedComponents) {
+        this.allowOptimisedComponents = allowOptimisedComponents;
+    }
+
+    public List<String> getWarmUpUris() {
+        return warmUpUris;
+    }
+
+    /**
+     * Uris of the endpoints which producers should be created and started when this processor is started,
+     * so the first messages sent to these endpoints do not have to wait for the producer to be started.
+     */
+    public void setWarmUpUris(List<String> warmUpUris) {
+        this.warmUpUris = warmUpUris;
+    }
+
+    public ProducerCache getProducerCache() {
+        return producerCache;
+    }
 }
@@ -88,6 +88,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     private static final Logger LOG = LoggerFactory.getLogger(AggregateProcessor.class);
 
     private final Lock lock = new ReentrantLock();
+    private Lock[] stripedLocks;
     private final CamelContext camelContext;
     private final Processor processor;
     private String id;
@@ -191,6 +192,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private int lockStripes;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -203,6 +205,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     private boolean completionFromBatchConsumer;
     private AtomicInteger batchConsumerCounter = new AtomicInteger();
     private boolean discardOnCompletionTimeout;
+    private boolean completionTimeoutTimingWheel;
     private boolean forceCompletionOnStop;
 
     private ProducerTemplate deadLetterProducerTemplate;
@@ -333,15 +336,17 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             // the aggregated output runs in another unit of work
             Exchange copy = ExchangeHelper.createCorrelatedCopy(exchange, false);
 
-            // when memory based then its fast using synchronized, but if the aggregation repository is IO
-            // bound such as JPA etc then concurrent aggregation per correlation key could
-            // improve performance as we can run aggregation repository get/add in parallel
+            // lock the correlation key, which is a single lock for all the keys, unless lock striping is enabled
+            // where the keys are spread over a number of locks, so exchanges with correlation keys on different
+            // locks are aggregated concurrently, which improves performance if the aggregation repository is IO
+            // bound such as JPA etc, as we can run aggregation repository get/add in parallel
             List<Exchange> aggregated = null;
-            lock.lock();
+            Lock keyLock = getLock(key);
+            keyLock.lock();
             try {
                 aggregated = doAggregation(key, copy);
             } finally {
-                lock.unlock();
+                keyLock.unlock();
             }
 
             // we are completed so do that work outside the lock
@@ -359,6 +364,45 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         }
     }
 
+    /**
+     * Gets the lock to use when aggregating the given correlation key, which is the single lock
+     * for all the correlation keys, unless lock striping is enabled where it is the lock
+     * of the stripe the correlation key maps to.
+     */
+    private Lock getLock(String key) {
+        if (stripedLocks == null) {
+            return lock;
+        }
+        // spread the hash code as the number of stripes is a power of two
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return stripedLocks[hash & (stripedLocks.length - 1)];
+    }
+
+    /**
+     * Acquires all the locks, which is needed by the background tasks which completes
+     * groups across the correlation keys.
+     */
+    private void lockAll() {
+        if (stripedLocks == null) {
+            lock.lock();
+        } else {
+            for (Lock stripe : stripedLocks) {
+                stripe.lock();
+            }
+        }
+    }
+
+    private void unlockAll() {
+        if (stripedLocks == null) {
+            lock.unlock();
+        } else {
+            for (int i = stripedLocks.length - 1; i >= 0; i--) {
+                stripedLocks[i].unlock();
+            }
+        }
+    }
+
     /**
      * Aggregates the exchange with the given correlation key
      * <p/>
@@ -895,6 +939,22 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * Sets the number of locks to stripe the correlation keys over, so only exchanges with correlation keys
+     * which map to the same lock contend with each other. This allows aggregating exchanges with different
+     * correlation keys concurrently, which requires the {@link AggregationRepository} to be thread safe.
+     * <p/>
+     * The number is rounded up to a power of two. The default is <tt>0</tt>, which means a single lock is used for all correlation keys.
+     * This option is not in use when optimistic locking is enabled.
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -911,6 +971,21 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         this.discardOnCompletionTimeout = discardOnCompletionTimeout;
     }
 
+    public boolean isCompletionTimeoutTimingWheel() {
+        return completionTimeoutTimingWheel;
+    }
+
+    /**
+     * Sets whether to use a timing wheel to keep track of the completion timeouts, instead of scanning
+     * all the correlation keys every time the timeout checker runs. This is recommended when there is a large
+     * number of correlation keys in progress.
+     *
+     * @see org.apache.camel.support.DefaultTimeoutMap#setTimingWheel(boolean)
+     */
+    public void setCompletionTimeoutTimingWheel(boolean completionTimeoutTimingWheel) {
+        this.completionTimeoutTimingWheel = completionTimeoutTimingWheel;
+    }
+
     public void setForceCompletionOnStop(boolean forceCompletionOnStop) {
         this.forceCompletionOnStop = forceCompletionOnStop;
     }
@@ -1008,21 +1083,23 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     private final class AggregationTimeoutMap extends DefaultTimeoutMap<String, String> {
 
         private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
-            // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
-            super(executor, requestMapPollTimeMillis, optimisticLocking);
+            // do NOT use locking on the timeout map as this aggregator has its own lock we will use instead,
+            // however when using lock striping then exchanges with correlation keys on different stripes are
+            // aggregated concurrently and the map must use its lock
+            super(executor, requestMapPollTimeMillis, optimisticLocking || lockStripes > 1);
         }
 
         @Override
         public void purge() {
-            // must acquire the shared aggregation lock to be able to purge
+            // must acquire all the locks (every stripe when lock striping is enabled) to be able to purge
             if (!optimisticLocking) {
-                lock.lock();
+                lockAll();
             }
             try {
                 super.purge();
             } finally {
                 if (!optimisticLocking) {
-                    lock.unlock();
+                    unlockAll();
                 }
             }
         }
@@ -1081,9 +1158,9 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             Set<String> keys = aggregationRepository.getKeys();
 
             if (keys != null && !keys.isEmpty()) {
-                // must acquire the shared aggregation lock to be able to trigger interval completion
+                // must acquire all the locks (every stripe when lock striping is enabled) to be able to trigger interval completion
                 if (!optimisticLocking) {
-                    lock.lock();
+                    lockAll();
                 }
                 try {
                     for (String key : keys) {
@@ -1110,7 +1187,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
                     }
                 } finally {
                     if (!optimisticLocking) {
-                        lock.unlock();
+                        unlockAll();
                     }
                 }
             }
@@ -1254,6 +1331,20 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
                 throw new IllegalArgumentException("Optimistic locking cannot be enabled without using an AggregationRepository that implements OptimisticLockingAggregationRepository");
             }
             LOG.info("Optimistic locking is enabled");
+        } else if (lockStripes > 1) {
+            if (isCompletionFromBatchConsumer()) {
+                throw new IllegalArgumentException("Lock striping cannot be used together with completionFromBatchConsumer.");
+            }
+            // use a power of two number of stripes so we can select the stripe by masking the hash code
+            int stripes = 1;
+            while (stripes < lockStripes) {
+                stripes <<= 1;
+            }
+            stripedLocks = new Lock[stripes];
+            for (int i = 0; i < stripes; i++) {
+                stripedLocks[i] = new ReentrantLock();
+            }
+            LOG.info("Lock striping is enabled using {} locks", stripes);
         }
 
         ServiceHelper.startServices(aggregationStrategy, processor, aggregationRepository);
@@ -1312,7 +1403,9 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
                 shutdownTimeoutCheckerExecutorService = true;
             }
             // check for timed out aggregated messages once every second
-            timeoutMap = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), 1000L);
+            AggregationTimeoutMap map = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), 1000L);
+            map.setTimingWheel(isCompletionTimeoutTimingWheel());
+            timeoutMap = map;
             // fill in existing timeout values from the aggregation repository, for example if a restart occurred, then we
             // need to re-establish the timeout map so timeout can trigger
             restoreTimeoutMapFromAggregationRepository();
@@ -1400,11 +1493,13 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     }
 
     public int forceCompletionOfGroup(String key) {
-        // must acquire the shared aggregation lock to be able to trigger force completion
+        // must acquire the lock of the correlation key (its stripe when lock striping is enabled)
+        // to be able to trigger force completion
         int total = 0;
 
+        Lock keyLock = getLock(key);
         if (!optimisticLocking) {
-            lock.lock();
+            keyLock.lock();
         }
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
@@ -1420,7 +1515,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             }
         } finally {
             if (!optimisticLocking) {
-                lock.unlock(); 
+                keyLock.unlock();
             }
         }
         LOG.trace("Completed force completion of group {}", key);
@@ -1447,9 +1542,9 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
 
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
-            // must acquire the shared aggregation lock to be able to trigger force completion
+            // must acquire all the locks (every stripe when lock striping is enabled) to be able to trigger force completion
             if (!optimisticLocking) {
-                lock.lock(); 
+                lockAll();
             }
             total = keys.size();
             try {
@@ -1467,7 +1562,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
                 }
             } finally {
                 if (!optimisticLocking) {
-                    lock.unlock();
+                    unlockAll();
                 }
             }
         }
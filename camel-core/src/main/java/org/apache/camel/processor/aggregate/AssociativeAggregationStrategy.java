@@ -0,0 +1,33 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate;
+
+/**
+ * A marker {@link org.apache.camel.processor.aggregate.AggregationStrategy} which tells that the strategy is
+ * associative, eg it does not matter how the exchanges are grouped when they are aggregated.
+ * <p/>
+ * This allows the splitter and multicast EIPs to aggregate in parallel when using parallel processing, by
+ * aggregating the completed exchanges into a number of partial results concurrently, where each partial result
+ * holds a range of consecutive exchanges. Adjacent partial results are combined in the order of the exchanges,
+ * so the strategy does not have to be commutative, and the result is the same as when aggregating the exchanges
+ * one by one in order.
+ * <p/>
+ * <b>Important: </b> The strategy must be thread safe and must be able to aggregate a partial result
+ * (as the <tt>newExchange</tt>) into another partial result (as the <tt>oldExchange</tt>).
+ */
+public interface AssociativeAggregationStrategy extends AggregationStrategy {
+}
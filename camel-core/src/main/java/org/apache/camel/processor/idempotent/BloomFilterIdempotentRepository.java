@@ -0,0 +1,270 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.idempotent;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.LRUCache;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ScalableBloomFilter;
+import org.apache.camel.util.ServiceHelper;
+
+/**
+ * A {@link org.apache.camel.spi.IdempotentRepository} which decorates another (typically remote) repository
+ * to avoid round trips to the repository.
+ * <p/>
+ * A local {@link LRUCache} of recently added and confirmed keys allows <tt>add</tt> and <tt>contains</tt>
+ * to answer for recent duplicates without calling the repository.
+ * <p/>
+ * A local {@link ScalableBloomFilter} tracks the keys added through this repository, which allows
+ * <tt>contains</tt> to answer for keys which are definitely new without calling the repository. As the bloom
+ * filter only knows the keys added through this repository since it was started, or which has been seeded
+ * using {@link #seed(Iterable)}, it is only used when {@link #setExclusive(boolean) exclusive} is enabled.
+ * Only enable this when this repository is the only one adding keys to the decorated repository, and the bloom
+ * filter has been seeded with the keys stored in a persistent repository, as otherwise keys added by other nodes
+ * or before a restart would be regarded as new, and duplicates would get through.
+ * <p/>
+ * The bloom filter is only used by <tt>contains</tt>, which the {@link IdempotentConsumer} only calls
+ * when not using eager mode. In eager mode only the cache of recent duplicates avoids round trips.
+ * The <tt>confirm</tt> calls always goes to the decorated repository, as there is no batch operation to confirm
+ * many keys at once.
+ *
+ * @version
+ */
+@ManagedResource(description = "Bloom filter idempotent repository")
+public class BloomFilterIdempotentRepository extends ServiceSupport implements IdempotentRepository<String>, CamelContextAware {
+    private final IdempotentRepository<String> repository;
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final AtomicLong avoidedRoundTrips = new AtomicLong();
+    private CamelContext camelContext;
+    private long expectedKeys = 100000;
+    private double falsePositiveProbability = 0.01;
+    private int cacheSize = 1000;
+    private boolean exclusive;
+    private volatile ScalableBloomFilter bloomFilter;
+    private volatile Map<String, Object> cache;
+
+    public BloomFilterIdempotentRepository(IdempotentRepository<String> repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Creates a new repository which uses a bloom filter to avoid round trips to the given repository.
+     *
+     * @param repository  the repository to decorate
+     */
+    public static IdempotentRepository<String> bloomFilterIdempotentRepository(IdempotentRepository<String> repository) {
+        return new BloomFilterIdempotentRepository(repository);
+    }
+
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        if (cache.containsKey(key)) {
+            avoidedRoundTrips.incrementAndGet();
+            return false;
+        }
+        roundTrips.incrementAndGet();
+        boolean answer = repository.add(key);
+        // the key is in the repository whether or not it was added now
+        bloomFilter.add(key);
+        cache.put(key, key);
+        return answer;
+    }
+
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        if (cache.containsKey(key)) {
+            avoidedRoundTrips.incrementAndGet();
+            return true;
+        }
+        if (exclusive && !bloomFilter.mightContain(key)) {
+            avoidedRoundTrips.incrementAndGet();
+            return false;
+        }
+        roundTrips.incrementAndGet();
+        boolean answer = repository.contains(key);
+        if (answer) {
+            cache.put(key, key);
+        }
+        return answer;
+    }
+
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        cache.remove(key);
+        roundTrips.incrementAndGet();
+        return repository.remove(key);
+    }
+
+    public boolean confirm(String key) {
+        roundTrips.incrementAndGet();
+        boolean answer = repository.confirm(key);
+        cache.put(key, key);
+        return answer;
+    }
+
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        cache.clear();
+        bloomFilter.clear();
+        repository.clear();
+    }
+
+    /**
+     * Adds the keys which are already stored in the decorated repository to the bloom filter, such as the keys
+     * loaded from the database of a persistent repository, which is needed before {@link #setExclusive(boolean)
+     * exclusive} can be used with a repository which is not empty when this repository is started.
+     *
+     * @param keys  the keys stored in the decorated repository
+     */
+    public void seed(Iterable<String> keys) {
+        if (bloomFilter == null) {
+            bloomFilter = new ScalableBloomFilter(expectedKeys, falsePositiveProbability);
+        }
+        for (String key : keys) {
+            bloomFilter.add(key);
+        }
+    }
+
+    public IdempotentRepository<String> getRepository() {
+        return repository;
+    }
+
+    @ManagedAttribute(description = "The expected number of keys used to size the bloom filter")
+    public long getExpectedKeys() {
+        return expectedKeys;
+    }
+
+    /**
+     * Sets the expected number of keys, which is used to size the bloom filter.
+     * The bloom filter grows if more keys are added.
+     * <p/>
+     * The default is 100000.
+     */
+    public void setExpectedKeys(long expectedKeys) {
+        this.expectedKeys = expectedKeys;
+    }
+
+    @ManagedAttribute(description = "The false positive probability of the bloom filter")
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * Sets the false positive probability of the bloom filter.
+     * <p/>
+     * The default is 0.01 (1%).
+     */
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @ManagedAttribute(description = "The maximum number of recently added or confirmed keys to cache")
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Sets the maximum number of recently added or confirmed keys to cache.
+     * <p/>
+     * The default is 1000.
+     */
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    @ManagedAttribute(description = "Whether the bloom filter knows all the keys in the repository")
+    public boolean isExclusive() {
+        return exclusive;
+    }
+
+    /**
+     * Sets whether this repository is the only one adding keys to the decorated repository, and the bloom filter
+     * therefore knows all the keys in the decorated repository, which allows <tt>contains</tt> to answer for
+     * keys which are definitely new without calling the repository.
+     * <p/>
+     * Only enable this when the decorated repository is empty when this repository is started, or when the keys
+     * it stores has been added using {@link #seed(Iterable)}, and no other nodes are adding keys to the
+     * decorated repository, as otherwise duplicates would get through.
+     * <p/>
+     * The default is false.
+     */
+    public void setExclusive(boolean exclusive) {
+        this.exclusive = exclusive;
+    }
+
+    @ManagedAttribute(description = "The number of calls to the repository")
+    public long getRoundTrips() {
+        return roundTrips.get();
+    }
+
+    @ManagedAttribute(description = "The number of calls answered without calling the repository")
+    public long getAvoidedRoundTrips() {
+        return avoidedRoundTrips.get();
+    }
+
+    /**
+     * Resets the round trip statistics to <code>0L</code>.
+     */
+    @ManagedOperation(description = "Reset the round trip statistics")
+    public void resetStatistics() {
+        roundTrips.set(0);
+        avoidedRoundTrips.set(0);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(repository, "repository", this);
+
+        if (bloomFilter == null) {
+            bloomFilter = new ScalableBloomFilter(expectedKeys, falsePositiveProbability);
+        }
+        if (cache == null) {
+            cache = new LRUCache<String, Object>(cacheSize);
+        }
+
+        if (camelContext != null && repository instanceof CamelContextAware) {
+            CamelContextAware aware = (CamelContextAware) repository;
+            if (aware.getCamelContext() == null) {
+                aware.setCamelContext(camelContext);
+            }
+        }
+        ServiceHelper.startService(repository);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(repository);
+    }
+
+}
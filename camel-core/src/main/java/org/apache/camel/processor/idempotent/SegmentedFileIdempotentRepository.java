@@ -0,0 +1,1101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.idempotent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.BloomFilter;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A log-structured file based implementation of {@link org.apache.camel.spi.IdempotentRepository}.
+ * <p/>
+ * The keys are appended to a log which is split into segment files in the configured directory, where
+ * removing a key appends a remove record. Older segments are compacted in the background to get rid of
+ * removed keys, when the ratio of garbage records exceeds the compaction threshold.
+ * <p/>
+ * Unlike {@link FileIdempotentRepository} the keys are not kept in memory. Instead lookups go through
+ * a hash index stored off-heap, which only keeps a 64 bit hash and the location of the key in the log
+ * for each key, and the key is then read from the log to verify the match. A bloom filter in front of
+ * the index allows to answer for keys which have definitely not been added without any lookup.
+ * The index is rebuilt by streaming the segments when the repository is started.
+ *
+ * @version
+ */
+@ManagedResource(description = "Log-structured file based idempotent repository")
+public class SegmentedFileIdempotentRepository extends ServiceSupport implements IdempotentRepository<String>, CamelContextAware {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedFileIdempotentRepository.class);
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String COMPACT_SUFFIX = ".compact";
+    private static final String MAPPING_SUFFIX = ".mapping";
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    // a record is the type and the length followed by the key
+    private static final int RECORD_HEADER = 5;
+    // a segment starts with the id of the oldest segment it replaces
+    private static final int SEGMENT_HEADER = 8;
+    // a location is the segment id in the upper bits and the offset in the segment in the lower bits
+    private static final int OFFSET_BITS = 40;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object compactionLock = new Object();
+    private final NavigableMap<Long, Segment> segments = new TreeMap<Long, Segment>();
+    private final AtomicLong compactions = new AtomicLong();
+    private CamelContext camelContext;
+    private File directory;
+    private long maxSegmentSize = 64 * 1024 * 1024L;
+    private long expectedKeys = 1000000;
+    private double falsePositiveProbability = 0.01;
+    private long compactionInterval = 60000;
+    private double compactionThreshold = 0.5;
+    private ScheduledExecutorService executorService;
+    private BloomFilter bloomFilter;
+    private long bloomFilterKeys;
+    private Index index;
+    private Segment active;
+
+    public SegmentedFileIdempotentRepository() {
+    }
+
+    public SegmentedFileIdempotentRepository(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a new log-structured file based repository which stores the segments in the given directory.
+     *
+     * @param directory  the directory for the segment files
+     */
+    public static IdempotentRepository<String> segmentedFileIdempotentRepository(File directory) {
+        return new SegmentedFileIdempotentRepository(directory);
+    }
+
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        byte[] bytes = key.getBytes(UTF8);
+        long hash = BloomFilter.hash(bytes);
+        lock.writeLock().lock();
+        try {
+            checkStarted();
+            long fingerprint = fingerprint(hash);
+            if (bloomFilter.mightContain(fingerprint) && find(hash, bytes) >= 0) {
+                return false;
+            }
+            long location = append(ADD, bytes);
+            index.put(fingerprint, location);
+            bloomFilter.add(fingerprint);
+            if (index.size > bloomFilterKeys) {
+                // more keys than the bloom filter was sized for, so grow it to keep the false positives low
+                rebuildBloomFilter();
+            }
+            return true;
+        } catch (IOException e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        byte[] bytes = key.getBytes(UTF8);
+        long hash = BloomFilter.hash(bytes);
+        // the bloom filter must be checked under the lock, as it is replaced while the index is reloaded
+        lock.readLock().lock();
+        try {
+            checkStarted();
+            // definite misses does not need to lookup the index
+            if (!bloomFilter.mightContain(fingerprint(hash))) {
+                return false;
+            }
+            return find(hash, bytes) >= 0;
+        } catch (IOException e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        byte[] bytes = key.getBytes(UTF8);
+        long hash = BloomFilter.hash(bytes);
+        lock.writeLock().lock();
+        try {
+            checkStarted();
+            if (!bloomFilter.mightContain(fingerprint(hash))) {
+                return false;
+            }
+            int slot = find(hash, bytes);
+            if (slot < 0) {
+                return false;
+            }
+            long previous = index.location(slot);
+            long location = append(REMOVE, bytes);
+            index.delete(slot);
+            // both the added and the remove record are now garbage
+            segments.get(previous >>> OFFSET_BITS).garbage++;
+            segments.get(location >>> OFFSET_BITS).garbage++;
+            return true;
+        } catch (IOException e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        synchronized (compactionLock) {
+            lock.writeLock().lock();
+            try {
+                checkStarted();
+                for (Segment segment : segments.values()) {
+                    IOHelper.close(segment.channel, "Clearing segmented file idempotent repository", LOG);
+                    FileUtil.deleteFile(segment.file);
+                }
+                segments.clear();
+                index.clear();
+                createBloomFilter(expectedKeys);
+                active = createSegment(0, 0);
+            } catch (IOException e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Compacts the sealed segments, which are all the segments except the segment currently being appended to.
+     * <p/>
+     * The keys which are still in use are copied to a new segment, which then replaces the sealed segments.
+     */
+    @ManagedOperation(description = "Compacts the sealed segments of the store")
+    public void compact() {
+        synchronized (compactionLock) {
+            if (!isStarted()) {
+                return;
+            }
+            try {
+                doCompact();
+            } catch (IOException e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+        }
+    }
+
+    /**
+     * Whether the ratio of garbage records in the sealed segments exceeds the compaction threshold
+     */
+    public boolean isCompactionNeeded() {
+        lock.readLock().lock();
+        try {
+            if (active == null) {
+                return false;
+            }
+            long records = 0;
+            long garbage = 0;
+            for (Segment segment : segments.headMap(active.id, false).values()) {
+                records += segment.records;
+                garbage += segment.garbage;
+            }
+            return records > 0 && garbage >= records * compactionThreshold;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Sets the directory to store the segment files
+     */
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    @ManagedAttribute(description = "The directory for the segment files")
+    public String getDirectoryPath() {
+        return directory.getPath();
+    }
+
+    @ManagedAttribute(description = "The maximum size for a segment file in bytes")
+    public long getMaxSegmentSize() {
+        return maxSegmentSize;
+    }
+
+    /**
+     * Sets the maximum size for a segment file in bytes, before a new segment is started.
+     * <p/>
+     * The default is 64mb.
+     */
+    public void setMaxSegmentSize(long maxSegmentSize) {
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    @ManagedAttribute(description = "The expected number of keys used to size the bloom filter")
+    public long getExpectedKeys() {
+        return expectedKeys;
+    }
+
+    /**
+     * Sets the expected number of keys, which is used to size the bloom filter.
+     * The bloom filter is grown when more keys are added or loaded.
+     * <p/>
+     * The default is 1000000.
+     */
+    public void setExpectedKeys(long expectedKeys) {
+        this.expectedKeys = expectedKeys;
+    }
+
+    @ManagedAttribute(description = "The false positive probability of the bloom filter")
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * Sets the false positive probability of the bloom filter, when the expected number of keys has been added.
+     * <p/>
+     * The default is 0.01 (1%).
+     */
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @ManagedAttribute(description = "The interval in millis to check whether to compact")
+    public long getCompactionInterval() {
+        return compactionInterval;
+    }
+
+    /**
+     * Sets the interval in millis to check whether the sealed segments should be compacted.
+     * Use 0 or a negative value to disable background compaction.
+     * <p/>
+     * The default is 60000 millis. Background compaction requires a {@link CamelContext} to be configured.
+     */
+    public void setCompactionInterval(long compactionInterval) {
+        this.compactionInterval = compactionInterval;
+    }
+
+    @ManagedAttribute(description = "The ratio of garbage records which triggers compaction")
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Sets the ratio of garbage records (removed keys) in the sealed segments which triggers compaction.
+     * <p/>
+     * The default is 0.5.
+     */
+    public void setCompactionThreshold(double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @ManagedAttribute(description = "The current number of keys in the store")
+    public int getSize() {
+        lock.readLock().lock();
+        try {
+            return index != null ? index.size : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The current number of segment files")
+    public int getSegments() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The current number of garbage records in the segment files")
+    public long getGarbageRecords() {
+        lock.readLock().lock();
+        try {
+            long garbage = 0;
+            for (Segment segment : segments.values()) {
+                garbage += segment.garbage;
+            }
+            return garbage;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The number of compactions done")
+    public long getCompactions() {
+        return compactions.get();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(directory, "directory", this);
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory: " + directory);
+        }
+
+        createBloomFilter(expectedKeys);
+        index = new Index();
+        lock.writeLock().lock();
+        try {
+            recover();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (compactionInterval > 0) {
+            if (camelContext != null) {
+                executorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "SegmentedFileIdempotentRepository");
+                executorService.scheduleWithFixedDelay(new CompactionTask(), compactionInterval, compactionInterval, TimeUnit.MILLISECONDS);
+            } else {
+                LOG.debug("No CamelContext configured so background compaction is disabled for idempotent repository: {}", directory);
+            }
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            camelContext.getExecutorServiceManager().shutdown(executorService);
+            executorService = null;
+        }
+
+        synchronized (compactionLock) {
+            lock.writeLock().lock();
+            try {
+                for (Segment segment : segments.values()) {
+                    IOHelper.close(segment.channel, "Closing segmented file idempotent repository", LOG);
+                }
+                segments.clear();
+                active = null;
+                index = null;
+                bloomFilter = null;
+                bloomFilterKeys = 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Opens the segments and rebuilds the index and bloom filter by streaming the records in the segments.
+     */
+    protected void recover() throws IOException {
+        StopWatch watch = new StopWatch();
+
+        TreeMap<Long, File> files = new TreeMap<Long, File>();
+        File[] list = directory.listFiles();
+        if (list != null) {
+            for (File file : list) {
+                String name = file.getName();
+                if (name.endsWith(COMPACT_SUFFIX) || name.endsWith(MAPPING_SUFFIX)) {
+                    // left over from a compaction which did not complete
+                    LOG.debug("Deleting incomplete compaction file: {}", file);
+                    FileUtil.deleteFile(file);
+                } else if (name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        files.put(Long.valueOf(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file);
+                    } catch (NumberFormatException e) {
+                        LOG.debug("Ignoring file which is not a segment: {}", file);
+                    }
+                }
+            }
+        }
+
+        for (File file : files.values()) {
+            Segment segment = openSegment(file);
+            if (segment.base < segment.id) {
+                // a compaction completed but did not delete the segments it replaces
+                Iterator<Segment> it = segments.subMap(segment.base, true, segment.id, false).values().iterator();
+                while (it.hasNext()) {
+                    Segment replaced = it.next();
+                    LOG.debug("Deleting segment {} replaced by compacted segment {}", replaced.file, segment.file);
+                    IOHelper.close(replaced.channel, "Recovering segmented file idempotent repository", LOG);
+                    FileUtil.deleteFile(replaced.file);
+                    it.remove();
+                }
+            }
+            segments.put(segment.id, segment);
+        }
+
+        for (Segment segment : segments.values()) {
+            replay(segment);
+        }
+        if (index.size > bloomFilterKeys) {
+            // size the bloom filter to the keys loaded
+            rebuildBloomFilter();
+        }
+        if (segments.isEmpty()) {
+            createSegment(0, 0);
+        }
+        active = segments.lastEntry().getValue();
+
+        LOG.info("Recovered {} keys from {} segments in idempotent repository: {} took {}",
+                new Object[]{index.size, segments.size(), directory, TimeUtils.printDuration(watch.stop())});
+    }
+
+    private void replay(Segment segment) throws IOException {
+        RecordReader reader = new RecordReader(segment.channel);
+        while (reader.next()) {
+            long location = location(segment.id, reader.offset);
+            long hash = BloomFilter.hash(reader.key);
+            int slot = bloomFilter.mightContain(fingerprint(hash)) ? find(hash, reader.key) : -1;
+            segment.records++;
+            if (reader.type == ADD) {
+                if (slot >= 0) {
+                    segments.get(index.location(slot) >>> OFFSET_BITS).garbage++;
+                    index.setLocation(slot, location);
+                } else {
+                    index.put(fingerprint(hash), location);
+                    bloomFilter.add(fingerprint(hash));
+                }
+            } else {
+                segment.garbage++;
+                if (slot >= 0) {
+                    segments.get(index.location(slot) >>> OFFSET_BITS).garbage++;
+                    index.delete(slot);
+                }
+            }
+        }
+
+        segment.size = reader.end;
+        if (segment.channel.size() > segment.size) {
+            LOG.warn("Truncating incomplete record at position {} in segment: {}", segment.size, segment.file);
+            segment.channel.truncate(segment.size);
+        }
+    }
+
+    private void doCompact() throws IOException {
+        List<Segment> sealed;
+        lock.readLock().lock();
+        try {
+            checkStarted();
+            sealed = new ArrayList<Segment>(segments.headMap(active.id, false).values());
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (sealed.isEmpty() || sealed.size() == 1 && sealed.get(0).garbage == 0) {
+            // nothing to compact
+            return;
+        }
+
+        StopWatch watch = new StopWatch();
+        long base = sealed.get(0).id;
+        long target = sealed.get(sealed.size() - 1).id;
+        File compactFile = new File(directory, target + COMPACT_SUFFIX);
+        File mappingFile = new File(directory, target + MAPPING_SUFFIX);
+        LOG.debug("Compacting segments {} to {} in idempotent repository: {}", new Object[]{base, target, directory});
+
+        FileOutputStream fos = null;
+        DataOutputStream out = null;
+        DataOutputStream mapping = null;
+        DataInputStream in = null;
+        try {
+            // copy the records in use to the compacted segment, and keep track of their new location
+            fos = new FileOutputStream(compactFile);
+            out = new DataOutputStream(new BufferedOutputStream(fos, 64 * 1024));
+            mapping = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(mappingFile), 64 * 1024));
+            out.writeLong(base);
+            long size = SEGMENT_HEADER;
+            long records = 0;
+            for (Segment segment : sealed) {
+                RecordReader reader = new RecordReader(segment.channel);
+                while (reader.next()) {
+                    if (reader.type != ADD) {
+                        continue;
+                    }
+                    long fingerprint = fingerprint(BloomFilter.hash(reader.key));
+                    long location = location(segment.id, reader.offset);
+                    if (!isLive(fingerprint, location)) {
+                        continue;
+                    }
+                    mapping.writeLong(fingerprint);
+                    mapping.writeLong(location);
+                    mapping.writeLong(location(target, size));
+                    out.writeByte(ADD);
+                    out.writeInt(reader.key.length);
+                    out.write(reader.key);
+                    size += RECORD_HEADER + reader.key.length;
+                    records++;
+                }
+            }
+            out.flush();
+            fos.getChannel().force(true);
+            IOHelper.close(out, mapping);
+
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(mappingFile), 64 * 1024));
+            lock.writeLock().lock();
+            try {
+                // find the slots to update before changing anything, so a failure leaves the index untouched,
+                // and keys may have been removed while copying, which then are garbage in the compacted segment
+                int[] slots = new int[(int) records];
+                long[] locations = new long[(int) records];
+                int count = 0;
+                long garbage = 0;
+                for (long i = 0; i < records; i++) {
+                    long fingerprint = in.readLong();
+                    long previous = in.readLong();
+                    long location = in.readLong();
+                    int slot = index.find(fingerprint, previous);
+                    if (slot >= 0) {
+                        slots[count] = slot;
+                        locations[count] = location;
+                        count++;
+                    } else {
+                        garbage++;
+                    }
+                }
+
+                // the compacted segment must replace the last sealed segment before the others are deleted,
+                // as its header allows to delete the others on recovery if we crash in between
+                Segment last = segments.get(target);
+                IOHelper.close(last.channel, "Compacting segmented file idempotent repository", LOG);
+                try {
+                    Files.move(compactFile.toPath(), segmentFile(target).toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    // the last sealed segment was not replaced, so keep using it
+                    reopenSegment(last);
+                    throw e;
+                }
+                Segment compacted;
+                try {
+                    compacted = openSegment(segmentFile(target));
+                } catch (IOException e) {
+                    // the last sealed segment has been replaced, so the index no longer matches the segments
+                    reload();
+                    throw e;
+                }
+                compacted.size = size;
+                compacted.records = records;
+                compacted.garbage = garbage;
+
+                // now swap the compacted segment in, which cannot fail
+                for (int i = 0; i < count; i++) {
+                    index.setLocation(slots[i], locations[i]);
+                }
+                for (Segment segment : sealed) {
+                    if (segment.id != target) {
+                        IOHelper.close(segment.channel, "Compacting segmented file idempotent repository", LOG);
+                    }
+                    segments.remove(segment.id);
+                }
+                segments.put(target, compacted);
+                for (Segment segment : sealed) {
+                    if (segment.id != target) {
+                        FileUtil.deleteFile(segment.file);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            IOHelper.close(out, mapping, in);
+            FileUtil.deleteFile(mappingFile);
+            if (compactFile.exists()) {
+                FileUtil.deleteFile(compactFile);
+            }
+        }
+
+        long count = compactions.incrementAndGet();
+        LOG.debug("Compaction #{} of idempotent repository: {} took {}", new Object[]{count, directory, TimeUtils.printDuration(watch.stop())});
+    }
+
+    private void reopenSegment(Segment segment) throws IOException {
+        Segment reopened;
+        try {
+            reopened = openSegment(segment.file);
+        } catch (IOException e) {
+            reload();
+            throw e;
+        }
+        reopened.size = segment.size;
+        reopened.records = segment.records;
+        reopened.garbage = segment.garbage;
+        segments.put(segment.id, reopened);
+        if (active == segment) {
+            active = reopened;
+        }
+    }
+
+    /**
+     * Closes the segments and recovers the index and bloom filter from the segments on disk,
+     * which is used when a compaction failed half way.
+     */
+    private void reload() throws IOException {
+        LOG.warn("Reloading idempotent repository: {} after failed compaction", directory);
+        for (Segment segment : segments.values()) {
+            IOHelper.close(segment.channel, "Reloading segmented file idempotent repository", LOG);
+        }
+        segments.clear();
+        createBloomFilter(expectedKeys);
+        index = new Index();
+        try {
+            recover();
+        } catch (IOException e) {
+            // do not answer from an incomplete index, as that would let duplicates through
+            index = null;
+            active = null;
+            throw e;
+        }
+    }
+
+    private void createBloomFilter(long keys) {
+        bloomFilter = new BloomFilter(keys, falsePositiveProbability);
+        bloomFilterKeys = keys;
+    }
+
+    /**
+     * Creates a new bloom filter with room for twice the keys in the index, and adds the keys from the index.
+     */
+    private void rebuildBloomFilter() {
+        createBloomFilter(Math.max(expectedKeys, 2L * index.size));
+        for (int slot = 0; slot <= index.mask; slot++) {
+            long fingerprint = index.fingerprint(slot);
+            if (fingerprint != Index.EMPTY && fingerprint != Index.DELETED) {
+                bloomFilter.add(fingerprint);
+            }
+        }
+    }
+
+    private void checkStarted() {
+        if (index == null) {
+            throw new IllegalStateException("Idempotent repository is not started: " + directory);
+        }
+    }
+
+    private boolean isLive(long fingerprint, long location) {
+        lock.readLock().lock();
+        try {
+            return index.find(fingerprint, location) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the slot in the index for the given key
+     *
+     * @return the slot, or <tt>-1</tt> if the key is not in the index
+     */
+    private int find(long hash, byte[] key) throws IOException {
+        long fingerprint = fingerprint(hash);
+        int slot = index.home(fingerprint);
+        while (true) {
+            long current = index.fingerprint(slot);
+            if (current == Index.EMPTY) {
+                return -1;
+            }
+            if (current == fingerprint && matches(index.location(slot), key)) {
+                return slot;
+            }
+            slot = index.next(slot);
+        }
+    }
+
+    /**
+     * Whether the record at the given location is the added key
+     */
+    private boolean matches(long location, byte[] key) throws IOException {
+        Segment segment = segments.get(location >>> OFFSET_BITS);
+        if (segment == null) {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER + key.length);
+        if (!readFully(segment.channel, buffer, location & OFFSET_MASK)) {
+            return false;
+        }
+        buffer.flip();
+        if (buffer.get() != ADD || buffer.getInt() != key.length) {
+            return false;
+        }
+        for (byte b : key) {
+            if (buffer.get() != b) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends the record to the active segment, starting a new segment if the active segment is full
+     *
+     * @return the location of the record
+     */
+    private long append(byte type, byte[] key) throws IOException {
+        int length = RECORD_HEADER + key.length;
+        if (active.size > SEGMENT_HEADER && active.size + length > maxSegmentSize) {
+            LOG.debug("Segment {} is full, starting a new segment", active.file);
+            active = createSegment(active.id + 1, active.id + 1);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.put(type).putInt(key.length).put(key);
+        buffer.flip();
+        writeFully(active.channel, buffer, active.size);
+
+        long location = location(active.id, active.size);
+        active.size += length;
+        active.records++;
+        return location;
+    }
+
+    private Segment createSegment(long id, long base) throws IOException {
+        Segment segment = new Segment(id, segmentFile(id));
+        segment.channel.truncate(0);
+        ByteBuffer buffer = ByteBuffer.allocate(SEGMENT_HEADER);
+        buffer.putLong(base);
+        buffer.flip();
+        writeFully(segment.channel, buffer, 0);
+        segment.base = base;
+        segment.size = SEGMENT_HEADER;
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private Segment openSegment(File file) throws IOException {
+        String name = file.getName();
+        long id = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        Segment segment = new Segment(id, file);
+        ByteBuffer buffer = ByteBuffer.allocate(SEGMENT_HEADER);
+        if (readFully(segment.channel, buffer, 0)) {
+            buffer.flip();
+            segment.base = buffer.getLong();
+        } else {
+            // the header was not completely written
+            segment.channel.truncate(0);
+            buffer.clear();
+            buffer.putLong(id);
+            buffer.flip();
+            writeFully(segment.channel, buffer, 0);
+            segment.base = id;
+        }
+        segment.size = segment.channel.size();
+        return segment;
+    }
+
+    private File segmentFile(long id) {
+        return new File(directory, id + SEGMENT_SUFFIX);
+    }
+
+    private static long location(long segment, long offset) {
+        return (segment << OFFSET_BITS) | offset;
+    }
+
+    private static long fingerprint(long hash) {
+        // the lowest values are reserved to mark empty and deleted slots in the index
+        return hash == Index.EMPTY || hash == Index.DELETED ? 2 : hash;
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, pos);
+            if (read < 0) {
+                return false;
+            }
+            pos += read;
+        }
+        return true;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            pos += channel.write(buffer, pos);
+        }
+    }
+
+    private final class CompactionTask implements Runnable {
+
+        public void run() {
+            try {
+                if (isRunAllowed() && isCompactionNeeded()) {
+                    compact();
+                }
+            } catch (Throwable e) {
+                LOG.warn("Error compacting idempotent repository: " + directory + ". This exception is ignored.", e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "CompactionTask[" + directory + "]";
+        }
+    }
+
+    /**
+     * A segment file of the log
+     */
+    private static final class Segment {
+        private final long id;
+        private final File file;
+        private final FileChannel channel;
+        private long base;
+        private long size;
+        private long records;
+        private long garbage;
+
+        Segment(long id, File file) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.channel = new RandomAccessFile(file, "rw").getChannel();
+        }
+    }
+
+    /**
+     * Streams the records of a segment
+     */
+    private static final class RecordReader {
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        private long offset;
+        private long end = SEGMENT_HEADER;
+        private byte type;
+        private byte[] key;
+
+        RecordReader(FileChannel channel) {
+            this.channel = channel;
+            this.buffer.flip();
+        }
+
+        /**
+         * Reads the next record
+         *
+         * @return <tt>false</tt> if there are no more complete records
+         */
+        boolean next() throws IOException {
+            if (!fill(RECORD_HEADER)) {
+                return false;
+            }
+            byte recordType = buffer.get(buffer.position());
+            int length = buffer.getInt(buffer.position() + 1);
+            if (recordType != ADD && recordType != REMOVE || length < 0 || !fill(RECORD_HEADER + length)) {
+                return false;
+            }
+            buffer.position(buffer.position() + RECORD_HEADER);
+            key = new byte[length];
+            buffer.get(key);
+            type = recordType;
+            offset = end;
+            end += RECORD_HEADER + length;
+            return true;
+        }
+
+        /**
+         * Ensures the buffer has the given number of bytes available
+         */
+        private boolean fill(int count) throws IOException {
+            if (buffer.remaining() >= count) {
+                return true;
+            }
+            if (buffer.capacity() < count) {
+                ByteBuffer larger = ByteBuffer.allocate(count);
+                larger.put(buffer);
+                buffer = larger;
+            } else {
+                buffer.compact();
+            }
+            // the buffer starts at the end of the last record
+            while (buffer.position() < count) {
+                int read = channel.read(buffer, end + buffer.position());
+                if (read < 0) {
+                    buffer.flip();
+                    return false;
+                }
+            }
+            buffer.flip();
+            return true;
+        }
+    }
+
+    /**
+     * An open addressing hash index stored off-heap, which maps the fingerprint of the key
+     * to the location of the record in the log.
+     */
+    private static final class Index {
+        private static final long EMPTY = 0;
+        private static final long DELETED = 1;
+        private static final int SLOT_SIZE = 16;
+        private static final int INITIAL_SLOTS = 1024;
+        private static final int MAX_SLOTS = 1 << 26;
+        private ByteBuffer buffer;
+        private int mask;
+        private int size;
+        private int deleted;
+
+        Index() {
+            allocate(INITIAL_SLOTS);
+        }
+
+        int home(long fingerprint) {
+            return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+        }
+
+        int next(int slot) {
+            return (slot + 1) & mask;
+        }
+
+        long fingerprint(int slot) {
+            return buffer.getLong(slot * SLOT_SIZE);
+        }
+
+        long location(int slot) {
+            return buffer.getLong(slot * SLOT_SIZE + 8);
+        }
+
+        void setLocation(int slot, long location) {
+            buffer.putLong(slot * SLOT_SIZE + 8, location);
+        }
+
+        /**
+         * Finds the slot with the given fingerprint and location
+         */
+        int find(long fingerprint, long location) {
+            int slot = home(fingerprint);
+            while (true) {
+                long current = fingerprint(slot);
+                if (current == EMPTY) {
+                    return -1;
+                }
+                if (current == fingerprint && location(slot) == location) {
+                    return slot;
+                }
+                slot = next(slot);
+            }
+        }
+
+        void put(long fingerprint, long location) {
+            // keep the load factor including deleted slots below 0.75 so there are always empty slots
+            if ((long) (size + deleted + 1) * 4 > (long) (mask + 1) * 3) {
+                rehash();
+            }
+            insert(fingerprint, location);
+        }
+
+        void delete(int slot) {
+            buffer.putLong(slot * SLOT_SIZE, DELETED);
+            size--;
+            deleted++;
+        }
+
+        void clear() {
+            allocate(INITIAL_SLOTS);
+        }
+
+        private void insert(long fingerprint, long location) {
+            int slot = home(fingerprint);
+            long current = fingerprint(slot);
+            while (current != EMPTY && current != DELETED) {
+                slot = next(slot);
+                current = fingerprint(slot);
+            }
+            if (current == DELETED) {
+                deleted--;
+            }
+            buffer.putLong(slot * SLOT_SIZE, fingerprint);
+            buffer.putLong(slot * SLOT_SIZE + 8, location);
+            size++;
+        }
+
+        private void rehash() {
+            int slots = mask + 1;
+            // grow if the live keys use half the slots, otherwise just get rid of the deleted slots
+            if (size * 2 >= slots) {
+                if (slots >= MAX_SLOTS) {
+                    throw new IllegalStateException("The index cannot hold more than " + (MAX_SLOTS / 4 * 3) + " keys");
+                }
+                slots <<= 1;
+            }
+            ByteBuffer old = buffer;
+            int oldSlots = mask + 1;
+            allocate(slots);
+            for (int i = 0; i < oldSlots; i++) {
+                long fingerprint = old.getLong(i * SLOT_SIZE);
+                if (fingerprint != EMPTY && fingerprint != DELETED) {
+                    insert(fingerprint, old.getLong(i * SLOT_SIZE + 8));
+                }
+            }
+        }
+
+        private void allocate(int slots) {
+            // direct buffers are zeroed which marks all slots as empty
+            buffer = ByteBuffer.allocateDirect(slots * SLOT_SIZE);
+            mask = slots - 1;
+            size = 0;
+            deleted = 0;
+        }
+    }
+
+}
@@ -34,6 +34,7 @@ import org.apache.camel.spi.InterceptStrategy;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.util.EndpointHelper;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.Sampler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,6 +65,7 @@ public final class BacklogTracer extends ServiceSupport implements InterceptStra
     private String[] patterns;
     private String traceFilter;
     private Predicate predicate;
+    private Sampler sampler;
 
     private BacklogTracer(CamelContext camelContext) {
         this.camelContext = camelContext;
@@ -111,6 +113,9 @@ public final class BacklogTracer extends ServiceSupport implements InterceptStra
         if (!enabled) {
             return false;
         }
+        if (sampler != null && !isSampled(exchange)) {
+            return false;
+        }
 
         boolean pattern = true;
         boolean filter = true;
@@ -168,6 +173,16 @@ public final class BacklogTracer extends ServiceSupport implements InterceptStra
         return predicate.matches(exchange);
     }
 
+    private boolean isSampled(Exchange exchange) {
+        // the sampling is decided once per exchange, so an exchange is either traced at all nodes or not at all
+        Boolean sampled = exchange.getProperty(Exchange.BACKLOG_TRACER_SAMPLED, Boolean.class);
+        if (sampled == null) {
+            sampled = sampler.sample();
+            exchange.setProperty(Exchange.BACKLOG_TRACER_SAMPLED, sampled);
+        }
+        return sampled;
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -253,6 +268,19 @@ public final class BacklogTracer extends ServiceSupport implements InterceptStra
         }
     }
 
+    public Sampler getSampler() {
+        return sampler;
+    }
+
+    /**
+     * Sets a {@link Sampler} to only trace a sample of the exchanges, such as every 100th exchange.
+     * <p/>
+     * By default every exchange is traced.
+     */
+    public void setSampler(Sampler sampler) {
+        this.sampler = sampler;
+    }
+
     public long getTraceCounter() {
         return traceCounter.get();
     }
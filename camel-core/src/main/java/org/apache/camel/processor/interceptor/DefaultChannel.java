@@ -242,7 +242,7 @@ public class DefaultChannel extends CamelInternalProcessor implements ModelChann
 
         if (routeContext.isMessageHistory()) {
             // add message history advice
-            addAdvice(new MessageHistoryAdvice(targetOutputDef));
+            addAdvice(new MessageHistoryAdvice(targetOutputDef, camelContext.getMessageHistorySampler()));
         }
 
         // the regular tracer is not a task on internalProcessor as this is not really needed
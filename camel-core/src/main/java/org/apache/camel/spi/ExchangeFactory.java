@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.StaticService;
+
+/**
+ * Factory used by {@link org.apache.camel.Consumer}s to create the {@link Exchange} for the incoming messages.
+ * <p/>
+ * The default factory creates a new {@link Exchange} for every message. A pooled factory such as
+ * {@link org.apache.camel.impl.PooledExchangeFactory} can recycle the exchanges, when the
+ * {@link UnitOfWork} of the exchange is done, which reduces the number of objects created by high rate consumers.
+ */
+public interface ExchangeFactory extends StaticService {
+
+    /**
+     * Utilization statistics of the this factory.
+     */
+    interface Statistics {
+
+        /**
+         * Number of new exchanges created.
+         */
+        long getCreatedCounter();
+
+        /**
+         * Number of exchanges acquired (reused) from the pool.
+         */
+        long getAcquiredCounter();
+
+        /**
+         * Number of exchanges released back to the pool.
+         */
+        long getReleasedCounter();
+
+        /**
+         * Number of exchanges which could not be released back to the pool, and therefore was discarded.
+         */
+        long getDiscardedCounter();
+
+        /**
+         * Reset the counters
+         */
+        void reset();
+
+        /**
+         * Whether statistics is enabled.
+         */
+        boolean isStatisticsEnabled();
+
+        /**
+         * Sets whether statistics is enabled.
+         *
+         * @param statisticsEnabled <tt>true</tt> to enable
+         */
+        void setStatisticsEnabled(boolean statisticsEnabled);
+    }
+
+    /**
+     * Creates the {@link Exchange} for a message received by a consumer of the given endpoint.
+     *
+     * @param fromEndpoint the endpoint of the consumer
+     * @param pattern      the exchange pattern
+     * @return the exchange
+     */
+    Exchange create(Endpoint fromEndpoint, ExchangePattern pattern);
+
+    /**
+     * Releases the {@link Exchange} after its {@link UnitOfWork} is done, allowing the factory to reuse the exchange.
+     * <p/>
+     * Exchanges which was not created by this factory is ignored.
+     *
+     * @param exchange the exchange
+     */
+    void release(Exchange exchange);
+
+    /**
+     * Whether this factory is pooling exchanges
+     */
+    boolean isPooled();
+
+    /**
+     * The maximum number of exchanges to keep in the pool (per thread).
+     */
+    int getCapacity();
+
+    /**
+     * Number of exchanges which has been created, but not yet released (only available if leak detection is enabled)
+     *
+     * @return number of exchanges, or <tt>-1</tt> if leak detection is not enabled
+     */
+    int getLeakCount();
+
+    /**
+     * Gets the utilization statistics of this factory
+     *
+     * @return the utilization statistics
+     */
+    Statistics getStatistics();
+
+}
@@ -0,0 +1,35 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+/**
+ * An {@link InflightRepository} which can find the oldest inflight exchange without browsing
+ * and sorting all the inflight exchanges.
+ *
+ * @version
+ */
+public interface OldestInflightRepository extends InflightRepository {
+
+    /**
+     * Gets the oldest {@link InflightExchange} which is currently inflight and started from the given route.
+     *
+     * @param routeId the id of the route, or <tt>null</tt> for any route
+     * @return the oldest, or <tt>null</tt> if none inflight
+     */
+    InflightExchange oldest(String routeId);
+
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+/**
+ * Used for optimising sending to dynamic endpoints using the {@link org.apache.camel.processor.SendDynamicProcessor}.
+ * <p/>
+ * When sending to dynamic endpoints with high cardinality uris, such as <tt>toD("file:outbox?fileName=${header.id}.txt")</tt>,
+ * then every uri would otherwise create its own endpoint and producer, which thrashes the producer cache, as producers
+ * are started and stopped over and over again. Components which can act on the dynamic part of the uri using message
+ * headers can implement this SPI, so all the uris share the same endpoint and producer, which is the static uri
+ * where the dynamic part has been removed. Before sending the exchange is prepared (such as setting headers) to carry
+ * the dynamic part, and after sending the exchange is restored.
+ * <p/>
+ * Both the pre and post processor are created before the exchange is sent, which allows the post processor to
+ * remember state from the exchange it must restore.
+ * <p/>
+ * Implementations are discovered by the scheme of the uri using the factory finder path
+ * <tt>META-INF/services/org/apache/camel/send-dynamic/</tt>, and an instance is created per processor and scheme.
+ */
+public interface SendDynamicAware {
+
+    /**
+     * Sets the component name (scheme) this implementation is used for.
+     */
+    void setScheme(String scheme);
+
+    /**
+     * Gets the component name (scheme) this implementation is used for.
+     */
+    String getScheme();
+
+    /**
+     * Resolves the static uri to use instead of the given dynamic uri.
+     *
+     * @param exchange  the exchange
+     * @param uri       the dynamic uri computed for the exchange
+     * @return the static uri, or <tt>null</tt> if the uri cannot be optimised and must be used as-is
+     * @throws Exception is thrown if error resolving the static uri
+     */
+    String resolveStaticUri(Exchange exchange, String uri) throws Exception;
+
+    /**
+     * Creates the processor which prepares the exchange before sending to the static uri, so it carries the
+     * dynamic part of the uri.
+     *
+     * @param exchange  the exchange
+     * @param uri       the dynamic uri computed for the exchange
+     * @return the processor, or <tt>null</tt> if not needed
+     * @throws Exception is thrown if error creating the processor
+     */
+    Processor createPreProcessor(Exchange exchange, String uri) throws Exception;
+
+    /**
+     * Creates the processor which restores the exchange after it has been sent to the static uri.
+     *
+     * @param exchange  the exchange
+     * @param uri       the dynamic uri computed for the exchange
+     * @return the processor, or <tt>null</tt> if not needed
+     * @throws Exception is thrown if error creating the processor
+     */
+    Processor createPostProcessor(Exchange exchange, String uri) throws Exception;
+
+}
@@ -17,6 +17,7 @@
 package org.apache.camel.spi;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.StaticService;
@@ -62,6 +63,16 @@ public interface StreamCachingStrategy extends StaticService {
          */
         long getCacheSpoolAverageSize();
 
+        /**
+         * Gets the number of bytes of off-heap (direct) memory currently in use by off-heap stream caches.
+         */
+        long getCacheOffHeapUsedSize();
+
+        /**
+         * Gets the number of bytes of off-heap (direct) memory held by idle buffers in the pool.
+         */
+        long getCacheOffHeapPooledSize();
+
         /**
          * Reset the counters
          */
@@ -164,6 +175,36 @@ public interface StreamCachingStrategy extends StaticService {
 
     int getBufferSize();
 
+    /**
+     * Sets whether to keep stream caches off-heap.
+     * <p/>
+     * When enabled in-memory stream caches are stored in pooled direct {@link ByteBuffer}s of {@link #getBufferSize()} bytes
+     * instead of heap byte arrays, and spooled files are read by memory mapping them. Copies of the stream cache share
+     * the same underlying buffers, and the buffers are returned to the pool when the stream caches using them have been
+     * garbage collected, as a stream cache can outlive the exchange(s) it was created for, such as when it is aggregated.
+     * <p/>
+     * This option is default <tt>false</tt>
+     */
+    void setOffHeap(boolean offHeap);
+
+    boolean isOffHeap();
+
+    /**
+     * Acquires a direct buffer of {@link #getBufferSize()} bytes from the pool, used when off-heap stream caching is enabled.
+     * <p/>
+     * The buffer must be given back to the pool using {@link #releaseBuffer(java.nio.ByteBuffer)} when no longer in use.
+     *
+     * @return a cleared direct buffer
+     */
+    ByteBuffer acquireBuffer();
+
+    /**
+     * Releases the buffer back to the pool.
+     *
+     * @param buffer the buffer previously acquired from {@link #acquireBuffer()}
+     */
+    void releaseBuffer(ByteBuffer buffer);
+
     /**
      * Sets a chiper name to use when spooling to disk to write with encryption.
      * <p/>
@@ -44,6 +44,8 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
     private Integer maxQueueSize;
     private Boolean allowCoreThreadTimeOut;
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    private Boolean threadPerTask;
+    private Boolean workStealing;
 
     /**
      * Creates a new thread pool profile, with no id set.
@@ -238,6 +240,59 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    /**
+     * Whether to execute each task in a new thread instead of using a pool of threads.
+     * <p/>
+     * When enabled the maximum queue size is used as the limit of the number of tasks which can execute concurrently,
+     * and the pool sizes, keep alive time and rejected policy are not in use.
+     *
+     * @return <tt>true</tt> to use a thread per task, <tt>false</tt> otherwise, or <tt>null</tt> if not configured
+     */
+    public Boolean getThreadPerTask() {
+        return threadPerTask;
+    }
+
+    /**
+     * Sets whether to execute each task in a new thread instead of using a pool of threads.
+     * <p/>
+     * When enabled the maximum queue size is used as the limit of the number of tasks which can execute concurrently,
+     * which is useful for tasks which block on remote I/O where a large number of concurrent tasks is needed.
+     * When the limit is reached the caller blocks until a task completes. Notice each task starts a new platform
+     * thread, which costs far more than using a pooled thread, so this is only useful for long running tasks.
+     *
+     * @param threadPerTask <tt>true</tt> to use a thread per task
+     */
+    public void setThreadPerTask(Boolean threadPerTask) {
+        this.threadPerTask = threadPerTask;
+    }
+
+    /**
+     * Whether to use a work stealing {@link java.util.concurrent.ForkJoinPool} instead of a pool of threads
+     * with a shared work queue.
+     * <p/>
+     * When enabled the maximum pool size is used as the parallelism of the pool, and the pool size,
+     * keep alive time, maximum queue size and rejected policy are not in use.
+     *
+     * @return <tt>true</tt> to use work stealing, <tt>false</tt> otherwise, or <tt>null</tt> if not configured
+     */
+    public Boolean getWorkStealing() {
+        return workStealing;
+    }
+
+    /**
+     * Sets whether to use a work stealing {@link java.util.concurrent.ForkJoinPool} instead of a pool of threads
+     * with a shared work queue.
+     * <p/>
+     * Each worker thread has its own work queue, and idle threads steal work from the busy threads,
+     * which reduces contention when many small tasks are submitted, such as when splitting in parallel.
+     * Cannot be used together with thread per task.
+     *
+     * @param workStealing <tt>true</tt> to use work stealing
+     */
+    public void setWorkStealing(Boolean workStealing) {
+        this.workStealing = workStealing;
+    }
+
     /**
      * Overwrites each attribute that is null with the attribute from defaultProfile 
      * 
@@ -268,6 +323,12 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
         if (rejectedPolicy == null) {
             rejectedPolicy = defaultProfile.getRejectedPolicy();
         }
+        if (threadPerTask == null) {
+            threadPerTask = defaultProfile.threadPerTask;
+        }
+        if (workStealing == null) {
+            workStealing = defaultProfile.workStealing;
+        }
     }
 
     @Override
@@ -282,6 +343,8 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
         cloned.setAllowCoreThreadTimeOut(allowCoreThreadTimeOut);
         cloned.setRejectedPolicy(rejectedPolicy);
         cloned.setTimeUnit(timeUnit);
+        cloned.setThreadPerTask(threadPerTask);
+        cloned.setWorkStealing(workStealing);
         return cloned;
     }
 
@@ -289,7 +352,8 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
     public String toString() {
         return "ThreadPoolProfile[" + id + " (" + defaultProfile + ") size:" + poolSize + "-" + maxPoolSize
                 + ", keepAlive: " + keepAliveTime + " " + timeUnit + ", maxQueue: " + maxQueueSize
-                + ", allowCoreThreadTimeOut:" + allowCoreThreadTimeOut + ", rejectedPolicy:" + rejectedPolicy + "]";
+                + ", allowCoreThreadTimeOut:" + allowCoreThreadTimeOut + ", rejectedPolicy:" + rejectedPolicy
+                + ", threadPerTask:" + threadPerTask + ", workStealing:" + workStealing + "]";
     }
 
 }
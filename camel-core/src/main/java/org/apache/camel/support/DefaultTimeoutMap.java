@@ -19,6 +19,7 @@ package org.apache.camel.support;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -46,6 +47,11 @@ import org.slf4j.LoggerFactory;
  * if its being stopped.
  * You must also invoke {@link #start()} to startup the timeout map, before its ready to be used.
  * And you must invoke {@link #stop()} to stop the map when no longer in use.
+ * <p/>
+ * By default the purge task scans all the entries to find the expired entries. When holding a large number of entries,
+ * you can enable the hashed timing wheel using {@link #setTimingWheel(boolean)}, where the entries are bucketed by their
+ * expire time, using the purge poll time as the duration of a tick. Then adding, removing and expiring an entry is
+ * done in constant time, as the purge task only visits the buckets of the ticks which has passed since the last run.
  *
  * @version 
  */
@@ -59,6 +65,13 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
     private final long purgePollTime;
     private final Lock lock = new ReentrantLock();
     private boolean useLock = true;
+    private Set<TimeoutMapEntry<K, V>>[] wheel;
+    private long lastTick;
+
+    /**
+     * The number of buckets in the timing wheel, which must be a power of two
+     */
+    private static final int WHEEL_SIZE = 512;
 
     public DefaultTimeoutMap(ScheduledExecutorService executor) {
         this(executor, 1000);
@@ -85,7 +98,9 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
             if (entry == null) {
                 return null;
             }
+            unschedule(entry);
             updateExpireTime(entry);
+            schedule(entry);
         } finally {
             if (useLock) {
                 lock.unlock();
@@ -95,13 +110,17 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
     }
     
     public V put(K key, V value, long timeoutMillis) {
-        TimeoutMapEntry<K, V> entry = new TimeoutMapEntry<K, V>(key, value, timeoutMillis);
+        TimeoutMapEntry<K, V> entry = createEntry(key, value, timeoutMillis);
         if (useLock) {
             lock.lock();
         }
         try {
             updateExpireTime(entry);
             TimeoutMapEntry<K, V> result = map.put(key, entry);
+            if (result != null) {
+                unschedule(result);
+            }
+            schedule(entry);
             return result != null ? result.getValue() : null;
         } finally {
             if (useLock) {
@@ -111,7 +130,7 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
     }
     
     public V putIfAbsent(K key, V value, long timeoutMillis) {
-        TimeoutMapEntry<K, V> entry = new TimeoutMapEntry<K, V>(key, value, timeoutMillis);
+        TimeoutMapEntry<K, V> entry = createEntry(key, value, timeoutMillis);
         if (useLock) {
             lock.lock();
         }
@@ -119,6 +138,9 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
             updateExpireTime(entry);
             //Just make sure we don't override the old entry
             TimeoutMapEntry<K, V> result = map.putIfAbsent(key, entry);
+            if (result == null) {
+                schedule(entry);
+            }
             return result != null ? result.getValue() : null;
         } finally {
             if (useLock) {
@@ -135,6 +157,9 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         }
         try {
             entry = map.remove(key);
+            if (entry != null) {
+                unschedule(entry);
+            }
         } finally {
             if (useLock) {
                 lock.unlock();
@@ -199,11 +224,15 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         }
         try {
             // need to find the expired entries and add to the expired list
-            for (Map.Entry<K, TimeoutMapEntry<K, V>> entry : map.entrySet()) {
-                if (entry.getValue().getExpireTime() < now) {
-                    if (isValidForEviction(entry.getValue())) {
-                        log.debug("Evicting inactive entry ID: {}", entry.getValue());
-                        expired.add(entry.getValue());
+            if (wheel != null) {
+                findExpiredFromWheel(now, expired);
+            } else {
+                for (Map.Entry<K, TimeoutMapEntry<K, V>> entry : map.entrySet()) {
+                    if (entry.getValue().getExpireTime() < now) {
+                        if (isValidForEviction(entry.getValue())) {
+                            log.debug("Evicting inactive entry ID: {}", entry.getValue());
+                            expired.add(entry.getValue());
+                        }
                     }
                 }
             }
@@ -242,6 +271,14 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
                     for (K key : evicts) {
                         map.remove(key);
                     }
+                    if (wheel != null) {
+                        // the entries which was not evicted must be checked again on the next run
+                        for (TimeoutMapEntry<K, V> entry : expired) {
+                            if (map.get(entry.getKey()) == entry) {
+                                schedule(entry);
+                            }
+                        }
+                    }
                 }
             }
         } finally {
@@ -262,6 +299,30 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         return executor;
     }
 
+    public boolean isTimingWheel() {
+        return wheel != null;
+    }
+
+    /**
+     * Sets whether to use a hashed timing wheel to keep track of the expire times of the entries,
+     * instead of scanning all the entries in the purge task.
+     * <p/>
+     * This option must be configured before any entries is added to the map.
+     */
+    @SuppressWarnings("unchecked")
+    public void setTimingWheel(boolean timingWheel) {
+        if (timingWheel && wheel == null) {
+            Set<TimeoutMapEntry<K, V>>[] buckets = new Set[WHEEL_SIZE];
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                buckets[i] = Collections.newSetFromMap(new ConcurrentHashMap<TimeoutMapEntry<K, V>, Boolean>());
+            }
+            lastTick = currentTime() / purgePollTime - 1;
+            wheel = buckets;
+        } else if (!timingWheel) {
+            wheel = null;
+        }
+    }
+
     // Implementation methods
     // -------------------------------------------------------------------------
 
@@ -272,6 +333,78 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         future = executor.scheduleWithFixedDelay(this, 0, purgePollTime, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Adds the entry to the bucket in the timing wheel of the tick where the entry expires.
+     * Entries which expires in a tick which has already been purged, is added to the next tick to be purged.
+     */
+    private void schedule(TimeoutMapEntry<K, V> entry) {
+        if (wheel == null) {
+            return;
+        }
+        long tick = Math.max(entry.getExpireTime() / purgePollTime, lastTick + 1);
+        int bucket = (int) (tick & (WHEEL_SIZE - 1));
+        if (entry instanceof WheelEntry) {
+            ((WheelEntry<K, V>) entry).bucket = bucket;
+        }
+        wheel[bucket].add(entry);
+    }
+
+    private void unschedule(TimeoutMapEntry<K, V> entry) {
+        if (wheel != null && entry instanceof WheelEntry) {
+            int bucket = ((WheelEntry<K, V>) entry).bucket;
+            if (bucket >= 0) {
+                wheel[bucket].remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Finds the expired entries in the buckets of the ticks which has passed since the last purge.
+     * The entries in those buckets which expires in a later round of the wheel are kept in the buckets.
+     */
+    private void findExpiredFromWheel(long now, List<TimeoutMapEntry<K, V>> expired) {
+        // only visit the ticks which has fully passed, so all entries from the current round in those buckets are expired
+        long currentTick = now / purgePollTime - 1;
+        long ticks = Math.min(currentTick - lastTick, WHEEL_SIZE);
+        List<TimeoutMapEntry<K, V>> skipped = null;
+        for (long i = 1; i <= ticks; i++) {
+            int bucket = (int) ((lastTick + i) & (WHEEL_SIZE - 1));
+            Iterator<TimeoutMapEntry<K, V>> it = wheel[bucket].iterator();
+            while (it.hasNext()) {
+                TimeoutMapEntry<K, V> entry = it.next();
+                if (entry.getExpireTime() < now) {
+                    // remove from the wheel as it will either be evicted or scheduled again
+                    it.remove();
+                    if (isValidForEviction(entry)) {
+                        log.debug("Evicting inactive entry ID: {}", entry);
+                        expired.add(entry);
+                    } else {
+                        if (skipped == null) {
+                            skipped = new ArrayList<TimeoutMapEntry<K, V>>();
+                        }
+                        skipped.add(entry);
+                    }
+                }
+            }
+        }
+        if (currentTick > lastTick) {
+            lastTick = currentTick;
+        }
+        if (skipped != null) {
+            // the entries which was not valid for eviction must be checked again on the next run
+            for (TimeoutMapEntry<K, V> entry : skipped) {
+                schedule(entry);
+            }
+        }
+    }
+
+    private TimeoutMapEntry<K, V> createEntry(K key, V value, long timeoutMillis) {
+        if (wheel != null) {
+            return new WheelEntry<K, V>(key, value, timeoutMillis);
+        }
+        return new TimeoutMapEntry<K, V>(key, value, timeoutMillis);
+    }
+
     /**
      * A hook to allow derivations to avoid evicting the current entry
      */
@@ -308,6 +441,23 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         }
         // clear map if we stop
         map.clear();
+        if (wheel != null) {
+            for (Set<TimeoutMapEntry<K, V>> bucket : wheel) {
+                bucket.clear();
+            }
+        }
+    }
+
+    /**
+     * An entry which remembers which bucket in the timing wheel it has been added to.
+     */
+    private static final class WheelEntry<K, V> extends TimeoutMapEntry<K, V> {
+
+        private int bucket = -1;
+
+        private WheelEntry(K key, V value, long timeout) {
+            super(key, value, timeout);
+        }
     }
 
 }
@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread safe bloom filter, which can tell whether a key has <b>definitely not</b> been added,
+ * or whether it <b>might</b> have been added.
+ * <p/>
+ * This allows to skip costly lookups (such as disk or remote lookups) for keys which are definitely not known.
+ * The filter is sized by the expected number of keys and the desired false positive probability, and keys
+ * cannot be removed from the filter. Adding more keys than expected increases the false positive probability.
+ * <p/>
+ * The keys are represented by their 64 bit hash (see {@link #hash(String)}) and the bit positions are derived
+ * from the two halves of the hash using double hashing.
+ */
+public final class BloomFilter {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    /**
+     * Creates a bloom filter
+     *
+     * @param expectedKeys              the expected number of keys
+     * @param falsePositiveProbability  the desired false positive probability, such as 0.01 for 1%.
+     */
+    public BloomFilter(long expectedKeys, double falsePositiveProbability) {
+        if (expectedKeys <= 0) {
+            throw new IllegalArgumentException("ExpectedKeys must be a positive number, was: " + expectedKeys);
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("FalsePositiveProbability must be between 0 and 1, was: " + falsePositiveProbability);
+        }
+        // optimal number of bits and hash functions
+        long size = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        // round up to whole longs, and cap at what an array can hold
+        long words = Math.min((size + 63) / 64, Integer.MAX_VALUE - 8);
+        this.bits = new AtomicLongArray((int) words);
+        this.bitSize = words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedKeys * Math.log(2)));
+    }
+
+    /**
+     * Computes the 64 bit hash of the key to use with this filter
+     */
+    public static long hash(String key) {
+        return hash(key.getBytes(UTF8));
+    }
+
+    /**
+     * Computes the 64 bit hash of the given bytes to use with this filter
+     */
+    public static long hash(byte[] bytes) {
+        // FNV-1a followed by a finalizer to spread the bits
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Adds the key
+     *
+     * @param key the key
+     */
+    public void add(String key) {
+        add(hash(key));
+    }
+
+    /**
+     * Adds the key by its hash
+     *
+     * @param hash the hash of the key as computed by {@link #hash(String)}
+     */
+    public void add(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = index(h1 + i * h2);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * Whether the key might have been added.
+     *
+     * @param key the key
+     * @return <tt>false</tt> if the key has definitely not been added, <tt>true</tt> if it might have been added
+     */
+    public boolean mightContain(String key) {
+        return mightContain(hash(key));
+    }
+
+    /**
+     * Whether the key might have been added.
+     *
+     * @param hash the hash of the key as computed by {@link #hash(String)}
+     * @return <tt>false</tt> if the key has definitely not been added, <tt>true</tt> if it might have been added
+     */
+    public boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = index(h1 + i * h2);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Clears the filter
+     */
+    public void clear() {
+        for (int i = 0; i < bits.length(); i++) {
+            bits.set(i, 0);
+        }
+    }
+
+    /**
+     * Gets the number of bits in the filter
+     */
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    /**
+     * Gets the number of hash functions in use
+     */
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    private long index(int combined) {
+        // use the combined hash as unsigned to select the bit
+        return (combined & 0xffffffffL) % bitSize;
+    }
+
+    @Override
+    public String toString() {
+        return "BloomFilter[bits=" + bitSize + ", hashFunctions=" + hashFunctions + "]";
+    }
+}
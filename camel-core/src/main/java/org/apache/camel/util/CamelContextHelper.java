@@ -253,6 +253,35 @@ public final class CamelContextHelper {
         return 1000;
     }
 
+    /**
+     * Whether a cache should use a TinyLFU frequency admission policy.
+     * <p/>
+     * Will use the property set on CamelContext with the given key, such as {@link Exchange#CACHE_POOL_FREQUENCY_ADMISSION},
+     * {@link Exchange#ENDPOINT_CACHE_FREQUENCY_ADMISSION} or {@link Exchange#BEAN_INFO_CACHE_FREQUENCY_ADMISSION}.
+     * If no property has been set, then it will fallback to return <tt>false</tt>.
+     *
+     * @param camelContext the camel context
+     * @param key          the key of the property
+     * @return whether to use frequency admission
+     * @throws IllegalArgumentException is thrown if the property is illegal
+     * @see LRUCache
+     */
+    public static boolean isCacheFrequencyAdmission(CamelContext camelContext, String key) throws IllegalArgumentException {
+        if (camelContext != null) {
+            String s = camelContext.getProperty(key);
+            if (s != null) {
+                // we cannot use Camel type converters as they may not be ready this early
+                if (!"true".equalsIgnoreCase(s) && !"false".equalsIgnoreCase(s)) {
+                    throw new IllegalArgumentException("Property " + key + " must be true or false, was: " + s);
+                }
+                return Boolean.parseBoolean(s);
+            }
+        }
+
+        // use least recently used only by default
+        return false;
+    }
+
     /**
      * Parses the given text and handling property placeholders as well
      *
@@ -0,0 +1,316 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread safe map which can be copied in O(1) by sharing its content with the copy (copy-on-write).
+ * <p/>
+ * The map consists of a shared immutable snapshot and a local {@link ConcurrentHashMap} which holds the
+ * entries added, changed or removed since the snapshot was taken. A new map starts with an empty snapshot,
+ * and the local map is only created on the first change. When the map is copied using {@link #copy()}
+ * then the local changes are merged into a new snapshot which is shared by both the original and the copy,
+ * so copying the same map many times (such as when the multicast EIP creates a copy for each destination)
+ * only merges the entries once.
+ * <p/>
+ * This map is used for storing the properties on {@link org.apache.camel.Exchange}, and like
+ * {@link ConcurrentHashMap} it does not allow <tt>null</tt> keys or values.
+ * <p/>
+ * The map is serialized as a plain copy of its entries, and is deserialized as a new map with those
+ * entries as its snapshot.
+ */
+public class CopyOnWriteConcurrentMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // marker for an entry in the snapshot which has been removed locally
+    private static final Object REMOVED = new Object();
+
+    private transient volatile Map<K, V> snapshot;
+    private transient volatile ConcurrentHashMap<K, Object> local;
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    public CopyOnWriteConcurrentMap() {
+        this.snapshot = Collections.emptyMap();
+    }
+
+    public CopyOnWriteConcurrentMap(Map<? extends K, ? extends V> map) {
+        if (map instanceof CopyOnWriteConcurrentMap) {
+            @SuppressWarnings("unchecked")
+            CopyOnWriteConcurrentMap<K, V> other = (CopyOnWriteConcurrentMap<K, V>) map;
+            this.snapshot = other.share();
+        } else {
+            this.snapshot = Collections.emptyMap();
+            putAll(map);
+        }
+    }
+
+    /**
+     * Creates a copy of this map, which shares the content with this map until either map is changed.
+     *
+     * @return the copy
+     */
+    public CopyOnWriteConcurrentMap<K, V> copy() {
+        return new CopyOnWriteConcurrentMap<K, V>(this);
+    }
+
+    @Override
+    public V get(Object key) {
+        ConcurrentHashMap<K, Object> map = local;
+        if (map != null) {
+            Object value = map.get(key);
+            if (value != null) {
+                return value == REMOVED ? null : CopyOnWriteConcurrentMap.<V>cast(value);
+            }
+        }
+        return snapshot.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+        Object old = local().put(key, value);
+        if (old == null) {
+            return snapshot.get(key);
+        }
+        return old == REMOVED ? null : CopyOnWriteConcurrentMap.<V>cast(old);
+    }
+
+    @Override
+    public synchronized V remove(Object key) {
+        V old = get(key);
+        if (old != null) {
+            @SuppressWarnings("unchecked")
+            K k = (K) key;
+            if (snapshot.containsKey(key)) {
+                // hide the entry from the snapshot
+                local().put(k, REMOVED);
+            } else {
+                local.remove(key);
+            }
+        }
+        return old;
+    }
+
+    @Override
+    public synchronized void clear() {
+        snapshot = Collections.emptyMap();
+        local = null;
+    }
+
+    @Override
+    public int size() {
+        ConcurrentHashMap<K, Object> map = local;
+        if (map == null || map.isEmpty()) {
+            return snapshot.size();
+        }
+        int size = 0;
+        for (Iterator<?> it = entrySet().iterator(); it.hasNext(); it.next()) {
+            size++;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        ConcurrentHashMap<K, Object> map = local;
+        if (map == null || map.isEmpty()) {
+            return snapshot.isEmpty();
+        }
+        return !entrySet().iterator().hasNext();
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Merges any local changes into a new snapshot, and returns the snapshot to be shared with a copy.
+     */
+    private synchronized Map<K, V> share() {
+        ConcurrentHashMap<K, Object> map = local;
+        if (map != null && !map.isEmpty()) {
+            Map<K, V> merged = new HashMap<K, V>(snapshot);
+            for (Map.Entry<K, Object> entry : map.entrySet()) {
+                if (entry.getValue() == REMOVED) {
+                    merged.remove(entry.getKey());
+                } else {
+                    merged.put(entry.getKey(), CopyOnWriteConcurrentMap.<V>cast(entry.getValue()));
+                }
+            }
+            snapshot = merged;
+            local = null;
+        }
+        return snapshot;
+    }
+
+    private ConcurrentHashMap<K, Object> local() {
+        if (local == null) {
+            local = new ConcurrentHashMap<K, Object>();
+        }
+        return local;
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        return new SerializedForm<K, V>(new HashMap<K, V>(this));
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("SerializedForm required");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object value) {
+        return (V) value;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new EntryIterator(snapshot, local);
+        }
+
+        @Override
+        public int size() {
+            return CopyOnWriteConcurrentMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            CopyOnWriteConcurrentMap.this.clear();
+        }
+    }
+
+    /**
+     * Iterates the local entries followed by the entries from the snapshot which has not been changed locally.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private final Map<K, Object> localMap;
+        private final Iterator<Map.Entry<K, Object>> localIterator;
+        private final Iterator<Map.Entry<K, V>> snapshotIterator;
+        private Map.Entry<K, V> next;
+        private K last;
+
+        EntryIterator(Map<K, V> snapshot, ConcurrentHashMap<K, Object> local) {
+            this.localMap = local;
+            this.localIterator = local != null ? local.entrySet().iterator() : null;
+            this.snapshotIterator = snapshot.entrySet().iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            while (localIterator != null && localIterator.hasNext()) {
+                Map.Entry<K, Object> entry = localIterator.next();
+                if (entry.getValue() != REMOVED) {
+                    next = new Entry(entry.getKey(), CopyOnWriteConcurrentMap.<V>cast(entry.getValue()));
+                    return true;
+                }
+            }
+            while (snapshotIterator.hasNext()) {
+                Map.Entry<K, V> entry = snapshotIterator.next();
+                if (localMap == null || !localMap.containsKey(entry.getKey())) {
+                    next = new Entry(entry.getKey(), entry.getValue());
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<K, V> answer = next;
+            next = null;
+            last = answer.getKey();
+            return answer;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            CopyOnWriteConcurrentMap.this.remove(last);
+            last = null;
+        }
+    }
+
+    private final class Entry extends AbstractMap.SimpleEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        Entry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            super.setValue(value);
+            // write through to the map
+            return put(getKey(), value);
+        }
+    }
+
+    /**
+     * The serialized form which holds a plain copy of the entries, as the local changes may contain
+     * the internal removed marker which cannot be serialized.
+     */
+    private static final class SerializedForm<K, V> implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final HashMap<K, V> entries;
+
+        SerializedForm(HashMap<K, V> entries) {
+            this.entries = entries;
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            CopyOnWriteConcurrentMap<K, V> answer = new CopyOnWriteConcurrentMap<K, V>();
+            answer.snapshot = entries;
+            return answer;
+        }
+    }
+
+}
@@ -874,7 +874,10 @@ public final class ExchangeHelper {
 
         // safe copy message history using a defensive copy
         List<MessageHistory> history = (List<MessageHistory>) answer.remove(Exchange.MESSAGE_HISTORY);
-        if (history != null) {
+        if (history == MessageHelper.MESSAGE_HISTORY_NOT_SAMPLED) {
+            // keep the marker so the copy is not sampled either
+            answer.put(Exchange.MESSAGE_HISTORY, history);
+        } else if (history != null) {
             answer.put(Exchange.MESSAGE_HISTORY, new ArrayList<MessageHistory>(history));
         }
 
@@ -0,0 +1,399 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A map that uses case insensitive keys, but preserves the original key cases.
+ * <p/>
+ * Unlike {@link CaseInsensitiveMap} the lookup of a key does not create any objects. The case insensitive
+ * hash code of each key is computed once when the key is added, and stored together with the key in
+ * arrays, so a lookup only has to compute the hash code of the given key and compare it with the stored
+ * hash codes. Keys which are the same instance (such as the constants on {@link org.apache.camel.Exchange})
+ * are matched by identity before falling back to a case insensitive comparison.
+ * <p/>
+ * The map keeps the insertion order of the keys. When more than {@link #INDEX_THRESHOLD} keys are stored,
+ * then a hash index is maintained so the lookup is O(1).
+ * <p/>
+ * Copying the map using {@link #FastCaseInsensitiveMap(java.util.Map)} or {@link #putAll(java.util.Map)}
+ * on an empty map, shares the underlying storage with the source map until either of the maps is changed
+ * (copy-on-write). This makes copying a message with many headers cheap when the copy is only read.
+ * The storage keeps count of the maps sharing it, so only the maps changed while the storage is shared
+ * copy it, and the last map using the storage changes it in place.
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe as concurrent access to it is not supposed to be performed
+ * by the Camel routing engine.
+ */
+public class FastCaseInsensitiveMap extends AbstractMap<String, Object> implements Serializable {
+
+    /**
+     * Number of keys before a hash index is used for lookup instead of a linear scan of the hash codes.
+     */
+    public static final int INDEX_THRESHOLD = 16;
+
+    private static final long serialVersionUID = 4813425372473837467L;
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Storage storage;
+    private boolean shared;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    public FastCaseInsensitiveMap() {
+        this.storage = new Storage(INITIAL_CAPACITY);
+    }
+
+    public FastCaseInsensitiveMap(Map<? extends String, ?> map) {
+        this.storage = new Storage(INITIAL_CAPACITY);
+        putAll(map);
+    }
+
+    /**
+     * Computes the case insensitive hash code of the key without creating any objects.
+     */
+    static int caseInsensitiveHash(String key) {
+        int h = 0;
+        for (int i = 0; i < key.length(); i++) {
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+        }
+        // spread the bits as the index uses the lower bits only
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public int size() {
+        return storage.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return storage.size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && storage.indexOf((String) key, caseInsensitiveHash((String) key)) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        String name = (String) key;
+        Storage s = storage;
+        int idx = s.indexOf(name, caseInsensitiveHash(name));
+        return idx >= 0 ? s.values[idx] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (key == null) {
+            throw new NullPointerException("Key must not be null");
+        }
+        int hash = caseInsensitiveHash(key);
+        int idx = storage.indexOf(key, hash);
+        ensureWritable();
+        if (idx >= 0) {
+            // keep the original key as TreeMap does
+            Object answer = storage.values[idx];
+            storage.values[idx] = value;
+            return answer;
+        }
+        storage.add(key, hash, value);
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        String name = (String) key;
+        int idx = storage.indexOf(name, caseInsensitiveHash(name));
+        if (idx < 0) {
+            return null;
+        }
+        return removeAt(idx);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void putAll(Map<? extends String, ?> map) {
+        if (map instanceof FastCaseInsensitiveMap && storage.size == 0) {
+            // share the storage until either map is changed
+            FastCaseInsensitiveMap other = (FastCaseInsensitiveMap) map;
+            if (other.storage.size > 0) {
+                other.storage.owners.incrementAndGet();
+                other.shared = true;
+                this.storage = other.storage;
+                this.shared = true;
+            }
+            return;
+        }
+        for (Map.Entry<? extends String, ?> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            Storage old = storage;
+            storage = new Storage(INITIAL_CAPACITY);
+            shared = false;
+            old.owners.decrementAndGet();
+        } else {
+            storage.clear();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Whether the underlying storage is currently shared with another map (copy-on-write)
+     */
+    public boolean isShared() {
+        return shared && storage.owners.get() > 1;
+    }
+
+    private Object removeAt(int idx) {
+        ensureWritable();
+        return storage.removeAt(idx);
+    }
+
+    private void ensureWritable() {
+        if (shared) {
+            Storage old = storage;
+            // if the other maps have stopped sharing the storage then we are the only owner and can keep it,
+            // otherwise copy it, and only then release it, so the last owner never writes while we copy
+            if (old.owners.get() > 1) {
+                storage = old.copy();
+                old.owners.decrementAndGet();
+            }
+            shared = false;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return storage.size;
+        }
+
+        @Override
+        public void clear() {
+            FastCaseInsensitiveMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private int next;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < storage.size;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (next >= storage.size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new Entry(storage.keys[last], storage.values[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+        }
+    }
+
+    private final class Entry extends AbstractMap.SimpleEntry<String, Object> {
+        private static final long serialVersionUID = 1L;
+
+        Entry(String key, Object value) {
+            super(key, value);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            super.setValue(value);
+            // write through to the map
+            return put(getKey(), value);
+        }
+    }
+
+    /**
+     * The storage of the keys, their hash codes and values in insertion order,
+     * and an optional open addressing hash index into these arrays.
+     */
+    private static final class Storage implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String[] keys;
+        private int[] hashes;
+        private Object[] values;
+        private int size;
+        // slot + 1 of the key, or 0 for an empty bucket
+        private int[] index;
+        // the number of maps using this storage
+        private final AtomicInteger owners = new AtomicInteger(1);
+
+        Storage(int capacity) {
+            this.keys = new String[capacity];
+            this.hashes = new int[capacity];
+            this.values = new Object[capacity];
+        }
+
+        Storage copy() {
+            Storage answer = new Storage(0);
+            answer.keys = Arrays.copyOf(keys, keys.length);
+            answer.hashes = Arrays.copyOf(hashes, hashes.length);
+            answer.values = Arrays.copyOf(values, values.length);
+            answer.size = size;
+            if (index != null) {
+                answer.index = Arrays.copyOf(index, index.length);
+            }
+            return answer;
+        }
+
+        int indexOf(String key, int hash) {
+            if (index == null) {
+                for (int i = 0; i < size; i++) {
+                    if (hashes[i] == hash && matches(keys[i], key)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+
+            int mask = index.length - 1;
+            int pos = hash & mask;
+            while (true) {
+                int slot = index[pos];
+                if (slot == 0) {
+                    return -1;
+                }
+                int i = slot - 1;
+                if (hashes[i] == hash && matches(keys[i], key)) {
+                    return i;
+                }
+                pos = (pos + 1) & mask;
+            }
+        }
+
+        void add(String key, int hash, Object value) {
+            if (size == keys.length) {
+                int capacity = keys.length == 0 ? INITIAL_CAPACITY : keys.length * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                hashes = Arrays.copyOf(hashes, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            keys[size] = key;
+            hashes[size] = hash;
+            values[size] = value;
+            size++;
+
+            if (size > INDEX_THRESHOLD) {
+                // keep the load factor of the index at most 0.5
+                if (index == null || size * 2 > index.length) {
+                    rebuildIndex();
+                } else {
+                    insertIndex(size - 1);
+                }
+            }
+        }
+
+        Object removeAt(int idx) {
+            Object answer = values[idx];
+            int moved = size - idx - 1;
+            if (moved > 0) {
+                System.arraycopy(keys, idx + 1, keys, idx, moved);
+                System.arraycopy(hashes, idx + 1, hashes, idx, moved);
+                System.arraycopy(values, idx + 1, values, idx, moved);
+            }
+            size--;
+            keys[size] = null;
+            values[size] = null;
+
+            if (size > INDEX_THRESHOLD) {
+                // removing headers is rare, so just rebuild the index as the slots has been shifted
+                rebuildIndex();
+            } else {
+                index = null;
+            }
+            return answer;
+        }
+
+        void clear() {
+            Arrays.fill(keys, 0, size, null);
+            Arrays.fill(values, 0, size, null);
+            size = 0;
+            index = null;
+        }
+
+        private void rebuildIndex() {
+            int capacity = Integer.highestOneBit(Math.max(size, INDEX_THRESHOLD) * 4 - 1);
+            index = new int[capacity];
+            for (int i = 0; i < size; i++) {
+                insertIndex(i);
+            }
+        }
+
+        private void insertIndex(int slot) {
+            int mask = index.length - 1;
+            int pos = hashes[slot] & mask;
+            while (index[pos] != 0) {
+                pos = (pos + 1) & mask;
+            }
+            index[pos] = slot + 1;
+        }
+
+        private static boolean matches(String existing, String key) {
+            return existing == key || existing.equalsIgnoreCase(key);
+        }
+    }
+
+}
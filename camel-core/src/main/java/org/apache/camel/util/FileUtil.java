@@ -513,11 +513,7 @@ public final class FileUtil {
                 LOG.trace("Using FileChannel to copy from: " + in + " to: " + out);
             }
 
-            long size = in.size();
-            long position = 0;
-            while (position < size) {
-                position += in.transferTo(position, BUFFER_SIZE, out);
-            }
+            IOHelper.transferTo(in, 0, in.size(), out);
         } finally {
             IOHelper.close(in, from.getName(), LOG);
             IOHelper.close(out, to.getName(), LOG);
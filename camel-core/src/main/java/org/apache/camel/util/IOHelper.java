@@ -22,6 +22,7 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -31,6 +32,7 @@ import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.UnsupportedCharsetException;
 
@@ -355,6 +357,60 @@ public final class IOHelper {
         }
     }
 
+    /**
+     * Transfers bytes from the file channel to the target channel using
+     * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}, which allows the
+     * operating system to copy the bytes directly to the target (zero-copy) without reading them into the JVM.
+     * <p/>
+     * The target channel must be in blocking mode, such as a file channel or a blocking socket channel.
+     *
+     * @param in       the file channel to transfer from
+     * @param position the position in the file to start from
+     * @param count    the number of bytes to transfer
+     * @param out      the channel to transfer to
+     * @return the number of bytes transferred
+     * @throws EOFException is thrown if the file has fewer bytes than requested, such as if it was truncated while transferring
+     */
+    public static long transferTo(FileChannel in, long position, long count, WritableByteChannel out) throws IOException {
+        long transferred = 0;
+        while (transferred < count) {
+            // transfer as much as possible at once, as the channel will cap the count to what the platform supports
+            long n = in.transferTo(position + transferred, count - transferred, out);
+            if (n <= 0 && position + transferred >= in.size()) {
+                throw new EOFException("Cannot transfer " + count + " bytes from position " + position + " as the file only has " + in.size() + " bytes");
+            }
+            transferred += n;
+        }
+        return transferred;
+    }
+
+    /**
+     * Transfers the remaining bytes of the file channel from its current position to the target channel using
+     * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}, and moves the position
+     * of the file channel past the bytes transferred.
+     * <p/>
+     * The bytes are transferred until no more bytes can be transferred, rather than trusting the size of the
+     * file, so a file which grows while transferring is transferred as well.
+     * The file channel must be from a regular file, as pipes and special files (such as in <tt>/proc</tt>)
+     * may report a size of 0 and then nothing is transferred. The target channel must be in blocking mode.
+     *
+     * @param in       the file channel to transfer from
+     * @param out      the channel to transfer to
+     * @return the number of bytes transferred
+     */
+    public static long transferTo(FileChannel in, WritableByteChannel out) throws IOException {
+        long position = in.position();
+        long transferred = 0;
+        long n;
+        // transfer as much as possible at once, as the channel will cap the count to what the platform supports
+        while ((n = in.transferTo(position + transferred, Integer.MAX_VALUE, out)) > 0) {
+            transferred += n;
+        }
+        // transferring does not change the position of the channel, so it must be moved past the data
+        in.position(position + transferred);
+        return transferred;
+    }
+
     /**
      * Closes the given channel if it is available, logging any closing exceptions to the given log.
      * The file's channel can optionally be forced to disk.
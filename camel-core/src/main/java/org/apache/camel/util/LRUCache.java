@@ -18,6 +18,7 @@ package org.apache.camel.util;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
@@ -32,6 +33,12 @@ import org.slf4j.LoggerFactory;
  * <p/>
  * If this cache stores {@link org.apache.camel.Service} then this implementation will on eviction
  * invoke the {@link org.apache.camel.Service#stop()} method, to auto-stop the service.
+ * <p/>
+ * The cache can optionally use a TinyLFU frequency admission policy. When the cache is full a new entry
+ * is then only added if it has been used more frequently than the least recently used entry it would evict,
+ * otherwise the new entry is rejected and not added to the cache. This keeps frequently used entries in
+ * the cache when many entries are used only once, which would otherwise flush the cache.
+ * Rejected entries are not stopped, as they are still in use by the caller.
  *
  * @see LRUSoftCache
  * @see LRUWeakCache
@@ -43,10 +50,12 @@ public class LRUCache<K, V> implements Map<K, V>, EvictionListener<K, V>, Serial
     protected final AtomicLong hits = new AtomicLong();
     protected final AtomicLong misses = new AtomicLong();
     protected final AtomicLong evicted = new AtomicLong();
+    protected final AtomicLong rejected = new AtomicLong();
 
     private int maxCacheSize = 10000;
     private boolean stopOnEviction;
     private ConcurrentLinkedHashMap<K, V> map;
+    private FrequencySketch sketch;
 
     /**
      * Constructs an empty <tt>LRUCache</tt> instance with the
@@ -81,16 +90,36 @@ public class LRUCache<K, V> implements Map<K, V>, EvictionListener<K, V>, Serial
      * @throws IllegalArgumentException if the initial capacity is negative
      */
     public LRUCache(int initialCapacity, int maximumCacheSize, boolean stopOnEviction) {
+        this(initialCapacity, maximumCacheSize, stopOnEviction, false);
+    }
+
+    /**
+     * Constructs an empty <tt>LRUCache</tt> instance with the
+     * specified initial capacity, maximumCacheSize, load factor, ordering mode and admission policy.
+     *
+     * @param initialCapacity    the initial capacity.
+     * @param maximumCacheSize   the max capacity.
+     * @param stopOnEviction     whether to stop service on eviction.
+     * @param frequencyAdmission whether to use a TinyLFU frequency admission policy when the cache is full.
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public LRUCache(int initialCapacity, int maximumCacheSize, boolean stopOnEviction, boolean frequencyAdmission) {
         map = new ConcurrentLinkedHashMap.Builder<K, V>()
                 .initialCapacity(initialCapacity)
                 .maximumWeightedCapacity(maximumCacheSize)
                 .listener(this).build();
         this.maxCacheSize = maximumCacheSize;
         this.stopOnEviction = stopOnEviction;
+        if (frequencyAdmission) {
+            this.sketch = new FrequencySketch(maximumCacheSize);
+        }
     }
 
     @Override
     public V get(Object o) {
+        if (sketch != null && o != null) {
+            sketch.increment(o);
+        }
         V answer = map.get(o);
         if (answer != null) {
             hits.incrementAndGet();
@@ -122,16 +151,42 @@ public class LRUCache<K, V> implements Map<K, V>, EvictionListener<K, V>, Serial
 
     @Override
     public V put(K k, V v) {
+        if (sketch != null && !admit(k)) {
+            rejected.incrementAndGet();
+            LOG.trace("onRejection {} -> {}", k, v);
+            return null;
+        }
         return map.put(k, v);
     }
 
+    /**
+     * Whether the key should be added to the cache according to the frequency admission policy.
+     */
+    private boolean admit(K key) {
+        sketch.increment(key);
+        if (map.size() < maxCacheSize || map.containsKey(key)) {
+            // there is room for the key, or it replaces an existing entry
+            return true;
+        }
+        // only add the key if its used more frequently than the entry it would evict
+        Iterator<K> it = map.ascendingKeySetWithLimit(1).iterator();
+        return !it.hasNext() || sketch.frequency(key) > sketch.frequency(it.next());
+    }
+
     @Override
     public V remove(Object o) {
         return map.remove(o);
     }
 
     public void putAll(Map<? extends K, ? extends V> map) {
-        this.map.putAll(map);
+        if (sketch != null) {
+            // must add the entries one by one to use the admission policy
+            for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        } else {
+            this.map.putAll(map);
+        }
     }
 
     @Override
@@ -190,6 +245,20 @@ public class LRUCache<K, V> implements Map<K, V>, EvictionListener<K, V>, Serial
         return evicted.get();
     }
 
+    /**
+     * Gets the number of entries which was not added to the cache due to the frequency admission policy.
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Whether the cache uses a TinyLFU frequency admission policy.
+     */
+    public boolean isFrequencyAdmission() {
+        return sketch != null;
+    }
+
     /**
      * Returns the maxCacheSize.
      */
@@ -204,6 +273,7 @@ public class LRUCache<K, V> implements Map<K, V>, EvictionListener<K, V>, Serial
         hits.set(0);
         misses.set(0);
         evicted.set(0);
+        rejected.set(0);
     }
 
     @Override
@@ -22,6 +22,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +48,13 @@ import org.apache.camel.spi.HeaderFilterStrategy;
  */
 public final class MessageHelper {
 
+    /**
+     * The message history of exchanges which have not been sampled, when using a message history {@link Sampler}.
+     * <p/>
+     * The list is empty and immutable, and is compared by identity.
+     */
+    public static final List<MessageHistory> MESSAGE_HISTORY_NOT_SAMPLED = Collections.unmodifiableList(new ArrayList<MessageHistory>(0));
+
     private static final String MESSAGE_HISTORY_HEADER = "%-20s %-20s %-80s %-12s";
     private static final String MESSAGE_HISTORY_OUTPUT = "[%-18.18s] [%-18.18s] [%-78.78s] [%10.10s]";
 
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether to sample, such as recording message history or tracing for only some of the exchanges.
+ * <p/>
+ * A sampler either samples every Nth call, or at most a given number of calls per second.
+ * The sampler is thread-safe.
+ */
+public final class Sampler {
+
+    private final long frequency;
+    private final int maxPerSecond;
+    private final AtomicLong counter = new AtomicLong();
+    private final AtomicLong second = new AtomicLong();
+    private final AtomicInteger secondCounter = new AtomicInteger();
+
+    private Sampler(long frequency, int maxPerSecond) {
+        this.frequency = frequency;
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    /**
+     * Creates a sampler which samples the first call and then every Nth call.
+     *
+     * @param frequency the frequency, such as <tt>100</tt> to sample 1 out of 100
+     */
+    public static Sampler everyNth(long frequency) {
+        if (frequency <= 0) {
+            throw new IllegalArgumentException("Frequency must be a positive number, was: " + frequency);
+        }
+        return new Sampler(frequency, 0);
+    }
+
+    /**
+     * Creates a sampler which samples at most the given number of calls per second.
+     *
+     * @param maxPerSecond the maximum number of calls to sample per second
+     */
+    public static Sampler perSecond(int maxPerSecond) {
+        if (maxPerSecond <= 0) {
+            throw new IllegalArgumentException("MaxPerSecond must be a positive number, was: " + maxPerSecond);
+        }
+        return new Sampler(0, maxPerSecond);
+    }
+
+    /**
+     * Whether to sample this call.
+     *
+     * @return <tt>true</tt> to sample, <tt>false</tt> to skip
+     */
+    public boolean sample() {
+        if (frequency > 0) {
+            return frequency == 1 || counter.getAndIncrement() % frequency == 0;
+        }
+
+        long now = System.currentTimeMillis() / 1000;
+        long current = second.get();
+        if (now != current && second.compareAndSet(current, now)) {
+            // a new second so reset the budget
+            secondCounter.set(0);
+        }
+        return secondCounter.incrementAndGet() <= maxPerSecond;
+    }
+
+    public long getFrequency() {
+        return frequency;
+    }
+
+    public int getMaxPerSecond() {
+        return maxPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        if (frequency > 0) {
+            return "Sampler[every " + frequency + "]";
+        } else {
+            return "Sampler[" + maxPerSecond + " per second]";
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread safe bloom filter which grows when more keys are added than expected.
+ * <p/>
+ * The filter starts with a single {@link BloomFilter} sized for the expected number of keys, and when it
+ * is full a new filter with twice the capacity and half the false positive probability is added,
+ * which keeps the overall false positive probability bounded regardless of the number of keys added.
+ */
+public final class ScalableBloomFilter {
+
+    private final List<Filter> filters = new CopyOnWriteArrayList<Filter>();
+    private final long expectedKeys;
+    private final double falsePositiveProbability;
+    private volatile Filter current;
+
+    /**
+     * Creates a scalable bloom filter
+     *
+     * @param expectedKeys              the expected number of keys for the first filter
+     * @param falsePositiveProbability  the desired false positive probability, such as 0.01 for 1%.
+     */
+    public ScalableBloomFilter(long expectedKeys, double falsePositiveProbability) {
+        this.expectedKeys = expectedKeys;
+        // the sum of the probabilities of the growing filters converges to twice the first one
+        this.falsePositiveProbability = falsePositiveProbability / 2;
+        clear();
+    }
+
+    /**
+     * Adds the key
+     *
+     * @param key the key
+     */
+    public void add(String key) {
+        add(BloomFilter.hash(key));
+    }
+
+    /**
+     * Adds the key by its hash
+     *
+     * @param hash the hash of the key as computed by {@link BloomFilter#hash(String)}
+     */
+    public void add(long hash) {
+        if (mightContain(hash)) {
+            // already there (or a false positive) so do not use up capacity
+            return;
+        }
+        Filter filter = current;
+        if (filter.count.incrementAndGet() > filter.capacity) {
+            filter = grow(filter);
+        }
+        filter.filter.add(hash);
+    }
+
+    /**
+     * Whether the key might have been added.
+     *
+     * @param key the key
+     * @return <tt>false</tt> if the key has definitely not been added, <tt>true</tt> if it might have been added
+     */
+    public boolean mightContain(String key) {
+        return mightContain(BloomFilter.hash(key));
+    }
+
+    /**
+     * Whether the key might have been added.
+     *
+     * @param hash the hash of the key as computed by {@link BloomFilter#hash(String)}
+     * @return <tt>false</tt> if the key has definitely not been added, <tt>true</tt> if it might have been added
+     */
+    public boolean mightContain(long hash) {
+        for (Filter filter : filters) {
+            if (filter.filter.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Clears the filter, which shrinks back to a single filter
+     */
+    public synchronized void clear() {
+        Filter filter = new Filter(expectedKeys, falsePositiveProbability);
+        filters.clear();
+        filters.add(filter);
+        current = filter;
+    }
+
+    /**
+     * Gets the number of filters in use
+     */
+    public int getFilters() {
+        return filters.size();
+    }
+
+    /**
+     * Gets the approximate number of keys added
+     */
+    public long getSize() {
+        long size = 0;
+        for (Filter filter : filters) {
+            size += Math.min(filter.count.get(), filter.capacity);
+        }
+        return size;
+    }
+
+    private synchronized Filter grow(Filter full) {
+        if (current == full) {
+            Filter filter = new Filter(full.capacity * 2, full.falsePositiveProbability / 2);
+            filters.add(filter);
+            current = filter;
+        }
+        Filter answer = current;
+        answer.count.incrementAndGet();
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        return "ScalableBloomFilter[filters=" + filters.size() + "]";
+    }
+
+    private static final class Filter {
+        private final BloomFilter filter;
+        private final long capacity;
+        private final double falsePositiveProbability;
+        private final AtomicLong count = new AtomicLong();
+
+        Filter(long capacity, double falsePositiveProbability) {
+            this.filter = new BloomFilter(capacity, falsePositiveProbability);
+            this.capacity = capacity;
+            this.falsePositiveProbability = falsePositiveProbability;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter which is optimized for being updated by many threads concurrently.
+ * <p/>
+ * Instead of a single shared value the counter is split into a number of stripes, where each thread
+ * updates the stripe selected by its thread id. The stripes are padded to avoid false sharing, so threads
+ * do not contend on the same cache line. Reading the value sums the stripes, and is therefore more
+ * expensive than updating, and is not an atomic snapshot when updated concurrently.
+ */
+public final class StripedCounter {
+
+    // the number of longs between two stripes to keep them on separate cache lines
+    private static final int PADDING = 16;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    public StripedCounter() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public StripedCounter(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes must be a positive number, was: " + stripes);
+        }
+        // round up to power of two so we can use a mask to select the stripe
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.cells = new AtomicLongArray(size * PADDING);
+    }
+
+    /**
+     * Gets the number of stripes in use
+     */
+    public int getStripes() {
+        return mask + 1;
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    public void decrement() {
+        add(-1);
+    }
+
+    public void add(long delta) {
+        int stripe = (int) Thread.currentThread().getId() & mask;
+        cells.addAndGet(stripe * PADDING, delta);
+    }
+
+    /**
+     * Gets the current value by summing the stripes.
+     */
+    public long sum() {
+        long answer = 0;
+        for (int i = 0; i <= mask; i++) {
+            answer += cells.get(i * PADDING);
+        }
+        return answer;
+    }
+
+    /**
+     * Resets the counter to zero.
+     */
+    public void reset() {
+        for (int i = 0; i <= mask; i++) {
+            cells.set(i * PADDING, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Worker thread factory for {@link ForkJoinPool} which names the worker threads
+ * using a regular {@link ThreadFactory}, such as the {@link CamelThreadFactory}.
+ */
+public final class CamelForkJoinWorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+    private static final Runnable NOOP = new Runnable() {
+        public void run() {
+            // noop
+        }
+    };
+
+    private final ThreadFactory threadFactory;
+
+    public CamelForkJoinWorkerThreadFactory(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+    }
+
+    public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread answer = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        // let the thread factory create a (not started) thread to resolve the name and daemon flag to use
+        Thread template = threadFactory.newThread(NOOP);
+        answer.setName(template.getName());
+        answer.setDaemon(template.isDaemon());
+        return answer;
+    }
+
+    public String toString() {
+        return "CamelForkJoinWorkerThreadFactory[" + threadFactory + "]";
+    }
+}
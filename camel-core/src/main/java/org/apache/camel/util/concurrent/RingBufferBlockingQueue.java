@@ -0,0 +1,356 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded lock-free multi producer multi consumer {@link BlockingQueue} backed by a ring buffer.
+ * <p/>
+ * Each slot in the ring buffer has a sequence number which tells whether the slot is ready to be written by a
+ * producer or read by a consumer, and producers and consumers claim their position using compare and set.
+ * This avoids the lock which the queues in the JDK use, which is costly when many threads hand over messages.
+ * <p/>
+ * The blocking operations are not using conditions but are waiting using the configured {@link WaitStrategy}.
+ * <p/>
+ * The capacity is rounded up to the next power of two, with a minimum of two. The {@link #remove(Object)} operation and the iterator
+ * are weakly consistent, and a removed element counts towards the size until a consumer has passed its slot.
+ * Null elements are not permitted.
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /**
+     * The strategy used by blocking operations when waiting for the queue to have room or an element.
+     */
+    public enum WaitStrategy {
+        /**
+         * Busy spin which has the lowest latency, but keeps a CPU busy while waiting, so it should only be used
+         * when there is a CPU core available for each waiting thread.
+         */
+        SPIN,
+        /**
+         * Spin for a short while and then yield the thread.
+         */
+        YIELD,
+        /**
+         * Spin and yield for a short while, and then park the thread with an increasing back off.
+         */
+        PARK
+    }
+
+    // the number of longs between the positions to keep them on separate cache lines
+    private static final int PADDING = 16;
+    private static final int TAIL = PADDING;
+    private static final int HEAD = PADDING * 2;
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLongArray positions = new AtomicLongArray(PADDING * 3);
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+
+    public RingBufferBlockingQueue(int capacity) {
+        this(capacity, WaitStrategy.PARK);
+    }
+
+    public RingBufferBlockingQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be a positive number up till 2^30, was: " + capacity);
+        }
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("WaitStrategy must be specified");
+        }
+        // round up to power of two so we can use a mask to select the slot, and we need
+        // at least two slots as the sequence of a published slot must differ from the next lap
+        int size = 2;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy;
+        this.buffer = new AtomicReferenceArray<E>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Gets the capacity of the ring buffer
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        long pos = positions.get(TAIL);
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (positions.compareAndSet(TAIL, pos, pos + 1)) {
+                    buffer.set(index, e);
+                    // publish the slot to the consumers
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = positions.get(TAIL);
+            } else if (diff < 0) {
+                // the slot has not yet been consumed since last lap, so we are full
+                return false;
+            } else {
+                // another producer claimed the slot
+                pos = positions.get(TAIL);
+            }
+        }
+    }
+
+    @Override
+    public E poll() {
+        long pos = positions.get(HEAD);
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (positions.compareAndSet(HEAD, pos, pos + 1)) {
+                    E answer = buffer.getAndSet(index, null);
+                    // release the slot to the producers for the next lap
+                    sequences.set(index, pos + mask + 1);
+                    if (answer != null) {
+                        return answer;
+                    }
+                    // the element was removed, so continue with the next slot
+                }
+                pos = positions.get(HEAD);
+            } else if (diff < 0) {
+                // the slot has not yet been published, so we are empty
+                return null;
+            } else {
+                // another consumer claimed the slot
+                pos = positions.get(HEAD);
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        long head = positions.get(HEAD);
+        long tail = positions.get(TAIL);
+        for (long pos = head; pos < tail; pos++) {
+            int index = (int) pos & mask;
+            if (sequences.get(index) == pos + 1) {
+                E answer = buffer.get(index);
+                if (answer != null) {
+                    return answer;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long head = positions.get(HEAD);
+        long tail = positions.get(TAIL);
+        for (long pos = head; pos < tail; pos++) {
+            int index = (int) pos & mask;
+            // only remove from a slot which is published and not yet consumed
+            if (sequences.get(index) == pos + 1) {
+                E e = buffer.get(index);
+                if (o.equals(e) && buffer.compareAndSet(index, e, null)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        // read head first so the size cannot become negative
+        long head = positions.get(HEAD);
+        long tail = positions.get(TAIL);
+        long size = tail - head;
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, mask + 1);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        // iterate a snapshot of the elements, where removal is delegated to the queue
+        long head = positions.get(HEAD);
+        long tail = positions.get(TAIL);
+        List<E> snapshot = new ArrayList<E>((int) Math.min(Math.max(tail - head, 0), mask + 1));
+        for (long pos = head; pos < tail; pos++) {
+            int index = (int) pos & mask;
+            if (sequences.get(index) == pos + 1) {
+                E e = buffer.get(index);
+                if (e != null) {
+                    snapshot.add(e);
+                }
+            }
+        }
+        final Iterator<E> it = snapshot.iterator();
+        return new Iterator<E>() {
+            private E last;
+
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            public E next() {
+                last = it.next();
+                return last;
+            }
+
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                RingBufferBlockingQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    public void put(E e) throws InterruptedException {
+        int tries = 0;
+        while (!offer(e)) {
+            idle(tries++);
+        }
+    }
+
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int tries = 0;
+        while (!offer(e)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            idle(tries++);
+        }
+        return true;
+    }
+
+    public E take() throws InterruptedException {
+        int tries = 0;
+        E answer = poll();
+        while (answer == null) {
+            idle(tries++);
+            answer = poll();
+        }
+        return answer;
+    }
+
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int tries = 0;
+        E answer = poll();
+        while (answer == null) {
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            idle(tries++);
+            answer = poll();
+        }
+        return answer;
+    }
+
+    public int remainingCapacity() {
+        return mask + 1 - size();
+    }
+
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int count = 0;
+        while (count < maxElements) {
+            E e = poll();
+            if (e == null) {
+                break;
+            }
+            c.add(e);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Waits before the next attempt of a blocking operation according to the wait strategy
+     *
+     * @param tries the number of failed attempts so far
+     * @throws InterruptedException is thrown if the thread is interrupted while waiting
+     */
+    private void idle(int tries) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (waitStrategy == WaitStrategy.SPIN || tries < SPIN_TRIES) {
+            return;
+        }
+        if (waitStrategy == WaitStrategy.YIELD || tries < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            // back off exponentially up till the max park time
+            int shift = Math.min(tries - YIELD_TRIES, 20);
+            LockSupport.parkNanos(Math.min(1L << shift, MAX_PARK_NANOS));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferBlockingQueue[capacity=" + getCapacity() + ", size=" + size() + ", waitStrategy=" + waitStrategy + "]";
+    }
+}
@@ -0,0 +1,232 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.Rejectable;
+
+/**
+ * An {@link java.util.concurrent.ExecutorService} which executes each task in a new thread.
+ * <p/>
+ * There is no task queue, and no pooled threads. Instead the number of tasks which can execute concurrently
+ * is limited by a {@link Semaphore}, which allows a large number of concurrent tasks, for example when the tasks
+ * are blocking on remote I/O, without the need for a thread pool sized for the worst case. When the limit is reached
+ * the caller is blocked until a running task completes.
+ * <p/>
+ * <b>Important:</b> each task is executed by a new platform thread, which is not lightweight. Starting a thread
+ * costs far more than handing over a task to a pooled thread, and each thread reserves its own stack. This is
+ * therefore only useful for tasks which run for a long time compared to the cost of starting the thread, such as
+ * tasks blocking on remote I/O, and the number of concurrent tasks is always limited (by default 1000).
+ * <p/>
+ * Tasks are created as {@link RejectableFutureTask} so tasks implementing {@link Rejectable} is notified
+ * when they are rejected, which happens if the executor service is shutdown.
+ */
+public class ThreadPerTaskExecutorService extends AbstractExecutorService {
+
+    /**
+     * The default maximum number of tasks which can execute concurrently.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_TASKS = 1000;
+
+    private final ThreadFactory threadFactory;
+    private final int maxConcurrentTasks;
+    private final Semaphore permits;
+    private final Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong completedTaskCount = new AtomicLong();
+    private final Object termination = new Object();
+    private volatile boolean shutdown;
+
+    /**
+     * Creates the executor service.
+     *
+     * @param threadFactory      factory for creating the threads
+     * @param maxConcurrentTasks the maximum number of tasks which can execute concurrently, use <tt>0</tt> or a negative
+     *                           number to use the default of {@link #DEFAULT_MAX_CONCURRENT_TASKS}
+     */
+    public ThreadPerTaskExecutorService(ThreadFactory threadFactory, int maxConcurrentTasks) {
+        this.threadFactory = threadFactory;
+        this.maxConcurrentTasks = maxConcurrentTasks > 0 ? maxConcurrentTasks : DEFAULT_MAX_CONCURRENT_TASKS;
+        this.permits = new Semaphore(this.maxConcurrentTasks);
+    }
+
+    public void execute(Runnable task) {
+        // mark as active before checking for shutdown so termination cannot happen in between
+        activeCount.incrementAndGet();
+        if (shutdown) {
+            done(null);
+            reject(task);
+            return;
+        }
+        try {
+            // block until a running task completes if the limit is reached
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            done(null);
+            reject(task);
+            return;
+        }
+        if (shutdown) {
+            permits.release();
+            done(null);
+            reject(task);
+            return;
+        }
+
+        Thread thread = null;
+        try {
+            thread = threadFactory.newThread(new Worker(task));
+            threads.add(thread);
+            thread.start();
+        } catch (Throwable e) {
+            permits.release();
+            done(thread);
+            throw new RejectedExecutionException("Cannot create thread to execute task: " + task, e);
+        }
+    }
+
+    private void reject(Runnable task) {
+        if (task instanceof Rejectable) {
+            ((Rejectable) task).reject();
+        } else {
+            throw new RejectedExecutionException("Task " + task + " rejected from " + this);
+        }
+    }
+
+    private void done(Thread thread) {
+        if (thread != null) {
+            threads.remove(thread);
+        }
+        if (activeCount.decrementAndGet() == 0 && shutdown) {
+            synchronized (termination) {
+                termination.notifyAll();
+            }
+        }
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        if (activeCount.get() == 0) {
+            synchronized (termination) {
+                termination.notifyAll();
+            }
+        }
+    }
+
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        // there is no task queue, so there is no tasks which has not been executed
+        return new ArrayList<Runnable>(0);
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public boolean isTerminated() {
+        return shutdown && activeCount.get() == 0;
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (termination) {
+            while (!isTerminated()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(termination, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the maximum number of tasks which can execute concurrently
+     */
+    public int getMaxConcurrentTasks() {
+        return maxConcurrentTasks;
+    }
+
+    /**
+     * Gets the number of tasks currently executing
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * Gets the number of tasks which has completed
+     */
+    public long getCompletedTaskCount() {
+        return completedTaskCount.get();
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new RejectableFutureTask<T>(runnable, value);
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new RejectableFutureTask<T>(callable);
+    }
+
+    @Override
+    public String toString() {
+        String name = threadFactory instanceof CamelThreadFactory ? "[" + ((CamelThreadFactory) threadFactory).getName() + "]" : "";
+        return "ThreadPerTaskExecutorService[active: " + activeCount.get() + ", max: " + maxConcurrentTasks
+                + ", completed: " + completedTaskCount.get() + (shutdown ? ", shutdown" : "") + "]" + name;
+    }
+
+    private final class Worker implements Runnable {
+
+        private final Runnable task;
+
+        private Worker(Runnable task) {
+            this.task = task;
+        }
+
+        public void run() {
+            try {
+                task.run();
+            } finally {
+                completedTaskCount.incrementAndGet();
+                permits.release();
+                done(Thread.currentThread());
+            }
+        }
+    }
+}
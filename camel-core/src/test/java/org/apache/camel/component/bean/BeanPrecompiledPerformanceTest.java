@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.JndiRegistry;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+
+/**
+ * Compares invoking a bean, which has several methods to choose among, with and without precompiled invocations.
+ */
+public class BeanPrecompiledPerformanceTest extends ContextTestSupport {
+
+    private final int times = 100000;
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("myBean", new MyBean());
+        return jndi;
+    }
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        invoke("direct:normal", times);
+        invoke("direct:precompiled", times);
+
+        StopWatch watch = new StopWatch();
+        invoke("direct:normal", times);
+        log.info("Took {} to invoke the bean {} times", TimeUtils.printDuration(watch.stop()), times);
+
+        watch.restart();
+        invoke("direct:precompiled", times);
+        log.info("Took {} to invoke the bean {} times using precompiled invocations", TimeUtils.printDuration(watch.stop()), times);
+    }
+
+    private void invoke(String uri, int size) {
+        for (int i = 0; i < size; i++) {
+            if (i % 2 == 0) {
+                template.sendBody(uri, "Camel");
+            } else {
+                template.sendBody(uri, i);
+            }
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:normal")
+                    .to("bean:myBean");
+
+                from("direct:precompiled")
+                    .to("bean:myBean?precompiled=true");
+            }
+        };
+    }
+
+    public static class MyBean {
+
+        public String hello(String name) {
+            return "Hello " + name;
+        }
+
+        public String number(Integer number) {
+            return "Number " + number;
+        }
+
+        public String bytes(byte[] data) {
+            return "Bytes " + data.length;
+        }
+
+        public String chars(StringBuilder data) {
+            return "Chars " + data.length();
+        }
+    }
+}
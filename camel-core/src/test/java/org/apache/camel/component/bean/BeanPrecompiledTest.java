@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.JndiRegistry;
+
+/**
+ * @version 
+ */
+public class BeanPrecompiledTest extends ContextTestSupport {
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("myBean", new MyBean());
+        jndi.bind("myStaticBean", new MyStaticBean());
+        return jndi;
+    }
+
+    public void testPrecompiledChooseMethodPerBodyType() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello Camel", "Number 123", "Hello World", "Number 456");
+
+        template.sendBody("direct:start", "Camel");
+        template.sendBody("direct:start", 123);
+        template.sendBody("direct:start", "World");
+        template.sendBody("direct:start", 456);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testPrecompiledSharedAcrossEndpoints() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello Camel", "Number 123");
+        getMockEndpoint("mock:other").expectedBodiesReceived("Number 456", "Hello World");
+
+        template.sendBody("direct:start", "Camel");
+        template.sendBody("direct:start", 123);
+        template.sendBody("direct:other", 456);
+        template.sendBody("direct:other", "World");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testPrecompiledMethodName() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Number 123");
+
+        template.sendBodyAndHeader("direct:start", "123", Exchange.BEAN_METHOD_NAME, "number");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testPrecompiledStaticMethod() throws Exception {
+        getMockEndpoint("mock:static").expectedBodiesReceived(16L, 81L);
+
+        template.sendBody("direct:static", 4L);
+        template.sendBody("direct:static", 9);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testPrecompiledException() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello Camel");
+
+        try {
+            template.sendBody("direct:start", "Kaboom");
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            // the exception thrown by the bean should not be wrapped
+            IllegalArgumentException cause = assertIsInstanceOf(IllegalArgumentException.class, e.getCause());
+            assertEquals("Forced", cause.getMessage());
+        }
+
+        template.sendBody("direct:start", "Camel");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .to("bean:myBean?precompiled=true")
+                    .to("mock:result");
+
+                from("direct:other")
+                    .to("bean:myBean?precompiled=true")
+                    .to("mock:other");
+
+                from("direct:static")
+                    .to("bean:myStaticBean?precompiled=true&method=square")
+                    .to("mock:static");
+            }
+        };
+    }
+
+    public static class MyBean {
+
+        public String hello(String name) {
+            if ("Kaboom".equals(name)) {
+                throw new IllegalArgumentException("Forced");
+            }
+            return "Hello " + name;
+        }
+
+        public String number(Integer number) {
+            return "Number " + number;
+        }
+    }
+
+    public static class MyStaticBean {
+
+        public static long square(long value) {
+            return value * value;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+
+/**
+ * Unit test for skipping unchanged directories when scanning
+ */
+public class FileConsumerIncrementalScanTest extends ContextTestSupport {
+
+    private String fileUrl = "file://target/incrementalscan/";
+    private final CountingFileFilter filter = new CountingFileFilter();
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("myFilter", filter);
+        return jndi;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/incrementalscan");
+        super.setUp();
+    }
+
+    public void testIncrementalScan() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(3);
+
+        template.sendBodyAndHeader(fileUrl, "Hello", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(fileUrl, "Bye", Exchange.FILE_NAME, "sub/bye.txt");
+        template.sendBodyAndHeader(fileUrl, "Hi", Exchange.FILE_NAME, "sub/deep/hi.txt");
+
+        // make the directories look like they have not been changed recently
+        long past = System.currentTimeMillis() - 60000;
+        new File("target/incrementalscan/sub/deep").setLastModified(past);
+        new File("target/incrementalscan/sub").setLastModified(past);
+        new File("target/incrementalscan").setLastModified(past);
+
+        context.startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+
+        // the files are consumed so the directories should not be listed anymore after the next poll
+        Thread.sleep(500);
+        int count = filter.files.get();
+        Thread.sleep(500);
+        assertEquals("Should not list unchanged directories", count, filter.files.get());
+
+        // a new file changes the directory so its picked up
+        resetMocks();
+        mock.expectedBodiesReceived("Hello Again");
+        template.sendBodyAndHeader(fileUrl, "Hello Again", Exchange.FILE_NAME, "sub/deep/again.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(fileUrl + "?recursive=true&noop=true&readLock=none&incrementalScan=true&delay=10&filter=#myFilter")
+                    .routeId("foo").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+
+    private static final class CountingFileFilter implements GenericFileFilter<File> {
+        private final AtomicInteger files = new AtomicInteger();
+
+        public boolean accept(GenericFile<File> file) {
+            if (!file.isDirectory()) {
+                files.incrementAndGet();
+            }
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+
+/**
+ * Unit test for scanning sub directories in parallel
+ */
+public class FileConsumerParallelScanTest extends ContextTestSupport {
+
+    private String fileUrl = "file://target/parallelscan/";
+    private final Set<String> scanThreads = new CopyOnWriteArraySet<String>();
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/parallelscan");
+        super.setUp();
+    }
+
+    public void testParallelScan() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("a", "a1", "a2", "b", "b1", "c", "d");
+
+        template.sendBodyAndHeader(fileUrl, "a", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader(fileUrl, "a1", Exchange.FILE_NAME, "a/a1.txt");
+        template.sendBodyAndHeader(fileUrl, "a2", Exchange.FILE_NAME, "a/a2/a2.txt");
+        template.sendBodyAndHeader(fileUrl, "b", Exchange.FILE_NAME, "b/b.txt");
+        template.sendBodyAndHeader(fileUrl, "b1", Exchange.FILE_NAME, "b/b1/b1.txt");
+        template.sendBodyAndHeader(fileUrl, "c", Exchange.FILE_NAME, "c/c.txt");
+        template.sendBodyAndHeader(fileUrl, "d", Exchange.FILE_NAME, "c/c1/c2/d.txt");
+
+        context.startRoute("all");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testParallelScanMaxMessagesPerPoll() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:limit");
+        mock.expectedMessageCount(6);
+        mock.message(0).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(4);
+
+        for (int i = 0; i < 6; i++) {
+            template.sendBodyAndHeader(fileUrl, "Hello " + i, Exchange.FILE_NAME, "sub" + i + "/hello" + i + ".txt");
+        }
+
+        context.startRoute("limit");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testParallelScanThreadName() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:named");
+        mock.expectedMessageCount(2);
+
+        template.sendBodyAndHeader(fileUrl, "a1", Exchange.FILE_NAME, "a/a1.txt");
+        template.sendBodyAndHeader(fileUrl, "b1", Exchange.FILE_NAME, "b/b1.txt");
+
+        context.startRoute("named");
+
+        assertMockEndpointsSatisfied();
+
+        // the directories are scanned by the threads from the thread pool of the consumer
+        assertFalse(scanThreads.isEmpty());
+        for (String name : scanThreads) {
+            assertTrue("Should be a file scanner thread: " + name, name.contains("FileScanner"));
+        }
+    }
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("threadFilter", new GenericFileFilter<Object>() {
+            public boolean accept(GenericFile<Object> file) {
+                scanThreads.add(Thread.currentThread().getName());
+                return true;
+            }
+        });
+        return jndi;
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(fileUrl + "?recursive=true&parallelScan=true&scanParallelism=4&sortBy=file:name")
+                    .routeId("all").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:result");
+
+                from(fileUrl + "?recursive=true&parallelScan=true&maxMessagesPerPoll=4")
+                    .routeId("limit").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:limit");
+
+                from(fileUrl + "?recursive=true&parallelScan=true&filter=#threadFilter")
+                    .routeId("named").noAutoStartup()
+                    .to("mock:named");
+            }
+        };
+    }
+
+}
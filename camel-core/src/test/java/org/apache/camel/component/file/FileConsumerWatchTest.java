@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * Unit test for polling when the watch service reports changes
+ */
+public class FileConsumerWatchTest extends ContextTestSupport {
+
+    // some platforms implement the watch service by polling the file system every 10 seconds
+    private static final long WAIT = 20000;
+
+    // the scheduled polls are delayed so the files can only be picked up due to the watch service
+    private String fileUrl = "file://target/watch/?watch=true&initialDelay=60000&delay=60000";
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/watch");
+        createDirectory("target/watch");
+        deleteDirectory("target/watchchanged");
+        createDirectory("target/watchchanged");
+        super.setUp();
+    }
+
+    public void testWatch() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+        mock.setResultWaitTime(WAIT);
+
+        template.sendBodyAndHeader("file://target/watch", "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testWatchRecursive() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:recursive");
+        mock.expectedBodiesReceived("Bye World");
+        mock.setResultWaitTime(WAIT);
+
+        // the sub directory does not exist when the consumer starts
+        template.sendBodyAndHeader("file://target/watch", "Bye World", Exchange.FILE_NAME, "sub/bye.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testWatchChangedReadLock() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:changed");
+        mock.expectedBodiesReceived("Hello World");
+        mock.setResultWaitTime(WAIT);
+
+        template.sendBodyAndHeader("file://target/watch", "Hello World", Exchange.FILE_NAME, "changed.dat");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testWatchOnlyChangedDirectories() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:scoped");
+        mock.expectedBodiesReceived("New");
+        mock.setResultWaitTime(WAIT);
+        mock.setAssertPeriod(1000);
+
+        // the existing file is only picked up by the scheduled poll, as its directory is not changed
+        template.sendBodyAndHeader("file://target/watchchanged", "Old", Exchange.FILE_NAME, "old/old.txt");
+        context.startRoute("scoped");
+        template.sendBodyAndHeader("file://target/watchchanged", "New", Exchange.FILE_NAME, "new/new.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testWatchNotIdle() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:idle");
+        mock.expectedBodiesReceived("Hello World");
+        mock.setResultWaitTime(WAIT);
+        mock.setAssertPeriod(1000);
+
+        context.startRoute("idle");
+        // the polls due to file events should not send empty messages
+        template.sendBodyAndHeader("file://target/watchchanged", "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(fileUrl + "&include=.*\\.txt").routeId("flat")
+                    .convertBodyTo(String.class).to("mock:result");
+
+                from(fileUrl + "&recursive=true&minDepth=2").routeId("recursive")
+                    .convertBodyTo(String.class).to("mock:recursive");
+
+                from(fileUrl + "&include=.*\\.dat&readLock=changed&readLockCheckInterval=100").routeId("changed")
+                    .convertBodyTo(String.class).to("mock:changed");
+
+                from("file://target/watchchanged/?watch=true&initialDelay=60000&delay=60000&recursive=true")
+                    .routeId("scoped").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:scoped");
+
+                from("file://target/watchchanged/?watch=true&initialDelay=60000&delay=60000&sendEmptyMessageWhenIdle=true")
+                    .routeId("idle").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:idle");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.NotifyBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+
+/**
+ * Routes a large (multi-GB) file from a file consumer to a file producer, which is written using
+ * file channel transfer without reading the file into the JVM.
+ */
+public class FileProducerLargeFilePerformanceTest extends ContextTestSupport {
+
+    private final long size = 3L * 1024 * 1024 * 1024;
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/largefile");
+        super.setUp();
+    }
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // use a sparse file so it is quick to create
+        File dir = new File("target/largefile/tmp");
+        dir.mkdirs();
+        File file = new File(dir, "large.dat");
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(size);
+            raf.seek(size - 1);
+            raf.write(1);
+        } finally {
+            raf.close();
+        }
+
+        NotifyBuilder notify = new NotifyBuilder(context).whenDone(1).create();
+        StopWatch watch = new StopWatch();
+        assertTrue(file.renameTo(new File("target/largefile/in/large.dat")));
+
+        assertTrue(notify.matches(10, TimeUnit.MINUTES));
+        log.info("Routing {} bytes took {}", size, TimeUtils.printDuration(watch.stop()));
+
+        assertEquals(size, new File("target/largefile/out/large.dat").length());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file:target/largefile/in?autoCreate=true")
+                    .to("file:target/largefile/out");
+            }
+        };
+    }
+}
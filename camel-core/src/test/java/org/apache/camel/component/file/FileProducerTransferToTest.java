@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * Unit test for writing files using file channel transfer
+ */
+public class FileProducerTransferToTest extends ContextTestSupport {
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/transferto");
+        super.setUp();
+    }
+
+    public void testFileToFileSameCharset() throws Exception {
+        // the last byte is not valid UTF-8, so it would be replaced if the file was decoded and encoded
+        byte[] data = new byte[]{'H', 'e', 'l', 'l', 'o', (byte) 0xFF};
+        writeFile("target/transferto/in/hello.txt", data);
+
+        assertTrue(oneExchangeDone.matchesMockWaitTime());
+
+        assertTrue(Arrays.equals(data, readFile("target/transferto/out/hello.txt")));
+    }
+
+    public void testFileInputStream() throws Exception {
+        byte[] data = new byte[1024 * 1024 + 7];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        writeFile("target/transferto/source.dat", data);
+
+        FileInputStream fis = new FileInputStream("target/transferto/source.dat");
+        template.sendBodyAndHeader("file:target/transferto/stream", fis, Exchange.FILE_NAME, "target.dat");
+
+        assertTrue(Arrays.equals(data, readFile("target/transferto/stream/target.dat")));
+    }
+
+    public void testFileInputStreamPartiallyRead() throws Exception {
+        writeFile("target/transferto/partial.dat", "Hello World".getBytes());
+
+        // only the remainder of the stream should be written
+        FileInputStream fis = new FileInputStream("target/transferto/partial.dat");
+        assertEquals(6, fis.skip(6));
+        template.sendBodyAndHeader("file:target/transferto/stream", fis, Exchange.FILE_NAME, "partial.dat");
+
+        assertEquals("World", new String(readFile("target/transferto/stream/partial.dat")));
+    }
+
+    public void testFileInputStreamWithoutSize() throws Exception {
+        // special files report a size of 0 even though they have content
+        File version = new File("/proc/version");
+        if (!version.exists()) {
+            return;
+        }
+
+        FileInputStream fis = new FileInputStream(version);
+        template.sendBodyAndHeader("file:target/transferto/stream", fis, Exchange.FILE_NAME, "version.txt");
+
+        byte[] data = readFile("target/transferto/stream/version.txt");
+        assertTrue("Should write the content of the special file", data.length > 0);
+        assertTrue(Arrays.equals(readFile(version.getPath()), data));
+    }
+
+    private static void writeFile(String name, byte[] data) throws Exception {
+        File file = new File(name);
+        file.getParentFile().mkdirs();
+        File temp = new File(file.getParentFile(), "." + file.getName());
+        FileOutputStream fos = new FileOutputStream(temp);
+        try {
+            fos.write(data);
+        } finally {
+            fos.close();
+        }
+        // rename so the file is not picked up while being written
+        assertTrue(temp.renameTo(file));
+    }
+
+    private static byte[] readFile(String name) throws Exception {
+        FileInputStream fis = new FileInputStream(name);
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            IOHelper.copy(fis, bos);
+            return bos.toByteArray();
+        } finally {
+            fis.close();
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file:target/transferto/in?charset=UTF-8")
+                    .to("file:target/transferto/out?charset=UTF-8");
+            }
+        };
+    }
+}
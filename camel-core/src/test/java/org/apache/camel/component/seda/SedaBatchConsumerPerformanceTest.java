@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.NotifyBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+
+/**
+ * Compares the throughput of the seda consumer polling one by one vs draining batches,
+ * using 1, 4 and 16 concurrent consumers.
+ */
+public class SedaBatchConsumerPerformanceTest extends ContextTestSupport {
+
+    private final int size = 200000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        run("single-1");
+        run("batch-1");
+
+        for (int consumers : new int[]{1, 4, 16}) {
+            for (String name : new String[]{"single", "batch"}) {
+                String id = name + "-" + consumers;
+                StopWatch watch = new StopWatch();
+                run(id);
+                log.info("{} took {}", id, TimeUtils.printDuration(watch.stop()));
+            }
+        }
+    }
+
+    private void run(String id) throws Exception {
+        NotifyBuilder notify = new NotifyBuilder(context).fromRoute(id).whenDone(size).create();
+        for (int i = 0; i < size; i++) {
+            template.sendBody("seda:" + id, "Hello " + i);
+        }
+        assertTrue(notify.matches(5, TimeUnit.MINUTES));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                for (int consumers : new int[]{1, 4, 16}) {
+                    from("seda:single-" + consumers + "?concurrentConsumers=" + consumers).routeId("single-" + consumers)
+                        .to("log:single-" + consumers + "?groupSize=50000");
+
+                    from("seda:batch-" + consumers + "?concurrentConsumers=" + consumers + "&batchSize=100").routeId("batch-" + consumers)
+                        .to("log:batch-" + consumers + "?groupSize=50000");
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class SedaBatchConsumerTest extends ContextTestSupport {
+
+    public void testBatch() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("A", "B", "C", "D", "E");
+        mock.message(0).property(Exchange.BATCH_INDEX).isEqualTo(0);
+        mock.message(0).property(Exchange.BATCH_SIZE).isEqualTo(3);
+        mock.message(0).property(Exchange.BATCH_COMPLETE).isEqualTo(false);
+        mock.message(2).property(Exchange.BATCH_INDEX).isEqualTo(2);
+        mock.message(2).property(Exchange.BATCH_COMPLETE).isEqualTo(true);
+        mock.message(3).property(Exchange.BATCH_INDEX).isEqualTo(0);
+        mock.message(3).property(Exchange.BATCH_SIZE).isEqualTo(2);
+        mock.message(4).property(Exchange.BATCH_COMPLETE).isEqualTo(true);
+
+        // send before the consumer is started so the messages are drained as batches
+        template.sendBody("seda:foo", "A");
+        template.sendBody("seda:foo", "B");
+        template.sendBody("seda:foo", "C");
+        template.sendBody("seda:foo", "D");
+        template.sendBody("seda:foo", "E");
+
+        context.startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testBatchCompletedOnShutdown() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:slow");
+        mock.expectedBodiesReceived("A", "B", "C", "D", "E");
+
+        template.sendBody("seda:slow", "A");
+        template.sendBody("seda:slow", "B");
+        template.sendBody("seda:slow", "C");
+        template.sendBody("seda:slow", "D");
+        template.sendBody("seda:slow", "E");
+
+        context.startRoute("slow");
+        // wait until the batch has been drained from the queue and is being processed
+        for (int i = 0; i < 100 && mock.getReceivedCounter() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, context.getEndpoint("seda:slow", SedaEndpoint.class).getQueue().size());
+        // the batch being processed is pending
+        SedaConsumer consumer = (SedaConsumer) context.getRoute("slow").getConsumer();
+        assertTrue("Should have pending exchanges", consumer.getPendingExchangesSize() > 0);
+
+        // graceful shutdown should wait for the remainder of the batch to be processed
+        context.stopRoute("slow");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testGroupedBatch() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:grouped");
+        mock.expectedMessageCount(1);
+        mock.message(0).property(Exchange.BATCH_SIZE).isEqualTo(3);
+
+        template.sendBody("seda:bar", "a");
+        template.sendBody("seda:bar", "b");
+        template.sendBody("seda:bar", "c");
+
+        context.startRoute("bar");
+
+        assertMockEndpointsSatisfied();
+
+        List<?> list = mock.getReceivedExchanges().get(0).getIn().getBody(List.class);
+        assertEquals(3, list.size());
+        assertEquals("A", ((Exchange) list.get(0)).getIn().getBody());
+        assertEquals("B", ((Exchange) list.get(1)).getIn().getBody());
+        assertEquals("C", ((Exchange) list.get(2)).getIn().getBody());
+    }
+
+    public void testGroupedBatchInOut() throws Exception {
+        context.startRoute("bar");
+
+        assertEquals("HELLO", template.requestBody("seda:bar", "hello"));
+        assertEquals("WORLD", template.requestBody("seda:bar", "world"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?batchSize=3").routeId("foo").noAutoStartup()
+                    .to("mock:result");
+
+                from("seda:slow?batchSize=10").routeId("slow").noAutoStartup()
+                    .to("mock:slow")
+                    .delay(100);
+
+                from("seda:bar?batchSize=10&groupedBatch=true").routeId("bar").noAutoStartup()
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            List<Exchange> batch = exchange.getProperty(Exchange.GROUPED_EXCHANGE, List.class);
+                            for (Exchange e : batch) {
+                                e.getIn().setBody(e.getIn().getBody(String.class).toUpperCase());
+                            }
+                        }
+                    })
+                    .to("mock:grouped");
+            }
+        };
+    }
+}
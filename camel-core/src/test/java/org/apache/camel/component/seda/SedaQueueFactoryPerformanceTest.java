@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.NotifyBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.SimpleRegistry;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+import org.apache.camel.util.concurrent.RingBufferBlockingQueue.WaitStrategy;
+
+/**
+ * Compares the throughput of seda using the lock based queues vs the lock-free ring buffer,
+ * with 4 concurrent producers and 4 concurrent consumers.
+ */
+public class SedaQueueFactoryPerformanceTest extends ContextTestSupport {
+
+    private static final String[] NAMES = {"linked", "array", "spin", "yield", "park"};
+    private final int threads = 4;
+    private final int size = 250000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        for (String name : NAMES) {
+            run(name);
+        }
+
+        for (String name : NAMES) {
+            StopWatch watch = new StopWatch();
+            run(name);
+            log.info("{} took {}", name, TimeUtils.printDuration(watch.stop()));
+        }
+    }
+
+    private void run(final String name) throws Exception {
+        NotifyBuilder notify = new NotifyBuilder(context).fromRoute(name).whenDone(threads * size).create();
+
+        final CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < size; j++) {
+                        template.sendBody(uri(name), "Hello");
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.MINUTES));
+        assertTrue(notify.matches(5, TimeUnit.MINUTES));
+        executor.shutdownNow();
+    }
+
+    private static String uri(String name) {
+        return "seda:" + name + "?size=1024&blockWhenFull=true&concurrentConsumers=4&queueFactory=#" + name;
+    }
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        SimpleRegistry registry = new SimpleRegistry();
+        ArrayBlockingQueueFactory<Exchange> array = new ArrayBlockingQueueFactory<Exchange>();
+        array.setDefaultCapacity(1024);
+        registry.put("linked", new LinkedBlockingQueueFactory<Exchange>());
+        registry.put("array", array);
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            RingBufferBlockingQueueFactory<Exchange> ring = new RingBufferBlockingQueueFactory<Exchange>();
+            ring.setWaitStrategy(strategy);
+            registry.put(strategy.name().toLowerCase(), ring);
+        }
+        return new DefaultCamelContext(registry);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                for (String name : NAMES) {
+                    from(uri(name)).routeId(name)
+                        .to("log:" + name + "?groupSize=100000");
+                }
+            }
+        };
+    }
+}
@@ -23,19 +23,23 @@ import java.util.concurrent.LinkedBlockingQueue;
 import org.apache.camel.CamelContext;
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.impl.SimpleRegistry;
+import org.apache.camel.util.concurrent.RingBufferBlockingQueue;
 
 /**
  *
  */
 public class SedaQueueFactoryTest extends ContextTestSupport {
     private final ArrayBlockingQueueFactory<Exchange> arrayQueueFactory = new ArrayBlockingQueueFactory<Exchange>();
+    private final RingBufferBlockingQueueFactory<Exchange> ringBufferQueueFactory = new RingBufferBlockingQueueFactory<Exchange>();
 
     @Override
     protected CamelContext createCamelContext() throws Exception {
         SimpleRegistry simpleRegistry = new SimpleRegistry();
         simpleRegistry.put("arrayQueueFactory", arrayQueueFactory);
+        simpleRegistry.put("ringBufferQueueFactory", ringBufferQueueFactory);
         return new DefaultCamelContext(simpleRegistry);
     }
 
@@ -56,7 +60,42 @@ public class SedaQueueFactoryTest extends ContextTestSupport {
         assertEquals("remainingCapacity", 50, blockingQueue.remainingCapacity());
     }
 
-    
+    @SuppressWarnings("unchecked")
+    public void testRingBufferBlockingQueueFactory() throws Exception {
+        SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:ringBufferQueue?queueFactory=#ringBufferQueueFactory", SedaEndpoint.class);
+
+        BlockingQueue<Exchange> queue = endpoint.getQueue();
+        RingBufferBlockingQueue<Exchange> blockingQueue = assertIsInstanceOf(RingBufferBlockingQueue.class, queue);
+        assertEquals("remainingCapacity", 1024, blockingQueue.remainingCapacity());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testRingBufferBlockingQueueFactoryAndSize() throws Exception {
+        SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:ringBufferQueue50?queueFactory=#ringBufferQueueFactory&size=50", SedaEndpoint.class);
+
+        BlockingQueue<Exchange> queue = endpoint.getQueue();
+        RingBufferBlockingQueue<Exchange> blockingQueue = assertIsInstanceOf(RingBufferBlockingQueue.class, queue);
+        // rounded up to power of two
+        assertEquals("remainingCapacity", 64, blockingQueue.remainingCapacity());
+    }
+
+    public void testRingBufferBlockingQueueFactoryRoute() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:ring?queueFactory=#ringBufferQueueFactory&concurrentConsumers=4").to("mock:ring");
+            }
+        });
+
+        getMockEndpoint("mock:ring").expectedMessageCount(100);
+        for (int i = 0; i < 100; i++) {
+            template.sendBody("seda:ring?queueFactory=#ringBufferQueueFactory", i);
+        }
+        assertMockEndpointsSatisfied();
+
+        assertEquals("Bye World", template.requestBody("seda:ring?queueFactory=#ringBufferQueueFactory", "Bye World"));
+    }
+
     public void testDefaultBlockingQueueFactory() throws Exception {
         SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:linkedQueue", SedaEndpoint.class);
         BlockingQueue<Exchange> queue = endpoint.getQueue();
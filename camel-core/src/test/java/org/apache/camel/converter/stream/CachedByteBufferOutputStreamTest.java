@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.DefaultUnitOfWork;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.spi.UnitOfWork;
+
+public class CachedByteBufferOutputStreamTest extends ContextTestSupport {
+    private static final String TEST_STRING = "This is a test string and it has enough"
+        + " aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa ";
+
+    private Exchange exchange;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory("target/cachedir");
+        context.getStreamCachingStrategy().setSpoolThreshold(1024);
+        context.getStreamCachingStrategy().setBufferSize(16);
+        context.getStreamCachingStrategy().setOffHeap(true);
+        return context;
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        deleteDirectory("target/cachedir");
+        createDirectory("target/cachedir");
+
+        exchange = new DefaultExchange(context);
+        UnitOfWork uow = new DefaultUnitOfWork(exchange);
+        exchange.setUnitOfWork(uow);
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    public void testCacheStreamOffHeap() throws Exception {
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+        assertTrue(cos.getCurrentStream() instanceof CachedByteBufferOutputStream);
+        assertEquals("we should have no temp file", 0, new File("target/cachedir").list().length);
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the ByteBufferInputStreamCache", cache instanceof ByteBufferInputStreamCache);
+        assertTrue(cache.inMemory());
+        assertEquals(TEST_STRING.length(), cache.length());
+        assertEquals(TEST_STRING, context.getTypeConverter().convertTo(String.class, cache));
+
+        // reset and read again
+        cache.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals(TEST_STRING, bos.toString("UTF-8"));
+
+        // the copy shares the buffers but has its own position
+        StreamCache copy = cache.copy(exchange);
+        assertEquals(TEST_STRING, context.getTypeConverter().convertTo(String.class, copy));
+        assertEquals(TEST_STRING, context.getTypeConverter().convertTo(String.class, cache));
+
+        long used = statistics.getCacheOffHeapUsedSize();
+        assertTrue("Should use off-heap memory", used >= TEST_STRING.length());
+        assertEquals(0, used % 16);
+
+        exchange.getUnitOfWork().done(exchange);
+
+        // the stream caches are still in use so the buffers must not be given back to the pool
+        assertEquals(used, statistics.getCacheOffHeapUsedSize());
+        assertEquals(0, statistics.getCacheOffHeapPooledSize());
+        cache.reset();
+        assertEquals(TEST_STRING, context.getTypeConverter().convertTo(String.class, cache));
+
+        // the buffers are given back to the pool when the stream caches are garbage collected
+        cache = null;
+        copy = null;
+        awaitSharedBuffersReleased(statistics);
+        assertEquals(0, statistics.getCacheOffHeapUsedSize());
+        assertEquals(used, statistics.getCacheOffHeapPooledSize());
+    }
+
+    public void testCacheStreamOffHeapReuseBuffers() throws Exception {
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange, false);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ((CachedByteBufferOutputStream) cos.getCurrentStream()).writeTo(bos);
+        assertEquals(TEST_STRING, bos.toString("UTF-8"));
+        cos.close();
+
+        long pooled = statistics.getCacheOffHeapPooledSize();
+        assertTrue(pooled > 0);
+        assertEquals(0, statistics.getCacheOffHeapUsedSize());
+
+        // the pooled buffers are reused
+        cos = new CachedOutputStream(exchange, false);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+        assertEquals(pooled, statistics.getCacheOffHeapUsedSize());
+        assertEquals(0, statistics.getCacheOffHeapPooledSize());
+        assertEquals(TEST_STRING, context.getTypeConverter().convertTo(String.class, cos.getInputStream()));
+        cos.close();
+    }
+
+    public void testCacheStreamOffHeapSpoolMemoryMapped() throws Exception {
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            sb.append(TEST_STRING);
+        }
+        String data = sb.toString();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+        assertTrue(statistics.getCacheOffHeapUsedSize() > 0);
+        for (int i = 1; i < 20; i++) {
+            cos.write(TEST_STRING.getBytes("UTF-8"));
+        }
+        // the buffers are given back when spooled to disk
+        assertEquals(0, statistics.getCacheOffHeapUsedSize());
+
+        File file = new File("target/cachedir");
+        assertEquals("we should have a temp file", 1, file.list().length);
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the FileInputStreamCache", cache instanceof FileInputStreamCache);
+        assertEquals(data.length(), cache.length());
+        assertEquals(data, context.getTypeConverter().convertTo(String.class, cache));
+
+        cache.reset();
+        StreamCache copy = cache.copy(exchange);
+        assertEquals(data, context.getTypeConverter().convertTo(String.class, copy));
+        assertEquals(data, context.getTypeConverter().convertTo(String.class, cache));
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals("we should have no temp file", 0, file.list().length);
+    }
+
+    private static void awaitSharedBuffersReleased(StreamCachingStrategy.Statistics statistics) throws InterruptedException {
+        for (int i = 0; i < 100 && statistics.getCacheOffHeapUsedSize() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+            CachedByteBufferOutputStream.releaseUnreachableBuffers();
+        }
+    }
+}
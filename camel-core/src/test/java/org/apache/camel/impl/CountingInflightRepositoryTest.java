@@ -0,0 +1,184 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.spi.OldestInflightRepository;
+
+/**
+ * @version
+ */
+public class CountingInflightRepositoryTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        CountingInflightRepository repo = new CountingInflightRepository();
+        repo.setSampleSize(100);
+        context.setInflightRepository(repo);
+        return context;
+    }
+
+    public void testCountingInflightRepository() throws Exception {
+        CountingInflightRepository repo = new CountingInflightRepository();
+        repo.setSampleSize(100);
+
+        assertEquals(0, repo.size());
+        assertNull(repo.oldest(null));
+
+        Exchange e1 = new DefaultExchange(context);
+        repo.add(e1);
+        repo.add(e1, "foo");
+        assertEquals(1, repo.size());
+        assertEquals(1, repo.size("foo"));
+
+        // so the exchanges are not added at the same time
+        Thread.sleep(10);
+
+        Exchange e2 = new DefaultExchange(context);
+        repo.add(e2);
+        repo.add(e2, "foo");
+        assertEquals(2, repo.size());
+        assertEquals(2, repo.size("foo"));
+        assertEquals(0, repo.size("bar"));
+
+        assertEquals(2, repo.browse().size());
+        assertSame(e1, repo.oldest(null).getExchange());
+        assertSame(e1, repo.browse(-1, true).iterator().next().getExchange());
+
+        repo.remove(e1);
+        repo.remove(e1, "foo");
+        assertEquals(1, repo.size());
+        assertEquals(1, repo.size("foo"));
+        assertSame(e2, repo.oldest(null).getExchange());
+        assertEquals(1, repo.browse().size());
+
+        repo.remove(e2);
+        repo.remove(e2, "foo");
+        assertEquals(0, repo.size());
+        assertEquals(0, repo.size("foo"));
+
+        repo.removeRoute("foo");
+        assertEquals(0, repo.size("foo"));
+    }
+
+    public void testCountingInflightRepositoryOldestUnderLoad() throws Exception {
+        CountingInflightRepository repo = new CountingInflightRepository();
+        repo.setSampleSize(1);
+
+        List<Exchange> exchanges = new ArrayList<Exchange>();
+        for (int i = 0; i < 500; i++) {
+            Exchange exchange = new DefaultExchange(context);
+            repo.add(exchange);
+            exchanges.add(exchange);
+        }
+        assertEquals(500, repo.size());
+
+        // only a bounded sample of the inflight exchanges is kept
+        int sampled = repo.browse().size();
+        assertTrue("Should only sample a few exchanges, was " + sampled, sampled > 0 && sampled < 500);
+
+        for (Exchange exchange : exchanges) {
+            repo.remove(exchange);
+        }
+        assertEquals(0, repo.size());
+        assertEquals(0, repo.browse().size());
+
+        // an exchange which gets stuck
+        Exchange stuck = new DefaultExchange(context);
+        repo.add(stuck);
+
+        Thread.sleep(10);
+
+        // while new exchanges keep arriving and completing
+        for (int i = 0; i < 500; i++) {
+            Exchange other = new DefaultExchange(context);
+            repo.add(other);
+            repo.remove(other);
+        }
+
+        assertEquals(1, repo.size());
+        assertSame(stuck, repo.oldest(null).getExchange());
+    }
+
+    public void testCountingInflightRepositoryNoSample() throws Exception {
+        CountingInflightRepository repo = new CountingInflightRepository();
+        assertEquals(0, repo.getSampleSize());
+
+        Exchange e1 = new DefaultExchange(context);
+        repo.add(e1);
+        assertEquals(1, repo.size());
+        assertEquals(0, repo.browse().size());
+        assertNull(repo.oldest(null));
+
+        repo.remove(e1);
+        assertEquals(0, repo.size());
+    }
+
+    public void testInflight() throws Exception {
+        assertIsInstanceOf(CountingInflightRepository.class, context.getInflightRepository());
+        assertEquals(0, context.getInflightRepository().size());
+
+        template.sendBody("direct:start", "Hello World");
+
+        assertEquals(0, context.getInflightRepository().size());
+        assertEquals(0, context.getInflightRepository().size("foo"));
+        assertEquals(0, context.getInflightRepository().browse().size());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo")
+                        .to("mock:a")
+                        .process(new Processor() {
+                            @Override
+                            public void process(Exchange exchange) throws Exception {
+                                assertEquals(1, context.getInflightRepository().size());
+                                assertEquals(1, context.getInflightRepository().size("foo"));
+
+                                Collection<InflightRepository.InflightExchange> list = context.getInflightRepository().browse();
+                                assertEquals(1, list.size());
+
+                                InflightRepository.InflightExchange inflight = list.iterator().next();
+                                assertEquals(exchange, inflight.getExchange());
+                                assertEquals("foo", inflight.getRouteId());
+                                assertEquals("myProcessor", inflight.getNodeId());
+
+                                OldestInflightRepository repo = (OldestInflightRepository) context.getInflightRepository();
+                                InflightRepository.InflightExchange oldest = repo.oldest("foo");
+                                assertEquals(exchange, oldest.getExchange());
+                                assertNull(repo.oldest("bar"));
+                            }
+                        }).id("myProcessor")
+                        .to("mock:result");
+            }
+        };
+    }
+
+}
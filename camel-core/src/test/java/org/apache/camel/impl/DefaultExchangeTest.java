@@ -216,6 +216,38 @@ public class DefaultExchangeTest extends ExchangeTestSupport {
                      sourceIn.getClass(), destIn.getClass());
     }
 
+    public void testCopyProperties() {
+        DefaultExchange sourceExchange = new DefaultExchange(context);
+        sourceExchange.setProperty("foo", "cheese");
+        sourceExchange.setProperty("bar", 123);
+
+        Exchange destExchange = sourceExchange.copy();
+        assertEquals("cheese", destExchange.getProperty("foo"));
+        assertEquals(123, destExchange.getProperty("bar"));
+
+        // changing the copy should not affect the source
+        destExchange.setProperty("foo", "beer");
+        destExchange.removeProperty("bar");
+        destExchange.setProperty("baz", "wine");
+        assertEquals("beer", destExchange.getProperty("foo"));
+        assertNull(destExchange.getProperty("bar"));
+        assertEquals(2, destExchange.getProperties().size());
+
+        assertEquals("cheese", sourceExchange.getProperty("foo"));
+        assertEquals(123, sourceExchange.getProperty("bar"));
+        assertNull(sourceExchange.getProperty("baz"));
+
+        // and changing the source should not affect the copy
+        sourceExchange.setProperty("bar", 456);
+        assertNull(destExchange.getProperty("bar"));
+    }
+
+    public void testSetNullPropertyDoesNotCreateProperties() {
+        DefaultExchange sourceExchange = new DefaultExchange(context);
+        sourceExchange.setProperty("foo", null);
+        assertFalse(sourceExchange.hasProperties());
+    }
+
     public static class MyMessage extends DefaultMessage {
         @Override
         public MyMessage newInstance() {
@@ -16,9 +16,13 @@
  */
 package org.apache.camel.impl;
 
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Exchange;
 import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.spi.OldestInflightRepository;
 
 /**
  * @version 
@@ -31,17 +35,46 @@ public class DefaultInflightRepositoryTest extends ContextTestSupport {
         assertEquals(0, repo.size());
 
         Exchange e1 = new DefaultExchange(context);
+        e1.setProperty(Exchange.CREATED_TIMESTAMP, new Date(System.currentTimeMillis() - 1000));
         repo.add(e1);
         assertEquals(1, repo.size());
 
         Exchange e2 = new DefaultExchange(context);
+        e2.setProperty(Exchange.CREATED_TIMESTAMP, new Date());
         repo.add(e2);
         assertEquals(2, repo.size());
 
+        assertSame(e1, ((OldestInflightRepository) repo).oldest(null).getExchange());
+
         repo.remove(e2);
         assertEquals(1, repo.size());
 
         repo.remove(e1);
         assertEquals(0, repo.size());
+        assertNull(((OldestInflightRepository) repo).oldest(null));
+    }
+
+    public void testDoesNotCreateExchangeId() throws Exception {
+        final AtomicInteger counter = new AtomicInteger();
+        context.setUuidGenerator(new SimpleUuidGenerator() {
+            @Override
+            public String generateUuid() {
+                counter.incrementAndGet();
+                return super.generateUuid();
+            }
+        });
+
+        InflightRepository repo = new DefaultInflightRepository();
+
+        Exchange e1 = new DefaultExchange(context);
+        repo.add(e1);
+        assertEquals(1, repo.size());
+        repo.remove(e1);
+        assertEquals(0, repo.size());
+
+        // the exchange id is lazy created
+        assertEquals(0, counter.get());
+        assertEquals("1", e1.getExchangeId());
+        assertEquals(1, counter.get());
     }
 }
@@ -102,6 +102,42 @@ public class DefaultProducerCacheTest extends ContextTestSupport {
         assertEquals(3, shutdownCounter.get());
     }
 
+    public void testCacheFrequencyAdmission() throws Exception {
+        context.getProperties().put(Exchange.CACHE_POOL_FREQUENCY_ADMISSION, "true");
+
+        ProducerCache cache = new ProducerCache(this, context, 5);
+        cache.start();
+        assertTrue(cache.isFrequencyAdmission());
+
+        // use the same 5 producers over and over again
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 5; i++) {
+                Endpoint e = new MyEndpoint(true, i);
+                Producer p = cache.acquireProducer(e);
+                cache.releaseProducer(e, p);
+            }
+        }
+
+        // and then 3 producers only once
+        for (int i = 5; i < 8; i++) {
+            Endpoint e = new MyEndpoint(true, i);
+            Producer p = cache.acquireProducer(e);
+            cache.releaseProducer(e, p);
+        }
+
+        assertEquals("Size should be 5", 5, cache.size());
+        assertEquals(3, cache.getRejected());
+        assertEquals(0, cache.getEvicted());
+
+        // should have stopped the 3 rejected after usage
+        assertEquals(3, stopCounter.get());
+
+        cache.stop();
+
+        // should have stopped all 8
+        assertEquals(8, stopCounter.get());
+    }
+
     private final class MyEndpoint extends DefaultEndpoint {
 
         private final boolean isSingleton;
@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.aggregate.UseOriginalAggregationStrategy;
+import org.apache.camel.util.FastCaseInsensitiveMap;
+
+/**
+ * @version 
+ */
+public class FastHeadersMapFactoryTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camel = super.createCamelContext();
+        camel.setHeadersMapFactory(new FastHeadersMapFactory());
+        return camel;
+    }
+
+    public void testHeadersMap() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setHeader("foo", "cheese");
+
+        assertIsInstanceOf(FastCaseInsensitiveMap.class, exchange.getIn().getHeaders());
+        assertEquals("cheese", exchange.getIn().getHeader("FOO"));
+    }
+
+    public void testCopyShareHeaders() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setHeader("foo", "cheese");
+        exchange.getIn().setHeader("bar", "beer");
+
+        Exchange copy = exchange.copy();
+        FastCaseInsensitiveMap headers = assertIsInstanceOf(FastCaseInsensitiveMap.class, copy.getIn().getHeaders());
+        assertTrue("Should share the headers", headers.isShared());
+        assertEquals("cheese", copy.getIn().getHeader("Foo"));
+
+        // changing the copy should not affect the original
+        copy.getIn().setHeader("foo", "wine");
+        copy.getIn().removeHeader("bar");
+        assertFalse(headers.isShared());
+
+        assertEquals("cheese", exchange.getIn().getHeader("foo"));
+        assertEquals("beer", exchange.getIn().getHeader("bar"));
+        assertEquals("wine", copy.getIn().getHeader("foo"));
+        assertNull(copy.getIn().getHeader("bar"));
+
+        // and changing the original should not affect a safe copy
+        Exchange safe = exchange.copy(true);
+        exchange.getIn().setHeader("bar", "water");
+        assertEquals("beer", safe.getIn().getHeader("BAR"));
+        assertEquals("water", exchange.getIn().getHeader("BAR"));
+    }
+
+    public void testMulticast() throws Exception {
+        MockEndpoint a = getMockEndpoint("mock:a");
+        a.expectedHeaderReceived("foo", "a");
+        a.expectedHeaderReceived("bar", "beer");
+        MockEndpoint b = getMockEndpoint("mock:b");
+        b.expectedHeaderReceived("foo", "b");
+        b.expectedHeaderReceived("bar", "beer");
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedHeaderReceived("bar", "beer");
+
+        Exchange out = template.send("direct:start", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setHeader("FOO", "cheese");
+            }
+        });
+
+        assertMockEndpointsSatisfied();
+
+        // the original headers should not be changed by the multicast
+        assertEquals("cheese", out.getIn().getHeader("foo"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .setHeader("bar", constant("beer"))
+                    .multicast(new UseOriginalAggregationStrategy(null, false)).to("direct:a", "direct:b").end()
+                    .to("mock:result");
+
+                from("direct:a").setHeader("foo", constant("a")).to("mock:a");
+                from("direct:b").setHeader("Foo", constant("b")).to("mock:b");
+            }
+        };
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Consumer;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class PooledExchangeFactoryTest extends ContextTestSupport {
+
+    private PooledExchangeFactory factory;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camel = super.createCamelContext();
+        factory = new PooledExchangeFactory();
+        factory.setLeakDetection(true);
+        factory.getStatistics().setStatisticsEnabled(true);
+        camel.setExchangeFactory(factory);
+        return camel;
+    }
+
+    public void testReuseExchange() throws Exception {
+        Endpoint endpoint = context.getEndpoint("direct:start");
+
+        Exchange exchange = factory.create(endpoint, ExchangePattern.InOnly);
+        exchange.setProperty("foo", "bar");
+        exchange.getIn().setBody("Hello World");
+        String id = exchange.getExchangeId();
+        assertEquals(1, factory.getLeakCount());
+
+        factory.release(exchange);
+        assertEquals(0, factory.getLeakCount());
+        // the exchange is not cleared until its reused
+        assertEquals("Hello World", exchange.getIn().getBody());
+
+        Exchange exchange2 = factory.create(endpoint, ExchangePattern.InOut);
+        assertSame(exchange, exchange2);
+        assertNull(exchange2.getProperty("foo"));
+        assertNull(exchange2.getIn().getBody());
+        assertEquals(ExchangePattern.InOut, exchange2.getPattern());
+        assertFalse(id.equals(exchange2.getExchangeId()));
+
+        assertEquals(1, factory.getStatistics().getCreatedCounter());
+        assertEquals(1, factory.getStatistics().getAcquiredCounter());
+        assertEquals(1, factory.getStatistics().getReleasedCounter());
+    }
+
+    public void testReleaseTwice() throws Exception {
+        Endpoint endpoint = context.getEndpoint("direct:start");
+
+        Exchange exchange = factory.create(endpoint, ExchangePattern.InOnly);
+        factory.release(exchange);
+        factory.release(exchange);
+
+        Exchange exchange2 = factory.create(endpoint, ExchangePattern.InOnly);
+        Exchange exchange3 = factory.create(endpoint, ExchangePattern.InOnly);
+        assertSame(exchange, exchange2);
+        assertNotSame(exchange2, exchange3);
+    }
+
+    public void testNotReleasedByOtherThread() throws Exception {
+        Endpoint endpoint = context.getEndpoint("direct:start");
+
+        final Exchange exchange = factory.create(endpoint, ExchangePattern.InOnly);
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                factory.release(exchange);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(1, factory.getStatistics().getDiscardedCounter());
+        assertNotSame(exchange, factory.create(endpoint, ExchangePattern.InOnly));
+    }
+
+    public void testNotReleasedIfNotCreatedByFactory() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        factory.release(exchange);
+
+        assertEquals(0, factory.getStatistics().getReleasedCounter());
+        assertEquals(0, factory.getStatistics().getDiscardedCounter());
+    }
+
+    public void testEndpointCreateExchangeNotPooled() throws Exception {
+        Endpoint endpoint = new MyEndpoint("my:foo", context);
+
+        Exchange exchange = factory.create(endpoint, ExchangePattern.InOnly);
+        assertEquals("bar", exchange.getProperty("foo"));
+        factory.release(exchange);
+
+        // the endpoint creates the exchange in its own way, so its not reused
+        Exchange exchange2 = factory.create(endpoint, ExchangePattern.InOnly);
+        assertNotSame(exchange, exchange2);
+        assertEquals("bar", exchange2.getProperty("foo"));
+        assertEquals(0, factory.getStatistics().getAcquiredCounter());
+        assertEquals(0, factory.getLeakCount());
+    }
+
+    public void testTimer() throws Exception {
+        getMockEndpoint("mock:result").expectedMinimumMessageCount(5);
+
+        context.startRoute("timer");
+
+        assertMockEndpointsSatisfied();
+        context.stopRoute("timer");
+
+        assertTrue(factory.getStatistics().getReleasedCounter() >= 4);
+        assertTrue(factory.getStatistics().getAcquiredCounter() >= 4);
+        assertEquals(0, factory.getLeakCount());
+        // the mock endpoint receives a copy of the exchange, so the received messages are not affected by reusing the exchange
+        for (int i = 0; i < 5; i++) {
+            Exchange received = getMockEndpoint("mock:result").getReceivedExchanges().get(i);
+            assertEquals(i + 1, received.getProperty(Exchange.TIMER_COUNTER, Long.class).longValue());
+            assertEquals("Hello " + (i + 1), received.getIn().getBody());
+        }
+    }
+
+    public void testTimerAsync() throws Exception {
+        getMockEndpoint("mock:async").expectedMinimumMessageCount(3);
+
+        context.startRoute("async");
+
+        assertMockEndpointsSatisfied();
+        context.stopRoute("async");
+
+        // the exchanges are done by another thread, so they should not be reused
+        assertEquals(0, factory.getStatistics().getAcquiredCounter());
+        assertEquals(0, factory.getStatistics().getReleasedCounter());
+        assertTrue(factory.getStatistics().getDiscardedCounter() >= 3);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("timer:foo?period=10").routeId("timer").noAutoStartup()
+                    .setBody(simple("Hello ${property.CamelTimerCounter}"))
+                    .to("mock:result");
+
+                from("timer:bar?period=10").routeId("async").noAutoStartup()
+                    .threads(1)
+                    .to("mock:async");
+            }
+        };
+    }
+
+    private static final class MyEndpoint extends DefaultEndpoint {
+
+        MyEndpoint(String uri, CamelContext context) {
+            super(uri, context);
+        }
+
+        @Override
+        public Exchange createExchange(ExchangePattern pattern) {
+            Exchange answer = super.createExchange(pattern);
+            answer.setProperty("foo", "bar");
+            return answer;
+        }
+
+        public Producer createProducer() throws Exception {
+            return null;
+        }
+
+        public Consumer createConsumer(Processor processor) throws Exception {
+            return null;
+        }
+
+        public boolean isSingleton() {
+            return true;
+        }
+    }
+}
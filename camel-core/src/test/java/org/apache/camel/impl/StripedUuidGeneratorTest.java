@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+public class StripedUuidGeneratorTest extends TestCase {
+
+    public void testGenerateUUID() {
+        StripedUuidGenerator uuidGenerator = new StripedUuidGenerator();
+
+        String firstUUID = uuidGenerator.generateUuid();
+        String secondUUID = uuidGenerator.generateUuid();
+
+        assertFalse(firstUUID.equals(secondUUID));
+        assertTrue(firstUUID.startsWith("ID-"));
+    }
+
+    public void testStripes() {
+        assertEquals(1, new StripedUuidGenerator(1).getStripes());
+        assertEquals(4, new StripedUuidGenerator(3).getStripes());
+        assertEquals(8, new StripedUuidGenerator(8).getStripes());
+
+        try {
+            new StripedUuidGenerator(0);
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testUniqueAcrossGenerators() {
+        StripedUuidGenerator gen1 = new StripedUuidGenerator(1);
+        StripedUuidGenerator gen2 = new StripedUuidGenerator(1);
+
+        assertFalse(gen1.generateUuid().equals(gen2.generateUuid()));
+    }
+
+    public void testUniqueConcurrent() throws Exception {
+        final StripedUuidGenerator uuidGenerator = new StripedUuidGenerator(4);
+        final Set<String> ids = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        final int threads = 16;
+        final int size = 5000;
+        final CountDownLatch latch = new CountDownLatch(threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < size; j++) {
+                        ids.add(uuidGenerator.generateUuid());
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        executor.shutdownNow();
+
+        assertEquals(threads * size, ids.size());
+    }
+
+}
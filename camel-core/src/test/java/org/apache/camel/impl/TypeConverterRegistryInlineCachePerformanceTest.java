@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.converter.BaseTypeConverterRegistry;
+import org.apache.camel.impl.converter.TypeConverterInlineCache;
+import org.apache.camel.util.StopWatch;
+
+public class TypeConverterRegistryInlineCachePerformanceTest extends ContextTestSupport {
+
+    private int size = 1000000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        BaseTypeConverterRegistry registry = (BaseTypeConverterRegistry) context.getTypeConverterRegistry();
+        Exchange exchange = new DefaultExchange(context);
+
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < size; i++) {
+            registry.mandatoryConvertTo(Integer.class, exchange, "123");
+        }
+        log.info("Took " + watch.taken() + " millis without inline cache");
+
+        TypeConverterInlineCache cache = new TypeConverterInlineCache();
+        watch.restart();
+        for (int i = 0; i < size; i++) {
+            registry.mandatoryConvertTo(Integer.class, exchange, "123", cache);
+        }
+        log.info("Took " + watch.taken() + " millis with inline cache");
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+}
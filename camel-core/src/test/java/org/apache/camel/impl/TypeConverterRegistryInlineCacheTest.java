@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import junit.framework.TestCase;
+import org.apache.camel.Exchange;
+import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.impl.converter.BaseTypeConverterRegistry;
+import org.apache.camel.impl.converter.TypeConverterInlineCache;
+import org.apache.camel.support.TypeConverterSupport;
+
+/**
+ * @version 
+ */
+public class TypeConverterRegistryInlineCacheTest extends TestCase {
+
+    public void testInlineCache() throws Exception {
+        DefaultCamelContext context = new DefaultCamelContext();
+        BaseTypeConverterRegistry registry = (BaseTypeConverterRegistry) context.getTypeConverterRegistry();
+        Exchange exchange = new DefaultExchange(context);
+
+        TypeConverterInlineCache cache = new TypeConverterInlineCache();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Integer.valueOf(i), registry.mandatoryConvertTo(Integer.class, exchange, "" + i, cache));
+        }
+        // a different type of value on the same call site
+        assertEquals(Integer.valueOf(7), registry.mandatoryConvertTo(Integer.class, exchange, 7L, cache));
+        assertEquals(Integer.valueOf(8), registry.mandatoryConvertTo(Integer.class, exchange, "8", cache));
+    }
+
+    public void testInlineCacheMissThenAddTypeConverter() throws Exception {
+        DefaultCamelContext context = new DefaultCamelContext();
+        BaseTypeConverterRegistry registry = (BaseTypeConverterRegistry) context.getTypeConverterRegistry();
+        Exchange exchange = new DefaultExchange(context);
+
+        TypeConverterInlineCache cache = new TypeConverterInlineCache();
+        for (int i = 0; i < 2; i++) {
+            try {
+                registry.mandatoryConvertTo(MyOrder.class, exchange, "123", cache);
+                fail("Should have thrown an exception");
+            } catch (NoTypeConversionAvailableException e) {
+                // expected
+            }
+        }
+
+        // add missing type converter
+        registry.addTypeConverter(MyOrder.class, String.class, new MyOrderTypeConverter());
+
+        // this time it should work even though the inline cache remembered the miss
+        MyOrder order = registry.mandatoryConvertTo(MyOrder.class, exchange, "123", cache);
+        assertEquals(123, order.getId());
+        order = registry.mandatoryConvertTo(MyOrder.class, exchange, "456", cache);
+        assertEquals(456, order.getId());
+    }
+
+    public void testMissThenAddTypeConverter() throws Exception {
+        DefaultCamelContext context = new DefaultCamelContext();
+        BaseTypeConverterRegistry registry = (BaseTypeConverterRegistry) context.getTypeConverterRegistry();
+        Exchange exchange = new DefaultExchange(context);
+
+        // the miss is remembered in the lookup table
+        for (int i = 0; i < 2; i++) {
+            assertNull(registry.convertTo(MyOrder.class, exchange, "123"));
+        }
+
+        // add missing type converter
+        registry.addTypeConverter(MyOrder.class, String.class, new MyOrderTypeConverter());
+
+        MyOrder order = registry.convertTo(MyOrder.class, exchange, "123");
+        assertEquals(123, order.getId());
+    }
+
+    public void testMandatoryBodyInlineCache() throws Exception {
+        DefaultCamelContext context = new DefaultCamelContext();
+        Exchange exchange = new DefaultExchange(context);
+
+        TypeConverterInlineCache cache = new TypeConverterInlineCache();
+        exchange.getIn().setBody("123");
+        assertEquals(Integer.valueOf(123), ((MessageSupport) exchange.getIn()).getMandatoryBody(Integer.class, cache));
+        exchange.getIn().setBody("456");
+        assertEquals(Integer.valueOf(456), ((MessageSupport) exchange.getIn()).getMandatoryBody(Integer.class, cache));
+    }
+
+    private static class MyOrder {
+        private int id;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+    }
+
+    private static class MyOrderTypeConverter extends TypeConverterSupport {
+
+        @SuppressWarnings("unchecked")
+        public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+            // converter from value to the MyOrder bean
+            MyOrder order = new MyOrder();
+            order.setId(Integer.parseInt(value.toString()));
+            return (T) order;
+        }
+
+    }
+
+}
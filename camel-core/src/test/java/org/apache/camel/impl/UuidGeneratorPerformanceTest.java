@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.UuidGenerator;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the {@link UuidGenerator} implementations with 32 concurrent producer threads,
+ * and exchanges which creates the exchange id eager vs lazy.
+ * <p/>
+ * Also routes exchanges with breadcrumb enabled vs disabled, as the breadcrumb uses the message id
+ * which creates an id for every exchange routed, regardless whether the exchange id is lazy.
+ */
+public class UuidGeneratorPerformanceTest extends TestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UuidGeneratorPerformanceTest.class);
+
+    private final int threads = 32;
+    private final int size = 200000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        UuidGenerator[] generators = new UuidGenerator[]{new ActiveMQUuidGenerator(), new JavaUuidGenerator(), new StripedUuidGenerator()};
+
+        // warm up
+        for (UuidGenerator generator : generators) {
+            run(generator, false);
+        }
+
+        for (UuidGenerator generator : generators) {
+            StopWatch watch = new StopWatch();
+            run(generator, false);
+            LOG.info("{} took {}", generator.getClass().getSimpleName(), TimeUtils.printDuration(watch.stop()));
+        }
+
+        for (UuidGenerator generator : generators) {
+            StopWatch watch = new StopWatch();
+            run(generator, true);
+            LOG.info("{} with lazy exchange id took {}", generator.getClass().getSimpleName(), TimeUtils.printDuration(watch.stop()));
+        }
+
+        for (UuidGenerator generator : generators) {
+            for (boolean breadcrumb : new boolean[]{true, false}) {
+                StopWatch watch = new StopWatch();
+                route(generator, breadcrumb);
+                LOG.info("{} routing with breadcrumb {} took {}",
+                        new Object[]{generator.getClass().getSimpleName(), breadcrumb, TimeUtils.printDuration(watch.stop())});
+            }
+        }
+    }
+
+    private void route(UuidGenerator generator, boolean breadcrumb) throws Exception {
+        final CamelContext context = new DefaultCamelContext();
+        context.setUuidGenerator(generator);
+        context.setUseBreadcrumb(breadcrumb);
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").to("log:foo?level=OFF");
+            }
+        });
+        context.start();
+
+        final ProducerTemplate template = context.createProducerTemplate();
+        final CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < size / 10; j++) {
+                        template.sendBody("direct:start", "Hello World");
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.MINUTES));
+        executor.shutdownNow();
+        context.stop();
+    }
+
+    private void run(UuidGenerator generator, final boolean lazy) throws Exception {
+        final CamelContext context = new DefaultCamelContext();
+        context.setUuidGenerator(generator);
+
+        final CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < size; j++) {
+                        Exchange exchange = new DefaultExchange(context);
+                        // only read the id of every 10th exchange when lazy
+                        if (!lazy || j % 10 == 0) {
+                            exchange.getExchangeId();
+                        }
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.MINUTES));
+        executor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.ExchangeTestSupport;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * Compares evaluating simple expressions and predicates in interpreted and compiled mode.
+ */
+public class SimpleCompiledPerformanceTest extends ExchangeTestSupport {
+
+    private int size = 100000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        exchange.getIn().setBody(new SimpleCompiledTest.Customer("Donald", new SimpleCompiledTest.Address("Duckburg")));
+        exchange.getIn().setHeader("foo", 123);
+
+        // run a couple of times to warm up
+        for (int i = 0; i < 3; i++) {
+            run(false);
+            run(true);
+        }
+    }
+
+    private void run(boolean compiled) {
+        SimpleLanguage simple = new SimpleLanguage();
+        simple.setCompiled(compiled);
+
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < size; i++) {
+            Predicate predicate = simple.createPredicate("${header.foo} > 100 && ${body.address.city} == 'Duckburg'");
+            assertTrue(predicate.matches(exchange));
+        }
+        log.info("Parse and evaluate predicate (compiled={}) took {} millis", compiled, watch.taken());
+
+        Expression expression = simple.createExpression("${body.address.city}");
+        watch.restart();
+        for (int i = 0; i < size; i++) {
+            assertEquals("Duckburg", expression.evaluate(exchange, String.class));
+        }
+        log.info("Evaluate OGNL expression (compiled={}) took {} millis", compiled, watch.taken());
+
+        Predicate predicate = simple.createPredicate("'true' == 'true' && ${header.foo} > 100");
+        watch.restart();
+        for (int i = 0; i < size; i++) {
+            assertTrue(predicate.matches(exchange));
+        }
+        log.info("Evaluate constant predicate (compiled={}) took {} millis", compiled, watch.taken());
+    }
+}
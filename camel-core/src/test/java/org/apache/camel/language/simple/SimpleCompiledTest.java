@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.language.bean.RuntimeBeanExpressionException;
+
+/**
+ * Runs all the simple language tests using the compiled mode.
+ */
+public class SimpleCompiledTest extends SimpleTest {
+
+    private SimpleLanguage simple;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        simple = (SimpleLanguage) context.resolveLanguage("simple");
+        simple.setCompiled(true);
+    }
+
+    public void testCachedByText() throws Exception {
+        Expression exp = simple.createExpression("Hello ${header.foo}");
+        assertSame(exp, simple.createExpression("Hello ${header.foo}"));
+        assertNotSame(exp, simple.createExpression("Bye ${header.foo}"));
+
+        Predicate pre = simple.createPredicate("${header.foo} == 'abc'");
+        assertSame(pre, simple.createPredicate("${header.foo} == 'abc'"));
+
+        // not cached when not compiled
+        simple.setCompiled(false);
+        assertNotSame(simple.createExpression("Hello ${header.foo}"), simple.createExpression("Hello ${header.foo}"));
+    }
+
+    public void testCompiledOgnl() throws Exception {
+        Customer customer = new Customer("Donald", new Address("Duckburg"));
+        exchange.getIn().setBody(customer);
+        exchange.getIn().setHeader("customer", customer);
+        exchange.setProperty("customer", customer);
+
+        assertExpression("${body.name}", "Donald");
+        assertExpression("${body.getName}", "Donald");
+        assertExpression("${body.getName()}", "Donald");
+        assertExpression("${body.address.city}", "Duckburg");
+        assertExpression("${header.customer.address.city}", "Duckburg");
+        assertExpression("${exchangeProperty.customer.address.city}", "Duckburg");
+        assertPredicate("${body.address.city} == 'Duckburg'", true);
+        assertPredicate("${body.vip}", false);
+
+        // methods with parameters is invoked using the bean component
+        assertExpression("${body.greet('Hello')}", "Hello Donald");
+        assertExpression("${body.address.city.toUpperCase()}", "DUCKBURG");
+
+        // null safe
+        customer.setAddress(null);
+        assertExpression("${body?.address.city}", null);
+        try {
+            assertExpression("${body.address.city}", null);
+            fail("Should have thrown exception");
+        } catch (RuntimeBeanExpressionException e) {
+            assertEquals("Failed to invoke method: .address.city on null due to: java.lang.NullPointerException", e.getMessage());
+            assertIsInstanceOf(NullPointerException.class, e.getCause());
+        }
+    }
+
+    public void testCompiledOgnlPolymorphic() throws Exception {
+        Expression exp = simple.createExpression("${body.address.city}");
+
+        exchange.getIn().setBody(new Customer("Donald", new Address("Duckburg")));
+        assertEquals("Duckburg", exp.evaluate(exchange, String.class));
+
+        exchange.getIn().setBody(new Customer("Scrooge", new MoneyBinAddress()));
+        assertEquals("Money bin", exp.evaluate(exchange, String.class));
+
+        exchange.getIn().setBody(new Customer("Donald", new Address("Duckburg")));
+        assertEquals("Duckburg", exp.evaluate(exchange, String.class));
+    }
+
+    public void testConstantFolding() throws Exception {
+        exchange.getIn().setHeader("foo", "abc");
+
+        assertPredicate("'true' == 'true'", true);
+        assertPredicate("'true' == 'false'", false);
+        assertPredicate("'123' > 100", true);
+        assertPredicate("true && ${header.foo} == 'abc'", true);
+        assertPredicate("false && ${header.foo} == 'abc'", false);
+        assertPredicate("true || ${header.foo} == 'xyz'", true);
+        assertPredicate("false || ${header.foo} == 'xyz'", false);
+        assertPredicate("'true' == 'true' && ${header.foo} == 'abc'", true);
+        assertPredicate("'true' == 'false' || ${header.foo} == 'abc'", true);
+        assertPredicate("'true' == 'false' || ${header.foo} == 'xyz'", false);
+
+        // the binary operator is only evaluated once
+        Predicate pre = simple.createPredicate("'123' > '100'");
+        assertTrue(pre.matches(exchange));
+        assertTrue(pre.matches(createExchange()));
+    }
+
+    public static class Customer {
+        private final String name;
+        private Address address;
+
+        public Customer(String name, Address address) {
+            this.name = name;
+            this.address = address;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+
+        public boolean isVip() {
+            return false;
+        }
+
+        public String greet(String greeting) {
+            return greeting + " " + name;
+        }
+    }
+
+    public static class Address {
+        private final String city;
+
+        public Address(String city) {
+            this.city = city;
+        }
+
+        public String getCity() {
+            return city;
+        }
+    }
+
+    public static class MoneyBinAddress extends Address {
+
+        public MoneyBinAddress() {
+            super("Duckburg");
+        }
+
+        @Override
+        public String getCity() {
+            return "Money bin";
+        }
+    }
+}
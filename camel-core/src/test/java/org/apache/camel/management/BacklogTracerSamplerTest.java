@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.List;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.api.management.mbean.BacklogTracerEventMessage;
+import org.apache.camel.builder.RouteBuilder;
+
+public class BacklogTracerSamplerTest extends ManagementTestSupport {
+
+    @SuppressWarnings("unchecked")
+    public void testBacklogTracerSampler() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = new ObjectName("org.apache.camel:context=camel-1,type=tracer,name=BacklogTracer");
+        assertNotNull(on);
+        mbeanServer.isRegistered(on);
+
+        Long frequency = (Long) mbeanServer.getAttribute(on, "SampleFrequency");
+        assertEquals(0, frequency.longValue());
+
+        // only trace every 2nd exchange
+        mbeanServer.setAttribute(on, new Attribute("SampleFrequency", 2L));
+        mbeanServer.setAttribute(on, new Attribute("Enabled", Boolean.TRUE));
+
+        frequency = (Long) mbeanServer.getAttribute(on, "SampleFrequency");
+        assertEquals(2, frequency.longValue());
+
+        getMockEndpoint("mock:foo").expectedMessageCount(4);
+        getMockEndpoint("mock:bar").expectedMessageCount(4);
+
+        for (int i = 0; i < 4; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        List<Exchange> exchanges = getMockEndpoint("mock:foo").getReceivedExchanges();
+
+        List<BacklogTracerEventMessage> events = (List<BacklogTracerEventMessage>) mbeanServer.invoke(on, "dumpAllTracedMessages", null, null);
+
+        // the first and third exchange is traced at all the nodes
+        assertNotNull(events);
+        assertEquals(6, events.size());
+        assertEquals(exchanges.get(0).getExchangeId(), events.get(0).getExchangeId());
+        assertEquals(exchanges.get(0).getExchangeId(), events.get(1).getExchangeId());
+        assertEquals(exchanges.get(0).getExchangeId(), events.get(2).getExchangeId());
+        assertEquals(exchanges.get(2).getExchangeId(), events.get(3).getExchangeId());
+        assertEquals(exchanges.get(2).getExchangeId(), events.get(4).getExchangeId());
+        assertEquals(exchanges.get(2).getExchangeId(), events.get(5).getExchangeId());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                context.setUseBreadcrumb(false);
+
+                from("direct:start")
+                        .to("mock:foo").id("foo")
+                        .to("mock:bar").id("bar");
+
+            }
+        };
+    }
+
+}
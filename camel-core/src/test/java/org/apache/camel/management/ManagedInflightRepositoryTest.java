@@ -65,6 +65,12 @@ public class ManagedInflightRepositoryTest extends ManagementTestSupport {
                                 assertNotNull(data);
 
                                 assertEquals(1, data.size());
+
+                                Long duration = (Long) mbeanServer.getAttribute(name, "OldestInflightDuration");
+                                assertTrue(duration >= 0);
+
+                                String id = (String) mbeanServer.getAttribute(name, "OldestInflightExchangeId");
+                                assertEquals(exchange.getExchangeId(), id);
                             }
                         }).id("myProcessor")
                         .to("mock:result");
@@ -64,13 +64,22 @@ public class ManagedSendDynamicProcessorTest extends ManagementTestSupport {
         String pattern = (String) mbeanServer.getAttribute(on, "MessageExchangePattern");
         assertNull(pattern);
 
+        Boolean optimised = (Boolean) mbeanServer.getAttribute(on, "AllowOptimisedComponents");
+        assertTrue(optimised);
+
+        Long misses = (Long) mbeanServer.getAttribute(on, "CacheMisses");
+        assertEquals(1, misses.longValue());
+
+        Long evicted = (Long) mbeanServer.getAttribute(on, "CacheEvicted");
+        assertEquals(0, evicted.longValue());
+
         TabularData data = (TabularData) mbeanServer.invoke(on, "explain", new Object[]{false}, new String[]{"boolean"});
         assertNotNull(data);
         assertEquals(2, data.size());
 
         data = (TabularData) mbeanServer.invoke(on, "explain", new Object[]{true}, new String[]{"boolean"});
         assertNotNull(data);
-        assertEquals(6, data.size());
+        assertEquals(8, data.size());
 
         String json = (String) mbeanServer.invoke(on, "informationJson", null, null);
         assertNotNull(json);
@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.idempotent.BloomFilterIdempotentRepository;
+import org.apache.camel.processor.idempotent.MemoryIdempotentRepository;
+
+/**
+ * @version 
+ */
+public class BloomFilterIdempotentRepositoryTest extends ContextTestSupport {
+    private CountingRepository remote;
+    private BloomFilterIdempotentRepository repo;
+
+    @Override
+    protected void setUp() throws Exception {
+        remote = new CountingRepository();
+        repo = new BloomFilterIdempotentRepository(remote);
+        repo.setCacheSize(2);
+        repo.setExclusive(true);
+        super.setUp();
+    }
+
+    public void testNonEagerSkipsContainsForNewKeys() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedBodiesReceived("one", "two", "three");
+
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "three", "messageId", "3");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+
+        assertMockEndpointsSatisfied();
+
+        // the new keys did not call contains on the remote, and the duplicate is not in the cache of 2 keys
+        assertEquals(1, remote.contains.get());
+        assertEquals(3, remote.add.get());
+        assertEquals(3, remote.confirm.get());
+        assertEquals(7, repo.getRoundTrips());
+        assertEquals(3, repo.getAvoidedRoundTrips());
+    }
+
+    public void testNotExclusiveCallsContains() throws Exception {
+        repo.setExclusive(false);
+        // added by another node or before a restart
+        remote.add("1");
+
+        assertTrue(repo.contains("1"));
+        assertFalse(repo.contains("2"));
+        assertEquals(2, remote.contains.get());
+        assertEquals(0, repo.getAvoidedRoundTrips());
+    }
+
+    public void testSeed() throws Exception {
+        remote.add("1");
+        repo.seed(Arrays.asList("1"));
+
+        assertTrue(repo.contains("1"));
+        assertFalse(repo.contains("2"));
+        assertEquals(1, remote.contains.get());
+        assertEquals(1, repo.getAvoidedRoundTrips());
+    }
+
+    public void testCachedKeys() throws Exception {
+        assertTrue(repo.add("1"));
+        assertFalse(repo.add("1"));
+        assertTrue(repo.contains("1"));
+        assertEquals(1, remote.add.get());
+        assertEquals(0, remote.contains.get());
+
+        assertTrue(repo.remove("1"));
+        assertFalse(repo.contains("1"));
+        // the bloom filter cannot forget the key so the remote is called
+        assertEquals(1, remote.contains.get());
+        assertTrue(repo.add("1"));
+    }
+
+    public void testConfirm() throws Exception {
+        remote.failConfirm = true;
+        repo.add("1");
+        try {
+            repo.confirm("1");
+            fail("Should have thrown exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(1, remote.confirm.get());
+
+        remote.failConfirm = false;
+        assertTrue(repo.confirm("1"));
+        assertEquals(2, remote.confirm.get());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .idempotentConsumer(header("messageId"), repo).eager(false)
+                    .to("mock:result");
+            }
+        };
+    }
+
+    private static final class CountingRepository extends MemoryIdempotentRepository {
+        private final AtomicInteger add = new AtomicInteger();
+        private final AtomicInteger contains = new AtomicInteger();
+        private final AtomicInteger confirm = new AtomicInteger();
+        private volatile boolean failConfirm;
+
+        @Override
+        public boolean add(String key) {
+            add.incrementAndGet();
+            return super.add(key);
+        }
+
+        @Override
+        public boolean contains(String key) {
+            contains.incrementAndGet();
+            return super.contains(key);
+        }
+
+        @Override
+        public boolean confirm(String key) {
+            confirm.incrementAndGet();
+            if (failConfirm) {
+                throw new IllegalStateException("Forced");
+            }
+            return super.confirm(key);
+        }
+    }
+}
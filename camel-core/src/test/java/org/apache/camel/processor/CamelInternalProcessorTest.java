@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.DefaultExchange;
+
+public class CamelInternalProcessorTest extends ContextTestSupport {
+
+    private final List<String> events = new ArrayList<String>();
+
+    public void testAdvicesOrder() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(new MyProcessor());
+        internal.addAdvice(new MyAdvice("a", "stateA"));
+        internal.addAdvice(new MyAdvice("b", null));
+        internal.addAdvice(new MyAdvice("c", "stateC"));
+
+        Exchange exchange = new DefaultExchange(context);
+        internal.process(exchange);
+
+        assertEquals("[before-a, before-b, before-c, process, after-c-stateC, after-b-null, after-a-stateA]", events.toString());
+    }
+
+    public void testAdviceWithoutStateStillInvoked() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(new MyProcessor());
+        internal.addAdvice(new MyAdvice("a", null));
+
+        Exchange exchange = new DefaultExchange(context);
+        internal.process(exchange);
+
+        assertEquals("[before-a, process, after-a-null]", events.toString());
+    }
+
+    public void testInactiveAdvicesSkipCallback() throws Exception {
+        final AsyncCallback callback = new AsyncCallback() {
+            public void done(boolean doneSync) {
+                events.add("done");
+            }
+        };
+
+        CamelInternalProcessor internal = new CamelInternalProcessor(new DelegateAsyncProcessor(new MyProcessor()) {
+            @Override
+            public boolean process(Exchange exchange, AsyncCallback cb) {
+                // the callback should not be wrapped as the delayer has no after work to do
+                assertSame(callback, cb);
+                return super.process(exchange, cb);
+            }
+        });
+        internal.addAdvice(new CamelInternalProcessor.DelayerAdvice(1));
+
+        Exchange exchange = new DefaultExchange(context);
+        assertTrue(internal.process(exchange, callback));
+
+        assertEquals("[process, done]", events.toString());
+    }
+
+    public void testBeforeFails() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(new MyProcessor());
+        internal.addAdvice(new MyAdvice("a", "stateA"));
+        internal.addAdvice(new CamelInternalProcessorAdvice<Object>() {
+            public Object before(Exchange exchange) throws Exception {
+                throw new IllegalArgumentException("Forced");
+            }
+
+            public void after(Exchange exchange, Object data) throws Exception {
+                events.add("after-fail");
+            }
+        });
+
+        Exchange exchange = new DefaultExchange(context);
+        internal.process(exchange);
+
+        assertIsInstanceOf(IllegalArgumentException.class, exchange.getException());
+        assertEquals("[before-a]", events.toString());
+    }
+
+    private class MyProcessor implements Processor {
+
+        public void process(Exchange exchange) throws Exception {
+            events.add("process");
+        }
+    }
+
+    private class MyAdvice implements CamelInternalProcessorAdvice<String> {
+
+        private final String name;
+        private final String state;
+
+        MyAdvice(String name, String state) {
+            this.name = name;
+            this.state = state;
+        }
+
+        public String before(Exchange exchange) throws Exception {
+            events.add("before-" + name);
+            return state;
+        }
+
+        public void after(Exchange exchange, String data) throws Exception {
+            events.add("after-" + name + "-" + data);
+        }
+    }
+}
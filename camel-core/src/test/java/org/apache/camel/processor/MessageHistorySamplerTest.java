@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.MessageHistory;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.util.MessageHelper;
+import org.apache.camel.util.Sampler;
+
+/**
+ * @version 
+ */
+public class MessageHistorySamplerTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setMessageHistory(true);
+        context.setMessageHistorySampler(Sampler.everyNth(2));
+        return context;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testMessageHistorySampler() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(4);
+
+        for (int i = 0; i < 4; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        for (int i = 0; i < 4; i++) {
+            List<MessageHistory> list = mock.getReceivedExchanges().get(i).getProperty(Exchange.MESSAGE_HISTORY, List.class);
+            if (i % 2 == 0) {
+                // the history includes the nodes in both routes
+                assertEquals(5, list.size());
+                assertEquals("foo", list.get(0).getRouteId());
+                assertEquals("bar", list.get(1).getRouteId());
+            } else {
+                assertSame(MessageHelper.MESSAGE_HISTORY_NOT_SAMPLED, list);
+            }
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo")
+                    .to("direct:bar")
+                    .to("mock:a")
+                    .to("mock:result");
+
+                from("direct:bar").routeId("bar")
+                    .to("log:bar")
+                    .to("mock:bar");
+            }
+        };
+    }
+}
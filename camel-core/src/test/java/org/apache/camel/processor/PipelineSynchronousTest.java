@@ -0,0 +1,187 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.DelegateProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.EventDrivenConsumerRoute;
+
+/**
+ * Tests the {@link Pipeline} with plain synchronous processors, and mixed with asynchronous processors.
+ */
+public class PipelineSynchronousTest extends ContextTestSupport {
+
+    private final List<String> threads = new ArrayList<String>();
+
+    public void testSynchronous() throws Exception {
+        Pipeline pipeline = new Pipeline(context, Arrays.<Processor>asList(new InToOut(), new InToOut(), new InToOut()));
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(1);
+        pipeline.process(exchange);
+
+        assertEquals(4, exchange.getOut().getBody());
+    }
+
+    public void testSynchronousWithCallback() throws Exception {
+        Pipeline pipeline = new Pipeline(context, Arrays.<Processor>asList(new InToOut(), new InToOut()));
+
+        final Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(1);
+        boolean sync = pipeline.process(exchange, new AsyncCallback() {
+            public void done(boolean doneSync) {
+                assertTrue(doneSync);
+                threads.add(Thread.currentThread().getName());
+            }
+        });
+
+        assertTrue(sync);
+        assertEquals(1, threads.size());
+        assertEquals(3, exchange.getOut().getBody());
+    }
+
+    public void testSynchronousException() throws Exception {
+        Pipeline pipeline = new Pipeline(context, Arrays.<Processor>asList(new InToOut(), new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                throw new IllegalArgumentException("Forced");
+            }
+        }, new InToOut()));
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(1);
+        pipeline.process(exchange);
+
+        assertIsInstanceOf(IllegalArgumentException.class, exchange.getException());
+        // the last processor should not have been invoked
+        assertEquals(2, exchange.getIn().getBody());
+    }
+
+    public void testSynchronousStop() throws Exception {
+        Pipeline pipeline = new Pipeline(context, Arrays.<Processor>asList(new InToOut(), new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.setProperty(Exchange.ROUTE_STOP, Boolean.TRUE);
+            }
+        }, new InToOut()));
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(1);
+        pipeline.process(exchange);
+
+        assertEquals(2, exchange.getIn().getBody());
+    }
+
+    public void testMixedWithAsynchronous() throws Exception {
+        Pipeline pipeline = new Pipeline(context, Arrays.<Processor>asList(new InToOut(), new MyAsyncProcessor(), new InToOut()));
+        pipeline.start();
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(1);
+        pipeline.process(exchange);
+
+        assertEquals(5, exchange.getOut().getBody());
+        assertEquals(1, threads.size());
+        assertEquals("MyAsync", threads.get(0));
+
+        pipeline.stop();
+    }
+
+    public void testRouteSynchronous() throws Exception {
+        assertTrue(Pipeline.isSynchronous(getPipeline("sync")));
+        assertFalse(Pipeline.isSynchronous(getPipeline("send")));
+        assertFalse(Pipeline.isSynchronous(getPipeline("asyncRedelivery")));
+        assertFalse(Pipeline.isSynchronous(getPipeline("asyncDelayed")));
+        assertFalse(Pipeline.isSynchronous(getPipeline("loop")));
+
+        Object out = template.requestBody("direct:sync", 1);
+        assertEquals("Hello 2", out);
+    }
+
+    private Processor getPipeline(String routeId) {
+        EventDrivenConsumerRoute route = (EventDrivenConsumerRoute) context.getRoute(routeId);
+        Processor answer = ((DelegateProcessor) route.getProcessor()).getProcessor();
+        assertIsInstanceOf(Pipeline.class, answer);
+        return answer;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:sync").routeId("sync")
+                    .process(new InToOut())
+                    .setHeader("foo", constant("bar"))
+                    .transform(simple("Hello ${body}"))
+                    .log("${body}");
+
+                from("direct:send").routeId("send")
+                    .process(new InToOut())
+                    .to("mock:result");
+
+                from("direct:asyncRedelivery").routeId("asyncRedelivery")
+                    .errorHandler(defaultErrorHandler().asyncDelayedRedelivery())
+                    .process(new InToOut())
+                    .setHeader("foo", constant("bar"));
+
+                from("direct:asyncDelayed").routeId("asyncDelayed")
+                    .process(new InToOut())
+                    .delay(10).asyncDelayed().end()
+                    .setHeader("foo", constant("bar"));
+
+                from("direct:loop").routeId("loop")
+                    .process(new InToOut())
+                    .loop(2).process(new InToOut()).end()
+                    .setHeader("foo", constant("bar"));
+            }
+        };
+    }
+
+    private static final class InToOut implements Processor {
+        public void process(Exchange exchange) throws Exception {
+            exchange.getOut().setBody(exchange.getIn().getBody(Integer.class) + 1);
+        }
+    }
+
+    private final class MyAsyncProcessor implements AsyncProcessor {
+
+        public void process(Exchange exchange) throws Exception {
+            throw new IllegalStateException("Should not be called");
+        }
+
+        public boolean process(final Exchange exchange, final AsyncCallback callback) {
+            Thread thread = new Thread(new Runnable() {
+                public void run() {
+                    threads.add(Thread.currentThread().getName());
+                    exchange.getOut().setBody(exchange.getIn().getBody(Integer.class) + 2);
+                    callback.done(false);
+                }
+            }, "MyAsync");
+            thread.start();
+            return false;
+        }
+    }
+}
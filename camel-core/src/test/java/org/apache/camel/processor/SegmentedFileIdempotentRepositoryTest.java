@@ -0,0 +1,214 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.idempotent.SegmentedFileIdempotentRepository;
+
+/**
+ * @version 
+ */
+public class SegmentedFileIdempotentRepositoryTest extends ContextTestSupport {
+    private File directory = new File("target/idempotentsegments");
+    private SegmentedFileIdempotentRepository repo;
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory(directory);
+        repo = new SegmentedFileIdempotentRepository(directory);
+        // use small segments so we roll over to new segments
+        repo.setMaxSegmentSize(100);
+        repo.setExpectedKeys(1000);
+        repo.setCompactionInterval(0);
+        super.setUp();
+    }
+
+    public void testIdempotentConsumer() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedBodiesReceived("one", "two", "three");
+
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "three", "messageId", "3");
+
+        assertMockEndpointsSatisfied();
+
+        assertTrue(repo.contains("1"));
+        assertTrue(repo.contains("2"));
+        assertTrue(repo.contains("3"));
+        assertFalse(repo.contains("4"));
+        assertEquals(3, repo.getSize());
+    }
+
+    public void testAddRemove() throws Exception {
+        assertTrue(repo.add("foo"));
+        assertFalse(repo.add("foo"));
+        assertTrue(repo.contains("foo"));
+
+        assertTrue(repo.remove("foo"));
+        assertFalse(repo.remove("foo"));
+        assertFalse(repo.contains("foo"));
+
+        assertTrue(repo.add("foo"));
+        assertTrue(repo.contains("foo"));
+        assertEquals(1, repo.getSize());
+
+        repo.clear();
+        assertFalse(repo.contains("foo"));
+        assertEquals(0, repo.getSize());
+        assertEquals(1, repo.getSegments());
+    }
+
+    public void testRecoverOnRestart() throws Exception {
+        for (int i = 0; i < 2000; i++) {
+            repo.add("key-" + i);
+        }
+        for (int i = 0; i < 2000; i += 2) {
+            repo.remove("key-" + i);
+        }
+        assertTrue(repo.getSegments() > 1);
+
+        repo.stop();
+        repo.start();
+
+        assertEquals(1000, repo.getSize());
+        for (int i = 0; i < 2000; i++) {
+            assertEquals("key-" + i, i % 2 != 0, repo.contains("key-" + i));
+        }
+    }
+
+    public void testMoreKeysThanExpected() throws Exception {
+        repo.stop();
+        repo.setExpectedKeys(10);
+        repo.start();
+
+        for (int i = 0; i < 500; i++) {
+            assertTrue(repo.add("key-" + i));
+        }
+        for (int i = 0; i < 500; i++) {
+            assertTrue("key-" + i, repo.contains("key-" + i));
+        }
+
+        // the bloom filter is sized to the keys loaded
+        repo.stop();
+        repo.start();
+
+        assertEquals(500, repo.getSize());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("key-" + i, i < 500, repo.contains("key-" + i));
+        }
+    }
+
+    public void testCompaction() throws Exception {
+        for (int i = 0; i < 2000; i++) {
+            repo.add("key-" + i);
+        }
+        for (int i = 0; i < 2000; i += 2) {
+            repo.remove("key-" + i);
+        }
+        int segments = repo.getSegments();
+        assertTrue(repo.isCompactionNeeded());
+
+        repo.compact();
+
+        assertEquals(1, repo.getCompactions());
+        assertTrue("Should have fewer segments than " + segments + ", was: " + repo.getSegments(), repo.getSegments() < segments);
+        assertFalse(repo.isCompactionNeeded());
+        assertEquals(1000, repo.getSize());
+        for (int i = 0; i < 2000; i++) {
+            assertEquals("key-" + i, i % 2 != 0, repo.contains("key-" + i));
+        }
+
+        // the keys can still be added and removed after compaction
+        assertTrue(repo.add("key-0"));
+        assertTrue(repo.remove("key-1"));
+
+        repo.stop();
+        repo.start();
+
+        assertEquals(1000, repo.getSize());
+        assertTrue(repo.contains("key-0"));
+        assertFalse(repo.contains("key-1"));
+        assertTrue(repo.contains("key-3"));
+        assertFalse(repo.contains("key-4"));
+    }
+
+    public void testTruncateIncompleteRecordOnRecovery() throws Exception {
+        repo.setMaxSegmentSize(64 * 1024);
+        repo.add("foo");
+        repo.add("bar");
+        repo.stop();
+
+        // simulate a crash while writing the last record
+        File segment = new File(directory, "0.log");
+        long length = segment.length();
+        RandomAccessFile file = new RandomAccessFile(segment, "rw");
+        try {
+            file.setLength(length - 1);
+        } finally {
+            file.close();
+        }
+
+        repo.start();
+        assertTrue(repo.contains("foo"));
+        assertFalse(repo.contains("bar"));
+        assertEquals(length - 8, segment.length());
+
+        assertTrue(repo.add("bar"));
+        assertTrue(repo.contains("bar"));
+    }
+
+    public void testNotStarted() throws Exception {
+        repo.add("foo");
+        repo.stop();
+
+        try {
+            repo.contains("foo");
+            fail("Should have thrown exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            repo.add("bar");
+            fail("Should have thrown exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        repo.start();
+        assertTrue(repo.contains("foo"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .idempotentConsumer(header("messageId"), repo)
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.aggregate.AssociativeAggregationStrategy;
+import org.apache.camel.processor.aggregate.TimeoutAwareAggregationStrategy;
+
+/**
+ * @version 
+ */
+public class SplitParallelAssociativeAggregateTest extends ContextTestSupport {
+
+    public void testSplitParallelAssociativeAggregate() throws Exception {
+        getMockEndpoint("mock:split").expectedMessageCount(200);
+        getMockEndpoint("mock:result").expectedBodiesReceived(20100);
+
+        template.sendBody("direct:start", numbers(200));
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testSplitParallelAssociativeAggregateMaxInFlight() throws Exception {
+        getMockEndpoint("mock:split").expectedMessageCount(200);
+        getMockEndpoint("mock:result").expectedBodiesReceived(20100);
+
+        template.sendBody("direct:window", numbers(200));
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testSplitParallelAssociativeAggregateOrdered() throws Exception {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 1; i <= 50; i++) {
+            if (i > 1) {
+                expected.append(",");
+            }
+            expected.append(i);
+        }
+        getMockEndpoint("mock:split").expectedMessageCount(50);
+        getMockEndpoint("mock:result").expectedBodiesReceived(expected.toString());
+
+        template.sendBody("direct:ordered", numbers(50));
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testSplitParallelAssociativeAggregateTimeout() throws Exception {
+        SumTimeoutAggregationStrategy.timeoutSum = 0;
+        // the 3rd exchange times out
+        getMockEndpoint("mock:result").expectedBodiesReceived(12);
+
+        template.sendBody("direct:timeout", numbers(5));
+
+        assertMockEndpointsSatisfied();
+        // the strategy should be notified about the timeout with the partial results combined
+        assertEquals(12, SumTimeoutAggregationStrategy.timeoutSum);
+    }
+
+    private static List<Integer> numbers(int size) {
+        List<Integer> answer = new ArrayList<Integer>(size);
+        for (int i = 1; i <= size; i++) {
+            answer.add(i);
+        }
+        return answer;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split(body(), new SumAggregationStrategy()).parallelProcessing().streaming()
+                        .to("mock:split")
+                    .end()
+                    .to("mock:result");
+
+                from("direct:ordered")
+                    .split(body(), new ConcatAggregationStrategy()).parallelProcessing()
+                        // complete the exchanges in a different order than they are split
+                        .delay(simple("${random(0,20)}"))
+                            .to("mock:split")
+                        .end()
+                    .end()
+                    .to("mock:result");
+
+                from("direct:timeout")
+                    .split(body(), new SumTimeoutAggregationStrategy()).parallelProcessing().timeout(500)
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                if (exchange.getIn().getBody(Integer.class) == 3) {
+                                    Thread.sleep(2000);
+                                }
+                            }
+                        })
+                    .end()
+                    .to("mock:result");
+
+                from("direct:window")
+                    .split(body(), new SumAggregationStrategy()).parallelProcessing().streaming().maxInFlight(10)
+                        .to("mock:split")
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+
+    private static final class SumAggregationStrategy implements AssociativeAggregationStrategy {
+
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            if (oldExchange == null) {
+                return newExchange;
+            }
+            int sum = oldExchange.getIn().getBody(Integer.class) + newExchange.getIn().getBody(Integer.class);
+            oldExchange.getIn().setBody(sum);
+            return oldExchange;
+        }
+    }
+
+    private static final class SumTimeoutAggregationStrategy implements AssociativeAggregationStrategy, TimeoutAwareAggregationStrategy {
+
+        private static volatile int timeoutSum;
+
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            if (oldExchange == null) {
+                return newExchange;
+            }
+            int sum = oldExchange.getIn().getBody(Integer.class) + newExchange.getIn().getBody(Integer.class);
+            oldExchange.getIn().setBody(sum);
+            return oldExchange;
+        }
+
+        public void timeout(Exchange oldExchange, int index, int total, long timeout) {
+            timeoutSum = oldExchange.getIn().getBody(Integer.class);
+        }
+    }
+
+    private static final class ConcatAggregationStrategy implements AssociativeAggregationStrategy {
+
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            if (oldExchange == null) {
+                return newExchange;
+            }
+            String body = oldExchange.getIn().getBody(String.class) + "," + newExchange.getIn().getBody(String.class);
+            oldExchange.getIn().setBody(body);
+            return oldExchange;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.FailedToCreateRouteException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.aggregate.AggregationStrategy;
+
+/**
+ * @version 
+ */
+public class SplitParallelMaxInFlightTest extends ContextTestSupport {
+
+    private static final int MAX_IN_FLIGHT = 5;
+
+    private final AtomicInteger read = new AtomicInteger();
+    private final AtomicInteger aggregated = new AtomicInteger();
+    private final AtomicInteger maxObserved = new AtomicInteger();
+
+    public void testSplitParallelMaxInFlight() throws Exception {
+        getMockEndpoint("mock:split").expectedMessageCount(100);
+        getMockEndpoint("mock:result").expectedBodiesReceived(100);
+
+        template.sendBody("direct:start", new CountingIterator(100));
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(100, read.get());
+        assertEquals(100, aggregated.get());
+        assertTrue("Should not have more than " + MAX_IN_FLIGHT + " in flight, was " + maxObserved.get(), maxObserved.get() <= MAX_IN_FLIGHT);
+    }
+
+    public void testMaxInFlightRequiresParallelProcessing() throws Exception {
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:bad")
+                        .split(body()).maxInFlight(MAX_IN_FLIGHT)
+                            .to("mock:bad");
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (FailedToCreateRouteException e) {
+            IllegalArgumentException iae = assertIsInstanceOf(IllegalArgumentException.class, e.getCause());
+            assertEquals("MaxInFlight is used but ParallelProcessing has not been enabled.", iae.getMessage());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split(body(), new CountingAggregationStrategy()).parallelProcessing().streaming().maxInFlight(MAX_IN_FLIGHT)
+                        .to("mock:split")
+                        .delay(5).end()
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+
+    private final class CountingIterator implements Iterator<Integer> {
+
+        private final int size;
+
+        private CountingIterator(int size) {
+            this.size = size;
+        }
+
+        public boolean hasNext() {
+            return read.get() < size;
+        }
+
+        public Integer next() {
+            int inFlight = read.get() - aggregated.get();
+            if (inFlight > maxObserved.get()) {
+                maxObserved.set(inFlight);
+            }
+            return read.incrementAndGet();
+        }
+
+        public void remove() {
+            // noop
+        }
+    }
+
+    private final class CountingAggregationStrategy implements AggregationStrategy {
+
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            aggregated.incrementAndGet();
+            if (oldExchange == null) {
+                newExchange.getIn().setBody(1);
+                return newExchange;
+            }
+            oldExchange.getIn().setBody(oldExchange.getIn().getBody(Integer.class) + 1);
+            return oldExchange;
+        }
+    }
+}
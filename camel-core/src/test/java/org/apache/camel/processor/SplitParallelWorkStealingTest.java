@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.spi.ThreadPoolProfile;
+
+/**
+ * @version 
+ */
+public class SplitParallelWorkStealingTest extends ContextTestSupport {
+
+    public void testWorkStealingProfile() throws Exception {
+        ThreadPoolProfile profile = new ThreadPoolProfileBuilder("myOther").workStealing(true).maxPoolSize(4).build();
+        ExecutorService pool = context.getExecutorServiceManager().newThreadPool(this, "Cool", profile);
+
+        ForkJoinPool forkJoin = assertIsInstanceOf(ForkJoinPool.class, pool);
+        assertEquals(4, forkJoin.getParallelism());
+
+        context.getExecutorServiceManager().shutdownNow(pool);
+    }
+
+    public void testSplitWorkStealing() throws Exception {
+        List<String> body = new ArrayList<String>();
+        for (int i = 0; i < 50; i++) {
+            body.add("Message " + i);
+        }
+
+        getMockEndpoint("mock:split").expectedMessageCount(50);
+        getMockEndpoint("mock:split").expectedMessagesMatches(header("threadName").contains("Split"));
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:start", body);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                ThreadPoolProfile profile = new ThreadPoolProfileBuilder("myProfile").workStealing(true).maxPoolSize(4).build();
+                context.getExecutorServiceManager().registerThreadPoolProfile(profile);
+
+                from("direct:start")
+                    .split(body()).parallelProcessing().executorServiceRef("myProfile").maxInFlight(8)
+                        .setHeader("threadName", simple("${threadName}"))
+                        .to("mock:split")
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+}
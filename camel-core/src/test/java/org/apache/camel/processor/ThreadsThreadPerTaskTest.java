@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.util.concurrent.ThreadPerTaskExecutorService;
+
+/**
+ * Tests the <tt>threadPerTask</tt> option with the threads DSL and multicast.
+ */
+public class ThreadsThreadPerTaskTest extends ContextTestSupport {
+
+    public void testThreadsThreadPerTask() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+        getMockEndpoint("mock:result").expectedMessagesMatches(header("thread").contains("myTasks"));
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testMulticastThreadPerTask() throws Exception {
+        getMockEndpoint("mock:a").expectedMessageCount(1);
+        getMockEndpoint("mock:b").expectedMessageCount(1);
+
+        template.sendBody("direct:multicast", "Hello World");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testProfile() throws Exception {
+        ThreadPoolProfile profile = new ThreadPoolProfileBuilder("myOther").threadPerTask(true).maxQueueSize(50).build();
+        ExecutorService executor = context.getExecutorServiceManager().newThreadPool(this, "myOther", profile);
+
+        ThreadPerTaskExecutorService service = assertIsInstanceOf(ThreadPerTaskExecutorService.class, executor);
+        assertEquals(50, service.getMaxConcurrentTasks());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                ThreadPoolProfile profile = new ThreadPoolProfileBuilder("myProfile").threadPerTask(true).maxQueueSize(100).build();
+                context.getExecutorServiceManager().registerThreadPoolProfile(profile);
+
+                from("direct:start")
+                    .threads().threadPerTask(true).maxQueueSize(500).threadName("myTasks")
+                    .setHeader("thread", simple("${threadName}"))
+                    .to("mock:result");
+
+                from("direct:multicast")
+                    .multicast().parallelProcessing().executorServiceRef("myProfile")
+                        .to("mock:a", "mock:b");
+            }
+        };
+    }
+}
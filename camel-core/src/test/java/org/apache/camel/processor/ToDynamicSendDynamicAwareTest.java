@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.model.ToDynamicDefinition;
+
+public class ToDynamicSendDynamicAwareTest extends ContextTestSupport {
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/dynamic");
+        super.setUp();
+    }
+
+    public void testSendDynamicAware() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(3);
+        getMockEndpoint("mock:result").message(0).header(Exchange.FILE_NAME).isNull();
+        getMockEndpoint("mock:result").message(2).header(Exchange.FILE_NAME).isEqualTo("keep.txt");
+
+        template.sendBodyAndHeader("direct:start", "Hello World", "name", "hello");
+        template.sendBodyAndHeader("direct:start", "Bye World", "name", "bye");
+        template.sendBodyAndHeader("direct:keep", "Hi World", "name", "hi");
+
+        assertMockEndpointsSatisfied();
+
+        assertFileExists("target/dynamic/hello.txt");
+        assertFileExists("target/dynamic/bye.txt");
+        assertFileExists("target/dynamic/hi.txt");
+        assertFalse(new File("target/dynamic/keep.txt").exists());
+
+        // should use the static endpoint without the file name
+        assertNotNull(context.hasEndpoint("file://target/dynamic"));
+        assertNull(context.hasEndpoint("file://target/dynamic?fileName=hello.txt"));
+        assertNull(context.hasEndpoint("file://target/dynamic?fileName=bye.txt"));
+    }
+
+    public void testNotOptimised() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBodyAndHeader("direct:notOptimised", "Hello World", "name", "hello");
+
+        assertMockEndpointsSatisfied();
+
+        assertFileExists("target/dynamic/hello.txt");
+        assertNotNull(context.hasEndpoint("file://target/dynamic?fileName=hello.txt"));
+    }
+
+    public void testWarmUp() throws Exception {
+        // the producers should be created when the route is started
+        assertNotNull(context.hasEndpoint("mock://a"));
+        assertNotNull(context.hasEndpoint("mock://b"));
+
+        getMockEndpoint("mock:a").expectedBodiesReceived("Hello A");
+
+        template.sendBodyAndHeader("direct:warm", "Hello A", "foo", "a");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                // use simple as file is also the name of the file language
+                from("direct:start")
+                    .toD("simple:file:target/dynamic?fileName=${header.name}.txt")
+                    .to("mock:result");
+
+                from("direct:keep")
+                    .setHeader(Exchange.FILE_NAME, constant("keep.txt"))
+                    .toD("simple:file:target/dynamic?fileName=${header.name}.txt")
+                    .to("mock:result");
+
+                ToDynamicDefinition notOptimised = new ToDynamicDefinition("simple:file:target/dynamic?fileName=${header.name}.txt");
+                notOptimised.allowOptimisedComponents(false);
+                RouteDefinition route = from("direct:notOptimised");
+                route.addOutput(notOptimised);
+                route.to("mock:result");
+
+                ToDynamicDefinition warm = new ToDynamicDefinition("mock:${header.foo}");
+                warm.warmUpUris("mock:a", "mock:b");
+                from("direct:warm").addOutput(warm);
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+
+/**
+ * Compares the contention of the aggregator using the shared aggregation lock vs lock striping,
+ * with 16 concurrent producers aggregating thousands of unrelated correlation keys.
+ */
+public class AggregateLockStripesPerformanceTest extends ContextTestSupport {
+
+    private final int threads = 16;
+    private final int size = 50000;
+    private final int keys = 5000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        run("direct:global");
+        run("direct:striped");
+
+        for (String uri : new String[]{"direct:global", "direct:striped"}) {
+            StopWatch watch = new StopWatch();
+            run(uri);
+            log.info("{} took {}", uri, TimeUtils.printDuration(watch.stop()));
+        }
+    }
+
+    private void run(final String uri) throws Exception {
+        final CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            final int offset = i;
+            executor.submit(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < size; j++) {
+                        template.sendBodyAndHeader(uri, "A", "id", (offset * size + j) % keys);
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.MINUTES));
+        executor.shutdownNow();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:global")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).completionSize(10)
+                        .to("log:global?groupSize=10000");
+
+                from("direct:striped")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).completionSize(10).lockStripes(64)
+                        .to("log:striped?groupSize=10000");
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+
+/**
+ * @version 
+ */
+public class AggregateLockStripesTest extends ContextTestSupport {
+
+    private final int size = 400;
+
+    public void testAggregateLockStripesCompletionSize() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:size");
+        mock.expectedMessageCount(20);
+        mock.expectedPropertyReceived("CamelAggregatedCompletedBy", "size");
+
+        sendConcurrently("direct:size", 20);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testAggregateLockStripesCompletionTimeout() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:timeout");
+        // 40 keys each with 10 messages, where the completion size of 20 is never reached
+        mock.expectedMessageCount(40);
+        mock.expectedPropertyReceived("CamelAggregatedCompletedBy", "timeout");
+
+        sendConcurrently("direct:timeout", 40);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testAggregateLockStripesCompletionFromBatchConsumer() throws Exception {
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:batch")
+                        .aggregate(header("id"), new BodyInAggregatingStrategy()).completionFromBatchConsumer().lockStripes(16)
+                            .to("mock:batch");
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Lock striping cannot be used together with completionFromBatchConsumer.", e.getMessage());
+        }
+    }
+
+    private void sendConcurrently(final String uri, final int keys) throws Exception {
+        ExecutorService service = Executors.newFixedThreadPool(20);
+        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+        for (int i = 0; i < size; i++) {
+            final int id = i % keys;
+            final int count = i;
+            tasks.add(new Callable<Object>() {
+                public Object call() throws Exception {
+                    template.sendBodyAndHeader(uri, "" + count, "id", id);
+                    return null;
+                }
+            });
+        }
+        // submit all tasks
+        service.invokeAll(tasks);
+        service.shutdownNow();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:size")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).completionSize(20).lockStripes(16)
+                        .to("mock:size");
+
+                from("direct:timeout")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).completionSize(20).completionTimeout(500).lockStripes(16)
+                        .to("mock:timeout");
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import junit.framework.TestCase;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the purge time of the {@link DefaultTimeoutMap} when scanning all the entries
+ * vs using the timing wheel, with a large number of pending entries.
+ */
+public class DefaultTimeoutMapPerformanceTest extends TestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultTimeoutMapPerformanceTest.class);
+
+    private final int size = 500000;
+    private final int purges = 50;
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        run(false);
+        run(true);
+
+        run(false);
+        run(true);
+    }
+
+    private void run(boolean timingWheel) throws Exception {
+        // use a long poll time so the purge is only triggered manually
+        DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<String, Integer>(executor, 60000);
+        map.setTimingWheel(timingWheel);
+        map.start();
+
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < size; i++) {
+            map.put("ID-" + i, i, 60000 + i);
+        }
+        LOG.info("Timing wheel {} put {} entries took {}", new Object[]{timingWheel, size, TimeUtils.printDuration(watch.stop())});
+
+        watch.restart();
+        for (int i = 0; i < purges; i++) {
+            map.purge();
+        }
+        LOG.info("Timing wheel {} purge {} times took {}", new Object[]{timingWheel, purges, TimeUtils.printDuration(watch.stop())});
+
+        watch.restart();
+        for (int i = 0; i < size; i++) {
+            map.remove("ID-" + i);
+        }
+        LOG.info("Timing wheel {} remove {} entries took {}", new Object[]{timingWheel, size, TimeUtils.printDuration(watch.stop())});
+
+        map.stop();
+    }
+
+}
@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class DefaultTimeoutMapTimingWheelTest extends TestCase {
+
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    public void testTimingWheelPurge() throws Exception {
+        DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<String, Integer>(executor, 100);
+        map.setTimingWheel(true);
+        map.start();
+        assertTrue(map.isTimingWheel());
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        Thread.sleep(350);
+        map.purge();
+
+        assertEquals(0, map.size());
+        map.stop();
+    }
+
+    public void testTimingWheelGetRemove() throws Exception {
+        DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<String, Integer>(executor, 100);
+        map.setTimingWheel(true);
+        map.start();
+
+        map.put("A", 123, 50);
+        map.put("B", 456, 50);
+        assertEquals(123, (int) map.get("A"));
+        assertEquals(Integer.valueOf(456), map.put("B", 789, 50));
+
+        assertEquals(Integer.valueOf(123), map.remove("A"));
+        assertEquals(null, map.get("A"));
+        assertEquals(1, map.size());
+
+        Thread.sleep(350);
+        map.purge();
+
+        assertEquals(0, map.size());
+        map.stop();
+    }
+
+    public void testTimingWheelExpiredInCorrectOrder() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+
+        DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<String, Integer>(executor, 100) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                keys.add(key);
+                return true;
+            }
+        };
+        map.setTimingWheel(true);
+        map.start();
+
+        map.put("A", 1, 50);
+        map.put("B", 2, 30);
+        map.put("C", 3, 40);
+        map.put("D", 4, 20);
+        // is not expired
+        map.put("F", 6, 5000);
+
+        Thread.sleep(350);
+        map.purge();
+
+        assertEquals(4, keys.size());
+        assertEquals("D", keys.get(0));
+        assertEquals("B", keys.get(1));
+        assertEquals("C", keys.get(2));
+        assertEquals("A", keys.get(3));
+
+        assertEquals(1, map.size());
+        map.stop();
+    }
+
+    public void testTimingWheelExpiredNotEvicted() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+
+        DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<String, Integer>(executor, 100) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                keys.add(key);
+                // do not evict special key
+                return !"gold".equals(key);
+            }
+        };
+        map.setTimingWheel(true);
+        map.start();
+
+        map.put("A", 1, 50);
+        map.put("gold", 9, 50);
+
+        Thread.sleep(350);
+        map.purge();
+
+        assertEquals(1, map.size());
+        assertTrue(keys.contains("gold"));
+
+        // the gold entry is still tracked by the wheel and is attempted evicted again
+        keys.clear();
+        Thread.sleep(350);
+        map.purge();
+
+        assertFalse(keys.isEmpty());
+        for (String key : keys) {
+            assertEquals("gold", key);
+        }
+        assertEquals(Integer.valueOf(9), map.remove("gold"));
+        map.stop();
+    }
+
+    public void testTimingWheelManyEntries() throws Exception {
+        DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<String, Integer>(executor, 100);
+        map.setTimingWheel(true);
+        map.start();
+
+        for (int i = 0; i < 10000; i++) {
+            // spread the timeouts over more than one round of the wheel
+            map.put("K" + i, i, i % 2 == 0 ? 50 : 100000);
+        }
+        assertEquals(10000, map.size());
+
+        Thread.sleep(350);
+        map.purge();
+
+        assertEquals(5000, map.size());
+        map.stop();
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class BloomFilterTest extends TestCase {
+
+    public void testAddAndMightContain() throws Exception {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        assertFalse(filter.mightContain("foo"));
+        filter.add("foo");
+        filter.add(BloomFilter.hash("bar"));
+
+        assertTrue(filter.mightContain("foo"));
+        assertTrue(filter.mightContain(BloomFilter.hash("foo")));
+        assertTrue(filter.mightContain("bar"));
+
+        filter.clear();
+        assertFalse(filter.mightContain("foo"));
+        assertFalse(filter.mightContain("bar"));
+    }
+
+    public void testFalsePositiveProbability() throws Exception {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.add("key-" + i);
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(filter.mightContain("key-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue("Should have approx 1% false positives, was: " + falsePositives, falsePositives < 300);
+    }
+
+    public void testInvalidArguments() throws Exception {
+        try {
+            new BloomFilter(0, 0.01);
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new BloomFilter(100, 1.0);
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
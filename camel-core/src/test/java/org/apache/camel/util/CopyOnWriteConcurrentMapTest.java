@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+public class CopyOnWriteConcurrentMapTest extends TestCase {
+
+    public void testPutGetRemove() {
+        Map<String, Object> map = new CopyOnWriteConcurrentMap<String, Object>();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("foo"));
+
+        assertNull(map.put("foo", "cheese"));
+        assertEquals("cheese", map.put("foo", "beer"));
+        assertEquals("beer", map.get("foo"));
+        assertEquals(1, map.size());
+
+        assertEquals("beer", map.remove("foo"));
+        assertNull(map.remove("foo"));
+        assertTrue(map.isEmpty());
+    }
+
+    public void testNullNotAllowed() {
+        Map<String, Object> map = new CopyOnWriteConcurrentMap<String, Object>();
+        try {
+            map.put("foo", null);
+            fail("Should have thrown exception");
+        } catch (NullPointerException e) {
+            // expected
+        }
+    }
+
+    public void testCopy() {
+        CopyOnWriteConcurrentMap<String, Object> map = new CopyOnWriteConcurrentMap<String, Object>();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+
+        CopyOnWriteConcurrentMap<String, Object> copy = map.copy();
+        CopyOnWriteConcurrentMap<String, Object> copy2 = map.copy();
+        assertEquals(map, copy);
+        assertEquals(map, copy2);
+
+        copy.put("foo", "wine");
+        copy.remove("bar");
+        copy.put("baz", "water");
+
+        assertEquals(2, copy.size());
+        assertEquals("wine", copy.get("foo"));
+        assertNull(copy.get("bar"));
+        assertEquals("water", copy.get("baz"));
+
+        // the original and the other copy is not affected
+        assertEquals(2, map.size());
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("beer", map.get("bar"));
+        assertEquals(2, copy2.size());
+        assertEquals("cheese", copy2.get("foo"));
+
+        // and changing the original does not affect the copies
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals("cheese", copy2.get("foo"));
+
+        // copy of copy with local changes
+        CopyOnWriteConcurrentMap<String, Object> copy3 = copy.copy();
+        assertEquals(copy, copy3);
+        copy3.put("bar", "beer");
+        assertNull(copy.get("bar"));
+        assertEquals(3, copy3.size());
+    }
+
+    public void testIterator() {
+        CopyOnWriteConcurrentMap<String, Object> map = new CopyOnWriteConcurrentMap<String, Object>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        CopyOnWriteConcurrentMap<String, Object> copy = map.copy();
+        copy.put("d", 4);
+        copy.put("a", 10);
+        copy.remove("b");
+
+        Map<String, Object> expected = new HashMap<String, Object>();
+        expected.put("a", 10);
+        expected.put("c", 3);
+        expected.put("d", 4);
+        assertEquals(expected, copy);
+        assertEquals(expected, new HashMap<String, Object>(copy));
+
+        Iterator<Map.Entry<String, Object>> it = copy.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if ("c".equals(entry.getKey())) {
+                it.remove();
+            } else if ("d".equals(entry.getKey())) {
+                entry.setValue(40);
+            }
+        }
+        assertEquals(2, copy.size());
+        assertEquals(40, copy.get("d"));
+        assertFalse(copy.containsKey("c"));
+        assertTrue(map.containsKey("c"));
+    }
+
+    public void testSerialize() throws Exception {
+        CopyOnWriteConcurrentMap<String, Object> map = new CopyOnWriteConcurrentMap<String, Object>();
+        map.put("a", 1);
+        map.put("b", 2);
+        CopyOnWriteConcurrentMap<String, Object> copy = map.copy();
+        copy.put("c", 3);
+        copy.remove("a");
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(bos);
+        oos.writeObject(copy);
+        oos.close();
+
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        @SuppressWarnings("unchecked")
+        CopyOnWriteConcurrentMap<String, Object> read = (CopyOnWriteConcurrentMap<String, Object>) ois.readObject();
+        ois.close();
+
+        assertEquals(copy, read);
+        assertEquals(2, read.size());
+        assertFalse(read.containsKey("a"));
+
+        // and the deserialized map can be changed and copied as usual
+        read.put("a", 10);
+        read.remove("b");
+        CopyOnWriteConcurrentMap<String, Object> readCopy = read.copy();
+        assertEquals(2, readCopy.size());
+        assertEquals(10, readCopy.get("a"));
+        assertEquals(3, readCopy.get("c"));
+    }
+
+}
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.Map;
+
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the {@link CaseInsensitiveMap} with the {@link FastCaseInsensitiveMap} by
+ * populating, copying and reading headers as the routing engine does.
+ */
+public class FastCaseInsensitiveMapPerformanceTest extends TestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FastCaseInsensitiveMapPerformanceTest.class);
+
+    private final int headers = 50;
+    private final int copies = 4;
+    private final int size = 200000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        String[] keys = new String[headers];
+        for (int i = 0; i < headers; i++) {
+            keys[i] = "CamelHeader" + i;
+        }
+
+        // warm up
+        run(keys, false, size);
+        run(keys, true, size);
+
+        StopWatch watch = new StopWatch();
+        run(keys, false, size);
+        LOG.info("CaseInsensitiveMap took {}", TimeUtils.printDuration(watch.stop()));
+
+        watch.restart();
+        run(keys, true, size);
+        LOG.info("FastCaseInsensitiveMap took {}", TimeUtils.printDuration(watch.stop()));
+    }
+
+    private long run(String[] keys, boolean fast, int times) {
+        long hits = 0;
+        for (int i = 0; i < times; i++) {
+            Map<String, Object> map = fast ? new FastCaseInsensitiveMap() : new CaseInsensitiveMap();
+            for (String key : keys) {
+                map.put(key, key);
+            }
+            for (int j = 0; j < copies; j++) {
+                // copy the message as multicast/splitter does and read a few headers from the copy
+                Map<String, Object> copy = fast ? new FastCaseInsensitiveMap(map) : new CaseInsensitiveMap(map);
+                if (copy.get(keys[j].toUpperCase()) != null) {
+                    hits++;
+                }
+                if (copy.get(keys[headers - 1 - j]) != null) {
+                    hits++;
+                }
+            }
+        }
+        assertEquals(times * copies * 2, hits);
+        return hits;
+    }
+
+}
@@ -0,0 +1,208 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Iterator;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+public class FastCaseInsensitiveMapTest extends TestCase {
+
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = new FastCaseInsensitiveMap();
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+        assertNull(map.get("unknown"));
+        assertNull(map.get(null));
+    }
+
+    public void testKeepOriginalKeyCase() {
+        Map<String, Object> map = new FastCaseInsensitiveMap();
+        map.put("Foo", "cheese");
+        map.put("FOO", "beer");
+
+        assertEquals(1, map.size());
+        assertEquals("beer", map.get("foo"));
+        assertEquals("Foo", map.keySet().iterator().next());
+    }
+
+    public void testInsertionOrder() {
+        Map<String, Object> map = new FastCaseInsensitiveMap();
+        map.put("c", 3);
+        map.put("a", 1);
+        map.put("b", 2);
+
+        Iterator<String> it = map.keySet().iterator();
+        assertEquals("c", it.next());
+        assertEquals("a", it.next());
+        assertEquals("b", it.next());
+        assertFalse(it.hasNext());
+    }
+
+    public void testManyKeys() {
+        Map<String, Object> map = new FastCaseInsensitiveMap();
+        for (int i = 0; i < 200; i++) {
+            map.put("Key" + i, i);
+        }
+        assertEquals(200, map.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, map.get("KEY" + i));
+            assertTrue(map.containsKey("key" + i));
+        }
+
+        for (int i = 0; i < 200; i += 2) {
+            assertEquals(i, map.remove("kEy" + i));
+        }
+        assertEquals(100, map.size());
+        for (int i = 0; i < 200; i++) {
+            if (i % 2 == 0) {
+                assertNull(map.get("key" + i));
+            } else {
+                assertEquals(i, map.get("key" + i));
+            }
+        }
+    }
+
+    public void testIteratorRemove() {
+        Map<String, Object> map = new FastCaseInsensitiveMap();
+        for (int i = 0; i < 20; i++) {
+            map.put("key" + i, i);
+        }
+
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if ((Integer) entry.getValue() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(10, map.size());
+        assertNull(map.get("key0"));
+        assertEquals(1, map.get("KEY1"));
+        assertEquals(19, map.get("KEY19"));
+    }
+
+    public void testEntrySetValue() {
+        Map<String, Object> map = new FastCaseInsensitiveMap();
+        map.put("foo", "cheese");
+
+        Map.Entry<String, Object> entry = map.entrySet().iterator().next();
+        assertEquals("cheese", entry.setValue("beer"));
+        assertEquals("beer", entry.getValue());
+        assertEquals("beer", map.get("FOO"));
+    }
+
+    public void testCopyOnWrite() {
+        FastCaseInsensitiveMap map = new FastCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+
+        FastCaseInsensitiveMap copy = new FastCaseInsensitiveMap(map);
+        assertTrue(map.isShared());
+        assertTrue(copy.isShared());
+        assertEquals("cheese", copy.get("FOO"));
+
+        // change the copy should not affect the original
+        copy.put("foo", "wine");
+        copy.remove("bar");
+        copy.put("baz", "water");
+        assertFalse(copy.isShared());
+        // the original is now the only map using the storage
+        assertFalse(map.isShared());
+
+        assertEquals(2, map.size());
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("beer", map.get("bar"));
+        assertNull(map.get("baz"));
+
+        assertEquals(2, copy.size());
+        assertEquals("wine", copy.get("foo"));
+        assertEquals("water", copy.get("baz"));
+
+        // and change the original should not affect another copy
+        FastCaseInsensitiveMap copy2 = new FastCaseInsensitiveMap();
+        copy2.putAll(map);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(2, copy2.size());
+        assertEquals("beer", copy2.get("BAR"));
+        assertFalse(copy2.isShared());
+    }
+
+    public void testCopyOnWriteMultipleCopies() {
+        FastCaseInsensitiveMap map = new FastCaseInsensitiveMap();
+        map.put("foo", "cheese");
+
+        FastCaseInsensitiveMap copy = new FastCaseInsensitiveMap(map);
+        FastCaseInsensitiveMap copy2 = new FastCaseInsensitiveMap(map);
+
+        map.put("foo", "wine");
+        assertFalse(map.isShared());
+        // the copies still share the storage with each other
+        assertTrue(copy.isShared());
+        assertTrue(copy2.isShared());
+
+        copy.put("bar", "beer");
+        assertFalse(copy.isShared());
+        assertFalse(copy2.isShared());
+
+        copy2.put("foo", "water");
+        assertEquals("wine", map.get("foo"));
+        assertEquals("cheese", copy.get("foo"));
+        assertEquals("beer", copy.get("bar"));
+        assertEquals("water", copy2.get("foo"));
+        assertEquals(1, copy2.size());
+    }
+
+    public void testCopyFromOtherMap() {
+        Map<String, Object> source = new CaseInsensitiveMap();
+        source.put("foo", "cheese");
+
+        FastCaseInsensitiveMap map = new FastCaseInsensitiveMap(source);
+        assertFalse(map.isShared());
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals(source, map);
+    }
+
+    public void testSerialization() throws Exception {
+        FastCaseInsensitiveMap map = new FastCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        map.put("BAR", 123);
+
+        ByteArrayOutputStream bStream = new ByteArrayOutputStream();
+        ObjectOutputStream objStream = new ObjectOutputStream(bStream);
+        objStream.writeObject(map);
+
+        ObjectInputStream inStream = new ObjectInputStream(new ByteArrayInputStream(bStream.toByteArray()));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> testMap = (Map<String, Object>) inStream.readObject();
+
+        assertEquals("cheese", testMap.get("FOO"));
+        assertEquals(123, testMap.get("bar"));
+    }
+
+}
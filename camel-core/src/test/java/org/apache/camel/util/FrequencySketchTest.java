@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class FrequencySketchTest extends TestCase {
+
+    public void testFrequency() {
+        FrequencySketch sketch = new FrequencySketch(100);
+        assertEquals(0, sketch.frequency("A"));
+
+        sketch.increment("A");
+        sketch.increment("A");
+        sketch.increment("B");
+
+        assertEquals(2, sketch.frequency("A"));
+        assertEquals(1, sketch.frequency("B"));
+        assertEquals(0, sketch.frequency("C"));
+    }
+
+    public void testFrequencyMaximum() {
+        FrequencySketch sketch = new FrequencySketch(100);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("A");
+        }
+        // the counters are 4-bit
+        assertEquals(15, sketch.frequency("A"));
+    }
+
+    public void testAging() {
+        FrequencySketch sketch = new FrequencySketch(10);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment("A");
+        }
+        assertEquals(8, sketch.frequency("A"));
+
+        // reaching the sample size should halve the counters
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("Key" + i);
+        }
+        assertTrue("Should have aged, was: " + sketch.frequency("A"), sketch.frequency("A") <= 4);
+    }
+}
@@ -18,12 +18,20 @@ package org.apache.camel.util;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
 
 import junit.framework.TestCase;
 import org.apache.camel.CamelContext;
@@ -124,4 +132,126 @@ public class IOHelperTest extends TestCase {
         charsetName = IOHelper.getCharsetNameFromContentType("text/html");
         assertEquals("UTF-8", charsetName);
     }
+
+    public void testTransferTo() throws Exception {
+        File file = new File("target/transfer.txt");
+        file.delete();
+        write(file, "Hello World");
+
+        FileChannel in = new FileInputStream(file).getChannel();
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            assertEquals(5, IOHelper.transferTo(in, 6, 5, Channels.newChannel(bos)));
+            assertEquals("World", bos.toString());
+
+            try {
+                IOHelper.transferTo(in, 6, 10, Channels.newChannel(new ByteArrayOutputStream()));
+                fail("Should have thrown exception");
+            } catch (EOFException e) {
+                // expected
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    public void testTransferToRemaining() throws Exception {
+        File file = new File("target/transfer.txt");
+        file.delete();
+        write(file, "Hello World");
+
+        FileChannel in = new FileInputStream(file).getChannel();
+        try {
+            in.position(6);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            assertEquals(5, IOHelper.transferTo(in, Channels.newChannel(bos)));
+            assertEquals("World", bos.toString());
+            assertEquals(11, in.position());
+
+            // nothing more to transfer
+            assertEquals(0, IOHelper.transferTo(in, Channels.newChannel(bos)));
+        } finally {
+            in.close();
+        }
+    }
+
+    public void testTransferToFile() throws Exception {
+        File source = new File("target/transfer-source.dat");
+        File target = new File("target/transfer-target.dat");
+        byte[] data = new byte[1024 * 1024 + 7];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        FileOutputStream fos = new FileOutputStream(source);
+        fos.write(data);
+        fos.close();
+
+        FileUtil.copyFile(source, target);
+
+        assertEquals(data.length, target.length());
+        FileInputStream fis = new FileInputStream(target);
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            IOHelper.copy(fis, bos);
+            assertTrue(Arrays.equals(data, bos.toByteArray()));
+        } finally {
+            fis.close();
+        }
+    }
+
+    public void testTransferToLargeSparseFile() throws Exception {
+        // larger than a single transfer supports on most platforms, but sparse so it is quick to create
+        File file = new File("target/transfer-sparse.dat");
+        file.delete();
+        long size = Integer.MAX_VALUE + 16L;
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(size);
+            raf.seek(size - 2);
+            raf.write(new byte[]{1, 2});
+        } finally {
+            raf.close();
+        }
+
+        CountingChannel out = new CountingChannel();
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            assertEquals(size, IOHelper.transferTo(fis.getChannel(), 0, size, out));
+        } finally {
+            fis.close();
+            file.delete();
+        }
+        assertEquals(size, out.count);
+        assertEquals(1, out.previous);
+        assertEquals(2, out.last);
+    }
+
+    /**
+     * Channel which only keeps track of the number of bytes and the last two bytes written
+     */
+    private static final class CountingChannel implements WritableByteChannel {
+        private long count;
+        private byte previous;
+        private byte last;
+
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            if (n > 1) {
+                src.position(src.limit() - 2);
+            }
+            while (src.hasRemaining()) {
+                previous = last;
+                last = src.get();
+            }
+            count += n;
+            return n;
+        }
+
+        public boolean isOpen() {
+            return true;
+        }
+
+        public void close() {
+        }
+    }
 }
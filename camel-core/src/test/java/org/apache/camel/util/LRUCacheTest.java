@@ -144,6 +144,54 @@ public class LRUCacheTest extends TestCase {
         assertEquals(1, cache.getMisses());
     }
 
+    public void testLRUCacheFrequencyAdmission() {
+        LRUCache<String, Service> lfu = new LRUCache<String, Service>(16, 3, true, true);
+        assertTrue(lfu.isFrequencyAdmission());
+
+        MyService service1 = new MyService();
+        MyService service2 = new MyService();
+        MyService service3 = new MyService();
+        MyService service4 = new MyService();
+
+        lfu.put("A", service1);
+        lfu.put("B", service2);
+        lfu.put("C", service3);
+        for (int i = 0; i < 3; i++) {
+            lfu.get("A");
+            lfu.get("B");
+            lfu.get("C");
+        }
+
+        // D is used less frequently than the eldest, so it should be rejected
+        lfu.put("D", service4);
+        assertFalse(lfu.containsKey("D"));
+        assertEquals(3, lfu.size());
+        assertEquals(1, lfu.getRejected());
+        assertEquals(0, lfu.getEvicted());
+        // rejected services should not be stopped as they are still in use
+        assertNull(service4.getStopped());
+
+        // now D is used more frequently and should evict the eldest
+        for (int i = 0; i < 5; i++) {
+            lfu.get("D");
+        }
+        lfu.put("D", service4);
+        assertTrue(lfu.containsKey("D"));
+        assertEquals(3, lfu.size());
+        assertEquals(1, lfu.getRejected());
+        assertEquals(1, lfu.getEvicted());
+        assertTrue(service1.getStopped());
+
+        // replacing an existing entry is always admitted
+        MyService service5 = new MyService();
+        lfu.put("B", service5);
+        assertSame(service5, lfu.get("B"));
+        assertEquals(1, lfu.getRejected());
+
+        lfu.resetStatistics();
+        assertEquals(0, lfu.getRejected());
+    }
+
     private static final class MyService implements Service {
 
         private Boolean stopped;
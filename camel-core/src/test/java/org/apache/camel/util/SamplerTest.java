@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import junit.framework.TestCase;
+
+/**
+ * @version
+ */
+public class SamplerTest extends TestCase {
+
+    public void testEveryNth() {
+        Sampler sampler = Sampler.everyNth(3);
+        assertEquals(3, sampler.getFrequency());
+        assertEquals(0, sampler.getMaxPerSecond());
+
+        int count = 0;
+        for (int i = 0; i < 9; i++) {
+            if (sampler.sample()) {
+                count++;
+            }
+        }
+        assertEquals(3, count);
+    }
+
+    public void testEveryFirst() {
+        Sampler sampler = Sampler.everyNth(1);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(sampler.sample());
+        }
+    }
+
+    public void testPerSecond() {
+        Sampler sampler = Sampler.perSecond(5);
+        assertEquals(0, sampler.getFrequency());
+        assertEquals(5, sampler.getMaxPerSecond());
+
+        int count = 0;
+        for (int i = 0; i < 100; i++) {
+            if (sampler.sample()) {
+                count++;
+            }
+        }
+        // may cross a second boundary while sampling
+        assertTrue("Should sample 5 or 10 but was " + count, count == 5 || count == 10);
+    }
+
+    public void testInvalid() {
+        try {
+            Sampler.everyNth(0);
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Frequency must be a positive number, was: 0", e.getMessage());
+        }
+        try {
+            Sampler.perSecond(-1);
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("MaxPerSecond must be a positive number, was: -1", e.getMessage());
+        }
+    }
+}
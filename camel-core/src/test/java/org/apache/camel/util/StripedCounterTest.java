@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+/**
+ * @version
+ */
+public class StripedCounterTest extends TestCase {
+
+    public void testStripedCounter() {
+        StripedCounter counter = new StripedCounter(3);
+        assertEquals(4, counter.getStripes());
+        assertEquals(0, counter.sum());
+
+        counter.increment();
+        counter.increment();
+        counter.add(5);
+        counter.decrement();
+        assertEquals(6, counter.sum());
+        assertEquals("6", counter.toString());
+
+        counter.reset();
+        assertEquals(0, counter.sum());
+    }
+
+    public void testInvalidStripes() {
+        try {
+            new StripedCounter(0);
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Stripes must be a positive number, was: 0", e.getMessage());
+        }
+    }
+
+    public void testStripedCounterConcurrent() throws Exception {
+        final StripedCounter counter = new StripedCounter();
+        final CountDownLatch latch = new CountDownLatch(10);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        for (int i = 0; i < 10; i++) {
+            executor.submit(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        counter.increment();
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executor.shutdownNow();
+
+        assertEquals(10000, counter.sum());
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.TestCase;
+import org.apache.camel.util.concurrent.RingBufferBlockingQueue.WaitStrategy;
+
+/**
+ *
+ */
+public class RingBufferBlockingQueueTest extends TestCase {
+
+    public void testOfferAndPoll() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<String>(3);
+        assertEquals(4, queue.getCapacity());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+
+        assertTrue(queue.offer("A"));
+        assertTrue(queue.offer("B"));
+        assertTrue(queue.offer("C"));
+        assertTrue(queue.offer("D"));
+        assertFalse("Should be full", queue.offer("E"));
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals("A", queue.peek());
+
+        assertEquals("A", queue.poll());
+        assertEquals("B", queue.poll());
+        assertTrue(queue.offer("E"));
+        assertEquals("C", queue.poll());
+        assertEquals("D", queue.poll());
+        assertEquals("E", queue.poll());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    public void testRemove() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<String>(8);
+        queue.add("A");
+        queue.add("B");
+        queue.add("C");
+
+        assertTrue(queue.remove("B"));
+        assertFalse(queue.remove("B"));
+
+        List<String> list = new ArrayList<String>(queue);
+        assertEquals(2, list.size());
+        assertEquals("A", list.get(0));
+        assertEquals("C", list.get(1));
+
+        assertEquals("A", queue.poll());
+        assertEquals("C", queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    public void testDrainTo() throws Exception {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<Integer>(16);
+        for (int i = 0; i < 10; i++) {
+            queue.put(i);
+        }
+
+        List<Integer> list = new ArrayList<Integer>();
+        assertEquals(4, queue.drainTo(list, 4));
+        assertEquals(6, queue.drainTo(list));
+        assertEquals(10, list.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(i), list.get(i));
+        }
+    }
+
+    public void testTimeout() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<String>(1);
+        assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+
+        assertEquals(2, queue.getCapacity());
+
+        assertTrue(queue.offer("A", 50, TimeUnit.MILLISECONDS));
+        assertTrue(queue.offer("B", 50, TimeUnit.MILLISECONDS));
+        assertFalse(queue.offer("C", 50, TimeUnit.MILLISECONDS));
+        assertEquals("A", queue.take());
+        assertEquals("B", queue.take());
+    }
+
+    public void testConcurrent() throws Exception {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            doTestConcurrent(new RingBufferBlockingQueue<Long>(64, strategy));
+        }
+    }
+
+    private void doTestConcurrent(final RingBufferBlockingQueue<Long> queue) throws Exception {
+        final int threads = 4;
+        final int size = 10000;
+        final AtomicLong sum = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(threads * 2);
+        ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+
+        for (int i = 0; i < threads; i++) {
+            executor.submit(new Runnable() {
+                public void run() {
+                    try {
+                        for (long j = 1; j <= size; j++) {
+                            queue.put(j);
+                        }
+                    } catch (InterruptedException e) {
+                        // ignore
+                    }
+                    latch.countDown();
+                }
+            });
+            executor.submit(new Runnable() {
+                public void run() {
+                    try {
+                        for (int j = 0; j < size; j++) {
+                            sum.addAndGet(queue.take());
+                        }
+                    } catch (InterruptedException e) {
+                        // ignore
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue("Should complete using " + queue.getWaitStrategy(), latch.await(30, TimeUnit.SECONDS));
+        executor.shutdownNow();
+
+        assertEquals((long) threads * size * (size + 1) / 2, sum.get());
+        assertTrue(queue.isEmpty());
+    }
+}
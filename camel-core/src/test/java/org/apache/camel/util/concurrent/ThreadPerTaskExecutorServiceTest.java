@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import junit.framework.TestCase;
+import org.apache.camel.Rejectable;
+
+public class ThreadPerTaskExecutorServiceTest extends TestCase {
+
+    private final CamelThreadFactory factory = new CamelThreadFactory("#name#", "test", true);
+
+    public void testSubmit() throws Exception {
+        ThreadPerTaskExecutorService service = new ThreadPerTaskExecutorService(factory, 10);
+
+        Future<String> future = service.submit(new Callable<String>() {
+            public String call() throws Exception {
+                return Thread.currentThread().getName();
+            }
+        });
+        assertTrue(future.get(5, TimeUnit.SECONDS).contains("test"));
+
+        service.shutdown();
+        assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(service.isTerminated());
+        assertEquals(1, service.getCompletedTaskCount());
+    }
+
+    public void testBlockWhenLimitReached() throws Exception {
+        final ThreadPerTaskExecutorService service = new ThreadPerTaskExecutorService(factory, 1);
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        service.execute(new Runnable() {
+            public void run() {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            }
+        });
+        assertEquals(1, service.getActiveCount());
+
+        final String caller = Thread.currentThread().getName();
+        final AtomicBoolean sameThread = new AtomicBoolean(true);
+        final CountDownLatch submitted = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread submitter = new Thread(new Runnable() {
+            public void run() {
+                service.execute(new Runnable() {
+                    public void run() {
+                        sameThread.set(caller.equals(Thread.currentThread().getName()));
+                        done.countDown();
+                    }
+                });
+                submitted.countDown();
+            }
+        });
+        submitter.start();
+
+        // the caller should be blocked until the running task completes
+        assertFalse("Should block when limit is reached", submitted.await(200, TimeUnit.MILLISECONDS));
+
+        latch.countDown();
+        assertTrue(submitted.await(5, TimeUnit.SECONDS));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse("Should not run in caller thread", sameThread.get());
+
+        service.shutdown();
+        assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(2, service.getCompletedTaskCount());
+    }
+
+    public void testDefaultLimit() throws Exception {
+        ThreadPerTaskExecutorService service = new ThreadPerTaskExecutorService(factory, -1);
+        assertEquals(ThreadPerTaskExecutorService.DEFAULT_MAX_CONCURRENT_TASKS, service.getMaxConcurrentTasks());
+        service.shutdown();
+    }
+
+    public void testShutdownNow() throws Exception {
+        ThreadPerTaskExecutorService service = new ThreadPerTaskExecutorService(factory, -1);
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        service.execute(new Runnable() {
+            public void run() {
+                try {
+                    latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+            }
+        });
+
+        assertTrue(service.shutdownNow().isEmpty());
+        assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(interrupted.get());
+
+        final AtomicBoolean rejected = new AtomicBoolean();
+        service.execute(new MyRejectableTask(rejected));
+        assertTrue("Should be rejected after shutdown", rejected.get());
+
+        try {
+            service.execute(new Runnable() {
+                public void run() {
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+    }
+
+    private static final class MyRejectableTask implements Runnable, Rejectable {
+
+        private final AtomicBoolean rejected;
+
+        private MyRejectableTask(AtomicBoolean rejected) {
+            this.rejected = rejected;
+        }
+
+        public void run() {
+        }
+
+        public void reject() {
+            rejected.set(true);
+        }
+    }
+}
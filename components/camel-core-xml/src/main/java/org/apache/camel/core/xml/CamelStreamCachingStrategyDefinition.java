@@ -56,6 +56,9 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
     @XmlAttribute
     private String bufferSize;
 
+    @XmlAttribute
+    private String offHeap;
+
     @XmlAttribute
     private String removeSpoolDirectoryWhenStopping;
 
@@ -129,6 +132,14 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
         this.bufferSize = bufferSize;
     }
 
+    public String getOffHeap() {
+        return offHeap;
+    }
+
+    public void setOffHeap(String offHeap) {
+        this.offHeap = offHeap;
+    }
+
     public String getRemoveSpoolDirectoryWhenStopping() {
         return removeSpoolDirectoryWhenStopping;
     }
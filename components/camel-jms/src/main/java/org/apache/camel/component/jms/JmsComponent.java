@@ -581,6 +581,15 @@ public class JmsComponent extends UriEndpointComponent implements ApplicationCon
         getConfiguration().setRequestTimeoutCheckerInterval(requestTimeoutCheckerInterval);
     }
 
+    /**
+     * Whether to use a timing wheel to keep track of the timeouts when doing request/reply over JMS,
+     * instead of scanning all the pending replies every time the timeout checker runs.
+     * This is recommended when there is a large number of pending replies.
+     */
+    public void setRequestTimeoutTimingWheel(boolean requestTimeoutTimingWheel) {
+        getConfiguration().setRequestTimeoutTimingWheel(requestTimeoutTimingWheel);
+    }
+
     /**
      * You can transfer the exchange over the wire instead of just the body and headers.
      * The following fields are transferred: In body, Out body, Fault body, In headers, Out headers, Fault headers,
@@ -113,6 +113,8 @@ public class JmsConfiguration implements Cloneable {
     private long requestTimeout = 20000L;
     @UriParam(defaultValue = "1000")
     private long requestTimeoutCheckerInterval = 1000L;
+    @UriParam(label = "producer")
+    private boolean requestTimeoutTimingWheel;
     @UriParam(defaultValue = "1")
     private int idleTaskExecutionLimit = 1;
     @UriParam(defaultValue = "1")
@@ -1403,6 +1405,19 @@ public class JmsConfiguration implements Cloneable {
         this.requestTimeoutCheckerInterval = requestTimeoutCheckerInterval;
     }
 
+    public boolean isRequestTimeoutTimingWheel() {
+        return requestTimeoutTimingWheel;
+    }
+
+    /**
+     * Whether to use a timing wheel to keep track of the timeouts when doing request/reply over JMS,
+     * instead of scanning all the pending replies every time the timeout checker runs.
+     * This is recommended when there is a large number of pending replies.
+     */
+    public void setRequestTimeoutTimingWheel(boolean requestTimeoutTimingWheel) {
+        this.requestTimeoutTimingWheel = requestTimeoutTimingWheel;
+    }
+
     public String getReplyTo() {
         return replyTo;
     }
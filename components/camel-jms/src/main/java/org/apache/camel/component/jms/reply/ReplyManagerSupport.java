@@ -239,6 +239,7 @@ public abstract class ReplyManagerSupport extends ServiceSupport implements Repl
         // when doing request/reply over JMS
         log.trace("Using timeout checker interval with {} millis", endpoint.getRequestTimeoutCheckerInterval());
         correlation = new CorrelationTimeoutMap(executorService, endpoint.getRequestTimeoutCheckerInterval());
+        correlation.setTimingWheel(endpoint.isRequestTimeoutTimingWheel());
         ServiceHelper.startService(correlation);
 
         // create JMS listener and start it
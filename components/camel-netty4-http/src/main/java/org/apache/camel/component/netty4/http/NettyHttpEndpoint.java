@@ -102,6 +102,8 @@ public class NettyHttpEndpoint extends NettyEndpoint implements HeaderFilterStra
 
     @Override
     public Exchange createExchange(ChannelHandlerContext ctx, Object message) throws Exception {
+        // do not use the exchange factory, as a pooled exchange would be released when the unit of work is done,
+        // but the exchange is still in use until the response has been written asynchronously
         Exchange exchange = createExchange();
         
         FullHttpRequest request = (FullHttpRequest) message;
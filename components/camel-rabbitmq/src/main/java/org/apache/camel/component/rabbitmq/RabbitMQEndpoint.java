@@ -155,6 +155,8 @@ public class RabbitMQEndpoint extends DefaultEndpoint {
     @UriParam
     private long requestTimeoutCheckerInterval = 1000;
     @UriParam
+    private boolean requestTimeoutTimingWheel;
+    @UriParam
     private boolean transferException;
     // camel-jms supports this setting but it is not currently configurable in camel-rabbitmq
     private boolean useMessageIDAsCorrelationID = true;
@@ -952,6 +954,18 @@ public class RabbitMQEndpoint extends DefaultEndpoint {
         return requestTimeoutCheckerInterval;
     }
 
+    /**
+     * Set whether to use a timing wheel to keep track of the timeouts for inOut exchange,
+     * which is recommended when there is a large number of pending replies
+     */
+    public void setRequestTimeoutTimingWheel(boolean requestTimeoutTimingWheel) {
+        this.requestTimeoutTimingWheel = requestTimeoutTimingWheel;
+    }
+
+    public boolean isRequestTimeoutTimingWheel() {
+        return requestTimeoutTimingWheel;
+    }
+
     /**
      * Get useMessageIDAsCorrelationID for inOut exchange
      */